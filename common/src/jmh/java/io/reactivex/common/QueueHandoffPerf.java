@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.reactivex.common.internal.queues.AbstractSpscArrayQueue;
+
+/**
+ * Passes items from one thread to another through the SPSC array queue, the hand-off
+ * every async boundary (observeOn, flatMap inner buffers) relies on.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Group)
+public class QueueHandoffPerf {
+
+    static final Integer ITEM = 1;
+
+    SpscArray queue;
+
+    @Setup
+    public void setup() {
+        queue = new SpscArray(1024);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public boolean offer() {
+        return queue.offer(ITEM);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public Object poll() {
+        return queue.poll();
+    }
+
+    static final class SpscArray extends AbstractSpscArrayQueue<Integer> {
+        private static final long serialVersionUID = 2815340254155307513L;
+
+        SpscArray(int capacity) {
+            super(capacity);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.common.internal.queues.*;
+
+/**
+ * Offers and then polls a batch of items on each of the internal queue implementations
+ * from a single thread, measuring the per-item bookkeeping cost without contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class QueuePerf {
+
+    @Param({ "1", "1000", "100000" })
+    public int count;
+
+    SpscArray spscArray;
+
+    SpscLinkedArray spscLinkedArray;
+
+    MpscLinked mpscLinked;
+
+    MpscLinkedArray mpscLinkedArray;
+
+    MpscParkingQueue<Integer> mpscParking;
+
+    @Setup
+    public void setup() {
+        spscArray = new SpscArray(count);
+        spscLinkedArray = new SpscLinkedArray(128);
+        mpscLinked = new MpscLinked();
+        mpscLinkedArray = new MpscLinkedArray(128);
+        mpscParking = new MpscParkingQueue<Integer>(128);
+    }
+
+    @Benchmark
+    public void spscArray(Blackhole bh) {
+        SpscArray q = spscArray;
+        int n = count;
+        for (int i = 0; i < n; i++) {
+            q.offer(i);
+        }
+        for (int i = 0; i < n; i++) {
+            bh.consume(q.poll());
+        }
+    }
+
+    @Benchmark
+    public void spscLinkedArray(Blackhole bh) {
+        SpscLinkedArray q = spscLinkedArray;
+        int n = count;
+        for (int i = 0; i < n; i++) {
+            q.offer(i);
+        }
+        for (int i = 0; i < n; i++) {
+            bh.consume(q.poll());
+        }
+    }
+
+    @Benchmark
+    public void mpscLinked(Blackhole bh) {
+        MpscLinked q = mpscLinked;
+        int n = count;
+        for (int i = 0; i < n; i++) {
+            q.offer(i);
+        }
+        for (int i = 0; i < n; i++) {
+            bh.consume(q.poll());
+        }
+    }
+
+    @Benchmark
+    public void mpscLinkedArray(Blackhole bh) {
+        MpscLinkedArray q = mpscLinkedArray;
+        int n = count;
+        for (int i = 0; i < n; i++) {
+            q.offer(i);
+        }
+        for (int i = 0; i < n; i++) {
+            bh.consume(q.poll());
+        }
+    }
+
+    @Benchmark
+    public void mpscParking(Blackhole bh) {
+        MpscParkingQueue<Integer> q = mpscParking;
+        int n = count;
+        for (int i = 0; i < n; i++) {
+            q.offer(i);
+        }
+        for (int i = 0; i < n; i++) {
+            bh.consume(q.poll());
+        }
+    }
+
+    static final class SpscArray extends AbstractSpscArrayQueue<Integer> {
+        private static final long serialVersionUID = -8064271386081212538L;
+
+        SpscArray(int capacity) {
+            super(capacity);
+        }
+    }
+
+    static final class SpscLinkedArray extends AbstractSpscLinkedArrayQueue<Integer> {
+        SpscLinkedArray(int bufferSize) {
+            super(bufferSize);
+        }
+    }
+
+    static final class MpscLinked extends AbstractMpscLinkedQueue<Integer> {
+    }
+
+    static final class MpscLinkedArray extends AbstractMpscLinkedArrayQueue<Integer> {
+        MpscLinkedArray(int chunkSize) {
+            super(chunkSize);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.reactivex.common.Scheduler.Worker;
+import io.reactivex.common.internal.utils.ParkingLatch;
+
+/**
+ * Measures handing tasks over to the standard schedulers: a single direct task round-trip
+ * and a burst of tasks scheduled on the same worker.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class SchedulerHandoffPerf {
+
+    @Param({ "computation", "io", "single" })
+    public String type;
+
+    @Param({ "1", "1000" })
+    public int count;
+
+    Scheduler scheduler;
+
+    Worker worker;
+
+    @Setup
+    public void setup() {
+        if ("computation".equals(type)) {
+            scheduler = Schedulers.computation();
+        } else
+        if ("io".equals(type)) {
+            scheduler = Schedulers.io();
+        } else {
+            scheduler = Schedulers.single();
+        }
+        worker = scheduler.createWorker();
+    }
+
+    @TearDown
+    public void teardown() {
+        worker.dispose();
+    }
+
+    @Benchmark
+    public void scheduleDirect() throws InterruptedException {
+        CountingTask task = new CountingTask(count);
+        for (int i = 0; i < count; i++) {
+            scheduler.scheduleDirect(task);
+        }
+        task.await();
+    }
+
+    @Benchmark
+    public void workerSchedule() throws InterruptedException {
+        CountingTask task = new CountingTask(count);
+        for (int i = 0; i < count; i++) {
+            worker.schedule(task);
+        }
+        task.await();
+    }
+
+    static final class CountingTask extends ParkingLatch implements Runnable {
+
+        private static final long serialVersionUID = -4624464213012049263L;
+
+        final AtomicInteger remaining;
+
+        CountingTask(int count) {
+            this.remaining = new AtomicInteger(count);
+        }
+
+        @Override
+        public void run() {
+            if (remaining.decrementAndGet() == 0) {
+                countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.common.annotations.Experimental;
+import io.reactivex.common.exceptions.AssemblyCallSiteException;
+import io.reactivex.common.internal.utils.WeakIdentityMap;
+
+/**
+ * Opt-in, sampled tracking of the call sites where reactive chains are assembled.
+ * <p>
+ * While enabled, every {@code sampleRate}-th {@code Flowable} or {@code Observable} operator
+ * assembled through the {@code onAssembly} hooks has its call site captured from the stack
+ * trace and interned as a {@link CallSite}, so repeated assemblies from the same line share
+ * one instance. Errors passing through a tracked operator reach the downstream unchanged; the
+ * call site of the first tracked operator they pass is remembered in a weak side table and can be
+ * looked up via {@link #callSiteOf(Throwable)}. Only errors that end up in
+ * {@link RxJavaCommonPlugins#onError(Throwable)} are wrapped into an {@link AssemblyCallSiteException}
+ * whose cause is the original error. The call site also shows up in the {@link OperatorMetrics}
+ * of the operator.
+ * <p>
+ * Capturing the stack trace is the expensive part; sampling keeps the overhead of
+ * assembly proportional to {@code 1 / sampleRate}. Only the sampled operators are wrapped,
+ * untracked operators and the items flowing through them pay nothing. Scalar sources
+ * such as {@code just} and {@code fromCallable} are never tracked to keep their
+ * assembly-time optimizations.
+ */
+@Experimental
+public final class AssemblyTracking {
+
+    static volatile boolean enabled;
+
+    static volatile int sampleRate;
+
+    /** Racy on purpose, lost updates only shift the sampling. */
+    static int sampleCountdown;
+
+    static final WeakIdentityMap<Object, CallSite> TRACKED = new WeakIdentityMap<Object, CallSite>();
+
+    /** The call sites recorded for the errors passing through tracked operators. */
+    static final WeakIdentityMap<Throwable, CallSite> ERRORS = new WeakIdentityMap<Throwable, CallSite>();
+
+    static final ConcurrentHashMap<String, CallSite> INTERNED = new ConcurrentHashMap<String, CallSite>();
+
+    static final AtomicInteger IDS = new AtomicInteger();
+
+    static final Set<String> SKIPPED = new HashSet<String>(Arrays.asList(
+            AssemblyTracking.class.getName(),
+            BufferTelemetry.class.getName(),
+            RxJavaCommonPlugins.class.getName(),
+            "io.reactivex.flowable.Flowable",
+            "io.reactivex.flowable.ParallelFlowable",
+            "io.reactivex.flowable.RxJavaFlowablePlugins",
+            "io.reactivex.observable.Observable",
+            "io.reactivex.observable.Single",
+            "io.reactivex.observable.Maybe",
+            "io.reactivex.observable.Completable",
+            "io.reactivex.observable.RxJavaObservablePlugins"
+    ));
+
+    /** Utility class. */
+    private AssemblyTracking() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    /**
+     * Tracks every assembly from now on.
+     */
+    public static void enable() {
+        enable(1);
+    }
+
+    /**
+     * Tracks every {@code sampleRate}-th assembly from now on.
+     * @param sampleRate the sampling rate, positive
+     */
+    public static void enable(int sampleRate) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("sampleRate > 0 required but it was " + sampleRate);
+        }
+        AssemblyTracking.sampleRate = sampleRate;
+        sampleCountdown = 0;
+        enabled = true;
+    }
+
+    /**
+     * Stops tracking new assemblies and recording the call sites of errors.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Returns true if assemblies are being tracked.
+     * @return true if tracking is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records the call site of the operator being assembled, if tracking is enabled
+     * and the assembly is sampled.
+     * <p>
+     * Called by the {@code onAssembly} hooks of the reactive base types, which wrap
+     * the sampled operators so the call site of their errors gets recorded.
+     * @param operator the operator instance
+     * @return the call site or null if the assembly wasn't sampled
+     */
+    public static CallSite onAssembly(Object operator) {
+        if (!enabled) {
+            return null;
+        }
+        if (--sampleCountdown > 0) {
+            return null;
+        }
+        sampleCountdown = sampleRate;
+        CallSite cs = intern(currentCallSite());
+        TRACKED.putIfAbsent(operator, cs);
+        return cs;
+    }
+
+    /**
+     * Returns the call site where the given operator was assembled.
+     * @param operator the operator instance
+     * @return the call site or null if the operator wasn't tracked
+     */
+    public static CallSite callSiteOf(Object operator) {
+        return TRACKED.get(operator);
+    }
+
+    /**
+     * Records the call site of the given operator for the error, unless the error already
+     * has one (from an operator closer to the origin of the error) or the operator wasn't tracked.
+     * @param error the error passing through the operator, not modified
+     * @param operator the operator the error passed through
+     */
+    public static void recordCallSite(Throwable error, Object operator) {
+        if (enabled) {
+            CallSite cs = callSiteOf(operator);
+            if (cs != null) {
+                recordCallSite(error, cs);
+            }
+        }
+    }
+
+    /**
+     * Records the call site for the error, unless the error already has one.
+     * @param error the error passing through the operator, not modified
+     * @param callSite the call site to record
+     */
+    public static void recordCallSite(Throwable error, CallSite callSite) {
+        ERRORS.putIfAbsent(error, callSite);
+    }
+
+    /**
+     * Returns the call site recorded for the error or one of its causes, or carried
+     * by an {@link AssemblyCallSiteException} in its cause chain.
+     * @param error the error to inspect
+     * @return the call site or null if none was recorded
+     */
+    public static CallSite callSiteOf(Throwable error) {
+        Throwable t = error;
+        while (t != null) {
+            if (t instanceof AssemblyCallSiteException) {
+                return ((AssemblyCallSiteException)t).callSite();
+            }
+            CallSite cs = ERRORS.get(t);
+            if (cs != null) {
+                return cs;
+            }
+            Throwable c = t.getCause();
+            if (c == t) {
+                break;
+            }
+            t = c;
+        }
+        return null;
+    }
+
+    /**
+     * Wraps the error into an {@link AssemblyCallSiteException} if a call site was recorded
+     * for it or one of its causes and the error doesn't carry one already.
+     * <p>
+     * Called by {@link RxJavaCommonPlugins#onError(Throwable)} for the errors it can't deliver.
+     * @param error the error to wrap, not modified
+     * @return the wrapped error or the error itself
+     */
+    public static Throwable attachCallSite(Throwable error) {
+        CallSite cs = callSiteOf(error);
+        if (cs == null) {
+            return error;
+        }
+        for (Throwable t = error; t != null && t.getCause() != t; t = t.getCause()) {
+            if (t instanceof AssemblyCallSiteException) {
+                return error;
+            }
+        }
+        return new AssemblyCallSiteException(cs, error);
+    }
+
+    /**
+     * Returns the first stack frame of the current thread outside the library's
+     * internal packages, base types and plugins.
+     * @return the frame as text
+     */
+    public static String currentCallSite() {
+        for (StackTraceElement e : new Throwable().getStackTrace()) {
+            String c = e.getClassName();
+            if (!c.contains(".internal.") && !SKIPPED.contains(c)) {
+                return e.toString();
+            }
+        }
+        return "unknown";
+    }
+
+    /**
+     * Returns the interned call site for the given location.
+     * @param location the location text
+     * @return the call site, the same instance for equal locations
+     */
+    public static CallSite intern(String location) {
+        CallSite cs = INTERNED.get(location);
+        if (cs == null) {
+            cs = new CallSite(IDS.incrementAndGet(), location);
+            CallSite prev = INTERNED.putIfAbsent(location, cs);
+            if (prev != null) {
+                cs = prev;
+            }
+        }
+        return cs;
+    }
+
+    /**
+     * Forgets the tracked operators, the call sites recorded for errors and the interned call sites.
+     */
+    public static void reset() {
+        TRACKED.clear();
+        ERRORS.clear();
+        INTERNED.clear();
+    }
+
+    /**
+     * An interned location in the user code where operators were assembled.
+     */
+    public static final class CallSite {
+        final int id;
+
+        final String location;
+
+        CallSite(int id, String location) {
+            this.id = id;
+            this.location = location;
+        }
+
+        /**
+         * Returns the unique id of the call site.
+         * @return the id
+         */
+        public int id() {
+            return id;
+        }
+
+        /**
+         * Returns the location, a stack frame in text form.
+         * @return the location
+         */
+        public String location() {
+            return location;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + id + " " + location;
+        }
+    }
+}
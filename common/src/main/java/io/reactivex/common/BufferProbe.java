@@ -0,0 +1,240 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.common.annotations.Experimental;
+
+/**
+ * Live view of one buffer of one subscription to a buffering operator, registered
+ * with {@link BufferTelemetry}.
+ * <p>
+ * The operator reports the size of its buffer after each enqueue as well as
+ * overflows and drops; the occupancy and the outstanding downstream request
+ * are read from the operator when a snapshot is taken.
+ */
+@Experimental
+public final class BufferProbe {
+
+    final String location;
+
+    final String operator;
+
+    final long capacity;
+
+    final Source source;
+
+    final AtomicLong highWaterMark;
+
+    final AtomicLong overflows;
+
+    final AtomicLong drops;
+
+    /** Number of items enqueued, only written by the single producer. */
+    final AtomicLong offers;
+
+    /** The cumulative counts of the assembly location, outliving this probe. */
+    final BufferTelemetry.Counters counters;
+
+    BufferProbe(String location, String operator, long capacity, Source source, BufferTelemetry.Counters counters) {
+        this.location = location;
+        this.operator = operator;
+        this.capacity = capacity;
+        this.source = source;
+        this.counters = counters;
+        this.highWaterMark = new AtomicLong();
+        this.overflows = new AtomicLong();
+        this.drops = new AtomicLong();
+        this.offers = new AtomicLong();
+    }
+
+    /**
+     * Records the occupancy of the buffer after an item was enqueued; called
+     * from the serialized onNext of the operator.
+     * @param occupancy the current number of buffered items
+     */
+    public void offered(long occupancy) {
+        offers.lazySet(offers.get() + 1);
+        AtomicLong hwm = highWaterMark;
+        long h = hwm.get();
+        while (occupancy > h) {
+            if (hwm.compareAndSet(h, occupancy)) {
+                break;
+            }
+            h = hwm.get();
+        }
+    }
+
+    /** Records an item that didn't fit into the buffer and failed the sequence. */
+    public void overflow() {
+        overflows.getAndIncrement();
+        counters.overflows.getAndIncrement();
+    }
+
+    /** Records an item that was dropped because the buffer was full. */
+    public void dropped() {
+        drops.getAndIncrement();
+        counters.drops.getAndIncrement();
+    }
+
+    /**
+     * Returns the number of items taken out of the buffer so far, derived from the
+     * number of items enqueued and the current occupancy.
+     * @return the number of drained items
+     */
+    long drained() {
+        long o = offers.get();
+        return o - source.occupancy();
+    }
+
+    /**
+     * Returns a point-in-time copy of the buffer state.
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(location, operator, capacity, source.occupancy(),
+                highWaterMark.get(), source.outstandingRequest(), overflows.get(), drops.get());
+    }
+
+    /**
+     * Implemented by the buffering operators to expose their live state.
+     */
+    public interface Source {
+        /**
+         * Returns the current number of buffered items.
+         * @return the current number of buffered items
+         */
+        long occupancy();
+
+        /**
+         * Returns the amount requested by the downstream and not yet delivered.
+         * @return the outstanding request
+         */
+        long outstandingRequest();
+
+        /**
+         * Returns true if the subscription has been cancelled or has drained its
+         * buffer after a terminal event, so the buffer no longer needs to be watched.
+         * @return true if the buffer is no longer in use
+         */
+        boolean isTerminated();
+    }
+
+    /**
+     * An immutable copy of the state of a buffer.
+     */
+    public static final class Snapshot {
+        final String location;
+        final String operator;
+        final long capacity;
+        final long occupancy;
+        final long highWaterMark;
+        final long outstandingRequest;
+        final long overflows;
+        final long drops;
+
+        Snapshot(String location, String operator, long capacity, long occupancy,
+                long highWaterMark, long outstandingRequest, long overflows, long drops) {
+            this.location = location;
+            this.operator = operator;
+            this.capacity = capacity;
+            this.occupancy = occupancy;
+            this.highWaterMark = highWaterMark;
+            this.outstandingRequest = outstandingRequest;
+            this.overflows = overflows;
+            this.drops = drops;
+        }
+
+        /**
+         * Returns the location where the operator was assembled.
+         * @return the assembly location
+         */
+        public String location() {
+            return location;
+        }
+
+        /**
+         * Returns the name of the operator owning the buffer.
+         * @return the operator name
+         */
+        public String operator() {
+            return operator;
+        }
+
+        /**
+         * Returns the maximum number of items the buffer can hold.
+         * @return the capacity, negative if the buffer is unbounded
+         */
+        public long capacity() {
+            return capacity;
+        }
+
+        /**
+         * Returns the number of items buffered when the snapshot was taken.
+         * @return the occupancy
+         */
+        public long occupancy() {
+            return occupancy;
+        }
+
+        /**
+         * Returns the highest occupancy seen.
+         * @return the high-water mark
+         */
+        public long highWaterMark() {
+            return highWaterMark;
+        }
+
+        /**
+         * Returns the amount requested by the downstream and not yet delivered,
+         * {@code Long.MAX_VALUE} if unbounded.
+         * @return the outstanding request
+         */
+        public long outstandingRequest() {
+            return outstandingRequest;
+        }
+
+        /**
+         * Returns the number of items that didn't fit into the buffer and failed the sequence.
+         * @return the number of overflows
+         */
+        public long overflows() {
+            return overflows;
+        }
+
+        /**
+         * Returns the number of items dropped because the buffer was full.
+         * @return the number of dropped items
+         */
+        public long drops() {
+            return drops;
+        }
+
+        /**
+         * Returns the fraction of the capacity in use.
+         * @return the occupancy divided by the capacity, 0 for unbounded buffers
+         */
+        public double utilization() {
+            return capacity > 0 ? (double)occupancy / capacity : 0d;
+        }
+
+        @Override
+        public String toString() {
+            return operator + " @ " + location + " [occupancy=" + occupancy + ", capacity=" + capacity
+                    + ", highWaterMark=" + highWaterMark + ", outstandingRequest=" + outstandingRequest
+                    + ", overflows=" + overflows + ", drops=" + drops + "]";
+        }
+    }
+}
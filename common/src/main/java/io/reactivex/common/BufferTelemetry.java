@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.common.annotations.Experimental;
+
+/**
+ * Opt-in registry of the buffers of the buffering Flowable operators
+ * ({@code observeOn}, {@code onBackpressureBuffer}, {@code ParallelFlowable.runOn}),
+ * keyed by the location where each operator was assembled.
+ * <p>
+ * Only operators assembled while telemetry is enabled are tracked: the assembly
+ * location is captured from the stack trace once per operator instance, each
+ * subscription to it then registers a {@link BufferProbe}. Probes of terminated
+ * subscriptions are dropped from the registry; their overflows and drops remain
+ * in the per-location {@link #totals() totals}.
+ */
+@Experimental
+public final class BufferTelemetry {
+
+    static volatile boolean enabled;
+
+    /** Guarded by itself. */
+    static final Map<BufferProbe, Boolean> PROBES = new WeakHashMap<BufferProbe, Boolean>();
+
+    static final ConcurrentHashMap<String, Counters> COUNTERS = new ConcurrentHashMap<String, Counters>();
+
+    /** Utility class. */
+    private BufferTelemetry() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    /**
+     * Starts tracking the buffering operators assembled from now on.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Stops tracking newly assembled operators; operators assembled before keep
+     * registering their subscriptions.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Returns true if newly assembled operators are tracked.
+     * @return true if telemetry is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the assembly location of the operator being created if telemetry is enabled.
+     * <p>
+     * Called from the constructors of the buffering operators.
+     * @return the first stack frame outside the library internals and base types,
+     * or null if telemetry is disabled
+     */
+    public static String assemblyLocation() {
+        if (!enabled) {
+            return null;
+        }
+        return AssemblyTracking.currentCallSite();
+    }
+
+    /**
+     * Registers the buffer of a new subscription.
+     * @param location the assembly location of the operator
+     * @param operator the name of the operator
+     * @param capacity the capacity of the buffer, negative if unbounded
+     * @param source the live state of the buffer
+     * @return the probe the operator should report into
+     */
+    public static BufferProbe register(String location, String operator, long capacity, BufferProbe.Source source) {
+        Counters c = COUNTERS.get(location);
+        if (c == null) {
+            c = new Counters();
+            Counters prev = COUNTERS.putIfAbsent(location, c);
+            if (prev != null) {
+                c = prev;
+            }
+        }
+        BufferProbe p = new BufferProbe(location, operator, capacity, source, c);
+        synchronized (PROBES) {
+            PROBES.put(p, Boolean.TRUE);
+        }
+        return p;
+    }
+
+    /**
+     * Returns the snapshots of the buffers of all live subscriptions, grouped by the
+     * assembly location of their operators.
+     * @return the map of assembly locations to buffer snapshots
+     */
+    public static Map<String, List<BufferProbe.Snapshot>> snapshot() {
+        List<BufferProbe> list;
+        synchronized (PROBES) {
+            list = new ArrayList<BufferProbe>(PROBES.keySet());
+        }
+        Map<String, List<BufferProbe.Snapshot>> result = new TreeMap<String, List<BufferProbe.Snapshot>>();
+        List<BufferProbe> terminated = new ArrayList<BufferProbe>();
+        for (BufferProbe p : list) {
+            if (p.source.isTerminated()) {
+                terminated.add(p);
+                continue;
+            }
+            List<BufferProbe.Snapshot> s = result.get(p.location);
+            if (s == null) {
+                s = new ArrayList<BufferProbe.Snapshot>();
+                result.put(p.location, s);
+            }
+            s.add(p.snapshot());
+        }
+        if (!terminated.isEmpty()) {
+            synchronized (PROBES) {
+                for (BufferProbe p : terminated) {
+                    PROBES.remove(p);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of overflows and drops of all the subscriptions registered so far,
+     * including the terminated ones, grouped by the assembly location of their operators.
+     * @return the map of assembly locations to totals
+     */
+    public static Map<String, Totals> totals() {
+        Map<String, Totals> result = new TreeMap<String, Totals>();
+        for (Map.Entry<String, Counters> e : COUNTERS.entrySet()) {
+            Counters c = e.getValue();
+            result.put(e.getKey(), new Totals(c.overflows.get(), c.drops.get()));
+        }
+        return result;
+    }
+
+    /**
+     * Forgets all registered probes and totals.
+     */
+    public static void reset() {
+        synchronized (PROBES) {
+            PROBES.clear();
+        }
+        COUNTERS.clear();
+    }
+
+    /**
+     * The cumulative counts of one assembly location, shared by its probes.
+     */
+    static final class Counters {
+        final AtomicLong overflows = new AtomicLong();
+
+        final AtomicLong drops = new AtomicLong();
+    }
+
+    /**
+     * An immutable copy of the cumulative counts of one assembly location.
+     */
+    public static final class Totals {
+        final long overflows;
+        final long drops;
+
+        Totals(long overflows, long drops) {
+            this.overflows = overflows;
+            this.drops = drops;
+        }
+
+        /**
+         * Returns the number of items that didn't fit into a buffer and failed the sequence.
+         * @return the number of overflows
+         */
+        public long overflows() {
+            return overflows;
+        }
+
+        /**
+         * Returns the number of items dropped because a buffer was full.
+         * @return the number of dropped items
+         */
+        public long drops() {
+            return drops;
+        }
+
+        @Override
+        public String toString() {
+            return "[overflows=" + overflows + ", drops=" + drops + "]";
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import io.reactivex.common.annotations.*;
+
+/**
+ * Carries an application-defined context (such as a trace or MDC context) from the
+ * thread that subscribes to a flow over to the threads of the standard
+ * {@link Scheduler.Worker}s that run its tasks.
+ * <p>
+ * The context is captured once, when a worker is created (which happens at subscription
+ * time for operators such as {@code observeOn} and {@code subscribeOn}), and is entered
+ * and exited around the tasks the worker runs. When {@link #capture()} returns null,
+ * the worker schedules tasks exactly as if no carrier were installed.
+ * <p>
+ * Install an implementation via {@link RxJavaCommonPlugins#setContextCarrier(ContextCarrier)}.
+ */
+@Experimental
+public interface ContextCarrier {
+
+    /**
+     * Captures the context of the current thread.
+     * @return the captured context or null if there is nothing to propagate
+     */
+    @Nullable
+    Object capture();
+
+    /**
+     * Makes the given context current on the calling thread.
+     * @param context the context previously returned by {@link #capture()}, not null
+     * @return the token to be passed to {@link #exit(Object)}, may be null
+     */
+    @Nullable
+    Object enter(@NonNull Object context);
+
+    /**
+     * Restores the calling thread's state to what it was before the
+     * matching {@link #enter(Object)} call.
+     * @param token the value returned by the matching {@link #enter(Object)} call
+     */
+    void exit(@Nullable Object token);
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.common.annotations.Experimental;
+import io.reactivex.common.internal.utils.WeakIdentityMap;
+
+/**
+ * Opt-in collection of per-operator runtime counters.
+ * <p>
+ * While enabled, each subscription to a {@code Flowable} or {@code Observable} operator is
+ * counted against that operator's {@link OperatorMetrics}; the counting consumer is inserted by
+ * the {@code subscribe} hook and passes fusion requests through, so fused chains stay fused.
+ * Operators are tracked weakly, the metrics of an operator disappear from the
+ * {@link #snapshot()} once the operator itself is garbage collected.
+ * <p>
+ * Single, Maybe and Completable are not instrumented.
+ */
+@Experimental
+public final class OperatorInstrumentation {
+
+    static volatile boolean enabled;
+
+    static final WeakIdentityMap<Object, OperatorMetrics> METRICS = new WeakIdentityMap<Object, OperatorMetrics>();
+
+    static final AtomicLong IDS = new AtomicLong();
+
+    /** Utility class. */
+    private OperatorInstrumentation() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    /**
+     * Starts instrumenting subscriptions made from now on.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Stops instrumenting new subscriptions; existing ones keep counting.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Returns true if new subscriptions are instrumented.
+     * @return true if instrumentation is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the metrics of the given operator, creating them on first use.
+     * <p>
+     * Called by the subscribe hooks of the reactive base types.
+     * @param operator the operator instance
+     * @return the metrics of the operator
+     */
+    public static OperatorMetrics metricsOf(Object operator) {
+        OperatorMetrics m = METRICS.get(operator);
+        if (m == null) {
+            AssemblyTracking.CallSite cs = AssemblyTracking.callSiteOf(operator);
+            m = new OperatorMetrics(IDS.incrementAndGet(), operator.getClass().getSimpleName(),
+                    cs != null ? cs.location() : null);
+            OperatorMetrics prev = METRICS.putIfAbsent(operator, m);
+            if (prev != null) {
+                m = prev;
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Returns a snapshot of the metrics of all live instrumented operators, ordered by their id,
+     * which is the order they were first subscribed to.
+     * @return the list of snapshots
+     */
+    public static List<OperatorMetrics.Snapshot> snapshot() {
+        List<OperatorMetrics> list = METRICS.values();
+        List<OperatorMetrics.Snapshot> result = new ArrayList<OperatorMetrics.Snapshot>(list.size());
+        for (OperatorMetrics m : list) {
+            result.add(m.snapshot());
+        }
+        Collections.sort(result, new Comparator<OperatorMetrics.Snapshot>() {
+            @Override
+            public int compare(OperatorMetrics.Snapshot a, OperatorMetrics.Snapshot b) {
+                return a.id < b.id ? -1 : (a.id > b.id ? 1 : 0);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Forgets all metrics collected so far; subscriptions instrumented earlier keep
+     * counting into their now unlisted metrics.
+     */
+    public static void reset() {
+        METRICS.clear();
+    }
+}
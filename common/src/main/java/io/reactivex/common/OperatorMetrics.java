@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.common.annotations.Experimental;
+import io.reactivex.common.internal.utils.StripedCounter;
+
+/**
+ * Runtime counters of one assembled operator, collected while {@link OperatorInstrumentation}
+ * is enabled.
+ * <p>
+ * The emission counters describe the signals the operator sends to its downstream consumers
+ * (summed over all of its subscriptions); the queue and drain counters are only maintained by
+ * operators that have an internal queue and a drain loop (such as {@code observeOn} and
+ * {@code flatMap}).
+ */
+@Experimental
+public final class OperatorMetrics {
+
+    final long id;
+
+    final String name;
+
+    final String callSite;
+
+    final StripedCounter emitted;
+
+    final StripedCounter requested;
+
+    final StripedCounter cancelled;
+
+    final StripedCounter drainLoops;
+
+    final StripedCounter onNextNanos;
+
+    final AtomicLong queueHighWaterMark;
+
+    volatile boolean unboundedRequest;
+
+    public OperatorMetrics(long id, String name, String callSite) {
+        this.id = id;
+        this.name = name;
+        this.callSite = callSite;
+        this.emitted = new StripedCounter();
+        this.requested = new StripedCounter();
+        this.cancelled = new StripedCounter();
+        this.drainLoops = new StripedCounter();
+        this.onNextNanos = new StripedCounter();
+        this.queueHighWaterMark = new AtomicLong();
+    }
+
+    /**
+     * Returns the metrics of the operator the given consumer is instrumenting.
+     * @param consumer the consumer an operator received in its {@code subscribeActual}
+     * @return the metrics or null if the consumer is not instrumented
+     */
+    public static OperatorMetrics of(Object consumer) {
+        if (consumer instanceof Instrumented) {
+            return ((Instrumented)consumer).operatorMetrics();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the unique id of the operator instance.
+     * @return the id
+     */
+    public long id() {
+        return id;
+    }
+
+    /**
+     * Returns the name of the operator, its class name.
+     * @return the name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns where the operator was assembled, if it was tracked by {@link AssemblyTracking}.
+     * @return the call site location or null
+     */
+    public String callSite() {
+        return callSite;
+    }
+
+    /** Records an item emitted to a downstream consumer. */
+    public void emitted() {
+        emitted.increment();
+    }
+
+    /**
+     * Records a request from a downstream consumer.
+     * @param n the amount requested
+     */
+    public void requested(long n) {
+        if (n == Long.MAX_VALUE) {
+            unboundedRequest = true;
+        } else {
+            requested.add(n);
+        }
+    }
+
+    /** Records a cancellation or disposal by a downstream consumer. */
+    public void cancelled() {
+        cancelled.increment();
+    }
+
+    /** Records one entry into the operator's drain loop. */
+    public void drainLoop() {
+        drainLoops.increment();
+    }
+
+    /**
+     * Records the time the downstream consumer spent in one onNext call.
+     * @param nanos the elapsed time in nanoseconds
+     */
+    public void onNextTime(long nanos) {
+        onNextNanos.add(nanos);
+    }
+
+    /**
+     * Records the current size of the operator's queue, updating the high-water mark.
+     * @param size the current number of queued items
+     */
+    public void queueSize(long size) {
+        AtomicLong hwm = queueHighWaterMark;
+        long h = hwm.get();
+        while (size > h) {
+            if (hwm.compareAndSet(h, size)) {
+                break;
+            }
+            h = hwm.get();
+        }
+    }
+
+    /**
+     * Returns a point-in-time copy of the counters.
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(id, name, callSite, emitted.sum(),
+                unboundedRequest ? Long.MAX_VALUE : requested.sum(),
+                cancelled.sum(), queueHighWaterMark.get(), drainLoops.sum(), onNextNanos.sum());
+    }
+
+    /**
+     * Implemented by the consumers that collect metrics for the operator they are subscribed to.
+     */
+    public interface Instrumented {
+        /**
+         * Returns the metrics this consumer records into.
+         * @return the metrics
+         */
+        OperatorMetrics operatorMetrics();
+    }
+
+    /**
+     * An immutable copy of an operator's counters.
+     */
+    public static final class Snapshot {
+        final long id;
+        final String name;
+        final String callSite;
+        final long emitted;
+        final long requested;
+        final long cancelled;
+        final long queueHighWaterMark;
+        final long drainLoops;
+        final long onNextNanos;
+
+        Snapshot(long id, String name, String callSite, long emitted, long requested, long cancelled,
+                long queueHighWaterMark, long drainLoops, long onNextNanos) {
+            this.id = id;
+            this.name = name;
+            this.callSite = callSite;
+            this.emitted = emitted;
+            this.requested = requested;
+            this.cancelled = cancelled;
+            this.queueHighWaterMark = queueHighWaterMark;
+            this.drainLoops = drainLoops;
+            this.onNextNanos = onNextNanos;
+        }
+
+        /**
+         * Returns the unique id of the operator instance.
+         * @return the id
+         */
+        public long id() {
+            return id;
+        }
+
+        /**
+         * Returns the name of the operator.
+         * @return the name
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Returns where the operator was assembled.
+         * @return the call site location or null if the operator wasn't tracked
+         */
+        public String callSite() {
+            return callSite;
+        }
+
+        /**
+         * Returns the number of items emitted to the downstream consumers.
+         * @return the number of items emitted
+         */
+        public long emitted() {
+            return emitted;
+        }
+
+        /**
+         * Returns the total amount requested by the downstream Subscribers,
+         * {@code Long.MAX_VALUE} if any of them requested an unbounded amount.
+         * @return the total amount requested
+         */
+        public long requested() {
+            return requested;
+        }
+
+        /**
+         * Returns the number of cancellations or disposals by the downstream consumers.
+         * @return the number of cancellations
+         */
+        public long cancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Returns the highest number of items observed in the operator's queue.
+         * @return the queue high-water mark, 0 if the operator doesn't report it
+         */
+        public long queueHighWaterMark() {
+            return queueHighWaterMark;
+        }
+
+        /**
+         * Returns the number of times the operator entered its drain loop.
+         * @return the number of drain loop entries, 0 if the operator doesn't report it
+         */
+        public long drainLoops() {
+            return drainLoops;
+        }
+
+        /**
+         * Returns the total time the downstream consumers spent in onNext for the items
+         * of this operator, including everything they did synchronously in turn.
+         * @return the total time in nanoseconds
+         */
+        public long onNextNanos() {
+            return onNextNanos;
+        }
+
+        @Override
+        public String toString() {
+            return name + "#" + id + (callSite != null ? " @ " + callSite : "") + " [emitted=" + emitted + ", requested=" + requested
+                    + ", cancelled=" + cancelled + ", queueHighWaterMark=" + queueHighWaterMark
+                    + ", drainLoops=" + drainLoops + ", onNextNanos=" + onNextNanos + "]";
+        }
+    }
+}
@@ -0,0 +1,379 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+import io.reactivex.common.annotations.Experimental;
+import io.reactivex.common.internal.utils.WeakIdentityMap;
+
+/**
+ * Opt-in registry of the live subscriptions of reactive chains that can be dumped
+ * on demand to diagnose stalled pipelines.
+ * <p>
+ * While enabled, the subscribe hooks of the Flowable and Observable plugins record
+ * each subscription: the operator subscribed to, its upstream (if the operator
+ * exposes it via {@code HasUpstreamPublisher} or {@code HasUpstreamObservableSource})
+ * and the consumer. A {@link #snapshot()} links the recorded operators into chains
+ * starting from the operators closest to the end consumers and reads the state of each
+ * consumer: buffered items, outstanding request and the done/cancelled flags of the
+ * consumers implementing {@link Inspectable}, the buffered items and outstanding request
+ * of other {@link BufferProbe.Source}s and the disposed flag of other {@link Disposable}s. Operators
+ * that subscribe to several sources (such as {@code flatMap} or {@code merge}) don't
+ * expose their inner sources and those show up as separate chains.
+ * <p>
+ * The consumers and operators are held weakly; consumers that are cancelled or have
+ * terminated with an empty buffer are dropped when a snapshot is taken.
+ */
+@Experimental
+public final class PipelineTopology {
+
+    static volatile boolean enabled;
+
+    /** Maps the consumers to the operators they subscribed to. */
+    static final WeakIdentityMap<Object, WeakReference<Object>> SUBSCRIPTIONS =
+            new WeakIdentityMap<Object, WeakReference<Object>>();
+
+    /** Maps the subscribed operators to their upstream. */
+    static final WeakIdentityMap<Object, WeakReference<Object>> UPSTREAMS =
+            new WeakIdentityMap<Object, WeakReference<Object>>();
+
+    /** Utility class. */
+    private PipelineTopology() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    /**
+     * Starts recording the subscriptions made from now on.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Stops recording new subscriptions; the ones already recorded are kept.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Returns true if subscriptions are recorded.
+     * @return true if recording is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a subscription; called by the subscribe hooks of the plugins.
+     * @param operator the operator subscribed to
+     * @param upstream the upstream of the operator, null if not known
+     * @param consumer the consumer subscribing to the operator
+     */
+    public static void register(Object operator, Object upstream, Object consumer) {
+        SUBSCRIPTIONS.put(consumer, new WeakReference<Object>(operator));
+        if (upstream != null) {
+            UPSTREAMS.put(operator, new WeakReference<Object>(upstream));
+        }
+    }
+
+    /**
+     * Returns the chains of the live subscriptions, each starting from the operator
+     * the end consumer subscribed to and leading towards the source.
+     * @return the list of chains
+     */
+    public static List<Node> snapshot() {
+        IdentityHashMap<Object, List<Object>> consumers = new IdentityHashMap<Object, List<Object>>();
+        IdentityHashMap<Object, Object> upstreams = new IdentityHashMap<Object, Object>();
+        List<Object> terminated = new ArrayList<Object>();
+
+        for (Map.Entry<Object, WeakReference<Object>> e : SUBSCRIPTIONS.toMap().entrySet()) {
+            Object op = e.getValue().get();
+            if (op == null) {
+                continue;
+            }
+            List<Object> list = consumers.get(op);
+            if (list == null) {
+                list = new ArrayList<Object>();
+                consumers.put(op, list);
+            }
+            list.add(e.getKey());
+        }
+        for (Map.Entry<Object, WeakReference<Object>> e : UPSTREAMS.toMap().entrySet()) {
+            Object up = e.getValue().get();
+            if (up != null) {
+                upstreams.put(e.getKey(), up);
+            }
+        }
+
+        IdentityHashMap<Object, List<ConsumerState>> states = new IdentityHashMap<Object, List<ConsumerState>>();
+        for (Map.Entry<Object, List<Object>> e : consumers.entrySet()) {
+            List<ConsumerState> list = new ArrayList<ConsumerState>();
+            for (Object c : e.getValue()) {
+                ConsumerState s = stateOf(c);
+                if (s.isTerminated()) {
+                    terminated.add(c);
+                } else {
+                    list.add(s);
+                }
+            }
+            if (!list.isEmpty()) {
+                states.put(e.getKey(), list);
+            }
+        }
+
+        for (Object c : terminated) {
+            SUBSCRIPTIONS.remove(c);
+        }
+
+        IdentityHashMap<Object, Boolean> hasDownstream = new IdentityHashMap<Object, Boolean>();
+        for (Object op : states.keySet()) {
+            Object up = upstreams.get(op);
+            // walk through upstreams without live consumers of their own
+            IdentityHashMap<Object, Boolean> seen = new IdentityHashMap<Object, Boolean>();
+            while (up != null && seen.put(up, Boolean.TRUE) == null) {
+                hasDownstream.put(up, Boolean.TRUE);
+                up = upstreams.get(up);
+            }
+        }
+
+        List<Node> result = new ArrayList<Node>();
+        for (Object op : states.keySet()) {
+            if (!hasDownstream.containsKey(op)) {
+                result.add(nodeOf(op, states, upstreams, new IdentityHashMap<Object, Boolean>()));
+            }
+        }
+        return result;
+    }
+
+    static Node nodeOf(Object op, Map<Object, List<ConsumerState>> states,
+            Map<Object, Object> upstreams, IdentityHashMap<Object, Boolean> seen) {
+        if (seen.put(op, Boolean.TRUE) != null) {
+            return null;
+        }
+        Object up = upstreams.get(op);
+        Node upstream = up != null ? nodeOf(up, states, upstreams, seen) : null;
+        List<ConsumerState> list = states.get(op);
+        if (list == null) {
+            list = Collections.emptyList();
+        }
+        AssemblyTracking.CallSite cs = AssemblyTracking.callSiteOf(op);
+        return new Node(op.getClass().getSimpleName(), cs != null ? cs.location() : null,
+                Collections.unmodifiableList(list), upstream);
+    }
+
+    /**
+     * Returns a human readable dump of the chains of the live subscriptions.
+     * @return the dump, one line per operator and per consumer
+     */
+    public static String dump() {
+        StringBuilder b = new StringBuilder();
+        for (Node n : snapshot()) {
+            String indent = "";
+            while (n != null) {
+                b.append(indent).append(n.operator);
+                if (n.callSite != null) {
+                    b.append(" @ ").append(n.callSite);
+                }
+                b.append('\n');
+                for (ConsumerState s : n.consumers) {
+                    b.append(indent).append("  <- ").append(s).append('\n');
+                }
+                indent += "  ";
+                n = n.upstream;
+            }
+        }
+        return b.toString();
+    }
+
+    /**
+     * Forgets all recorded subscriptions.
+     */
+    public static void reset() {
+        SUBSCRIPTIONS.clear();
+        UPSTREAMS.clear();
+    }
+
+    /**
+     * Reads the state of a consumer via {@link Inspectable}, {@link BufferProbe.Source}
+     * or {@link Disposable}, whichever it implements first.
+     * @param consumer the consumer to inspect
+     * @return the state
+     */
+    static ConsumerState stateOf(Object consumer) {
+        long requested = -1L;
+        long queued = -1L;
+        boolean done = false;
+        boolean cancelled = false;
+
+        if (consumer instanceof BufferProbe.Source) {
+            BufferProbe.Source s = (BufferProbe.Source) consumer;
+            queued = s.occupancy();
+            requested = s.outstandingRequest();
+            if (consumer instanceof Inspectable) {
+                Inspectable i = (Inspectable) consumer;
+                done = i.isDone();
+                cancelled = i.isCancelled();
+            }
+        } else if (consumer instanceof Disposable) {
+            cancelled = ((Disposable) consumer).isDisposed();
+        }
+
+        return new ConsumerState(consumer.getClass().getName(), requested, queued, done, cancelled);
+    }
+
+    /**
+     * Implemented by the buffering consumers to expose their terminal state in addition
+     * to their buffer.
+     */
+    public interface Inspectable extends BufferProbe.Source {
+        /**
+         * Returns true if the consumer received a terminal event.
+         * @return true if the upstream completed or failed
+         */
+        boolean isDone();
+
+        /**
+         * Returns true if the consumer was cancelled or disposed.
+         * @return true if cancelled
+         */
+        boolean isCancelled();
+    }
+
+    /**
+     * An operator of a chain with the state of its live consumers.
+     */
+    public static final class Node {
+        final String operator;
+        final String callSite;
+        final List<ConsumerState> consumers;
+        final Node upstream;
+
+        Node(String operator, String callSite, List<ConsumerState> consumers, Node upstream) {
+            this.operator = operator;
+            this.callSite = callSite;
+            this.consumers = consumers;
+            this.upstream = upstream;
+        }
+
+        /**
+         * Returns the simple class name of the operator.
+         * @return the operator type
+         */
+        public String operator() {
+            return operator;
+        }
+
+        /**
+         * Returns the assembly location of the operator if it was sampled by {@link AssemblyTracking}.
+         * @return the call site or null
+         */
+        public String callSite() {
+            return callSite;
+        }
+
+        /**
+         * Returns the state of the consumers currently subscribed to the operator.
+         * @return the unmodifiable list of consumer states
+         */
+        public List<ConsumerState> consumers() {
+            return consumers;
+        }
+
+        /**
+         * Returns the upstream of the operator.
+         * @return the upstream node or null if the operator is a source, doesn't
+         * expose its upstream, or the upstream was already listed in this chain
+         */
+        public Node upstream() {
+            return upstream;
+        }
+
+        @Override
+        public String toString() {
+            return operator + (callSite != null ? " @ " + callSite : "") + " " + consumers;
+        }
+    }
+
+    /**
+     * The state of one consumer read when the snapshot was taken.
+     */
+    public static final class ConsumerState {
+        final String type;
+        final long requested;
+        final long queued;
+        final boolean done;
+        final boolean cancelled;
+
+        ConsumerState(String type, long requested, long queued, boolean done, boolean cancelled) {
+            this.type = type;
+            this.requested = requested;
+            this.queued = queued;
+            this.done = done;
+            this.cancelled = cancelled;
+        }
+
+        /**
+         * Returns the class name of the consumer.
+         * @return the consumer type
+         */
+        public String type() {
+            return type;
+        }
+
+        /**
+         * Returns the amount requested and not yet delivered.
+         * @return the outstanding request, {@code Long.MAX_VALUE} if unbounded, -1 if unknown
+         */
+        public long requested() {
+            return requested;
+        }
+
+        /**
+         * Returns the number of items waiting in the consumer's queue.
+         * @return the number of queued items, -1 if unknown
+         */
+        public long queued() {
+            return queued;
+        }
+
+        /**
+         * Returns true if the consumer received a terminal event.
+         * @return true if done
+         */
+        public boolean isDone() {
+            return done;
+        }
+
+        /**
+         * Returns true if the consumer has been cancelled or disposed.
+         * @return true if cancelled
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        boolean isTerminated() {
+            return cancelled || (done && queued <= 0L);
+        }
+
+        @Override
+        public String toString() {
+            return type + "[requested=" + (requested == Long.MAX_VALUE ? "unbounded" : String.valueOf(requested))
+                    + ", queued=" + queued + ", done=" + done + ", cancelled=" + cancelled + "]";
+        }
+    }
+}
@@ -68,6 +68,9 @@ public final class RxJavaCommonPlugins {
     @Nullable
     static volatile BooleanSupplier onBeforeBlocking;
 
+    @Nullable
+    static volatile ContextCarrier contextCarrier;
+
     /** Prevents changing the plugins. */
     static volatile boolean lockdown;
 
@@ -291,6 +294,9 @@ public final class RxJavaCommonPlugins {
 
     /**
      * Called when an undeliverable error occurs.
+     * <p>
+     * If {@link AssemblyTracking} recorded a call site for the error, the error is wrapped
+     * into an {@link AssemblyCallSiteException} before it is reported.
      * @param error the error to report
      */
     public static void onError(@NonNull Throwable error) {
@@ -300,7 +306,13 @@ public final class RxJavaCommonPlugins {
             error = new NullPointerException("onError called with null. Null values are generally not allowed in 2.x operators and sources.");
         } else {
             if (!isBug(error)) {
-                error = new UndeliverableException(error);
+                error = new UndeliverableException(AssemblyTracking.attachCallSite(error));
+            } else if (error instanceof OnErrorNotImplementedException) {
+                Throwable cause = error.getCause();
+                Throwable withCallSite = AssemblyTracking.attachCallSite(cause);
+                if (withCallSite != cause) {
+                    error = new OnErrorNotImplementedException(error.getMessage(), withCallSite);
+                }
             }
         }
 
@@ -442,6 +454,7 @@ public final class RxJavaCommonPlugins {
 
         setFailOnNonBlockingScheduler(false);
         setOnBeforeBlocking(null);
+        setContextCarrier(null);
     }
 
     /**
@@ -612,6 +625,30 @@ public final class RxJavaCommonPlugins {
         return onBeforeBlocking;
     }
 
+    /**
+     * Sets the carrier that propagates an application-defined context from the
+     * subscribing thread to the threads of the standard schedulers' workers.
+     * @param carrier the carrier to set, null removes the current carrier
+     * @see ContextCarrier
+     */
+    @Experimental
+    public static void setContextCarrier(@Nullable ContextCarrier carrier) {
+        if (lockdown) {
+            throw new IllegalStateException("Plugins can't be changed anymore");
+        }
+        contextCarrier = carrier;
+    }
+
+    /**
+     * Returns the current context carrier or null if none is set.
+     * @return the current context carrier or null
+     */
+    @Experimental
+    @Nullable
+    public static ContextCarrier getContextCarrier() {
+        return contextCarrier;
+    }
+
     /**
      * Create an instance of the default {@link Scheduler} used for {@link Schedulers#computation()}
      * except using {@code threadFactory} for thread creation.
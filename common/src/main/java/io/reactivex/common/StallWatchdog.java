@@ -0,0 +1,320 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import io.reactivex.common.annotations.Experimental;
+import io.reactivex.common.functions.Consumer;
+import io.reactivex.common.internal.functions.ObjectHelper;
+import io.reactivex.common.internal.schedulers.RxThreadFactory;
+
+/**
+ * Opt-in watchdog that reports scheduler tasks running longer than a threshold and
+ * operator buffers that hold items without being drained for longer than the threshold.
+ * <p>
+ * While enabled, the tasks of the standard schedulers' workers and direct tasks
+ * record their start on a per-thread slot and a daemon thread scans the slots
+ * periodically. The buffers watched are the ones registered with {@link BufferTelemetry},
+ * which has to be enabled when the operators are assembled. A buffer is considered
+ * stalled if it is not empty and no item has been taken out of it during the threshold;
+ * {@link Stall#requested()} tells a missing {@code request(n)} (zero) apart from a drain
+ * that doesn't run (positive).
+ * <p>
+ * Each stall is reported once: a task again only if a new task is stuck,
+ * a buffer again only after it made progress in between.
+ */
+@Experimental
+public final class StallWatchdog {
+
+    static volatile boolean enabled;
+
+    static long thresholdNanos;
+
+    static Consumer<? super Stall> callback;
+
+    static ScheduledExecutorService scanner;
+
+    /** The task slots of the threads that ran a task while enabled, guarded by itself. */
+    static final Map<Thread, TaskSlot> SLOTS = new WeakHashMap<Thread, TaskSlot>();
+
+    static final ThreadLocal<TaskSlot> SLOT = new ThreadLocal<TaskSlot>() {
+        @Override
+        protected TaskSlot initialValue() {
+            TaskSlot slot = new TaskSlot();
+            synchronized (SLOTS) {
+                SLOTS.put(Thread.currentThread(), slot);
+            }
+            return slot;
+        }
+    };
+
+    /** The drain progress of the buffers, accessed by the scanning thread only. */
+    static final Map<BufferProbe, QueueProgress> QUEUES = new WeakHashMap<BufferProbe, QueueProgress>();
+
+    /** Utility class. */
+    private StallWatchdog() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    /**
+     * Starts watching for stalls, replacing the previous settings if already enabled.
+     * @param threshold the time a task may run or a buffer may stay undrained before it is reported
+     * @param unit the time unit of the threshold
+     * @param onStall the callback receiving the stalls, called from the watchdog's thread
+     */
+    public static synchronized void enable(long threshold, TimeUnit unit, Consumer<? super Stall> onStall) {
+        ObjectHelper.verifyPositive(threshold, "threshold");
+        ObjectHelper.requireNonNull(unit, "unit is null");
+        ObjectHelper.requireNonNull(onStall, "onStall is null");
+        disable();
+        long t = unit.toNanos(threshold);
+        thresholdNanos = t;
+        callback = onStall;
+        ScheduledExecutorService exec = Executors.newSingleThreadScheduledExecutor(new RxThreadFactory("RxStallWatchdog"));
+        scanner = exec;
+        enabled = true;
+        long period = Math.max(t / 2, TimeUnit.MILLISECONDS.toNanos(1));
+        exec.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                check();
+            }
+        }, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops watching and shuts down the watchdog's thread.
+     */
+    public static synchronized void disable() {
+        enabled = false;
+        ScheduledExecutorService exec = scanner;
+        scanner = null;
+        if (exec != null) {
+            exec.shutdownNow();
+        }
+        callback = null;
+        synchronized (QUEUES) {
+            QUEUES.clear();
+        }
+    }
+
+    /**
+     * Returns true if the watchdog is enabled.
+     * @return true if the watchdog is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records that the current thread started running the given task; called by the
+     * scheduler tasks when the watchdog is enabled.
+     * @param task the task started
+     */
+    public static void taskStarted(Object task) {
+        TaskSlot slot = SLOT.get();
+        slot.start = System.nanoTime();
+        slot.task = task;
+    }
+
+    /**
+     * Records that the current thread finished its task.
+     */
+    public static void taskFinished() {
+        SLOT.get().task = null;
+    }
+
+    /**
+     * Scans the running tasks and the registered buffers once and reports the stalls
+     * found; called periodically by the watchdog's thread.
+     */
+    public static void check() {
+        Consumer<? super Stall> c;
+        long t;
+        synchronized (StallWatchdog.class) {
+            c = callback;
+            t = thresholdNanos;
+        }
+        if (c == null) {
+            return;
+        }
+        List<Stall> stalls = new ArrayList<Stall>();
+        long now = System.nanoTime();
+
+        synchronized (SLOTS) {
+            for (Map.Entry<Thread, TaskSlot> e : SLOTS.entrySet()) {
+                Thread th = e.getKey();
+                TaskSlot slot = e.getValue();
+                Object task = slot.task;
+                if (th == null || task == null) {
+                    continue;
+                }
+                long start = slot.start;
+                if (now - start >= t && slot.reportedStart != start) {
+                    slot.reportedStart = start;
+                    stalls.add(new Stall(Stall.Kind.TASK, task.getClass().getName(), th, now - start, -1L, -1L));
+                }
+            }
+        }
+
+        List<BufferProbe> probes;
+        synchronized (BufferTelemetry.PROBES) {
+            probes = new ArrayList<BufferProbe>(BufferTelemetry.PROBES.keySet());
+        }
+        synchronized (QUEUES) {
+            for (BufferProbe p : probes) {
+                if (p.source.isTerminated()) {
+                    QUEUES.remove(p);
+                    continue;
+                }
+                long drained = p.drained();
+                long occupancy = p.source.occupancy();
+                QueueProgress qp = QUEUES.get(p);
+                if (qp == null) {
+                    qp = new QueueProgress();
+                    QUEUES.put(p, qp);
+                } else if (qp.drained == drained && occupancy > 0L) {
+                    if (now - qp.since >= t && !qp.reported) {
+                        qp.reported = true;
+                        stalls.add(new Stall(Stall.Kind.QUEUE, p.operator + " @ " + p.location, null,
+                                now - qp.since, occupancy, p.source.outstandingRequest()));
+                    }
+                    continue;
+                }
+                qp.drained = drained;
+                qp.since = now;
+                qp.reported = false;
+            }
+        }
+
+        for (Stall s : stalls) {
+            try {
+                c.accept(s);
+            } catch (Throwable ex) {
+                RxJavaCommonPlugins.onError(ex);
+            }
+        }
+    }
+
+    static final class TaskSlot {
+        volatile Object task;
+
+        volatile long start;
+
+        /** Accessed while holding the SLOTS lock. */
+        long reportedStart;
+    }
+
+    static final class QueueProgress {
+        long drained;
+
+        long since;
+
+        boolean reported;
+    }
+
+    /**
+     * Describes a task running beyond the threshold or a buffer not drained within the threshold.
+     */
+    public static final class Stall {
+
+        /** The kind of stall. */
+        public enum Kind {
+            /** A scheduler task has been running longer than the threshold. */
+            TASK,
+            /** A non-empty buffer wasn't drained during the threshold. */
+            QUEUE
+        }
+
+        final Kind kind;
+        final String subject;
+        final Thread thread;
+        final long durationNanos;
+        final long queued;
+        final long requested;
+
+        Stall(Kind kind, String subject, Thread thread, long durationNanos, long queued, long requested) {
+            this.kind = kind;
+            this.subject = subject;
+            this.thread = thread;
+            this.durationNanos = durationNanos;
+            this.queued = queued;
+            this.requested = requested;
+        }
+
+        /**
+         * Returns the kind of the stall.
+         * @return the kind
+         */
+        public Kind kind() {
+            return kind;
+        }
+
+        /**
+         * Returns the class name of the task or the operator name and assembly location of the buffer.
+         * @return the subject of the stall
+         */
+        public String subject() {
+            return subject;
+        }
+
+        /**
+         * Returns the thread running the stalled task, its stack trace shows where the task is stuck.
+         * @return the thread or null for buffer stalls
+         */
+        public Thread thread() {
+            return thread;
+        }
+
+        /**
+         * Returns how long the task has been running or the buffer has not been drained.
+         * @param unit the time unit of the result
+         * @return the duration
+         */
+        public long duration(TimeUnit unit) {
+            return unit.convert(durationNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns the number of items in the stalled buffer.
+         * @return the number of items or -1 for task stalls
+         */
+        public long queued() {
+            return queued;
+        }
+
+        /**
+         * Returns the amount requested by the downstream of the stalled buffer and not yet delivered.
+         * @return the outstanding request or -1 for task stalls
+         */
+        public long requested() {
+            return requested;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder b = new StringBuilder();
+            b.append(kind).append(' ').append(subject).append(" stalled for ")
+            .append(TimeUnit.NANOSECONDS.toMillis(durationNanos)).append(" ms");
+            if (thread != null) {
+                b.append(" on ").append(thread.getName());
+            } else {
+                b.append(", queued=").append(queued).append(", requested=").append(requested);
+            }
+            return b.toString();
+        }
+    }
+}
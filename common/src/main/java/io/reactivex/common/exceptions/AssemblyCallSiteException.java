@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common.exceptions;
+
+import io.reactivex.common.AssemblyTracking;
+import io.reactivex.common.annotations.Experimental;
+
+/**
+ * Wraps an undeliverable error to tell where the first operator tracked by {@link AssemblyTracking}
+ * it passed through was assembled; the original error is the cause.
+ * <p>
+ * It doesn't capture its own stack trace, only the call site is relevant.
+ */
+@Experimental
+public final class AssemblyCallSiteException extends RuntimeException {
+
+    private static final long serialVersionUID = 8426158389213582744L;
+
+    final transient AssemblyTracking.CallSite callSite;
+
+    /**
+     * Constructs an instance for the given call site and the error it wraps.
+     * @param callSite the call site, not null
+     * @param cause the error that passed through the operator
+     */
+    public AssemblyCallSiteException(AssemblyTracking.CallSite callSite, Throwable cause) {
+        super("Assembled at " + callSite.location() + " (call site #" + callSite.id() + ")", cause);
+        this.callSite = callSite;
+    }
+
+    /**
+     * Returns the call site.
+     * @return the call site, null if this exception was deserialized
+     */
+    public AssemblyTracking.CallSite callSite() {
+        return callSite;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common.internal.queues;
+
+import java.util.concurrent.atomic.*;
+
+import io.reactivex.common.annotations.Nullable;
+import io.reactivex.common.internal.utils.Pow2;
+
+/**
+ * A multi-producer single-consumer unbounded queue that stores its elements in linked
+ * arrays (chunks) instead of a node per element.
+ * <p>
+ * Producers claim a slot by incrementing the producer index and write the element into
+ * the chunk covering that slot, linking in a new chunk when the slot is beyond the last one;
+ * none of them ever wait for another producer. The consumer spins only if a producer has
+ * claimed the next slot but has not yet written it.
+ * @param <T> the contained value type
+ */
+public abstract class AbstractMpscLinkedArrayQueue<T> {
+
+    final AtomicLong producerIndex;
+
+    final AtomicReference<Chunk> producerChunk;
+
+    final AtomicLong consumerIndex;
+
+    final AtomicReference<Chunk> consumerChunk;
+
+    final int shift;
+
+    final int mask;
+
+    public AbstractMpscLinkedArrayQueue(int chunkSize) {
+        int c = Pow2.roundToPowerOfTwo(Math.max(8, chunkSize));
+        this.shift = Integer.numberOfTrailingZeros(c);
+        this.mask = c - 1;
+        Chunk first = new Chunk(0L, c);
+        this.producerChunk = new AtomicReference<Chunk>(first);
+        this.consumerChunk = new AtomicReference<Chunk>(first);
+        this.producerIndex = new AtomicLong();
+        this.consumerIndex = new AtomicLong();
+    }
+
+    public final boolean offer(final T e) {
+        if (null == e) {
+            throw new NullPointerException("Null is not a valid element");
+        }
+        long index = producerIndex.getAndIncrement();
+        long id = index >> shift;
+
+        Chunk c = producerChunk.get();
+        if (c.id > id) {
+            // other producers moved ahead; the consumer can't have passed our unwritten slot
+            c = consumerChunk.get();
+        }
+        while (c.id != id) {
+            Chunk n = c.get();
+            if (n == null) {
+                n = new Chunk(c.id + 1, mask + 1);
+                if (!c.compareAndSet(null, n)) {
+                    n = c.get();
+                }
+            }
+            c = n;
+        }
+
+        for (;;) {
+            Chunk p = producerChunk.get();
+            if (p.id >= id || producerChunk.compareAndSet(p, c)) {
+                break;
+            }
+        }
+
+        c.items.lazySet((int)index & mask, e);
+        return true;
+    }
+
+    public final boolean offer(T v1, T v2) {
+        offer(v1);
+        offer(v2);
+        return true;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public final T poll() {
+        long index = consumerIndex.get();
+        Chunk c = consumerChunk.get();
+        if (c.id != index >> shift) {
+            Chunk n = c.get();
+            if (n == null) {
+                if (producerIndex.get() == index) {
+                    return null;
+                }
+                // the producer of the first slot is still linking the chunk
+                while ((n = c.get()) == null) { } // NOPMD
+            }
+            consumerChunk.lazySet(n);
+            c = n;
+        }
+        int offset = (int)index & mask;
+        Object e = c.items.get(offset);
+        if (e == null) {
+            if (producerIndex.get() == index) {
+                return null;
+            }
+            // the slot has been claimed but not written yet
+            while ((e = c.items.get(offset)) == null) { } // NOPMD
+        }
+        c.items.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return (T)e;
+    }
+
+    public final void clear() {
+        while (poll() != null || !isEmpty()) { } // NOPMD
+    }
+
+    public final boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    /**
+     * Returns the number of elements claimed by producers and not yet consumed.
+     * @return the number of elements in the queue
+     */
+    public final int size() {
+        long after = consumerIndex.get();
+        for (;;) {
+            long before = after;
+            long p = producerIndex.get();
+            after = consumerIndex.get();
+            if (before == after) {
+                return (int)(p - after);
+            }
+        }
+    }
+
+    static final class Chunk extends AtomicReference<Chunk> {
+
+        private static final long serialVersionUID = -5429478453765634578L;
+
+        final long id;
+
+        final AtomicReferenceArray<Object> items;
+
+        Chunk(long id, int capacity) {
+            this.id = id;
+            this.items = new AtomicReferenceArray<Object>(capacity);
+        }
+    }
+}
@@ -98,6 +98,23 @@ public abstract class AbstractSpscArrayQueue<E> extends AtomicReferenceArray<E>
         return producerIndex.get() == consumerIndex.get();
     }
 
+    /**
+     * Returns the number of elements in the queue; only an estimate while
+     * the queue is being modified concurrently.
+     * @return the number of elements in the queue
+     */
+    public final int size() {
+        long after = consumerIndex.get();
+        for (;;) {
+            final long before = after;
+            final long currentProducerIndex = producerIndex.get();
+            after = consumerIndex.get();
+            if (before == after) {
+                return (int)(currentProducerIndex - after);
+            }
+        }
+    }
+
     final void soProducerIndex(long newIndex) {
         producerIndex.lazySet(newIndex);
     }
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common.internal.queues;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import io.reactivex.common.annotations.Nullable;
+import io.reactivex.common.internal.utils.BlockingHelper;
+
+/**
+ * A multi-producer single-consumer unbounded queue whose consumer can wait for
+ * elements in {@link #take()} by spinning and then parking, without any locks.
+ * <p>
+ * It is not a {@link java.util.Queue}: the underlying queue can't be peeked or
+ * iterated, so only the operations the blocking consumers need are available.
+ * @param <T> the contained value type
+ */
+public final class MpscParkingQueue<T> {
+
+    final AbstractMpscLinkedArrayQueue<T> queue;
+
+    /** The consumer thread while it is parked in take(). */
+    final AtomicReference<Thread> waiter;
+
+    public MpscParkingQueue(int chunkSize) {
+        this.queue = new AbstractMpscLinkedArrayQueue<T>(chunkSize) { };
+        this.waiter = new AtomicReference<Thread>();
+    }
+
+    /**
+     * Adds an element and wakes up the consumer if it is parked in {@link #take()}.
+     * @param e the element to add, not null
+     * @return true
+     */
+    public boolean offer(T e) {
+        queue.offer(e);
+        BlockingHelper.unpark(waiter);
+        return true;
+    }
+
+    /**
+     * Removes the next element without waiting; must be called by the single consumer only.
+     * @return the next element or null if the queue is empty
+     */
+    @Nullable
+    public T poll() {
+        return queue.poll();
+    }
+
+    /**
+     * Removes the next element, waiting for one if the queue is empty; must be called
+     * by the single consumer only.
+     * @return the next element
+     * @throws InterruptedException if the consumer thread has been interrupted while waiting
+     */
+    public T take() throws InterruptedException {
+        AbstractMpscLinkedArrayQueue<T> q = queue;
+        T v = q.poll();
+        for (int i = BlockingHelper.SPIN_COUNT; v == null && i > 0; i--) {
+            v = q.poll();
+        }
+        if (v != null) {
+            return v;
+        }
+        Thread t = Thread.currentThread();
+        for (;;) {
+            waiter.set(t);
+            v = q.poll();
+            if (v != null) {
+                waiter.lazySet(null);
+                return v;
+            }
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                waiter.lazySet(null);
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    public void clear() {
+        queue.clear();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+}
@@ -22,12 +22,13 @@ import io.reactivex.common.*;
 import io.reactivex.common.annotations.NonNull;
 import io.reactivex.common.disposables.CompositeDisposable;
 import io.reactivex.common.internal.disposables.ListCompositeDisposable;
+import io.reactivex.common.internal.functions.ObjectHelper;
 
 /**
  * Holds a fixed pool of worker threads and assigns them
  * to requested Scheduler.Workers in a round-robin fashion.
  */
-public final class ComputationScheduler extends Scheduler {
+public final class ComputationScheduler extends Scheduler implements SchedulerMultiWorkerSupport {
     /** This will indicate no pool is active. */
     static final FixedSchedulerPool NONE;
     /** Manages a fixed number of workers. */
@@ -67,7 +68,7 @@ public final class ComputationScheduler extends Scheduler {
         return paramThreads <= 0 || paramThreads > cpuCount ? cpuCount : paramThreads;
     }
 
-    static final class FixedSchedulerPool {
+    static final class FixedSchedulerPool implements SchedulerMultiWorkerSupport {
         final int cores;
 
         final PoolWorker[] eventLoops;
@@ -91,6 +92,26 @@ public final class ComputationScheduler extends Scheduler {
             return eventLoops[(int)(n++ % c)];
         }
 
+        @Override
+        public void createWorkers(int number, WorkerCallback callback) {
+            int c = cores;
+            if (c == 0) {
+                for (int i = 0; i < number; i++) {
+                    callback.onWorker(i, SHUTDOWN_WORKER);
+                }
+            } else {
+                // hand out consecutive event loops so up to 'cores' workers never share a thread
+                int index = (int)(n % c);
+                for (int i = 0; i < number; i++) {
+                    callback.onWorker(i, new EventLoopWorker(eventLoops[index]));
+                    if (++index == c) {
+                        index = 0;
+                    }
+                }
+                n = index;
+            }
+        }
+
         public void shutdown() {
             for (PoolWorker w : eventLoops) {
                 w.dispose();
@@ -125,11 +146,17 @@ public final class ComputationScheduler extends Scheduler {
         return new EventLoopWorker(pool.get().getEventLoop());
     }
 
+    @Override
+    public void createWorkers(int number, WorkerCallback callback) {
+        ObjectHelper.verifyPositive(number, "number");
+        pool.get().createWorkers(number, callback);
+    }
+
     @NonNull
     @Override
     public Disposable scheduleDirect(@NonNull Runnable run, long delay, TimeUnit unit) {
         PoolWorker w = pool.get().getEventLoop();
-        return w.scheduleDirect(run, delay, unit);
+        return w.scheduleDirect(WorkerContext.wrapDirect(run), delay, unit);
     }
 
     @NonNull
@@ -167,6 +194,7 @@ public final class ComputationScheduler extends Scheduler {
         private final CompositeDisposable timed;
         private final ListCompositeDisposable both;
         private final PoolWorker poolWorker;
+        private final WorkerContext context;
 
         volatile boolean disposed;
 
@@ -177,6 +205,7 @@ public final class ComputationScheduler extends Scheduler {
             this.both = new ListCompositeDisposable();
             this.both.add(serial);
             this.both.add(timed);
+            this.context = WorkerContext.capture();
         }
 
         @Override
@@ -198,6 +227,9 @@ public final class ComputationScheduler extends Scheduler {
             if (disposed) {
                 return REJECTED;
             }
+            if (context != null) {
+                action = context.wrap(action);
+            }
 
             return poolWorker.scheduleActual(action, 0, TimeUnit.MILLISECONDS, serial);
         }
@@ -207,6 +239,9 @@ public final class ComputationScheduler extends Scheduler {
             if (disposed) {
                 return REJECTED;
             }
+            if (context != null) {
+                action = context.wrap(action);
+            }
 
             return poolWorker.scheduleActual(action, delayTime, unit, timed);
         }
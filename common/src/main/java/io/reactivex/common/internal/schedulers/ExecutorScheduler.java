@@ -46,7 +46,7 @@ public final class ExecutorScheduler extends Scheduler {
     @NonNull
     @Override
     public Disposable scheduleDirect(@NonNull Runnable run) {
-        Runnable decoratedRun = RxJavaCommonPlugins.onSchedule(run);
+        Runnable decoratedRun = WorkerContext.wrapDirect(RxJavaCommonPlugins.onSchedule(run));
         try {
             if (executor instanceof ExecutorService) {
                 ScheduledDirectTask task = new ScheduledDirectTask(decoratedRun);
@@ -67,7 +67,7 @@ public final class ExecutorScheduler extends Scheduler {
     @NonNull
     @Override
     public Disposable scheduleDirect(@NonNull Runnable run, final long delay, final TimeUnit unit) {
-        final Runnable decoratedRun = RxJavaCommonPlugins.onSchedule(run);
+        final Runnable decoratedRun = WorkerContext.wrapDirect(RxJavaCommonPlugins.onSchedule(run));
         if (executor instanceof ScheduledExecutorService) {
             try {
                 ScheduledDirectTask task = new ScheduledDirectTask(decoratedRun);
@@ -118,9 +118,12 @@ public final class ExecutorScheduler extends Scheduler {
 
         final CompositeDisposable tasks = new CompositeDisposable();
 
+        final WorkerContext context;
+
         public ExecutorWorker(Executor executor) {
             this.executor = executor;
             this.queue = new AbstractMpscLinkedQueue<Runnable>() { };
+            this.context = WorkerContext.capture();
         }
 
         @NonNull
@@ -164,6 +167,7 @@ public final class ExecutorScheduler extends Scheduler {
 
             final SequentialDisposable mar = new SequentialDisposable(first);
 
+            // the context is entered by the drain loop the task is handed to once the delay elapsed
             final Runnable decoratedRun = RxJavaCommonPlugins.onSchedule(run);
 
             ScheduledRunnable sr = new ScheduledRunnable(new SequentialDispose(mar, decoratedRun), tasks);
@@ -206,6 +210,21 @@ public final class ExecutorScheduler extends Scheduler {
 
         @Override
         public void run() {
+            WorkerContext wc = context;
+            if (wc == null) {
+                drain();
+            } else {
+                // the whole drain runs on behalf of this worker, enter the context only once
+                Object token = wc.enter();
+                try {
+                    drain();
+                } finally {
+                    wc.exit(token);
+                }
+            }
+        }
+
+        void drain() {
             int missed = 1;
             final AbstractMpscLinkedQueue<Runnable> q = queue;
             for (;;) {
@@ -220,7 +239,16 @@ public final class ExecutorScheduler extends Scheduler {
                     if (run == null) {
                         break;
                     }
-                    run.run();
+                    if (StallWatchdog.isEnabled()) {
+                        StallWatchdog.taskStarted(run instanceof BooleanRunnable ? ((BooleanRunnable)run).actual : run);
+                        try {
+                            run.run();
+                        } finally {
+                            StallWatchdog.taskFinished();
+                        }
+                    } else {
+                        run.run();
+                    }
 
                     if (disposed) {
                         q.clear();
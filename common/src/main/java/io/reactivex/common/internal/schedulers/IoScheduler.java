@@ -193,6 +193,7 @@ public final class IoScheduler extends Scheduler {
         private final CompositeDisposable tasks;
         private final CachedWorkerPool pool;
         private final ThreadWorker threadWorker;
+        private final WorkerContext context;
 
         final AtomicBoolean once = new AtomicBoolean();
 
@@ -200,6 +201,7 @@ public final class IoScheduler extends Scheduler {
             this.pool = pool;
             this.tasks = new CompositeDisposable();
             this.threadWorker = pool.get();
+            this.context = WorkerContext.capture();
         }
 
         @Override
@@ -224,6 +226,9 @@ public final class IoScheduler extends Scheduler {
                 // don't schedule, we are unsubscribed
                 return REJECTED;
             }
+            if (context != null) {
+                action = context.wrap(action);
+            }
 
             return threadWorker.scheduleActual(action, delayTime, unit, tasks);
         }
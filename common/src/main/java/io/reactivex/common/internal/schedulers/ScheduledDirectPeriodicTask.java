@@ -16,7 +16,7 @@
 
 package io.reactivex.common.internal.schedulers;
 
-import io.reactivex.common.RxJavaCommonPlugins;
+import io.reactivex.common.*;
 
 /**
  * A Callable to be submitted to an ExecutorService that runs a Runnable
@@ -34,6 +34,10 @@ public final class ScheduledDirectPeriodicTask extends AbstractDirectTask implem
     @Override
     public void run() {
         runner = Thread.currentThread();
+        boolean watched = StallWatchdog.isEnabled();
+        if (watched) {
+            StallWatchdog.taskStarted(runnable);
+        }
         try {
             try {
                 runnable.run();
@@ -42,6 +46,9 @@ public final class ScheduledDirectPeriodicTask extends AbstractDirectTask implem
                 RxJavaCommonPlugins.onError(ex);
             }
         } finally {
+            if (watched) {
+                StallWatchdog.taskFinished();
+            }
             runner = null;
         }
     }
@@ -18,6 +18,8 @@ package io.reactivex.common.internal.schedulers;
 
 import java.util.concurrent.Callable;
 
+import io.reactivex.common.StallWatchdog;
+
 /**
  * A Callable to be submitted to an ExecutorService that runs a Runnable
  * action and manages completion/cancellation.
@@ -34,9 +36,16 @@ public final class ScheduledDirectTask extends AbstractDirectTask implements Cal
     @Override
     public Void call() throws Exception {
         runner = Thread.currentThread();
+        boolean watched = StallWatchdog.isEnabled();
+        if (watched) {
+            StallWatchdog.taskStarted(runnable);
+        }
         try {
             runnable.run();
         } finally {
+            if (watched) {
+                StallWatchdog.taskFinished();
+            }
             lazySet(FINISHED);
             runner = null;
         }
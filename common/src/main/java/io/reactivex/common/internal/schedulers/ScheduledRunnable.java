@@ -55,6 +55,10 @@ implements Runnable, Callable<Object>, Disposable {
     @Override
     public void run() {
         lazySet(THREAD_INDEX, Thread.currentThread());
+        boolean watched = StallWatchdog.isEnabled();
+        if (watched) {
+            StallWatchdog.taskStarted(actual);
+        }
         try {
             try {
                 actual.run();
@@ -63,6 +67,9 @@ implements Runnable, Callable<Object>, Disposable {
                 RxJavaCommonPlugins.onError(e);
             }
         } finally {
+            if (watched) {
+                StallWatchdog.taskFinished();
+            }
             lazySet(THREAD_INDEX, null);
             Object o = get(PARENT_INDEX);
             if (o != DISPOSED && o != null && compareAndSet(PARENT_INDEX, o, DONE)) {
@@ -140,11 +140,14 @@ public final class SingleScheduler extends Scheduler {
 
         final CompositeDisposable tasks;
 
+        final WorkerContext context;
+
         volatile boolean disposed;
 
         ScheduledWorker(ScheduledExecutorService executor) {
             this.executor = executor;
             this.tasks = new CompositeDisposable();
+            this.context = WorkerContext.capture();
         }
 
         @NonNull
@@ -155,6 +158,9 @@ public final class SingleScheduler extends Scheduler {
             }
 
             Runnable decoratedRun = RxJavaCommonPlugins.onSchedule(run);
+            if (context != null) {
+                decoratedRun = context.wrap(decoratedRun);
+            }
 
             ScheduledRunnable sr = new ScheduledRunnable(decoratedRun, tasks);
             tasks.add(sr);
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common.internal.schedulers;
+
+import io.reactivex.common.*;
+
+/**
+ * Holds the context a worker captured via the {@link ContextCarrier} plugin
+ * and restores it around the tasks the worker runs.
+ */
+public final class WorkerContext {
+
+    final ContextCarrier carrier;
+
+    final Object context;
+
+    /**
+     * The most recently created wrapper; operators tend to reschedule the same
+     * drain Runnable, which can then reuse it without allocation. The wrapper is
+     * immutable so a racy read is safe.
+     */
+    ContextRunnable last;
+
+    WorkerContext(ContextCarrier carrier, Object context) {
+        this.carrier = carrier;
+        this.context = context;
+    }
+
+    /**
+     * Captures the current thread's context if a {@link ContextCarrier} is installed.
+     * @return the WorkerContext or null if there is no context to carry
+     */
+    public static WorkerContext capture() {
+        ContextCarrier c = RxJavaCommonPlugins.getContextCarrier();
+        if (c == null) {
+            return null;
+        }
+        Object ctx = c.capture();
+        if (ctx == null) {
+            return null;
+        }
+        return new WorkerContext(c, ctx);
+    }
+
+    /**
+     * Captures the current thread's context and wraps the given Runnable to run with it.
+     * @param run the Runnable to wrap
+     * @return the wrapped Runnable or the original one if there is no context to carry
+     */
+    public static Runnable wrapDirect(Runnable run) {
+        WorkerContext wc = capture();
+        if (wc == null) {
+            return run;
+        }
+        return wc.wrap(run);
+    }
+
+    /**
+     * Returns a Runnable that executes the given Runnable within this context.
+     * @param run the Runnable to wrap
+     * @return the wrapping Runnable
+     */
+    public Runnable wrap(Runnable run) {
+        ContextRunnable r = last;
+        if (r != null && r.actual == run) {
+            return r;
+        }
+        r = new ContextRunnable(this, run);
+        last = r;
+        return r;
+    }
+
+    /**
+     * Makes this context current on the calling thread.
+     * @return the token for {@link #exit(Object)}
+     */
+    public Object enter() {
+        return carrier.enter(context);
+    }
+
+    /**
+     * Restores the calling thread's previous context.
+     * @param token the value returned by {@link #enter()}
+     */
+    public void exit(Object token) {
+        carrier.exit(token);
+    }
+
+    static final class ContextRunnable implements Runnable {
+        final WorkerContext parent;
+
+        final Runnable actual;
+
+        ContextRunnable(WorkerContext parent, Runnable actual) {
+            this.parent = parent;
+            this.actual = actual;
+        }
+
+        @Override
+        public void run() {
+            Object token = parent.enter();
+            try {
+                actual.run();
+            } finally {
+                parent.exit(token);
+            }
+        }
+    }
+}
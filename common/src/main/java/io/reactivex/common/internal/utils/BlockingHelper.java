@@ -14,6 +14,8 @@
 package io.reactivex.common.internal.utils;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 import io.reactivex.common.*;
 import io.reactivex.common.internal.schedulers.NonBlockingThread;
@@ -22,6 +24,17 @@ import io.reactivex.common.internal.schedulers.NonBlockingThread;
  * Utility methods for helping common blocking operations.
  */
 public final class BlockingHelper {
+    /**
+     * The number of times a blocking consumer re-checks its condition before parking;
+     * zero on a single CPU where spinning can't help.
+     */
+    public static final int SPIN_COUNT;
+
+    static {
+        SPIN_COUNT = Runtime.getRuntime().availableProcessors() > 1
+                ? Math.max(0, Integer.getInteger("rx2.blocking-spin-count", 128)) : 0;
+    }
+
     /** Utility class. */
     private BlockingHelper() {
         throw new IllegalStateException("No instances!");
@@ -47,6 +60,33 @@ public final class BlockingHelper {
         }
     }
 
+    public static void awaitForComplete(ParkingLatch latch, Disposable subscription) {
+        if (latch.getCount() == 0) {
+            return;
+        }
+        try {
+            verifyNonBlocking();
+            latch.await();
+        } catch (InterruptedException e) {
+            subscription.dispose();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for subscription to complete.", e);
+        }
+    }
+
+    /**
+     * Unparks the thread waiting in the given slot, if any, and clears the slot.
+     * <p>The atomic swap also orders the caller's preceding writes before the check,
+     * so a consumer that registered itself and then found nothing can't be missed.
+     * @param waiter the slot holding the parked consumer thread
+     */
+    public static void unpark(AtomicReference<Thread> waiter) {
+        Thread t = waiter.getAndSet(null);
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
     /**
      * Checks if the {@code failOnNonBlockingScheduler} plugin setting is enabled and the current
      * thread is a Scheduler sensitive to blocking operators.
@@ -13,21 +13,18 @@
 
 package io.reactivex.common.internal.utils;
 
-import java.util.concurrent.CountDownLatch;
-
 import io.reactivex.common.functions.*;
 
 /**
  * Stores an incoming Throwable (if any) and counts itself down.
  */
 public final class BlockingIgnoringReceiver
-extends CountDownLatch
+extends ParkingLatch
 implements Consumer<Throwable>, Action {
-    public Throwable error;
 
-    public BlockingIgnoringReceiver() {
-        super(1);
-    }
+    private static final long serialVersionUID = 3961523553562512400L;
+
+    public Throwable error;
 
     @Override
     public void accept(Throwable e) {
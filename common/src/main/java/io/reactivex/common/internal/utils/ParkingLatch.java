@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common.internal.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A one-shot latch for a single waiting thread which spins briefly and then parks
+ * instead of queueing on an AbstractQueuedSynchronizer.
+ * <p>
+ * The state is null while open and nobody waits, the waiting Thread while parked and
+ * {@link #RELEASED} once {@link #countDown()} has been called. Additional concurrent
+ * waiters are supported but poll the state periodically instead of being unparked.
+ */
+public class ParkingLatch extends AtomicReference<Object> {
+
+    private static final long serialVersionUID = -1457406340409440758L;
+
+    static final Object RELEASED = new Object();
+
+    /** How often additional waiters check the state. */
+    static final long POLL_NANOS = 1000000L;
+
+    /**
+     * Returns 1 if the latch has not been released yet, 0 otherwise.
+     * @return 1 if the latch has not been released yet, 0 otherwise
+     */
+    public final long getCount() {
+        return get() == RELEASED ? 0L : 1L;
+    }
+
+    /**
+     * Releases the latch and unparks the waiting thread if any.
+     */
+    public final void countDown() {
+        Object o = getAndSet(RELEASED);
+        if (o instanceof Thread) {
+            LockSupport.unpark((Thread)o);
+        }
+    }
+
+    /**
+     * Waits until the latch is released.
+     * @throws InterruptedException if the waiting thread has been interrupted
+     */
+    public final void await() throws InterruptedException {
+        if (spin()) {
+            return;
+        }
+        Thread t = Thread.currentThread();
+        if (!compareAndSet(null, t)) {
+            awaitPolling(Long.MAX_VALUE);
+            return;
+        }
+        for (;;) {
+            LockSupport.park(this);
+            if (get() == RELEASED) {
+                return;
+            }
+            if (Thread.interrupted()) {
+                compareAndSet(t, null);
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Waits until the latch is released or the timeout elapses.
+     * @param timeout the maximum time to wait
+     * @param unit the time unit of the timeout
+     * @return true if the latch has been released, false if the timeout elapsed
+     * @throws InterruptedException if the waiting thread has been interrupted
+     */
+    public final boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        if (spin()) {
+            return true;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        Thread t = Thread.currentThread();
+        if (!compareAndSet(null, t)) {
+            return awaitPolling(deadline);
+        }
+        for (;;) {
+            long delay = deadline - System.nanoTime();
+            if (delay <= 0L) {
+                return !compareAndSet(t, null);
+            }
+            LockSupport.parkNanos(this, delay);
+            if (get() == RELEASED) {
+                return true;
+            }
+            if (Thread.interrupted()) {
+                compareAndSet(t, null);
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Waits for the release while another thread occupies the waiter slot.
+     * @param deadline the System.nanoTime() to give up at, Long.MAX_VALUE for no timeout
+     * @return true if the latch has been released, false if the deadline passed
+     * @throws InterruptedException if the waiting thread has been interrupted
+     */
+    boolean awaitPolling(long deadline) throws InterruptedException {
+        while (get() != RELEASED) {
+            if (deadline != Long.MAX_VALUE && deadline - System.nanoTime() <= 0L) {
+                return false;
+            }
+            LockSupport.parkNanos(this, POLL_NANOS);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+
+    boolean spin() {
+        for (int i = BlockingHelper.SPIN_COUNT; i >= 0; i--) {
+            if (get() == RELEASED) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
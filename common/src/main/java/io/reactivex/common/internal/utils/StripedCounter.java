@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common.internal.utils;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * A counter that starts as a single base value and, only once concurrent updates fail to
+ * CAS it, spreads them over cache-line padded cells selected by the calling thread,
+ * doubling the cells on further contention up to the number of CPUs; reading the value
+ * sums the base and all cells.
+ */
+public final class StripedCounter {
+
+    /** The maximum number of cells, the CPU count rounded up to a power of 2. */
+    static final int MAX_CELLS = Pow2.roundToPowerOfTwo(Runtime.getRuntime().availableProcessors());
+
+    volatile long base;
+    static final AtomicLongFieldUpdater<StripedCounter> BASE =
+            AtomicLongFieldUpdater.newUpdater(StripedCounter.class, "base");
+
+    /** Null until the first contended update, its length is a power of 2. */
+    volatile Cell[] cells;
+
+    /** Set while a thread is replacing the cells. */
+    volatile int growing;
+    static final AtomicIntegerFieldUpdater<StripedCounter> GROWING =
+            AtomicIntegerFieldUpdater.newUpdater(StripedCounter.class, "growing");
+
+    /**
+     * Adds the given amount to the base or, once contended, to the cell of the current thread.
+     * @param delta the amount to add
+     */
+    public void add(long delta) {
+        for (;;) {
+            Cell[] cs = cells;
+            if (cs == null) {
+                long b = base;
+                if (BASE.compareAndSet(this, b, b + delta)) {
+                    return;
+                }
+            } else {
+                Cell c = cs[cell() & (cs.length - 1)];
+                long v = c.get();
+                if (c.compareAndSet(v, v + delta)) {
+                    return;
+                }
+            }
+            grow(cs);
+        }
+    }
+
+    /**
+     * Adds one to the base or, once contended, to the cell of the current thread.
+     */
+    public void increment() {
+        add(1L);
+    }
+
+    /**
+     * Returns the sum of the base and all cells; concurrent updates may or may not be included.
+     * @return the current sum
+     */
+    public long sum() {
+        long s = base;
+        Cell[] cs = cells;
+        if (cs != null) {
+            for (Cell c : cs) {
+                s += c.get();
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Sets the base and all cells to zero; concurrent updates may or may not be lost.
+     */
+    public void reset() {
+        BASE.lazySet(this, 0L);
+        Cell[] cs = cells;
+        if (cs != null) {
+            for (Cell c : cs) {
+                c.lazySet(0L);
+            }
+        }
+    }
+
+    /**
+     * Doubles the cells, or creates the first two, unless another thread already replaced
+     * the given array, is doing so right now or the maximum has been reached; the existing
+     * cells move over so no update is lost.
+     * @param cs the cells the failed update used
+     */
+    void grow(Cell[] cs) {
+        int n = cs != null ? cs.length : 0;
+        if (n < MAX_CELLS && growing == 0 && GROWING.compareAndSet(this, 0, 1)) {
+            if (cells == cs) {
+                Cell[] a = new Cell[n == 0 ? Math.min(2, MAX_CELLS) : n << 1];
+                for (int i = 0; i < a.length; i++) {
+                    a[i] = i < n ? cs[i] : new Cell();
+                }
+                cells = a;
+            }
+            growing = 0;
+        }
+    }
+
+    static int cell() {
+        long id = Thread.currentThread().getId();
+        int h = (int)(id ^ (id >>> 32)) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** A counter cell padded so two cells allocated together don't share a cache line. */
+    static final class Cell extends AtomicLong {
+
+        private static final long serialVersionUID = -4017452738361838530L;
+
+        volatile long p1, p2, p3, p4, p5, p6, p7;
+        volatile long p8, p9, p10, p11, p12, p13, p14, p15;
+    }
+}
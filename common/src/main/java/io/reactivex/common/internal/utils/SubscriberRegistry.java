@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common.internal.utils;
+
+/**
+ * Tracks the current subscribers of a multicasting source without copying the whole
+ * array on every subscription and cancellation.
+ * <p>
+ * The entries live in a {@link Snapshot} array that only grows at its end: adding an entry
+ * writes the next free slot and removing one leaves a {@code null} tombstone in its slot, both
+ * in O(1) under a lock that is never held by the emitting side. Once the array is full or
+ * mostly tombstones, the live entries are compacted into a new array, which keeps the
+ * amortized cost O(1) per change. Emitters iterate a snapshot without locking: entries added
+ * after the snapshot was taken are not visited and removed ones may or may not be visited.
+ * <p>
+ * Each entry remembers its slot via {@link Entry}, therefore an entry can be registered
+ * with at most one registry at a time.
+ *
+ * @param <T> the entry type
+ */
+public final class SubscriberRegistry<T extends SubscriberRegistry.Entry> {
+
+    /** The smallest array allocated for entries. */
+    static final int MIN_CAPACITY = 4;
+
+    @SuppressWarnings("rawtypes")
+    static final Snapshot EMPTY = new Snapshot(0);
+
+    /** The current array of entries. */
+    volatile Snapshot<T> current;
+
+    /** The number of live entries, written while holding the lock. */
+    volatile int size;
+
+    /** Set once the owner terminated; no entries can be added afterwards. */
+    volatile boolean terminated;
+
+    /**
+     * Constructs an empty registry.
+     */
+    @SuppressWarnings("unchecked")
+    public SubscriberRegistry() {
+        this.current = EMPTY;
+    }
+
+    /**
+     * Adds the entry unless the registry has been terminated.
+     * @param entry the entry to add, not registered with another registry
+     * @return true if the entry was added, false if the registry has been terminated
+     */
+    public boolean add(T entry) {
+        synchronized (this) {
+            if (terminated) {
+                return false;
+            }
+            Snapshot<T> s = current;
+            int n = s.size;
+            if (n == s.items.length) {
+                s = compact(s, Math.max(MIN_CAPACITY, (size + 1) * 2));
+                n = s.size;
+            }
+            s.items[n] = entry;
+            entry.registryIndex(n);
+            s.size = n + 1;
+            size++;
+            return true;
+        }
+    }
+
+    /**
+     * Removes the entry if it is registered.
+     * @param entry the entry to remove
+     */
+    @SuppressWarnings("unchecked")
+    public void remove(T entry) {
+        synchronized (this) {
+            Snapshot<T> s = current;
+            int i = entry.registryIndex();
+            Object[] a = s.items;
+            if (i < 0 || i >= s.size || a[i] != entry) {
+                return;
+            }
+            a[i] = null;
+            entry.registryIndex(-1);
+            int n = --size;
+            if (n == 0) {
+                current = EMPTY;
+            } else if (a.length > MIN_CAPACITY && n < a.length / 4) {
+                compact(s, Math.max(MIN_CAPACITY, n * 2));
+            }
+        }
+    }
+
+    /**
+     * Moves the live entries into a new array of the given capacity and makes it current.
+     * @param s the current snapshot
+     * @param capacity the capacity of the new array, at least the number of live entries
+     * @return the new snapshot
+     */
+    Snapshot<T> compact(Snapshot<T> s, int capacity) {
+        Snapshot<T> c = new Snapshot<T>(capacity);
+        Object[] a = s.items;
+        Object[] b = c.items;
+        int n = s.size;
+        int j = 0;
+        for (int i = 0; i < n; i++) {
+            Object o = a[i];
+            if (o != null) {
+                b[j] = o;
+                ((Entry)o).registryIndex(j);
+                j++;
+            }
+        }
+        c.size = j;
+        current = c;
+        return c;
+    }
+
+    /**
+     * Prevents further additions, empties the registry and returns the entries registered
+     * at that moment.
+     * @return the snapshot of the entries at the time of termination or an empty snapshot
+     * if the registry has been terminated already
+     */
+    @SuppressWarnings("unchecked")
+    public Snapshot<T> terminate() {
+        synchronized (this) {
+            if (terminated) {
+                return EMPTY;
+            }
+            terminated = true;
+            Snapshot<T> s = current;
+            current = EMPTY;
+            size = 0;
+            return s;
+        }
+    }
+
+    /**
+     * Returns true if {@link #terminate()} has been called.
+     * @return true if {@link #terminate()} has been called
+     */
+    public boolean isTerminated() {
+        return terminated;
+    }
+
+    /**
+     * Returns the current entries for iteration.
+     * @return the current entries
+     */
+    public Snapshot<T> snapshot() {
+        return current;
+    }
+
+    /**
+     * Returns the number of registered entries.
+     * @return the number of registered entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Implemented by the registered entries to let the registry track their slots.
+     */
+    public interface Entry {
+        /**
+         * Returns the slot of this entry as last set via {@link #registryIndex(int)}.
+         * @return the slot of this entry
+         */
+        int registryIndex();
+
+        /**
+         * Sets the slot of this entry; called by the registry while holding its lock.
+         * @param index the new slot or -1 if removed
+         */
+        void registryIndex(int index);
+    }
+
+    /**
+     * A view of the entry array; {@link #get(int)} returns null for removed entries.
+     *
+     * @param <T> the entry type
+     */
+    public static final class Snapshot<T> {
+
+        final Object[] items;
+
+        volatile int size;
+
+        Snapshot(int capacity) {
+            this.items = new Object[capacity];
+        }
+
+        /**
+         * Returns the number of slots used, including the removed ones.
+         * @return the number of slots used
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the entry at the given slot or null if it has been removed.
+         * @param index the slot index, less than the {@link #size()} read before
+         * @return the entry or null
+         */
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            return (T)items[index];
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common.internal.utils;
+
+import java.lang.ref.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A concurrent map that compares its keys by identity and holds them weakly; an entry
+ * goes away some time after its key is garbage collected. The values must not reference
+ * their keys or the keys are never collected.
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class WeakIdentityMap<K, V> {
+
+    final ConcurrentHashMap<Object, V> map = new ConcurrentHashMap<Object, V>();
+
+    final ReferenceQueue<Object> stale = new ReferenceQueue<Object>();
+
+    /**
+     * Returns the value mapped to the given key.
+     * @param key the key, not null
+     * @return the value or null if the key is not mapped
+     */
+    public V get(K key) {
+        return map.get(new LookupKey(key));
+    }
+
+    /**
+     * Maps the given key to the value, replacing the previous value.
+     * @param key the key, not null
+     * @param value the value, not null
+     * @return the previous value or null if the key was not mapped
+     */
+    public V put(K key, V value) {
+        expungeStale();
+        return map.put(new WeakKey(key, stale), value);
+    }
+
+    /**
+     * Maps the given key to the value unless it is already mapped.
+     * @param key the key, not null
+     * @param value the value, not null
+     * @return the value already mapped to the key or null if the given value was added
+     */
+    public V putIfAbsent(K key, V value) {
+        expungeStale();
+        return map.putIfAbsent(new WeakKey(key, stale), value);
+    }
+
+    /**
+     * Removes the mapping of the given key.
+     * @param key the key, not null
+     * @return the removed value or null if the key was not mapped
+     */
+    public V remove(K key) {
+        return map.remove(new LookupKey(key));
+    }
+
+    /**
+     * Returns a copy of the values whose keys are still mapped.
+     * @return the new list of values
+     */
+    public List<V> values() {
+        expungeStale();
+        return new ArrayList<V>(map.values());
+    }
+
+    /**
+     * Returns a copy of the mappings whose keys are still reachable.
+     * @return the new identity map
+     */
+    @SuppressWarnings("unchecked")
+    public Map<K, V> toMap() {
+        expungeStale();
+        Map<K, V> result = new IdentityHashMap<K, V>();
+        for (Map.Entry<Object, V> e : map.entrySet()) {
+            Object k = ((WeakKey)e.getKey()).get();
+            if (k != null) {
+                result.put((K)k, e.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes all mappings.
+     */
+    public void clear() {
+        map.clear();
+        expungeStale();
+    }
+
+    void expungeStale() {
+        Reference<?> ref;
+        while ((ref = stale.poll()) != null) {
+            map.remove(ref);
+        }
+    }
+
+    /** Holds the key of an entry weakly, remembering its identity hash. */
+    static final class WeakKey extends WeakReference<Object> {
+        final int hash;
+
+        WeakKey(Object key, ReferenceQueue<Object> queue) {
+            super(key, queue);
+            this.hash = System.identityHashCode(key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            Object k = get();
+            if (k == null) {
+                return false;
+            }
+            if (o instanceof LookupKey) {
+                return k == ((LookupKey)o).key;
+            }
+            return o instanceof WeakKey && k == ((WeakKey)o).get();
+        }
+    }
+
+    /** Holds a key strongly for the duration of a lookup. */
+    static final class LookupKey {
+        final Object key;
+
+        LookupKey(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o instanceof WeakKey) {
+                return key == ((WeakKey)o).get();
+            }
+            return o instanceof LookupKey && key == ((LookupKey)o).key;
+        }
+    }
+}
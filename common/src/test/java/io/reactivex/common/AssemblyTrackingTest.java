@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.*;
+
+import org.junit.*;
+
+import io.reactivex.common.exceptions.*;
+import io.reactivex.common.functions.Consumer;
+
+public class AssemblyTrackingTest {
+
+    @After
+    public void after() {
+        AssemblyTracking.disable();
+        AssemblyTracking.reset();
+    }
+
+    @Test
+    public void internReturnsSameInstance() {
+        AssemblyTracking.CallSite a = AssemblyTracking.intern("a");
+
+        assertSame(a, AssemblyTracking.intern("a"));
+        assertNotSame(a, AssemblyTracking.intern("b"));
+        assertEquals("a", a.location());
+    }
+
+    @Test
+    public void currentCallSite() {
+        assertTrue(AssemblyTracking.currentCallSite(),
+                AssemblyTracking.currentCallSite().startsWith(AssemblyTrackingTest.class.getName() + ".currentCallSite("));
+    }
+
+    @Test
+    public void recordWithoutModifying() {
+        AssemblyTracking.CallSite cs = AssemblyTracking.intern("a");
+
+        IOException root = new IOException();
+        RuntimeException ex = new RuntimeException(root);
+
+        AssemblyTracking.recordCallSite(ex, cs);
+
+        assertSame(cs, AssemblyTracking.callSiteOf(ex));
+        assertSame(cs, AssemblyTracking.callSiteOf(new RuntimeException(ex)));
+        assertNull(AssemblyTracking.callSiteOf(root));
+
+        assertSame(root, ex.getCause());
+        assertNull(root.getCause());
+    }
+
+    @Test
+    public void recordOnlyOnce() {
+        AssemblyTracking.CallSite a = AssemblyTracking.intern("a");
+        AssemblyTracking.CallSite b = AssemblyTracking.intern("b");
+
+        IOException ex = new IOException();
+
+        AssemblyTracking.recordCallSite(ex, a);
+        AssemblyTracking.recordCallSite(ex, b);
+
+        assertSame(a, AssemblyTracking.callSiteOf(ex));
+    }
+
+    @Test
+    public void attachCallSite() {
+        AssemblyTracking.CallSite cs = AssemblyTracking.intern("a");
+
+        IOException ex = new IOException();
+
+        assertSame(ex, AssemblyTracking.attachCallSite(ex));
+
+        AssemblyTracking.recordCallSite(ex, cs);
+
+        Throwable w = AssemblyTracking.attachCallSite(ex);
+
+        assertTrue(w instanceof AssemblyCallSiteException);
+        assertSame(ex, w.getCause());
+        assertSame(cs, AssemblyTracking.callSiteOf(w));
+        assertEquals(0, w.getStackTrace().length);
+
+        assertSame(w, AssemblyTracking.attachCallSite(w));
+    }
+
+    @Test
+    public void undeliverableErrorGetsCallSite() {
+        final List<Throwable> errors = new ArrayList<Throwable>();
+        RxJavaCommonPlugins.setErrorHandler(new Consumer<Throwable>() {
+            @Override
+            public void accept(Throwable e) throws Exception {
+                errors.add(e);
+            }
+        });
+        try {
+            AssemblyTracking.CallSite cs = AssemblyTracking.intern("a");
+
+            IOException ex = new IOException();
+
+            AssemblyTracking.recordCallSite(ex, cs);
+
+            RxJavaCommonPlugins.onError(ex);
+
+            assertEquals(1, errors.size());
+            assertTrue(errors.get(0) instanceof UndeliverableException);
+            Throwable w = errors.get(0).getCause();
+            assertTrue(w instanceof AssemblyCallSiteException);
+            assertSame(ex, w.getCause());
+            assertSame(cs, AssemblyTracking.callSiteOf(errors.get(0)));
+        } finally {
+            RxJavaCommonPlugins.reset();
+        }
+    }
+
+    @Test
+    public void operatorNotTracked() {
+        AssemblyTracking.enable();
+
+        IOException ex = new IOException();
+
+        AssemblyTracking.recordCallSite(ex, new Object());
+
+        assertNull(AssemblyTracking.callSiteOf(ex));
+    }
+
+    @Test
+    public void sampling() {
+        AssemblyTracking.enable(4);
+
+        Object[] operators = new Object[100];
+        for (int i = 0; i < operators.length; i++) {
+            operators[i] = new Object();
+            AssemblyTracking.onAssembly(operators[i]);
+        }
+
+        int tracked = 0;
+        for (Object o : operators) {
+            if (AssemblyTracking.callSiteOf(o) != null) {
+                tracked++;
+            }
+        }
+
+        assertEquals(25, tracked);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSampleRate() {
+        AssemblyTracking.enable(0);
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import org.junit.*;
+
+import io.reactivex.common.Scheduler.Worker;
+import io.reactivex.common.internal.schedulers.WorkerContext;
+
+public class ContextCarrierTest {
+
+    static final ThreadLocal<String> TRACE = new ThreadLocal<String>();
+
+    static final ContextCarrier CARRIER = new ContextCarrier() {
+        @Override
+        public Object capture() {
+            return TRACE.get();
+        }
+
+        @Override
+        public Object enter(Object context) {
+            String old = TRACE.get();
+            TRACE.set((String)context);
+            return old;
+        }
+
+        @Override
+        public void exit(Object token) {
+            TRACE.set((String)token);
+        }
+    };
+
+    @Before
+    public void before() {
+        RxJavaCommonPlugins.setContextCarrier(CARRIER);
+    }
+
+    @After
+    public void after() {
+        RxJavaCommonPlugins.reset();
+        TRACE.remove();
+    }
+
+    static String runOn(Worker w, long delay) throws Exception {
+        final AtomicReference<String> seen = new AtomicReference<String>("unset");
+        final CountDownLatch cdl = new CountDownLatch(1);
+        try {
+            w.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    seen.set(TRACE.get());
+                    cdl.countDown();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+            assertTrue(cdl.await(5, TimeUnit.SECONDS));
+        } finally {
+            w.dispose();
+        }
+        return seen.get();
+    }
+
+    static void checkScheduler(Scheduler scheduler) throws Exception {
+        TRACE.set("trace-1");
+        Worker w = scheduler.createWorker();
+        TRACE.set("trace-2");
+
+        assertEquals("trace-1", runOn(w, 0));
+
+        w = scheduler.createWorker();
+        assertEquals("trace-2", runOn(w, 10));
+
+        TRACE.remove();
+        w = scheduler.createWorker();
+        assertNull(runOn(w, 0));
+    }
+
+    @Test
+    public void computation() throws Exception {
+        checkScheduler(Schedulers.computation());
+    }
+
+    @Test
+    public void io() throws Exception {
+        checkScheduler(Schedulers.io());
+    }
+
+    @Test
+    public void single() throws Exception {
+        checkScheduler(Schedulers.single());
+    }
+
+    @Test
+    public void executor() throws Exception {
+        ExecutorService exec = Executors.newSingleThreadScheduledExecutor();
+        try {
+            checkScheduler(Schedulers.from(exec));
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void executorDelayedEntersOnce() throws Exception {
+        final AtomicInteger enters = new AtomicInteger();
+        RxJavaCommonPlugins.setContextCarrier(new ContextCarrier() {
+            @Override
+            public Object capture() {
+                return CARRIER.capture();
+            }
+
+            @Override
+            public Object enter(Object context) {
+                enters.getAndIncrement();
+                return CARRIER.enter(context);
+            }
+
+            @Override
+            public void exit(Object token) {
+                CARRIER.exit(token);
+            }
+        });
+
+        ExecutorService exec = Executors.newSingleThreadScheduledExecutor();
+        try {
+            TRACE.set("trace");
+            Worker w = Schedulers.from(exec).createWorker();
+            TRACE.remove();
+
+            assertEquals("trace", runOn(w, 10));
+
+            assertEquals(1, enters.get());
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void contextRestoredAfterTask() throws Exception {
+        ExecutorService exec = Executors.newSingleThreadExecutor();
+        try {
+            Scheduler s = Schedulers.from(exec);
+
+            TRACE.set("trace");
+            Worker w = s.createWorker();
+            TRACE.remove();
+            runOn(w, 0);
+
+            assertNull(exec.submit(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return TRACE.get();
+                }
+            }).get());
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void scheduleDirect() throws Exception {
+        final AtomicReference<String> seen = new AtomicReference<String>();
+        final CountDownLatch cdl = new CountDownLatch(1);
+
+        TRACE.set("direct");
+        Schedulers.computation().scheduleDirect(new Runnable() {
+            @Override
+            public void run() {
+                seen.set(TRACE.get());
+                cdl.countDown();
+            }
+        });
+
+        assertTrue(cdl.await(5, TimeUnit.SECONDS));
+        assertEquals("direct", seen.get());
+    }
+
+    @Test
+    public void noContextNoWrapping() {
+        Runnable r = new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+
+        assertSame(r, WorkerContext.wrapDirect(r));
+
+        RxJavaCommonPlugins.setContextCarrier(null);
+        TRACE.set("trace");
+
+        assertSame(r, WorkerContext.wrapDirect(r));
+        assertNull(WorkerContext.capture());
+    }
+
+    @Test
+    public void sameRunnableReusesWrapper() {
+        Runnable r = new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+
+        TRACE.set("trace");
+        WorkerContext wc = WorkerContext.capture();
+
+        Runnable w1 = wc.wrap(r);
+        assertNotSame(r, w1);
+        assertSame(w1, wc.wrap(r));
+    }
+}
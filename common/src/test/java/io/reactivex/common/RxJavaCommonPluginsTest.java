@@ -199,6 +199,22 @@ public class RxJavaCommonPluginsTest {
                 }
             };
 
+            ContextCarrier cc = new ContextCarrier() {
+                @Override
+                public Object capture() {
+                    return null;
+                }
+
+                @Override
+                public Object enter(Object context) {
+                    return null;
+                }
+
+                @Override
+                public void exit(Object token) {
+                }
+            };
+
             for (Method m : RxJavaCommonPlugins.class.getMethods()) {
                 if (m.getName().startsWith("set")) {
 
@@ -229,6 +245,9 @@ public class RxJavaCommonPluginsTest {
                         } else
                         if (paramType.isAssignableFrom(BooleanSupplier.class)) {
                             m.invoke(null, bs);
+                        } else
+                        if (paramType.isAssignableFrom(ContextCarrier.class)) {
+                            m.invoke(null, cc);
                         } else {
                             m.invoke(null, f2);
                         }
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.*;
+
+import org.junit.*;
+
+import io.reactivex.common.Scheduler.Worker;
+import io.reactivex.common.functions.Consumer;
+
+public class StallWatchdogTest {
+
+    final BlockingQueue<StallWatchdog.Stall> stalls = new LinkedBlockingQueue<StallWatchdog.Stall>();
+
+    final Consumer<StallWatchdog.Stall> collector = new Consumer<StallWatchdog.Stall>() {
+        @Override
+        public void accept(StallWatchdog.Stall s) throws Exception {
+            stalls.offer(s);
+        }
+    };
+
+    @After
+    public void after() {
+        StallWatchdog.disable();
+    }
+
+    static final class BlockingTask implements Runnable {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void run() {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                // ignored
+            }
+        }
+    }
+
+    void checkBlockedWorker(Scheduler scheduler, String threadPrefix) throws Exception {
+        StallWatchdog.enable(50, TimeUnit.MILLISECONDS, collector);
+
+        BlockingTask task = new BlockingTask();
+        Worker w = scheduler.createWorker();
+        try {
+            w.schedule(task);
+
+            StallWatchdog.Stall s = stalls.poll(5, TimeUnit.SECONDS);
+            assertNotNull(s);
+            assertEquals(StallWatchdog.Stall.Kind.TASK, s.kind());
+            assertEquals(BlockingTask.class.getName(), s.subject());
+            assertTrue(s.thread().getName(), s.thread().getName().startsWith(threadPrefix));
+            assertTrue(s.duration(TimeUnit.MILLISECONDS) >= 50);
+            assertEquals(-1L, s.queued());
+
+            Thread.sleep(200);
+            // reported only once
+            assertTrue(stalls.toString(), stalls.isEmpty());
+        } finally {
+            task.release.countDown();
+            w.dispose();
+        }
+    }
+
+    @Test
+    public void computation() throws Exception {
+        checkBlockedWorker(Schedulers.computation(), "RxComputation");
+    }
+
+    @Test
+    public void executor() throws Exception {
+        ExecutorService exec = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                return new Thread(r, "WatchedExecutor");
+            }
+        });
+        try {
+            checkBlockedWorker(Schedulers.from(exec), "WatchedExecutor");
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shortTasksNotReported() throws Exception {
+        StallWatchdog.enable(200, TimeUnit.MILLISECONDS, collector);
+
+        final CountDownLatch cdl = new CountDownLatch(100);
+        Worker w = Schedulers.computation().createWorker();
+        try {
+            for (int i = 0; i < 100; i++) {
+                w.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        cdl.countDown();
+                    }
+                });
+            }
+            assertTrue(cdl.await(5, TimeUnit.SECONDS));
+        } finally {
+            w.dispose();
+        }
+
+        Thread.sleep(300);
+
+        assertTrue(stalls.toString(), stalls.isEmpty());
+    }
+
+    @Test
+    public void disabled() {
+        assertFalse(StallWatchdog.isEnabled());
+
+        StallWatchdog.enable(1, TimeUnit.SECONDS, collector);
+        assertTrue(StallWatchdog.isEnabled());
+
+        StallWatchdog.disable();
+        assertFalse(StallWatchdog.isEnabled());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void thresholdPositive() {
+        StallWatchdog.enable(0, TimeUnit.SECONDS, collector);
+    }
+}
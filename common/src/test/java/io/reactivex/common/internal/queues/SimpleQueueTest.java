@@ -20,6 +20,7 @@ package io.reactivex.common.internal.queues;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
@@ -158,4 +159,111 @@ public class SimpleQueueTest {
         t1.join();
         t2.join();
     }
+
+    @Test(expected = NullPointerException.class)
+    public void mpscLinkedArrayQueueNull() {
+        AbstractMpscLinkedArrayQueue<Object> q = new AbstractMpscLinkedArrayQueue<Object>(16) { };
+        q.offer(null);
+    }
+
+    @Test
+    public void mpscLinkedArrayQueueAcrossChunks() {
+        AbstractMpscLinkedArrayQueue<Integer> q = new AbstractMpscLinkedArrayQueue<Integer>(8) { };
+
+        for (int j = 0; j < 3; j++) {
+            for (int i = 0; i < 100; i++) {
+                q.offer(i);
+            }
+            assertEquals(100, q.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, q.poll().intValue());
+            }
+            assertNull(q.poll());
+            assertTrue(q.isEmpty());
+        }
+
+        q.offer(1, 2);
+        q.clear();
+        assertTrue(q.isEmpty());
+        assertNull(q.poll());
+    }
+
+    @Test
+    public void mpscLinkedArrayQueueOfferPollRace() throws Exception {
+        final AbstractMpscLinkedArrayQueue<Integer> q = new AbstractMpscLinkedArrayQueue<Integer>(8) { };
+        final int producers = 4;
+        final int count = 20000;
+
+        final AtomicInteger c = new AtomicInteger(producers + 1);
+
+        Thread[] threads = new Thread[producers];
+        for (int k = 0; k < producers; k++) {
+            final int base = k * count;
+            threads[k] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    c.decrementAndGet();
+                    while (c.get() != 0) { }
+
+                    for (int i = 0; i < count; i++) {
+                        q.offer(base + i);
+                    }
+                }
+            });
+            threads[k].start();
+        }
+
+        c.decrementAndGet();
+        while (c.get() != 0) { }
+
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        int received = 0;
+        while (received != producers * count) {
+            Integer v = q.poll();
+            if (v != null) {
+                int k = v / count;
+                assertTrue(v % count > last[k]);
+                last[k] = v % count;
+                received++;
+            }
+        }
+
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertTrue(q.isEmpty());
+        assertNull(q.poll());
+    }
+
+    @Test
+    public void mpscParkingQueueTake() throws Exception {
+        final MpscParkingQueue<Integer> q = new MpscParkingQueue<Integer>(8);
+        final int count = 100000;
+
+        Thread t = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; i++) {
+                    q.offer(i);
+                }
+            }
+        });
+        t.start();
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, q.take().intValue());
+        }
+
+        t.join();
+        assertTrue(q.isEmpty());
+        assertNull(q.poll());
+    }
+
+    @Test(expected = InterruptedException.class)
+    public void mpscParkingQueueTakeInterrupted() throws Exception {
+        MpscParkingQueue<Integer> q = new MpscParkingQueue<Integer>(8);
+        Thread.currentThread().interrupt();
+        q.take();
+    }
 }
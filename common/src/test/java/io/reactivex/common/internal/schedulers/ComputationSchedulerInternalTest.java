@@ -16,8 +16,15 @@
 package io.reactivex.common.internal.schedulers;
 
 import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
 import org.junit.Test;
 
+import io.reactivex.common.Scheduler;
+import io.reactivex.common.internal.schedulers.SchedulerMultiWorkerSupport.WorkerCallback;
+
 public class ComputationSchedulerInternalTest {
 
     @Test
@@ -29,4 +36,76 @@ public class ComputationSchedulerInternalTest {
         assertEquals(8, ComputationScheduler.cap(8, 9));
         assertEquals(8, ComputationScheduler.cap(8, 16));
     }
+
+    @Test
+    public void createWorkersDistinctThreads() throws Exception {
+        ComputationScheduler scheduler = new ComputationScheduler();
+        try {
+            final int n = ComputationScheduler.MAX_THREADS;
+            final Scheduler.Worker[] workers = new Scheduler.Worker[n];
+
+            scheduler.createWorkers(n, new WorkerCallback() {
+                @Override
+                public void onWorker(int index, Scheduler.Worker worker) {
+                    workers[index] = worker;
+                }
+            });
+
+            final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+            final CountDownLatch cdl = new CountDownLatch(n);
+
+            for (Scheduler.Worker w : workers) {
+                w.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        threads.add(Thread.currentThread());
+                        cdl.countDown();
+                    }
+                });
+            }
+
+            assertTrue(cdl.await(5, TimeUnit.SECONDS));
+            assertEquals(n, threads.size());
+
+            for (Scheduler.Worker w : workers) {
+                w.dispose();
+            }
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void createWorkersShutdown() {
+        ComputationScheduler scheduler = new ComputationScheduler();
+        scheduler.shutdown();
+
+        final List<Scheduler.Worker> workers = new ArrayList<Scheduler.Worker>();
+
+        scheduler.createWorkers(3, new WorkerCallback() {
+            @Override
+            public void onWorker(int index, Scheduler.Worker worker) {
+                workers.add(worker);
+            }
+        });
+
+        assertEquals(3, workers.size());
+        for (Scheduler.Worker w : workers) {
+            assertTrue(w.isDisposed());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createWorkersZero() {
+        ComputationScheduler scheduler = new ComputationScheduler();
+        try {
+            scheduler.createWorkers(0, new WorkerCallback() {
+                @Override
+                public void onWorker(int index, Scheduler.Worker worker) {
+                }
+            });
+        } finally {
+            scheduler.shutdown();
+        }
+    }
 }
@@ -60,4 +60,38 @@ public class BlockingHelperTest {
 
         assertFalse(d.isDisposed());
     }
+
+    @Test
+    public void interruptedParking() {
+        ParkingLatch latch = new ParkingLatch();
+        Disposable d = Disposables.empty();
+
+        Thread.currentThread().interrupt();
+
+        try {
+            BlockingHelper.awaitForComplete(latch, d);
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        assertTrue(d.isDisposed());
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    public void unblockParking() {
+        final ParkingLatch latch = new ParkingLatch();
+        Disposable d = Disposables.empty();
+
+        Schedulers.computation().scheduleDirect(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 100, TimeUnit.MILLISECONDS);
+
+        BlockingHelper.awaitForComplete(latch, d);
+
+        assertFalse(d.isDisposed());
+        assertEquals(0, latch.getCount());
+    }
 }
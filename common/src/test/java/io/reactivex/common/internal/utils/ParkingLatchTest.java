@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common.internal.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.reactivex.common.*;
+
+public class ParkingLatchTest {
+
+    @Test
+    public void releasedBeforeAwait() throws Exception {
+        ParkingLatch latch = new ParkingLatch();
+        assertEquals(1, latch.getCount());
+
+        latch.countDown();
+
+        assertEquals(0, latch.getCount());
+        latch.await();
+        assertTrue(latch.await(1, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void timeout() throws Exception {
+        ParkingLatch latch = new ParkingLatch();
+
+        assertFalse(latch.await(10, TimeUnit.MILLISECONDS));
+        assertNull(latch.get());
+
+        latch.countDown();
+        assertTrue(latch.await(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(expected = InterruptedException.class)
+    public void interrupted() throws Exception {
+        ParkingLatch latch = new ParkingLatch();
+        Thread.currentThread().interrupt();
+        latch.await();
+    }
+
+    @Test
+    public void releaseRace() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            final ParkingLatch latch = new ParkingLatch();
+
+            Schedulers.single().scheduleDirect(new Runnable() {
+                @Override
+                public void run() {
+                    latch.countDown();
+                }
+            });
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void multipleWaiters() throws Exception {
+        final ParkingLatch latch = new ParkingLatch();
+        final AtomicInteger released = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(3);
+
+        Thread[] threads = new Thread[3];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    started.countDown();
+                    try {
+                        latch.await();
+                        released.getAndIncrement();
+                    } catch (InterruptedException ex) {
+                        // not expected
+                    }
+                }
+            });
+            threads[i].start();
+        }
+
+        started.await();
+        Thread.sleep(50);
+
+        latch.countDown();
+
+        for (Thread t : threads) {
+            t.join(5000);
+        }
+        assertEquals(3, released.get());
+    }
+}
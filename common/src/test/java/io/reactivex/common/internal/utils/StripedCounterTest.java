@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common.internal.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.*;
+
+import org.junit.Test;
+
+public class StripedCounterTest {
+
+    @Test
+    public void addAndSum() {
+        StripedCounter c = new StripedCounter();
+
+        assertEquals(0L, c.sum());
+
+        c.increment();
+        c.add(41);
+
+        assertEquals(42L, c.sum());
+        assertNull(c.cells);
+
+        c.reset();
+
+        assertEquals(0L, c.sum());
+    }
+
+    @Test
+    public void concurrentIncrements() throws Exception {
+        final StripedCounter c = new StripedCounter();
+        final int threads = 4;
+        final int count = 100000;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService exec = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                futures[i] = exec.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        start.await();
+                        for (int j = 0; j < count; j++) {
+                            c.increment();
+                        }
+                        return null;
+                    }
+                });
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            exec.shutdownNow();
+        }
+
+        assertEquals((long)threads * count, c.sum());
+
+        StripedCounter.Cell[] cells = c.cells;
+        if (cells != null) {
+            assertTrue(cells.length <= StripedCounter.MAX_CELLS);
+        }
+    }
+}
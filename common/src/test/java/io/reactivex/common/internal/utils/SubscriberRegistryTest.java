@@ -0,0 +1,238 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common.internal.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.Test;
+
+import io.reactivex.common.TestCommonHelper;
+
+public class SubscriberRegistryTest {
+
+    static final class Item implements SubscriberRegistry.Entry {
+        int registryIndex;
+
+        @Override
+        public int registryIndex() {
+            return registryIndex;
+        }
+
+        @Override
+        public void registryIndex(int index) {
+            registryIndex = index;
+        }
+    }
+
+    static List<Item> live(SubscriberRegistry<Item> registry) {
+        List<Item> list = new ArrayList<Item>();
+        SubscriberRegistry.Snapshot<Item> a = registry.snapshot();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            Item item = a.get(i);
+            if (item != null) {
+                list.add(item);
+            }
+        }
+        return list;
+    }
+
+    @Test
+    public void addRemove() {
+        SubscriberRegistry<Item> registry = new SubscriberRegistry<Item>();
+        Item a = new Item();
+        Item b = new Item();
+
+        assertTrue(registry.add(a));
+        assertTrue(registry.add(b));
+        assertEquals(2, registry.size());
+        assertEquals(Arrays.asList(a, b), live(registry));
+
+        registry.remove(a);
+        assertEquals(1, registry.size());
+        assertEquals(-1, a.registryIndex());
+        assertEquals(Arrays.asList(b), live(registry));
+
+        registry.remove(a);
+        assertEquals(1, registry.size());
+
+        registry.remove(b);
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.snapshot().size());
+    }
+
+    @Test
+    public void removeLeavesTombstone() {
+        SubscriberRegistry<Item> registry = new SubscriberRegistry<Item>();
+        Item a = new Item();
+        Item b = new Item();
+        registry.add(a);
+        registry.add(b);
+
+        SubscriberRegistry.Snapshot<Item> s = registry.snapshot();
+
+        registry.remove(a);
+
+        assertSame(s, registry.snapshot());
+        assertEquals(2, s.size());
+        assertNull(s.get(0));
+        assertSame(b, s.get(1));
+    }
+
+    @Test
+    public void snapshotIsolation() {
+        SubscriberRegistry<Item> registry = new SubscriberRegistry<Item>();
+        for (int i = 0; i < SubscriberRegistry.MIN_CAPACITY; i++) {
+            registry.add(new Item());
+        }
+        SubscriberRegistry.Snapshot<Item> s = registry.snapshot();
+        int n = s.size();
+
+        registry.add(new Item());
+
+        assertNotSame(s, registry.snapshot());
+        assertEquals(n, s.size());
+        assertEquals(n + 1, registry.size());
+    }
+
+    @Test
+    public void compactionKeepsOrderAndIndices() {
+        SubscriberRegistry<Item> registry = new SubscriberRegistry<Item>();
+        List<Item> items = new ArrayList<Item>();
+        for (int i = 0; i < 1000; i++) {
+            Item item = new Item();
+            items.add(item);
+            registry.add(item);
+        }
+
+        List<Item> expected = new ArrayList<Item>();
+        for (int i = 0; i < items.size(); i++) {
+            if (i % 10 == 0) {
+                expected.add(items.get(i));
+            } else {
+                registry.remove(items.get(i));
+            }
+        }
+
+        assertEquals(expected.size(), registry.size());
+        assertEquals(expected, live(registry));
+        assertTrue(registry.snapshot().items.length < 1000);
+
+        SubscriberRegistry.Snapshot<Item> s = registry.snapshot();
+        for (Item item : expected) {
+            assertSame(item, s.get(item.registryIndex()));
+        }
+
+        for (Item item : expected) {
+            registry.remove(item);
+        }
+        assertEquals(0, registry.size());
+        assertTrue(live(registry).isEmpty());
+    }
+
+    @Test
+    public void churnDoesNotGrow() {
+        SubscriberRegistry<Item> registry = new SubscriberRegistry<Item>();
+        Item stable = new Item();
+        registry.add(stable);
+
+        for (int i = 0; i < 10000; i++) {
+            Item item = new Item();
+            registry.add(item);
+            registry.remove(item);
+        }
+
+        assertEquals(Arrays.asList(stable), live(registry));
+        assertTrue(registry.snapshot().items.length <= SubscriberRegistry.MIN_CAPACITY);
+    }
+
+    @Test
+    public void terminate() {
+        SubscriberRegistry<Item> registry = new SubscriberRegistry<Item>();
+        Item a = new Item();
+        registry.add(a);
+
+        SubscriberRegistry.Snapshot<Item> s = registry.terminate();
+
+        assertTrue(registry.isTerminated());
+        assertEquals(1, s.size());
+        assertSame(a, s.get(0));
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.snapshot().size());
+
+        assertFalse(registry.add(new Item()));
+        assertEquals(0, registry.terminate().size());
+
+        registry.remove(a);
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void addRemoveRace() {
+        for (int i = 0; i < 1000; i++) {
+            final SubscriberRegistry<Item> registry = new SubscriberRegistry<Item>();
+            final Item a = new Item();
+            final Item b = new Item();
+            registry.add(a);
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    registry.remove(a);
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    registry.add(b);
+                }
+            };
+
+            TestCommonHelper.race(r1, r2);
+
+            assertEquals(Arrays.asList(b), live(registry));
+            assertEquals(1, registry.size());
+        }
+    }
+
+    @Test
+    public void addTerminateRace() {
+        for (int i = 0; i < 1000; i++) {
+            final SubscriberRegistry<Item> registry = new SubscriberRegistry<Item>();
+            final Item a = new Item();
+            final SubscriberRegistry.Snapshot<?>[] terminated = { null };
+            final boolean[] added = { false };
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    added[0] = registry.add(a);
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    terminated[0] = registry.terminate();
+                }
+            };
+
+            TestCommonHelper.race(r1, r2);
+
+            assertEquals(added[0] ? 1 : 0, terminated[0].size());
+        }
+    }
+}
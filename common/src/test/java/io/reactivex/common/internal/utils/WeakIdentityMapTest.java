@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.common.internal.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.Test;
+
+public class WeakIdentityMapTest {
+
+    @Test
+    public void identityKeys() {
+        WeakIdentityMap<Object, String> map = new WeakIdentityMap<Object, String>();
+
+        List<Integer> a = new ArrayList<Integer>();
+        List<Integer> b = new ArrayList<Integer>();
+
+        assertNull(map.putIfAbsent(a, "a"));
+        assertNull(map.putIfAbsent(b, "b"));
+        assertEquals("a", map.putIfAbsent(a, "c"));
+
+        assertEquals("a", map.get(a));
+        assertEquals("b", map.get(b));
+        assertEquals(2, map.values().size());
+
+        assertEquals("a", map.remove(a));
+        assertNull(map.get(a));
+        assertEquals(Collections.singletonList("b"), map.values());
+
+        map.clear();
+
+        assertNull(map.get(b));
+        assertTrue(map.values().isEmpty());
+    }
+
+    @Test
+    public void putAndToMap() {
+        WeakIdentityMap<Object, String> map = new WeakIdentityMap<Object, String>();
+
+        Object a = new Object();
+
+        assertNull(map.put(a, "a"));
+        assertEquals("a", map.put(a, "b"));
+
+        Map<Object, String> copy = map.toMap();
+
+        assertEquals(1, copy.size());
+        assertEquals("b", copy.get(a));
+    }
+
+    @Test
+    public void collectedKeyRemoved() throws Exception {
+        WeakIdentityMap<Object, String> map = new WeakIdentityMap<Object, String>();
+
+        map.putIfAbsent(new Object(), "a");
+
+        for (int i = 0; i < 50 && !map.values().isEmpty(); i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertTrue(map.values().isEmpty());
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.jcstress;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.*;
+
+import io.reactivex.flowable.internal.utils.BackpressureHelper;
+
+/**
+ * Stress tests of the request accounting in {@link BackpressureHelper}.
+ */
+public final class BackpressureHelperStress {
+
+    /** Utility class. */
+    private BackpressureHelperStress() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    @JCStressTest
+    @Description("request(n) racing the emission of already requested items")
+    @Outcome(id = "5", expect = ACCEPTABLE, desc = "Both updates applied.")
+    @Outcome(expect = FORBIDDEN, desc = "An update was lost.")
+    @State
+    public static class AddProduced {
+        final AtomicLong requested = new AtomicLong(3);
+
+        @Actor
+        public void request() {
+            BackpressureHelper.add(requested, 5);
+        }
+
+        @Actor
+        public void emit() {
+            BackpressureHelper.produced(requested, 3);
+        }
+
+        @Arbiter
+        public void arbiter(J_Result r) {
+            r.r1 = requested.get();
+        }
+    }
+
+    @JCStressTest
+    @Description("Concurrent requests adding up beyond Long.MAX_VALUE")
+    @Outcome(id = "9223372036854775807", expect = ACCEPTABLE, desc = "Capped at unbounded.")
+    @Outcome(expect = FORBIDDEN, desc = "Overflowed or an update was lost.")
+    @State
+    public static class AddCap {
+        final AtomicLong requested = new AtomicLong();
+
+        @Actor
+        public void request1() {
+            BackpressureHelper.add(requested, Long.MAX_VALUE - 1);
+        }
+
+        @Actor
+        public void request2() {
+            BackpressureHelper.add(requested, 5);
+        }
+
+        @Arbiter
+        public void arbiter(J_Result r) {
+            r.r1 = requested.get();
+        }
+    }
+
+    @JCStressTest
+    @Description("request(n) racing cancellation")
+    @Outcome(id = "-9223372036854775808, 0", expect = ACCEPTABLE, desc = "Cancelled before the request.")
+    @Outcome(id = "-9223372036854775808, 5", expect = ACCEPTABLE, desc = "Requested before the cancellation.")
+    @Outcome(expect = FORBIDDEN, desc = "The cancelled state was overwritten.")
+    @State
+    public static class AddCancel {
+        final AtomicLong requested = new AtomicLong();
+
+        long before;
+
+        @Actor
+        public void request() {
+            BackpressureHelper.addCancel(requested, 5);
+        }
+
+        @Actor
+        public void cancel() {
+            before = requested.getAndSet(Long.MIN_VALUE);
+        }
+
+        @Arbiter
+        public void arbiter(JJ_Result r) {
+            r.r1 = requested.get();
+            r.r2 = before;
+        }
+    }
+
+    @JCStressTest
+    @Description("Emission racing a request on an unbounded amount")
+    @Outcome(id = "9223372036854775807", expect = ACCEPTABLE, desc = "Stays unbounded.")
+    @Outcome(expect = FORBIDDEN, desc = "Unbounded amount was decremented or overflowed.")
+    @State
+    public static class Unbounded {
+        final AtomicLong requested = new AtomicLong(Long.MAX_VALUE);
+
+        @Actor
+        public void request() {
+            BackpressureHelper.add(requested, 2);
+        }
+
+        @Actor
+        public void emit() {
+            BackpressureHelper.produced(requested, 3);
+        }
+
+        @Arbiter
+        public void arbiter(J_Result r) {
+            r.r1 = requested.get();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.jcstress;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.*;
+
+import io.reactivex.flowable.*;
+
+/**
+ * Stress tests of the emitter returned by {@link FlowableEmitter#serialize()}:
+ * signals from different threads must reach the subscriber serialized and none
+ * may be lost.
+ */
+public final class FlowableCreateStress {
+
+    /** Utility class. */
+    private FlowableCreateStress() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    static FlowableEmitter<Integer> subscribe(RecordingSubscriber subscriber) {
+        final AtomicReference<FlowableEmitter<Integer>> emitter = new AtomicReference<FlowableEmitter<Integer>>();
+        Flowable.create(new FlowableOnSubscribe<Integer>() {
+            @Override
+            public void subscribe(FlowableEmitter<Integer> e) throws Exception {
+                emitter.set(e.serialize());
+            }
+        }, BackpressureStrategy.BUFFER)
+        .subscribe(subscriber);
+        return emitter.get();
+    }
+
+    @JCStressTest
+    @Description("onNext from two threads")
+    @Outcome(id = "2, 0", expect = ACCEPTABLE, desc = "Both items delivered, serialized.")
+    @Outcome(expect = FORBIDDEN, desc = "Items lost or delivered concurrently.")
+    @State
+    public static class OnNextOnNext {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        final FlowableEmitter<Integer> emitter = subscribe(subscriber);
+
+        @Actor
+        public void next1() {
+            emitter.onNext(1);
+        }
+
+        @Actor
+        public void next2() {
+            emitter.onNext(2);
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            r.r1 = subscriber.values.size();
+            r.r2 = subscriber.concurrent ? 1 : 0;
+        }
+    }
+
+    @JCStressTest
+    @Description("onNext racing onComplete")
+    @Outcome(id = "1, 1, 0", expect = ACCEPTABLE, desc = "onNext delivered, then onComplete.")
+    @Outcome(id = "0, 1, 0", expect = ACCEPTABLE, desc = "onComplete won, onNext dropped.")
+    @Outcome(expect = FORBIDDEN, desc = "Signals lost, duplicated or concurrent.")
+    @State
+    public static class OnNextOnComplete {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        final FlowableEmitter<Integer> emitter = subscribe(subscriber);
+
+        @Actor
+        public void next() {
+            emitter.onNext(1);
+        }
+
+        @Actor
+        public void complete() {
+            emitter.onComplete();
+        }
+
+        @Arbiter
+        public void arbiter(III_Result r) {
+            r.r1 = subscriber.values.size();
+            r.r2 = subscriber.completions;
+            r.r3 = subscriber.concurrent ? 1 : 0;
+        }
+    }
+}
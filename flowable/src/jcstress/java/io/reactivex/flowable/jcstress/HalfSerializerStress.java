@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.jcstress;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.*;
+
+import io.reactivex.common.internal.utils.AtomicThrowable;
+import io.reactivex.flowable.internal.utils.HalfSerializer;
+
+/**
+ * Stress tests of {@link HalfSerializer}: an onNext racing a terminal event and two
+ * racing terminal events must reach the subscriber serialized, with a single terminal event.
+ */
+public final class HalfSerializerStress {
+
+    /** Utility class. */
+    private HalfSerializerStress() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    @JCStressTest
+    @Description("onNext racing onComplete")
+    @Outcome(id = "1, 1, 0", expect = ACCEPTABLE, desc = "onNext won, then onComplete.")
+    @Outcome(id = "0, 1, 0", expect = ACCEPTABLE, desc = "onComplete won, onNext dropped.")
+    @Outcome(expect = FORBIDDEN, desc = "Signals lost, duplicated or concurrent.")
+    @State
+    public static class OnNextOnComplete {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        final AtomicInteger wip = new AtomicInteger();
+
+        final AtomicThrowable error = new AtomicThrowable();
+
+        @Actor
+        public void next() {
+            HalfSerializer.onNext(subscriber, 1, wip, error);
+        }
+
+        @Actor
+        public void complete() {
+            HalfSerializer.onComplete(subscriber, wip, error);
+        }
+
+        @Arbiter
+        public void arbiter(III_Result r) {
+            r.r1 = subscriber.values.size();
+            r.r2 = subscriber.completions;
+            r.r3 = subscriber.concurrent ? 1 : 0;
+        }
+    }
+
+    @JCStressTest
+    @Description("onError racing onComplete")
+    @Outcome(id = "1, 0, 0", expect = ACCEPTABLE, desc = "onError won.")
+    @Outcome(id = "0, 1, 0", expect = ACCEPTABLE, desc = "onComplete won.")
+    @Outcome(expect = FORBIDDEN, desc = "No or multiple terminal events or concurrent signals.")
+    @State
+    public static class OnErrorOnComplete {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        final AtomicInteger wip = new AtomicInteger();
+
+        final AtomicThrowable error = new AtomicThrowable();
+
+        @Actor
+        public void error() {
+            HalfSerializer.onError(subscriber, new RuntimeException(), wip, error);
+        }
+
+        @Actor
+        public void complete() {
+            HalfSerializer.onComplete(subscriber, wip, error);
+        }
+
+        @Arbiter
+        public void arbiter(III_Result r) {
+            r.r1 = subscriber.errors;
+            r.r2 = subscriber.completions;
+            r.r3 = subscriber.concurrent ? 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.jcstress;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.*;
+
+import io.reactivex.common.internal.queues.AbstractSpscArrayQueue;
+import io.reactivex.flowable.internal.queues.*;
+
+/**
+ * Producer/consumer stress tests of the queues used by the drain loops: whatever the
+ * consumer polls concurrently followed by what remains must be the offered sequence.
+ */
+public final class QueueStress {
+
+    /** Utility class. */
+    private QueueStress() {
+        throw new IllegalStateException("No instances!");
+    }
+
+    static final int COUNT = 10;
+
+    /**
+     * Records the polled items and checks they continue the sequence.
+     */
+    static final class Checker {
+        int next = 1;
+
+        boolean ok = true;
+
+        void accept(Integer v) {
+            if (v != null) {
+                if (v != next) {
+                    ok = false;
+                }
+                next++;
+            }
+        }
+
+        int result() {
+            return ok && next == COUNT + 1 ? 1 : 0;
+        }
+    }
+
+    @JCStressTest
+    @Description("SpscArrayQueue: concurrent offer and poll deliver every item once, in order")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "All items polled once, in order.")
+    @Outcome(expect = FORBIDDEN, desc = "Items lost, duplicated or reordered.")
+    @State
+    public static class SpscArray {
+        final AbstractSpscArrayQueue<Integer> queue = new SpscArrayQueue<Integer>(16);
+
+        final Checker checker = new Checker();
+
+        @Actor
+        public void producer() {
+            for (int i = 1; i <= COUNT; i++) {
+                queue.offer(i);
+            }
+        }
+
+        @Actor
+        public void consumer() {
+            for (int i = 0; i < COUNT; i++) {
+                checker.accept(queue.poll());
+            }
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            Integer v;
+            while ((v = queue.poll()) != null) {
+                checker.accept(v);
+            }
+            r.r1 = checker.result();
+        }
+    }
+
+    @JCStressTest
+    @Description("SpscLinkedArrayQueue: concurrent offer and poll across a link to the next array")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "All items polled once, in order.")
+    @Outcome(expect = FORBIDDEN, desc = "Items lost, duplicated or reordered.")
+    @State
+    public static class SpscLinkedArray {
+        // the minimum capacity is 8 so COUNT items need a second array
+        final SpscLinkedArrayQueue<Integer> queue = new SpscLinkedArrayQueue<Integer>(8);
+
+        final Checker checker = new Checker();
+
+        @Actor
+        public void producer() {
+            for (int i = 1; i <= COUNT; i++) {
+                queue.offer(i);
+            }
+        }
+
+        @Actor
+        public void consumer() {
+            for (int i = 0; i < COUNT; i++) {
+                checker.accept(queue.poll());
+            }
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            Integer v;
+            while ((v = queue.poll()) != null) {
+                checker.accept(v);
+            }
+            r.r1 = checker.result();
+        }
+    }
+
+    @JCStressTest
+    @Description("MpscLinkedQueue: two producers and a consumer, each item is polled exactly once")
+    @Outcome(id = "0, 1", expect = ACCEPTABLE, desc = "Consumer polled before the offers.")
+    @Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "Consumer got the first producer's item.")
+    @Outcome(id = "2, 1", expect = ACCEPTABLE, desc = "Consumer got the second producer's item.")
+    @Outcome(expect = FORBIDDEN, desc = "Items lost or duplicated.")
+    @State
+    public static class MpscLinked {
+        final MpscLinkedQueue<Integer> queue = new MpscLinkedQueue<Integer>();
+
+        int polled;
+
+        @Actor
+        public void producer1() {
+            queue.offer(1);
+        }
+
+        @Actor
+        public void producer2() {
+            queue.offer(2);
+        }
+
+        @Actor
+        public void consumer() {
+            Integer v = queue.poll();
+            polled = v != null ? v : 0;
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            int sum = polled;
+            int count = polled != 0 ? 1 : 0;
+            Integer v;
+            while ((v = queue.poll()) != null) {
+                sum += v;
+                count++;
+            }
+            r.r1 = polled;
+            r.r2 = sum == 3 && count == 2 ? 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.jcstress;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.reactivestreams.*;
+
+/**
+ * Subscriber that records the signals it receives and detects signals
+ * that arrive concurrently, violating the serialization rule §1.3.
+ */
+final class RecordingSubscriber implements Subscriber<Integer> {
+
+    final AtomicInteger inside = new AtomicInteger();
+
+    final List<Integer> values = new ArrayList<Integer>();
+
+    int errors;
+
+    int completions;
+
+    volatile boolean concurrent;
+
+    void enter() {
+        if (inside.getAndIncrement() != 0) {
+            concurrent = true;
+        }
+    }
+
+    void exit() {
+        inside.decrementAndGet();
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        s.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(Integer t) {
+        enter();
+        values.add(t);
+        exit();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        enter();
+        errors++;
+        exit();
+    }
+
+    @Override
+    public void onComplete() {
+        enter();
+        completions++;
+        exit();
+    }
+}
@@ -0,0 +1,328 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.common.functions.*;
+import io.reactivex.common.internal.functions.Functions;
+
+/**
+ * Runs a synchronous range through each of the commonly used Flowable operators in isolation,
+ * so a change to one operator can be measured without the rest of the interop suite.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class FlowableOperatorPerf {
+
+    @Param({ "1", "1000", "1000000" })
+    public int times;
+
+    @Param
+    public Operator operator;
+
+    Flowable<?> flow;
+
+    @Setup
+    public void setup() {
+        flow = operator.apply(Flowable.range(1, times), times);
+    }
+
+    @Benchmark
+    public Object run(Blackhole bh) {
+        PerfSubscriber s = new PerfSubscriber(bh);
+        flow.subscribe(s);
+        return s;
+    }
+
+    static final Function<Integer, Integer> INCREMENT = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer v) throws Exception {
+            return v + 1;
+        }
+    };
+
+    static final Function<Integer, Integer> MOD_8 = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer v) throws Exception {
+            return v & 7;
+        }
+    };
+
+    static final Predicate<Integer> EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean test(Integer v) throws Exception {
+            return (v & 1) == 0;
+        }
+    };
+
+    static final Predicate<Integer> ALWAYS_TRUE = Functions.alwaysTrue();
+
+    static final Predicate<Integer> ALWAYS_FALSE = Functions.alwaysFalse();
+
+    static final BiFunction<Integer, Integer, Integer> SUM = new BiFunction<Integer, Integer, Integer>() {
+        @Override
+        public Integer apply(Integer a, Integer b) throws Exception {
+            return a + b;
+        }
+    };
+
+    static final Callable<List<Integer>> LIST_SUPPLIER = new Callable<List<Integer>>() {
+        @Override
+        public List<Integer> call() throws Exception {
+            return new ArrayList<Integer>();
+        }
+    };
+
+    static final BiConsumer<List<Integer>, Integer> LIST_ADD = new BiConsumer<List<Integer>, Integer>() {
+        @Override
+        public void accept(List<Integer> list, Integer v) throws Exception {
+            list.add(v);
+        }
+    };
+
+    static final Consumer<Integer> NO_OP = Functions.emptyConsumer();
+
+    static final Function<Integer, Publisher<Integer>> TO_JUST = new Function<Integer, Publisher<Integer>>() {
+        @Override
+        public Publisher<Integer> apply(Integer v) throws Exception {
+            return Flowable.just(v);
+        }
+    };
+
+    static final Function<Integer, Publisher<Integer>> TO_RANGE = new Function<Integer, Publisher<Integer>>() {
+        @Override
+        public Publisher<Integer> apply(Integer v) throws Exception {
+            return Flowable.range(v, 2);
+        }
+    };
+
+    public enum Operator {
+        MAP {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.map(INCREMENT);
+            }
+        },
+        FILTER {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.filter(EVEN);
+            }
+        },
+        TAKE {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.take(times / 2 + 1);
+            }
+        },
+        SKIP {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.skip(times / 2);
+            }
+        },
+        TAKE_WHILE {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.takeWhile(ALWAYS_TRUE);
+            }
+        },
+        SKIP_WHILE {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.skipWhile(ALWAYS_FALSE);
+            }
+        },
+        TAKE_LAST {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.takeLast(16);
+            }
+        },
+        SKIP_LAST {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.skipLast(16);
+            }
+        },
+        DISTINCT {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.distinct();
+            }
+        },
+        DISTINCT_UNTIL_CHANGED {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.distinctUntilChanged();
+            }
+        },
+        SCAN {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.scan(SUM);
+            }
+        },
+        REDUCE {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.reduce(SUM);
+            }
+        },
+        COUNT {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.count();
+            }
+        },
+        TO_LIST {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.toList();
+            }
+        },
+        COLLECT {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.collect(LIST_SUPPLIER, LIST_ADD);
+            }
+        },
+        LAST {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.lastElement();
+            }
+        },
+        ANY {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.any(ALWAYS_FALSE);
+            }
+        },
+        ALL {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.all(ALWAYS_TRUE);
+            }
+        },
+        IGNORE_ELEMENTS {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.ignoreElements();
+            }
+        },
+        DO_ON_NEXT {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.doOnNext(NO_OP);
+            }
+        },
+        BUFFER {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.buffer(16);
+            }
+        },
+        WINDOW {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.window(16).flatMap(Functions.<Flowable<Integer>>identity());
+            }
+        },
+        GROUP_BY {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.groupBy(MOD_8).flatMap(Functions.<GroupedFlowable<Integer, Integer>>identity());
+            }
+        },
+        FLAT_MAP_JUST {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.flatMap(TO_JUST);
+            }
+        },
+        FLAT_MAP_RANGE {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.flatMap(TO_RANGE);
+            }
+        },
+        CONCAT_MAP_JUST {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.concatMap(TO_JUST);
+            }
+        },
+        CONCAT_MAP_RANGE {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.concatMap(TO_RANGE);
+            }
+        },
+        SWITCH_MAP_JUST {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.switchMap(TO_JUST);
+            }
+        },
+        ZIP_WITH {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.zipWith(source, SUM);
+            }
+        },
+        MERGE_WITH {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.mergeWith(source);
+            }
+        },
+        CONCAT_WITH {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.concatWith(source);
+            }
+        },
+        START_WITH {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.startWith(0);
+            }
+        },
+        ON_BACKPRESSURE_BUFFER {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.onBackpressureBuffer();
+            }
+        },
+        ON_BACKPRESSURE_DROP {
+            @Override
+            Flowable<?> apply(Flowable<Integer> source, int times) {
+                return source.onBackpressureDrop();
+            }
+        };
+
+        abstract Flowable<?> apply(Flowable<Integer> source, int times);
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.processors;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.flowable.PerfSubscriber;
+
+/**
+ * Emits a batch of items through each processor type to one or more Subscribers,
+ * measuring the per-item dispatch cost of the processor itself.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ProcessorPerf {
+
+    @Param({ "1", "1000", "1000000" })
+    public int count;
+
+    @Param({ "1", "4" })
+    public int consumers;
+
+    @Param
+    public Kind kind;
+
+    @Benchmark
+    public Object emit(Blackhole bh) {
+        FlowableProcessor<Integer> p = kind.create();
+
+        int c = kind.unicast ? 1 : consumers;
+        for (int i = 0; i < c; i++) {
+            p.subscribe(new PerfSubscriber(bh));
+        }
+
+        int n = count;
+        for (int i = 0; i < n; i++) {
+            p.onNext(i);
+        }
+        p.onComplete();
+        return p;
+    }
+
+    public enum Kind {
+        PUBLISH(false) {
+            @Override
+            FlowableProcessor<Integer> create() {
+                return PublishProcessor.<Integer>create();
+            }
+        },
+        BEHAVIOR(false) {
+            @Override
+            FlowableProcessor<Integer> create() {
+                return BehaviorProcessor.<Integer>create();
+            }
+        },
+        REPLAY(false) {
+            @Override
+            FlowableProcessor<Integer> create() {
+                return ReplayProcessor.<Integer>create();
+            }
+        },
+        REPLAY_SIZE(false) {
+            @Override
+            FlowableProcessor<Integer> create() {
+                return ReplayProcessor.<Integer>createWithSize(16);
+            }
+        },
+        ASYNC(false) {
+            @Override
+            FlowableProcessor<Integer> create() {
+                return AsyncProcessor.<Integer>create();
+            }
+        },
+        RING_BUFFER(false) {
+            @Override
+            FlowableProcessor<Integer> create() {
+                return RingBufferProcessor.<Integer>create(1024);
+            }
+        },
+        UNICAST(true) {
+            @Override
+            FlowableProcessor<Integer> create() {
+                return UnicastProcessor.<Integer>create();
+            }
+        },
+        UNICAST_MULTI_PRODUCER(true) {
+            @Override
+            FlowableProcessor<Integer> create() {
+                return UnicastProcessor.<Integer>createMultiProducer();
+            }
+        },
+        SERIALIZED_PUBLISH(false) {
+            @Override
+            FlowableProcessor<Integer> create() {
+                return PublishProcessor.<Integer>create().toSerialized();
+            }
+        };
+
+        final boolean unicast;
+
+        Kind(boolean unicast) {
+            this.unicast = unicast;
+        }
+
+        abstract FlowableProcessor<Integer> create();
+    }
+}
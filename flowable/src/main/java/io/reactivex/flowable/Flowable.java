@@ -12,6 +12,7 @@
  */
 package io.reactivex.flowable;
 
+import java.io.File;
 import java.util.*;
 import java.util.concurrent.*;
 
@@ -5340,6 +5341,68 @@ public abstract class Flowable<T> implements Publisher<T> {
         return new BlockingFlowableIterable<T>(this, bufferSize);
     }
 
+    /**
+     * Converts this {@code Flowable} into an {@link Iterable} that hands out the items available
+     * at the time in lists of at most the given size.
+     * <p>
+     * Each list contains at least one item; {@code next()} doesn't wait for more items than
+     * are available when called.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator expects the upstream to honor backpressure otherwise the returned
+     *  Iterable's iterator will throw a {@code MissingBackpressureException}.
+     *  </dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>{@code blockingIterableBatched} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param maxSize the maximum number of items in a list
+     * @return an {@link Iterable} of lists of items of this {@code Flowable}
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final Iterable<List<T>> blockingIterableBatched(int maxSize) {
+        return blockingIterableBatched(maxSize, 0L, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Converts this {@code Flowable} into an {@link Iterable} that hands out the items in lists
+     * of at most the given size, waiting up to the given time for a list to fill up.
+     * <p>
+     * Each list contains at least one item; once an item is available, {@code next()} waits at
+     * most {@code maxWait} for {@code maxSize} items before returning the ones available.
+     * The items are moved into the list in one pass and the consumer thread is woken up
+     * only when enough items have arrived.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator prefetches the larger of {@code maxSize} and {@link #bufferSize()} items
+     *  and expects the upstream to honor backpressure otherwise the returned
+     *  Iterable's iterator will throw a {@code MissingBackpressureException}.
+     *  </dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>{@code blockingIterableBatched} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param maxSize the maximum number of items in a list
+     * @param maxWait the maximum time to wait for a list to fill up, zero to not wait
+     * @param unit the time unit of maxWait
+     * @return an {@link Iterable} of lists of items of this {@code Flowable}
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final Iterable<List<T>> blockingIterableBatched(int maxSize, long maxWait, TimeUnit unit) {
+        ObjectHelper.verifyPositive(maxSize, "maxSize");
+        ObjectHelper.requireNonNull(unit, "unit is null");
+        if (maxWait < 0L) {
+            throw new IllegalArgumentException("maxWait >= 0 required but it was " + maxWait);
+        }
+        return new BlockingFlowableBatchIterable<T>(this, maxSize, unit.toNanos(maxWait), Math.max(maxSize, bufferSize()));
+    }
+
     /**
      * Returns the last item emitted by this {@code Flowable}, or throws
      * {@code NoSuchElementException} if this {@code Flowable} emits no items.
@@ -6464,6 +6527,103 @@ public abstract class Flowable<T> implements Publisher<T> {
         return RxJavaFlowablePlugins.onAssembly(new FlowableCache<T>(this, initialCapacity));
     }
 
+    /**
+     * Returns a {@link CachedFlowable} that subscribes to this Publisher lazily and replays at most
+     * the latest {@code maxItems} items plus the terminal event to its Subscribers.
+     * <p>
+     * Unlike {@link #cache()}, older items are evicted once the limit is exceeded, so a long-running
+     * source does not grow the cache without bounds. Subscribers that are still behind the evicted
+     * items keep receiving them, late Subscribers start with the oldest retained item.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator consumes this Publisher in an unbounded fashion but respects the backpressure
+     *  of each downstream Subscriber individually.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>This version of {@code cacheBounded} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param maxItems the maximum number of items retained, positive
+     * @return the new CachedFlowable instance
+     * @see #cacheBounded(int, long, Function, long, TimeUnit, Scheduler)
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final CachedFlowable<T> cacheBounded(int maxItems) {
+        ObjectHelper.verifyPositive(maxItems, "maxItems");
+        return RxJavaFlowablePlugins.onAssembly(new FlowableCacheBounded<T>(this, maxItems, Long.MAX_VALUE, null,
+                Long.MAX_VALUE, TimeUnit.MILLISECONDS, Schedulers.trampoline()));
+    }
+
+    /**
+     * Returns a {@link CachedFlowable} that subscribes to this Publisher lazily and replays the items
+     * not older than {@code maxAge} plus the terminal event to its Subscribers.
+     * <p>
+     * Items are evicted when a newer item arrives; Subscribers arriving later skip items that
+     * have expired in the meantime.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator consumes this Publisher in an unbounded fashion but respects the backpressure
+     *  of each downstream Subscriber individually.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use as the time source.</dd>
+     * </dl>
+     *
+     * @param maxAge the maximum age of the retained items
+     * @param unit the time unit of {@code maxAge}
+     * @param scheduler the scheduler providing the current time
+     * @return the new CachedFlowable instance
+     * @see #cacheBounded(int, long, Function, long, TimeUnit, Scheduler)
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    @Experimental
+    public final CachedFlowable<T> cacheBounded(long maxAge, TimeUnit unit, Scheduler scheduler) {
+        ObjectHelper.requireNonNull(unit, "unit is null");
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        return RxJavaFlowablePlugins.onAssembly(new FlowableCacheBounded<T>(this, Integer.MAX_VALUE, Long.MAX_VALUE, null, maxAge, unit, scheduler));
+    }
+
+    /**
+     * Returns a {@link CachedFlowable} that subscribes to this Publisher lazily and replays the latest
+     * items that fit into the given item count, estimated byte size and age limits, plus the terminal
+     * event, to its Subscribers.
+     * <p>
+     * Items are evicted oldest-first whenever a new item pushes the cache over any of the limits.
+     * The current occupancy can be queried via {@link CachedFlowable#retainedCount()} and
+     * {@link CachedFlowable#retainedBytes()}.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator consumes this Publisher in an unbounded fashion but respects the backpressure
+     *  of each downstream Subscriber individually.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use as the time source.</dd>
+     * </dl>
+     *
+     * @param maxItems the maximum number of items retained, positive, {@code Integer.MAX_VALUE} for no limit
+     * @param maxBytes the maximum sum of the estimated item sizes, positive, {@code Long.MAX_VALUE} for no limit
+     * @param sizeEstimator the function returning the estimated size of an item in bytes
+     * @param maxAge the maximum age of the retained items, {@code Long.MAX_VALUE} for no limit
+     * @param unit the time unit of {@code maxAge}
+     * @param scheduler the scheduler providing the current time
+     * @return the new CachedFlowable instance
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    @Experimental
+    public final CachedFlowable<T> cacheBounded(int maxItems, long maxBytes, Function<? super T, Long> sizeEstimator,
+            long maxAge, TimeUnit unit, Scheduler scheduler) {
+        ObjectHelper.verifyPositive(maxItems, "maxItems");
+        ObjectHelper.verifyPositive(maxBytes, "maxBytes");
+        ObjectHelper.requireNonNull(sizeEstimator, "sizeEstimator is null");
+        ObjectHelper.requireNonNull(unit, "unit is null");
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        return RxJavaFlowablePlugins.onAssembly(new FlowableCacheBounded<T>(this, maxItems, maxBytes, sizeEstimator, maxAge, unit, scheduler));
+    }
+
     /**
      * Returns a Flowable that emits the items emitted by the source Publisher, converted to the specified
      * type.
@@ -9217,6 +9377,204 @@ public abstract class Flowable<T> implements Publisher<T> {
         return RxJavaFlowablePlugins.onAssembly(new FlowableGroupBy<T, K, V>(this, keySelector, valueSelector, bufferSize, delayError));
     }
 
+    /**
+     * Groups the items emitted by a {@code Publisher} according to a specified criterion, and emits these
+     * grouped items as {@link GroupedFlowable}s, keeping at most {@code maxGroups} groups alive at a time.
+     * <p>
+     * When an item with a new key arrives and there are already {@code maxGroups} live groups, the
+     * least recently used group (the one which received an item the longest time ago) is evicted: it is
+     * completed after it emitted its buffered items and the next item with its key will
+     * trigger a new {@code GroupedFlowable} emission.
+     * <p>
+     * <img width="640" height="360" src="https://raw.github.com/wiki/ReactiveX/RxJava/images/rx-operators/groupBy.png" alt="">
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>Both the returned and its inner {@code Publisher}s honor backpressure and the source {@code Publisher}
+     *  is consumed in a bounded mode (i.e., requested a fixed amount upfront and replenished based on
+     *  downstream consumption). Note that the inner {@code Publisher}s use
+     *  unbounded internal buffers.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>{@code groupBy} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param keySelector
+     *            a function that extracts the key for each item
+     * @param valueSelector
+     *            a function that extracts the return element for each item
+     * @param delayError
+     *            if true, the exception from the current Flowable is delayed in each group until that specific group emitted
+     *            the normal values; if false, the exception bypasses values in the groups and is reported immediately.
+     * @param bufferSize
+     *            the hint for how many {@link GroupedFlowable}s and element in each {@link GroupedFlowable} should be buffered
+     * @param maxGroups
+     *            the maximum number of groups alive at a time, positive
+     * @param <K>
+     *            the key type
+     * @param <V>
+     *            the element type
+     * @return a {@code Publisher} that emits {@link GroupedFlowable}s, each of which corresponds to a
+     *         key value and each of which emits those items from the source Publisher that share that
+     *         key value
+     * @see <a href="http://reactivex.io/documentation/operators/groupby.html">ReactiveX operators documentation: GroupBy</a>
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public final <K, V> Flowable<GroupedFlowable<K, V>> groupBy(Function<? super T, ? extends K> keySelector,
+            Function<? super T, ? extends V> valueSelector,
+            boolean delayError, int bufferSize, int maxGroups) {
+        ObjectHelper.requireNonNull(keySelector, "keySelector is null");
+        ObjectHelper.requireNonNull(valueSelector, "valueSelector is null");
+        ObjectHelper.verifyPositive(bufferSize, "bufferSize");
+        ObjectHelper.verifyPositive(maxGroups, "maxGroups");
+
+        return RxJavaFlowablePlugins.onAssembly(new FlowableGroupBy<T, K, V>(this, keySelector, valueSelector, bufferSize, delayError,
+                maxGroups, Long.MAX_VALUE, TimeUnit.NANOSECONDS, null, Integer.MAX_VALUE, BackpressureOverflowStrategy.ERROR));
+    }
+
+    /**
+     * Groups the items emitted by a {@code Publisher} according to a specified criterion, and emits these
+     * grouped items as {@link GroupedFlowable}s, keeping at most {@code maxGroups} groups alive at a time
+     * and evicting groups which haven't received an item for the specified amount of time.
+     * <p>
+     * Evicted groups are completed after they emitted their buffered items and the next item with the
+     * same key will trigger a new {@code GroupedFlowable} emission. Groups become idle based on the time
+     * provided by the {@code scheduler} and are evicted when the next item arrives from the source {@code Publisher};
+     * when the number of live groups reaches {@code maxGroups}, a new key evicts the least recently used group.
+     * <p>
+     * <img width="640" height="360" src="https://raw.github.com/wiki/ReactiveX/RxJava/images/rx-operators/groupBy.png" alt="">
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>Both the returned and its inner {@code Publisher}s honor backpressure and the source {@code Publisher}
+     *  is consumed in a bounded mode (i.e., requested a fixed amount upfront and replenished based on
+     *  downstream consumption). Note that the inner {@code Publisher}s use
+     *  unbounded internal buffers.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator uses for determining the idle time of the groups.</dd>
+     * </dl>
+     *
+     * @param keySelector
+     *            a function that extracts the key for each item
+     * @param valueSelector
+     *            a function that extracts the return element for each item
+     * @param delayError
+     *            if true, the exception from the current Flowable is delayed in each group until that specific group emitted
+     *            the normal values; if false, the exception bypasses values in the groups and is reported immediately.
+     * @param bufferSize
+     *            the hint for how many {@link GroupedFlowable}s and element in each {@link GroupedFlowable} should be buffered
+     * @param maxGroups
+     *            the maximum number of groups alive at a time, positive, {@code Integer.MAX_VALUE} for no limit
+     * @param maxIdleTime
+     *            the time a group may go without receiving an item before it is evicted, positive
+     * @param unit
+     *            the time unit of {@code maxIdleTime}
+     * @param scheduler
+     *            the {@link Scheduler} providing the current time
+     * @param <K>
+     *            the key type
+     * @param <V>
+     *            the element type
+     * @return a {@code Publisher} that emits {@link GroupedFlowable}s, each of which corresponds to a
+     *         key value and each of which emits those items from the source Publisher that share that
+     *         key value
+     * @see <a href="http://reactivex.io/documentation/operators/groupby.html">ReactiveX operators documentation: GroupBy</a>
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    public final <K, V> Flowable<GroupedFlowable<K, V>> groupBy(Function<? super T, ? extends K> keySelector,
+            Function<? super T, ? extends V> valueSelector,
+            boolean delayError, int bufferSize, int maxGroups,
+            long maxIdleTime, TimeUnit unit, Scheduler scheduler) {
+        return groupBy(keySelector, valueSelector, delayError, bufferSize, maxGroups, maxIdleTime, unit, scheduler,
+                Integer.MAX_VALUE, BackpressureOverflowStrategy.ERROR);
+    }
+
+    /**
+     * Groups the items emitted by a {@code Publisher} according to a specified criterion, and emits these
+     * grouped items as {@link GroupedFlowable}s, keeping at most {@code maxGroups} groups alive at a time,
+     * evicting groups which haven't received an item for the specified amount of time and buffering at most
+     * {@code groupCapacity} items in each group.
+     * <p>
+     * Evicted groups are completed after they emitted their buffered items and the next item with the
+     * same key will trigger a new {@code GroupedFlowable} emission. Groups become idle based on the time
+     * provided by the {@code scheduler} and are evicted when the next item arrives from the source {@code Publisher};
+     * when the number of live groups reaches {@code maxGroups}, a new key evicts the least recently used group.
+     * <p>
+     * If a group's buffer is full, the {@code overflowStrategy} determines the outcome:
+     * <ul>
+     *     <li>{@code BackpressureOverflowStrategy.ERROR} signals a {@code MissingBackpressureException}
+     *     to that group only and the next item with the same key will trigger a new {@code GroupedFlowable} emission.</li>
+     *     <li>{@code BackpressureOverflowStrategy.DROP_LATEST} drops the newest buffered item of the group
+     *     to make room for the new one.</li>
+     *     <li>{@code BackpressureOverflowStrategy.DROP_OLDEST} drops the oldest buffered item of the group
+     *     to make room for the new one.</li>
+     * </ul>
+     * The dropped items are requested again from the source {@code Publisher} so a group whose consumer doesn't keep up
+     * doesn't hold up the other groups.
+     * <p>
+     * <img width="640" height="360" src="https://raw.github.com/wiki/ReactiveX/RxJava/images/rx-operators/groupBy.png" alt="">
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>Both the returned and its inner {@code Publisher}s honor backpressure and the source {@code Publisher}
+     *  is consumed in a bounded mode (i.e., requested a fixed amount upfront and replenished based on
+     *  downstream consumption and dropped items).</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator uses for determining the idle time of the groups.</dd>
+     * </dl>
+     *
+     * @param keySelector
+     *            a function that extracts the key for each item
+     * @param valueSelector
+     *            a function that extracts the return element for each item
+     * @param delayError
+     *            if true, the exception from the current Flowable is delayed in each group until that specific group emitted
+     *            the normal values; if false, the exception bypasses values in the groups and is reported immediately.
+     * @param bufferSize
+     *            the hint for how many {@link GroupedFlowable}s and element in each {@link GroupedFlowable} should be buffered
+     * @param maxGroups
+     *            the maximum number of groups alive at a time, positive, {@code Integer.MAX_VALUE} for no limit
+     * @param maxIdleTime
+     *            the time a group may go without receiving an item before it is evicted, positive
+     * @param unit
+     *            the time unit of {@code maxIdleTime}
+     * @param scheduler
+     *            the {@link Scheduler} providing the current time
+     * @param groupCapacity
+     *            the maximum number of items buffered by each group, positive, {@code Integer.MAX_VALUE} for no limit
+     * @param overflowStrategy
+     *            how a group reacts when its buffer is full
+     * @param <K>
+     *            the key type
+     * @param <V>
+     *            the element type
+     * @return a {@code Publisher} that emits {@link GroupedFlowable}s, each of which corresponds to a
+     *         key value and each of which emits those items from the source Publisher that share that
+     *         key value
+     * @see <a href="http://reactivex.io/documentation/operators/groupby.html">ReactiveX operators documentation: GroupBy</a>
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    public final <K, V> Flowable<GroupedFlowable<K, V>> groupBy(Function<? super T, ? extends K> keySelector,
+            Function<? super T, ? extends V> valueSelector,
+            boolean delayError, int bufferSize, int maxGroups,
+            long maxIdleTime, TimeUnit unit, Scheduler scheduler,
+            int groupCapacity, BackpressureOverflowStrategy overflowStrategy) {
+        ObjectHelper.requireNonNull(keySelector, "keySelector is null");
+        ObjectHelper.requireNonNull(valueSelector, "valueSelector is null");
+        ObjectHelper.verifyPositive(bufferSize, "bufferSize");
+        ObjectHelper.verifyPositive(maxGroups, "maxGroups");
+        ObjectHelper.verifyPositive(maxIdleTime, "maxIdleTime");
+        ObjectHelper.requireNonNull(unit, "unit is null");
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        ObjectHelper.verifyPositive(groupCapacity, "groupCapacity");
+        ObjectHelper.requireNonNull(overflowStrategy, "overflowStrategy is null");
+
+        return RxJavaFlowablePlugins.onAssembly(new FlowableGroupBy<T, K, V>(this, keySelector, valueSelector, bufferSize, delayError,
+                maxGroups, maxIdleTime, unit, scheduler, groupCapacity, overflowStrategy));
+    }
+
     /**
      * Returns a Flowable that correlates two Publishers when they overlap in time and groups the results.
      * <p>
@@ -9692,6 +10050,114 @@ public abstract class Flowable<T> implements Publisher<T> {
         return RxJavaFlowablePlugins.onAssembly(new FlowableObserveOn<T>(this, scheduler, delayError, bufferSize));
     }
 
+    /**
+     * Modifies a Publisher to perform its emissions and notifications on a specified {@link Scheduler}
+     * through a single-item hand-off where an item still waiting to be emitted is replaced by
+     * the newer one from upstream.
+     * <p>
+     * This is useful when only the latest value is of interest (such as state or UI updates): a consumer
+     * that can't keep up with the upstream receives the latest item available instead of every intermediate one.
+     * The error notification cuts ahead of the waiting item.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator honors backpressure from downstream and consumes the source {@code Publisher} in an unbounded
+     *  manner (i.e., not applying backpressure to it); items are replaced while the downstream has no demand.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use</dd>
+     * </dl>
+     *
+     * @param scheduler
+     *            the {@link Scheduler} to notify {@link Subscriber}s on
+     * @return the source Publisher modified so that its {@link Subscriber}s are notified on the specified
+     *         {@link Scheduler} with the latest item available
+     * @see #observeOn(Scheduler)
+     * @see #observeOnCoalesce(Scheduler, BiFunction)
+     * @see #onBackpressureLatest()
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.UNBOUNDED_IN)
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    public final Flowable<T> observeOnLatest(Scheduler scheduler) {
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        return RxJavaFlowablePlugins.onAssembly(new FlowableObserveOnCoalesce<T>(this, scheduler, null, false));
+    }
+
+    /**
+     * Modifies a Publisher to perform its emissions and notifications on a specified {@link Scheduler}
+     * through a single-item hand-off where an item still waiting to be emitted is merged with
+     * the newer one from upstream via a coalescer function.
+     * <p>
+     * Bursts of items arriving while the consumer is busy or has no demand collapse into a single
+     * emission, for example by summing cumulative counters or merging state deltas, so the consumer does
+     * a bounded amount of work regardless of the upstream rate. The error notification cuts ahead of the waiting item.
+     * <p>
+     * The coalescer may be invoked more than once for the same upstream item if it races with the
+     * consumer taking the waiting item, therefore it should be free of side-effects.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator honors backpressure from downstream and consumes the source {@code Publisher} in an unbounded
+     *  manner (i.e., not applying backpressure to it); items are coalesced while the downstream has no demand.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use</dd>
+     * </dl>
+     *
+     * @param scheduler
+     *            the {@link Scheduler} to notify {@link Subscriber}s on
+     * @param coalescer
+     *            the function receiving the item waiting to be emitted and the new item from upstream
+     *            and returning the item to emit in their place
+     * @return the source Publisher modified so that its {@link Subscriber}s are notified on the specified
+     *         {@link Scheduler} with the coalesced items
+     * @see #observeOn(Scheduler)
+     * @see #observeOnLatest(Scheduler)
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.UNBOUNDED_IN)
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    public final Flowable<T> observeOnCoalesce(Scheduler scheduler, BiFunction<? super T, ? super T, ? extends T> coalescer) {
+        return observeOnCoalesce(scheduler, coalescer, false);
+    }
+
+    /**
+     * Modifies a Publisher to perform its emissions and notifications on a specified {@link Scheduler}
+     * through a single-item hand-off where an item still waiting to be emitted is merged with
+     * the newer one from upstream via a coalescer function and optionally delays onError notifications.
+     * <p>
+     * Bursts of items arriving while the consumer is busy or has no demand collapse into a single
+     * emission, for example by summing cumulative counters or merging state deltas, so the consumer does
+     * a bounded amount of work regardless of the upstream rate.
+     * <p>
+     * The coalescer may be invoked more than once for the same upstream item if it races with the
+     * consumer taking the waiting item, therefore it should be free of side-effects.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator honors backpressure from downstream and consumes the source {@code Publisher} in an unbounded
+     *  manner (i.e., not applying backpressure to it); items are coalesced while the downstream has no demand.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use</dd>
+     * </dl>
+     *
+     * @param scheduler
+     *            the {@link Scheduler} to notify {@link Subscriber}s on
+     * @param coalescer
+     *            the function receiving the item waiting to be emitted and the new item from upstream
+     *            and returning the item to emit in their place
+     * @param delayError
+     *            indicates if the onError notification may not cut ahead of the waiting item
+     * @return the source Publisher modified so that its {@link Subscriber}s are notified on the specified
+     *         {@link Scheduler} with the coalesced items
+     * @see #observeOn(Scheduler)
+     * @see #observeOnLatest(Scheduler)
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.UNBOUNDED_IN)
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    public final Flowable<T> observeOnCoalesce(Scheduler scheduler, BiFunction<? super T, ? super T, ? extends T> coalescer, boolean delayError) {
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        ObjectHelper.requireNonNull(coalescer, "coalescer is null");
+        return RxJavaFlowablePlugins.onAssembly(new FlowableObserveOnCoalesce<T>(this, scheduler, coalescer, delayError));
+    }
+
     /**
      * Filters the items emitted by a Publisher, only emitting those of the specified type.
      * <p>
@@ -10502,6 +10968,140 @@ public abstract class Flowable<T> implements Publisher<T> {
         return FlowablePublish.create(this, bufferSize);
     }
 
+    /**
+     * Returns a {@link ConnectableFlowable} that shares the source and gives each of its {@link Subscriber}s
+     * its own bounded buffer, so that a slow Subscriber doesn't hold back the others.
+     * <p>
+     * Unlike {@link #publish(int)}, the source is consumed in an unbounded manner and a Subscriber that can't
+     * keep up has its items buffered; once its buffer is full, the {@code overflowStrategy} is applied to that
+     * Subscriber only: drop the oldest or the latest buffered item, or disconnect it with a
+     * {@code MissingBackpressureException} ({@link BackpressureOverflowStrategy#ERROR ERROR}).
+     * <dl>
+     *  <dt><b>Backpressure:</b><dt>
+     *  <dd>The returned {@code ConnectableFlowable} honors backpressure for each of its {@code Subscriber}s
+     *  through their individual buffers and consumes the source {@code Publisher} in an unbounded manner.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>{@code publish} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param bufferSize
+     *            the number of items buffered for each Subscriber
+     * @param overflowStrategy
+     *            the strategy to apply when a Subscriber's buffer is full
+     * @return a {@link ConnectableFlowable} that upon connection causes the source Publisher to emit items
+     *         to its {@link Subscriber}s
+     * @see io.reactivex.flowable.processors.PublishProcessor#create(int, BackpressureOverflowStrategy)
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final ConnectableFlowable<T> publish(int bufferSize, BackpressureOverflowStrategy overflowStrategy) {
+        return publish(bufferSize, overflowStrategy, Functions.emptyConsumer());
+    }
+
+    /**
+     * Returns a {@link ConnectableFlowable} that shares the source and gives each of its {@link Subscriber}s
+     * its own bounded buffer, so that a slow Subscriber doesn't hold back the others.
+     * <p>
+     * Unlike {@link #publish(int)}, the source is consumed in an unbounded manner and a Subscriber that can't
+     * keep up has its items buffered; once its buffer is full, the {@code overflowStrategy} is applied to that
+     * Subscriber only: drop the oldest or the latest buffered item and hand it to {@code onOverflow}
+     * (for example to spill it to a secondary sink), or disconnect it with a
+     * {@code MissingBackpressureException} ({@link BackpressureOverflowStrategy#ERROR ERROR}).
+     * <dl>
+     *  <dt><b>Backpressure:</b><dt>
+     *  <dd>The returned {@code ConnectableFlowable} honors backpressure for each of its {@code Subscriber}s
+     *  through their individual buffers and consumes the source {@code Publisher} in an unbounded manner.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>{@code publish} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param bufferSize
+     *            the number of items buffered for each Subscriber
+     * @param overflowStrategy
+     *            the strategy to apply when a Subscriber's buffer is full
+     * @param onOverflow
+     *            receives the items dropped from a Subscriber's buffer, on the emitting thread
+     * @return a {@link ConnectableFlowable} that upon connection causes the source Publisher to emit items
+     *         to its {@link Subscriber}s
+     * @see io.reactivex.flowable.processors.PublishProcessor#create(int, BackpressureOverflowStrategy, Consumer)
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.SPECIAL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final ConnectableFlowable<T> publish(int bufferSize, BackpressureOverflowStrategy overflowStrategy,
+            Consumer<? super T> onOverflow) {
+        ObjectHelper.verifyPositive(bufferSize, "bufferSize");
+        ObjectHelper.requireNonNull(overflowStrategy, "overflowStrategy is null");
+        ObjectHelper.requireNonNull(onOverflow, "onOverflow is null");
+        return RxJavaFlowablePlugins.onAssembly(new FlowablePublishProcessor<T>(this,
+                new FlowablePublishProcessor.BufferedPublishSupplier<T>(bufferSize, overflowStrategy, onOverflow)));
+    }
+
+    /**
+     * Returns a {@link ConnectableFlowable} that shares the source through a ring buffer of
+     * {@link #bufferSize()} capacity, writing each item once and letting each {@link Subscriber}
+     * read it at its own pace.
+     * <p>
+     * Unlike {@link #publish()}, a Subscriber with outstanding requests doesn't have to wait for
+     * the others to request as well: it can run ahead of the slowest Subscriber by at most the
+     * capacity of the ring buffer.
+     * <dl>
+     *  <dt><b>Backpressure:</b><dt>
+     *  <dd>The returned {@code ConnectableFlowable} honors backpressure for each of its {@code Subscriber}s
+     *  and expects the source {@code Publisher} to honor backpressure as well. If this expectation is violated,
+     *  the operator will signal a {@code MissingBackpressureException} to its {@code Subscriber}s.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>{@code publishRing} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @return a {@link ConnectableFlowable} that upon connection causes the source Publisher to emit items
+     *         to its {@link Subscriber}s
+     * @see io.reactivex.flowable.processors.RingBufferProcessor
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final ConnectableFlowable<T> publishRing() {
+        return publishRing(bufferSize());
+    }
+
+    /**
+     * Returns a {@link ConnectableFlowable} that shares the source through a ring buffer of
+     * the given capacity, writing each item once and letting each {@link Subscriber}
+     * read it at its own pace.
+     * <p>
+     * Unlike {@link #publish(int)}, a Subscriber with outstanding requests doesn't have to wait for
+     * the others to request as well: it can run ahead of the slowest Subscriber by at most the
+     * capacity of the ring buffer.
+     * <dl>
+     *  <dt><b>Backpressure:</b><dt>
+     *  <dd>The returned {@code ConnectableFlowable} honors backpressure for each of its {@code Subscriber}s
+     *  and expects the source {@code Publisher} to honor backpressure as well. If this expectation is violated,
+     *  the operator will signal a {@code MissingBackpressureException} to its {@code Subscriber}s.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>{@code publishRing} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param capacity
+     *            the capacity of the ring buffer, rounded up to the next power of 2
+     * @return a {@link ConnectableFlowable} that upon connection causes the source Publisher to emit items
+     *         to its {@link Subscriber}s
+     * @see io.reactivex.flowable.processors.RingBufferProcessor
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final ConnectableFlowable<T> publishRing(int capacity) {
+        ObjectHelper.verifyPositive(capacity, "capacity");
+        return RxJavaFlowablePlugins.onAssembly(new FlowablePublishProcessor<T>(this,
+                new FlowablePublishProcessor.RingBufferSupplier<T>(capacity)));
+    }
+
     /**
      * Requests {@code n} initially from the upstream and then 75% of {@code n} subsequently
      * after 75% of {@code n} values have been emitted to the downstream.
@@ -11356,6 +11956,99 @@ public abstract class Flowable<T> implements Publisher<T> {
         return FlowableReplay.observeOn(replay(), scheduler);
     }
 
+    /**
+     * Returns a {@link ConnectableFlowable} that shares a single subscription to the source Publisher and
+     * replays all of its items from segment files in the given directory, so that the history survives
+     * a restart of the process.
+     * <p>
+     * Each item is turned into bytes by the {@code encoder} and appended to the current segment file; the
+     * files are synced to the disk at most once per second and when the sequence terminates. When a new
+     * connection is established, the items left in the directory by earlier connections, including
+     * those of a previous process, are replayed first. Terminal events are not persisted. Each
+     * {@link Subscriber} reads the items from the files and turns them back into values via the
+     * {@code decoder}.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>This operator supports backpressure. Note that the upstream requests are determined by the child
+     *  Subscriber which requests the largest amount: i.e., two child Subscribers with requests of 10 and 100 will
+     *  request 100 elements from the underlying Publisher sequence.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>This version of {@code replay} uses the {@code computation} {@link Scheduler} as the time source.</dd>
+     * </dl>
+     *
+     * @param directory
+     *            the directory holding the segment files, created if it doesn't exist
+     * @param encoder
+     *            the function that turns an item into bytes
+     * @param decoder
+     *            the function that turns the bytes back into an item
+     * @return a {@link ConnectableFlowable} that shares a single subscription to the source Publisher and
+     *         replays all of its items from the given directory
+     * @see <a href="http://reactivex.io/documentation/operators/replay.html">ReactiveX operators documentation: Replay</a>
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.COMPUTATION)
+    @Experimental
+    public final ConnectableFlowable<T> replay(File directory, Function<? super T, byte[]> encoder, Function<byte[], ? extends T> decoder) {
+        return replay(directory, encoder, decoder, Long.MAX_VALUE, Long.MAX_VALUE, TimeUnit.MILLISECONDS, Schedulers.computation());
+    }
+
+    /**
+     * Returns a {@link ConnectableFlowable} that shares a single subscription to the source Publisher and
+     * replays its items from segment files in the given directory, so that the history survives a restart
+     * of the process, keeping at most about {@code maxBytes} of items which are not older than {@code time}.
+     * <p>
+     * Each item is turned into bytes by the {@code encoder} and appended to the current segment file; the
+     * files are synced to the disk at most once per second and when the sequence terminates. The oldest
+     * segment files are deleted as a whole once the retention limits are exceeded and late
+     * {@link Subscriber}s skip the items older than {@code time}. When a new connection is established,
+     * the items left in the directory by earlier connections, including those of a previous process, are
+     * replayed first. Terminal events are not persisted. Each Subscriber reads the items from the files and
+     * turns them back into values via the {@code decoder}.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>This operator supports backpressure. Note that the upstream requests are determined by the child
+     *  Subscriber which requests the largest amount: i.e., two child Subscribers with requests of 10 and 100 will
+     *  request 100 elements from the underlying Publisher sequence.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use as the time source.</dd>
+     * </dl>
+     *
+     * @param directory
+     *            the directory holding the segment files, created if it doesn't exist
+     * @param encoder
+     *            the function that turns an item into bytes
+     * @param decoder
+     *            the function that turns the bytes back into an item
+     * @param maxBytes
+     *            the approximate maximum size of the segment files kept
+     * @param time
+     *            the duration of the window in which the replayed items must have been emitted
+     * @param unit
+     *            the time unit of {@code time}
+     * @param scheduler
+     *            the scheduler that is used as the time source for the window
+     * @return a {@link ConnectableFlowable} that shares a single subscription to the source Publisher and
+     *         replays its retained items from the given directory
+     * @see <a href="http://reactivex.io/documentation/operators/replay.html">ReactiveX operators documentation: Replay</a>
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    @Experimental
+    public final ConnectableFlowable<T> replay(File directory, Function<? super T, byte[]> encoder, Function<byte[], ? extends T> decoder,
+            long maxBytes, long time, TimeUnit unit, Scheduler scheduler) {
+        ObjectHelper.requireNonNull(directory, "directory is null");
+        ObjectHelper.requireNonNull(encoder, "encoder is null");
+        ObjectHelper.requireNonNull(decoder, "decoder is null");
+        ObjectHelper.verifyPositive(maxBytes, "maxBytes");
+        ObjectHelper.verifyPositive(time, "time");
+        ObjectHelper.requireNonNull(unit, "unit is null");
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        return FlowableReplay.createPersistent(this, directory, encoder, decoder, maxBytes, time, unit, scheduler);
+    }
+
     /**
      * Returns a Flowable that mirrors the source Publisher, resubscribing to it if it calls {@code onError}
      * (infinite retry count).
@@ -12873,6 +13566,7 @@ public abstract class Flowable<T> implements Publisher<T> {
             Exceptions.throwIfFatal(e);
             // can't call onError because no way to know if a Subscription has been set or not
             // can't call onSubscribe because the call might have set a Subscription already
+            AssemblyTracking.recordCallSite(e, this);
             RxJavaCommonPlugins.onError(e);
 
             NullPointerException npe = new NullPointerException("Actually not, but can't throw other exceptions due to RS");
@@ -16,12 +16,16 @@ import java.util.concurrent.*;
 
 import org.reactivestreams.Subscriber;
 
+import hu.akarnokd.reactivestreams.extensions.ConstantValuePublisher;
 import io.reactivex.common.*;
 import io.reactivex.common.annotations.*;
 import io.reactivex.common.functions.*;
 import io.reactivex.common.internal.functions.ObjectHelper;
 import io.reactivex.common.internal.schedulers.*;
 import io.reactivex.common.internal.utils.ExceptionHelper;
+import io.reactivex.flowable.extensions.HasUpstreamPublisher;
+import io.reactivex.flowable.internal.operators.*;
+import io.reactivex.flowable.internal.subscribers.InstrumentedSubscriber;
 /**
  * Utility class to inject handlers to certain standard RxJava operations.
  */
@@ -149,7 +153,9 @@ public final class RxJavaFlowablePlugins {
     }
 
     /**
-     * Calls the associated hook function.
+     * Calls the associated hook function, records the subscription if {@link PipelineTopology}
+     * is enabled and, if {@link OperatorInstrumentation} is enabled,
+     * wraps the resulting subscriber so it counts into the metrics of the source.
      * @param <T> the value type
      * @param source the hook's input value
      * @param subscriber the subscriber
@@ -160,13 +166,34 @@ public final class RxJavaFlowablePlugins {
     public static <T> Subscriber<? super T> onSubscribe(@NonNull Flowable<T> source, @NonNull Subscriber<? super T> subscriber) {
         BiFunction<? super Flowable, ? super Subscriber, ? extends Subscriber> f = onFlowableSubscribe;
         if (f != null) {
-            return apply(f, source, subscriber);
+            subscriber = apply(f, source, subscriber);
+        }
+        if (PipelineTopology.isEnabled() && subscriber != null && !isAssemblyWrapper(source)) {
+            Object upstream = source instanceof HasUpstreamPublisher ? ((HasUpstreamPublisher<?>)source).source() : null;
+            while (isAssemblyWrapper(upstream)) {
+                upstream = ((HasUpstreamPublisher<?>)upstream).source();
+            }
+            PipelineTopology.register(source, upstream, subscriber);
+        }
+        if (OperatorInstrumentation.isEnabled() && subscriber != null && !isAssemblyWrapper(source)) {
+            return InstrumentedSubscriber.wrap(subscriber, OperatorInstrumentation.metricsOf(source), null);
         }
         return subscriber;
     }
 
     /**
-     * Calls the associated hook function.
+     * Returns true if the given object only forwards to its upstream on behalf of the
+     * assembly hooks and should not be registered or instrumented itself.
+     * @param o the object to check, null allowed
+     * @return true if {@code o} is an assembly wrapper
+     */
+    static boolean isAssemblyWrapper(Object o) {
+        return o instanceof FlowableOnAssembly || o instanceof CachedFlowableOnAssembly;
+    }
+
+    /**
+     * Calls the associated hook function and, if {@link AssemblyTracking} is enabled
+     * and samples this assembly, wraps the result so the call site of its errors gets recorded.
      * @param <T> the value type
      * @param source the hook's input value
      * @return the value returned by the hook
@@ -176,11 +203,34 @@ public final class RxJavaFlowablePlugins {
     public static <T> Flowable<T> onAssembly(@NonNull Flowable<T> source) {
         Function<? super Flowable, ? extends Flowable> f = onFlowableAssembly;
         if (f != null) {
-            return apply(f, source);
+            source = apply(f, source);
+        }
+        if (!(source instanceof Callable) && !(source instanceof ConstantValuePublisher)) {
+            AssemblyTracking.CallSite cs = AssemblyTracking.onAssembly(source);
+            if (cs != null) {
+                return new FlowableOnAssembly<T>(source, cs);
+            }
         }
         return source;
     }
 
+    /**
+     * Calls the {@link Flowable} assembly hook and {@link AssemblyTracking} on a cache and,
+     * if either returns a different {@code Flowable}, keeps the {@link CachedFlowable} type around it.
+     * @param <T> the value type
+     * @param source the hook's input value
+     * @return the value returned by the hook
+     */
+    @Experimental
+    @NonNull
+    public static <T> CachedFlowable<T> onAssembly(@NonNull CachedFlowable<T> source) {
+        Flowable<T> result = onAssembly((Flowable<T>)source);
+        if (result instanceof CachedFlowable) {
+            return (CachedFlowable<T>)result;
+        }
+        return new CachedFlowableOnAssembly<T>(result, source);
+    }
+
     /**
      * Calls the associated hook function.
      * @param <T> the value type
@@ -0,0 +1,259 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.internal.operators;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.LockSupport;
+
+import org.reactivestreams.Subscription;
+
+import hu.akarnokd.reactivestreams.extensions.RelaxedSubscriber;
+import io.reactivex.common.Disposable;
+import io.reactivex.common.exceptions.MissingBackpressureException;
+import io.reactivex.common.internal.utils.*;
+import io.reactivex.flowable.Flowable;
+import io.reactivex.flowable.internal.queues.SpscArrayQueue;
+import io.reactivex.flowable.internal.subscriptions.SubscriptionHelper;
+
+/**
+ * Blocking Iterable that hands out the source items in lists of up to a maximum size,
+ * waiting up to a maximum time for a list to fill up.
+ * @param <T> the value type
+ */
+public final class BlockingFlowableBatchIterable<T> implements Iterable<List<T>> {
+    final Flowable<T> source;
+
+    final int maxSize;
+
+    final long maxWaitNanos;
+
+    final int bufferSize;
+
+    public BlockingFlowableBatchIterable(Flowable<T> source, int maxSize, long maxWaitNanos, int bufferSize) {
+        this.source = source;
+        this.maxSize = maxSize;
+        this.maxWaitNanos = maxWaitNanos;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public Iterator<List<T>> iterator() {
+        BlockingFlowableBatchIterator<T> it = new BlockingFlowableBatchIterator<T>(maxSize, maxWaitNanos, bufferSize);
+        source.subscribe(it);
+        return it;
+    }
+
+    static final class BlockingFlowableBatchIterator<T>
+    extends AtomicReference<Subscription>
+    implements RelaxedSubscriber<T>, Iterator<List<T>>, Runnable, Disposable {
+
+        private static final long serialVersionUID = -2620209723863930658L;
+
+        final SpscArrayQueue<T> queue;
+
+        final int maxSize;
+
+        final long maxWaitNanos;
+
+        final long batchSize;
+
+        final long limit;
+
+        /** The number of items in the queue; its increment orders the offer before checking the waiter. */
+        final AtomicLong available;
+
+        /** The consumer thread while it is parked waiting for items. */
+        final AtomicReference<Thread> waiter;
+
+        /** The number of available items the parked consumer waits for. */
+        volatile long wanted;
+
+        long produced;
+
+        volatile boolean done;
+        Throwable error;
+
+        BlockingFlowableBatchIterator(int maxSize, long maxWaitNanos, int batchSize) {
+            this.queue = new SpscArrayQueue<T>(batchSize);
+            this.maxSize = maxSize;
+            this.maxWaitNanos = maxWaitNanos;
+            this.batchSize = batchSize;
+            this.limit = batchSize - (batchSize >> 2);
+            this.available = new AtomicLong();
+            this.waiter = new AtomicReference<Thread>();
+        }
+
+        @Override
+        public boolean hasNext() {
+            for (;;) {
+                boolean d = done;
+                boolean empty = available.get() == 0L;
+                if (d) {
+                    Throwable e = error;
+                    if (e != null) {
+                        throw ExceptionHelper.wrapOrThrow(e);
+                    } else
+                    if (empty) {
+                        return false;
+                    }
+                }
+                if (empty) {
+                    BlockingHelper.verifyNonBlocking();
+                    try {
+                        await(1L, 0L);
+                    } catch (InterruptedException ex) {
+                        run();
+                        throw ExceptionHelper.wrapOrThrow(ex);
+                    }
+                } else {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public List<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int max = maxSize;
+            long n = available.get();
+            if (n < max && maxWaitNanos > 0L && !done) {
+                // request the items taken so far so that a full list can arrive while waiting
+                long p = produced;
+                if (p != 0L) {
+                    produced = 0L;
+                    get().request(p);
+                }
+                try {
+                    await(Math.min(max, batchSize), System.nanoTime() + maxWaitNanos);
+                } catch (InterruptedException ex) {
+                    run();
+                    throw ExceptionHelper.wrapOrThrow(ex);
+                }
+                n = available.get();
+            }
+
+            int c = (int)Math.min(n, max);
+            SpscArrayQueue<T> q = queue;
+            List<T> list = new ArrayList<T>(c);
+            for (int i = 0; i < c; i++) {
+                list.add(q.poll());
+            }
+            available.addAndGet(-c);
+
+            long p = produced + c;
+            if (p >= limit) {
+                produced = 0;
+                get().request(p);
+            } else {
+                produced = p;
+            }
+            return list;
+        }
+
+        /**
+         * Spins for a while, then parks until the given number of items is available,
+         * the source terminates or the deadline passes.
+         * @param count the number of items to wait for
+         * @param deadline the System.nanoTime() to give up at, 0 for no deadline
+         * @throws InterruptedException if the consumer thread has been interrupted
+         */
+        void await(long count, long deadline) throws InterruptedException {
+            for (int i = BlockingHelper.SPIN_COUNT; i > 0; i--) {
+                if (done || available.get() >= count) {
+                    return;
+                }
+            }
+            wanted = count;
+            Thread t = Thread.currentThread();
+            for (;;) {
+                waiter.set(t);
+                if (done || available.get() >= count) {
+                    break;
+                }
+                if (deadline == 0L) {
+                    LockSupport.park(this);
+                } else {
+                    long delay = deadline - System.nanoTime();
+                    if (delay <= 0L) {
+                        break;
+                    }
+                    LockSupport.parkNanos(this, delay);
+                }
+                if (Thread.interrupted()) {
+                    waiter.lazySet(null);
+                    throw new InterruptedException();
+                }
+            }
+            waiter.lazySet(null);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.setOnce(this, s)) {
+                s.request(batchSize);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (!queue.offer(t)) {
+                SubscriptionHelper.cancel(this);
+
+                onError(new MissingBackpressureException("Queue full?!"));
+            } else {
+                long a = available.incrementAndGet();
+                if (a >= wanted && waiter.get() != null) {
+                    BlockingHelper.unpark(waiter);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            done = true;
+            BlockingHelper.unpark(waiter);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            BlockingHelper.unpark(waiter);
+        }
+
+        @Override
+        public void run() {
+            SubscriptionHelper.cancel(this);
+            BlockingHelper.unpark(waiter);
+        }
+
+        @Override // otherwise default method which isn't available in Java 7
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+
+        @Override
+        public void dispose() {
+            SubscriptionHelper.cancel(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return SubscriptionHelper.isCancelled(get());
+        }
+    }
+}
@@ -15,7 +15,7 @@ package io.reactivex.flowable.internal.operators;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.*;
+import java.util.concurrent.locks.LockSupport;
 
 import org.reactivestreams.Subscription;
 
@@ -56,9 +56,8 @@ public final class BlockingFlowableIterable<T> implements Iterable<T> {
 
         final long limit;
 
-        final Lock lock;
-
-        final Condition condition;
+        /** The consumer thread while it is parked waiting for items. */
+        final AtomicReference<Thread> waiter;
 
         long produced;
 
@@ -69,8 +68,7 @@ public final class BlockingFlowableIterable<T> implements Iterable<T> {
             this.queue = new SpscArrayQueue<T>(batchSize);
             this.batchSize = batchSize;
             this.limit = batchSize - (batchSize >> 2);
-            this.lock = new ReentrantLock();
-            this.condition = lock.newCondition();
+            this.waiter = new AtomicReference<Thread>();
         }
 
         @Override
@@ -89,16 +87,11 @@ public final class BlockingFlowableIterable<T> implements Iterable<T> {
                 }
                 if (empty) {
                     BlockingHelper.verifyNonBlocking();
-                    lock.lock();
                     try {
-                        while (!done && queue.isEmpty()) {
-                            condition.await();
-                        }
+                        await();
                     } catch (InterruptedException ex) {
                         run();
                         throw ExceptionHelper.wrapOrThrow(ex);
-                    } finally {
-                        lock.unlock();
                     }
                 } else {
                     return true;
@@ -106,6 +99,31 @@ public final class BlockingFlowableIterable<T> implements Iterable<T> {
             }
         }
 
+        /**
+         * Spins for a while, then parks until an item or terminal event is available.
+         * @throws InterruptedException if the consumer thread has been interrupted
+         */
+        void await() throws InterruptedException {
+            for (int i = BlockingHelper.SPIN_COUNT; i > 0; i--) {
+                if (done || !queue.isEmpty()) {
+                    return;
+                }
+            }
+            Thread t = Thread.currentThread();
+            for (;;) {
+                waiter.set(t);
+                if (done || !queue.isEmpty()) {
+                    break;
+                }
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    waiter.lazySet(null);
+                    throw new InterruptedException();
+                }
+            }
+            waiter.lazySet(null);
+        }
+
         @Override
         public T next() {
             if (hasNext()) {
@@ -156,12 +174,7 @@ public final class BlockingFlowableIterable<T> implements Iterable<T> {
         }
 
         void signalConsumer() {
-            lock.lock();
-            try {
-                condition.signalAll();
-            } finally {
-                lock.unlock();
-            }
+            BlockingHelper.unpark(waiter);
         }
 
         @Override
@@ -13,13 +13,13 @@
 
 package io.reactivex.flowable.internal.operators;
 
-import java.util.concurrent.*;
-
 import org.reactivestreams.*;
 
 import io.reactivex.common.functions.*;
 import io.reactivex.common.internal.functions.*;
+import io.reactivex.common.internal.queues.MpscParkingQueue;
 import io.reactivex.common.internal.utils.*;
+import io.reactivex.flowable.Flowable;
 import io.reactivex.flowable.internal.subscribers.*;
 import io.reactivex.flowable.internal.utils.*;
 
@@ -42,7 +42,7 @@ public final class FlowableBlockingSubscribe {
      * @param <T> the value type
      */
     public static <T> void subscribe(Publisher<? extends T> o, Subscriber<? super T> subscriber) {
-        final BlockingQueue<Object> queue = new LinkedBlockingQueue<Object>();
+        final MpscParkingQueue<Object> queue = new MpscParkingQueue<Object>(Flowable.bufferSize());
 
         BlockingSubscriber<T> bs = new BlockingSubscriber<T>(queue);
 
@@ -64,7 +64,7 @@ public final class FlowableBlockingSubscribe {
                 if (bs.isCancelled()) {
                     break;
                 }
-                if (o == BlockingSubscriber.TERMINATED
+                if (v == BlockingSubscriber.TERMINATED
                         || NotificationLite.acceptFull(v, subscriber)) {
                     break;
                 }
@@ -21,15 +21,13 @@ import org.reactivestreams.*;
 
 import io.reactivex.common.*;
 import io.reactivex.common.Scheduler.Worker;
-import io.reactivex.common.exceptions.Exceptions;
+import io.reactivex.common.exceptions.*;
 import io.reactivex.common.internal.disposables.DisposableHelper;
 import io.reactivex.common.internal.functions.ObjectHelper;
 import io.reactivex.flowable.Flowable;
-import io.reactivex.flowable.internal.queues.MpscLinkedQueue;
+import io.reactivex.flowable.internal.queues.*;
 import io.reactivex.flowable.internal.subscribers.QueueDrainSubscriber;
 import io.reactivex.flowable.internal.subscriptions.*;
-import io.reactivex.flowable.internal.utils.QueueDrainHelper;
-import io.reactivex.flowable.subscribers.SerializedSubscriber;
 
 public final class FlowableBufferTimed<T, U extends Collection<? super T>> extends AbstractFlowableWithUpstream<T, U> {
 
@@ -57,15 +55,14 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
     protected void subscribeActual(Subscriber<? super U> s) {
         if (timespan == timeskip && maxSize == Integer.MAX_VALUE) {
             source.subscribe(new BufferExactUnboundedSubscriber<T, U>(
-                    new SerializedSubscriber<U>(s),
-                    bufferSupplier, timespan, unit, scheduler));
+                    s, bufferSupplier, timespan, unit, scheduler));
             return;
         }
         Scheduler.Worker w = scheduler.createWorker();
 
         if (timespan == timeskip) {
             source.subscribe(new BufferExactBoundedSubscriber<T, U>(
-                    new SerializedSubscriber<U>(s),
+                    s,
                     bufferSupplier,
                     timespan, unit, maxSize, restartTimerOnMaxSize, w
             ));
@@ -74,13 +71,22 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
         // Can't use maxSize because what to do if a buffer is full but its
         // timespan hasn't been elapsed?
         source.subscribe(new BufferSkipBoundedSubscriber<T, U>(
-                new SerializedSubscriber<U>(s),
+                s,
                 bufferSupplier, timespan, timeskip, unit, w));
     }
 
 
+    /**
+     * Collects items into the current buffer and swaps it for a fresh one on each timer tick.
+     * <p>
+     * Instead of guarding the buffer with a lock, the upstream and the timer take turns through
+     * the queue-drain work-in-progress counter: whoever enters it uncontended works on the buffer
+     * directly, the other side queues up its item or the {@link #BOUNDARY} marker for the
+     * current drainer to apply in order. Since all emissions happen inside the drain loop,
+     * the downstream doesn't need to be serialized.
+     */
     static final class BufferExactUnboundedSubscriber<T, U extends Collection<? super T>>
-    extends QueueDrainSubscriber<T, U, U> implements Subscription, Runnable, Disposable {
+    extends QueueDrainSubscriber<T, Object, U> implements Subscription, Runnable, Disposable {
         final Callable<U> bufferSupplier;
         final long timespan;
         final TimeUnit unit;
@@ -88,14 +94,17 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
 
         Subscription s;
 
+        /** The current buffer, accessed only from within the drain loop. */
         U buffer;
 
         final AtomicReference<Disposable> timer = new AtomicReference<Disposable>();
 
+        static final Object BOUNDARY = new Object();
+
         BufferExactUnboundedSubscriber(
                 Subscriber<? super U> actual, Callable<U> bufferSupplier,
                 long timespan, TimeUnit unit, Scheduler scheduler) {
-            super(actual, new MpscLinkedQueue<U>());
+            super(actual, new MpscLinkedQueue<Object>());
             this.bufferSupplier = bufferSupplier;
             this.timespan = timespan;
             this.unit = unit;
@@ -135,38 +144,37 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
 
         @Override
         public void onNext(T t) {
-            synchronized (this) {
+            if (fastEnter()) {
                 U b = buffer;
                 if (b != null) {
                     b.add(t);
                 }
+                if (leave(-1) == 0) {
+                    return;
+                }
+            } else {
+                queue.offer(t);
+                if (!enter()) {
+                    return;
+                }
             }
+            drainLoop();
         }
 
         @Override
         public void onError(Throwable t) {
-            DisposableHelper.dispose(timer);
-            synchronized (this) {
-                buffer = null;
+            error = t;
+            done = true;
+            if (enter()) {
+                drainLoop();
             }
-            actual.onError(t);
         }
 
         @Override
         public void onComplete() {
-            DisposableHelper.dispose(timer);
-            U b;
-            synchronized (this) {
-                b = buffer;
-                if (b == null) {
-                    return;
-                }
-                buffer = null;
-            }
-            queue.offer(b);
             done = true;
             if (enter()) {
-                QueueDrainHelper.drainMaxLoop(queue, actual, false, this, this);
+                drainLoop();
             }
         }
 
@@ -177,45 +185,143 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
 
         @Override
         public void cancel() {
-            s.cancel();
+            if (!cancelled) {
+                cancelled = true;
+                s.cancel();
 
-            DisposableHelper.dispose(timer);
+                DisposableHelper.dispose(timer);
+
+                if (enter()) {
+                    buffer = null;
+                    queue.clear();
+                }
+            }
         }
 
         @Override
         public void run() {
+            if (fastEnter()) {
+                if (!boundary()) {
+                    return;
+                }
+                if (leave(-1) == 0) {
+                    return;
+                }
+            } else {
+                queue.offer(BOUNDARY);
+                if (!enter()) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        @SuppressWarnings("unchecked")
+        void drainLoop() {
+            final SimplePlainQueue<Object> q = queue;
+            int missed = 1;
+
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        buffer = null;
+                        q.clear();
+                        return;
+                    }
+
+                    boolean d = done;
+
+                    Object o = q.poll();
+
+                    boolean empty = o == null;
+
+                    if (d && empty) {
+                        terminate();
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    if (o == BOUNDARY) {
+                        if (!boundary()) {
+                            return;
+                        }
+                    } else {
+                        U b = buffer;
+                        if (b != null) {
+                            b.add((T)o);
+                        }
+                    }
+                }
+
+                missed = leave(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Emits the current buffer and replaces it with a fresh one, must be called from within the drain loop.
+         * @return false if the sequence got terminated due to a failure or lack of requests
+         */
+        boolean boundary() {
             U next;
 
             try {
                 next = ObjectHelper.requireNonNull(bufferSupplier.call(), "The supplied buffer is null");
             } catch (Throwable e) {
                 Exceptions.throwIfFatal(e);
-                cancel();
-                actual.onError(e);
-                return;
+                fail(e);
+                return false;
             }
 
-            U current;
+            U current = buffer;
+            buffer = next;
 
-            synchronized (this) {
-                current = buffer;
-                if (current != null) {
-                    buffer = next;
+            long r = requested();
+            if (r != 0L) {
+                actual.onNext(current);
+                if (r != Long.MAX_VALUE) {
+                    produced(1);
                 }
+                return true;
             }
+            fail(new MissingBackpressureException("Could not emit buffer due to lack of requests"));
+            return false;
+        }
 
-            if (current == null) {
-                DisposableHelper.dispose(timer);
-                return;
-            }
-
-            fastPathEmitMax(current, false, this);
+        void fail(Throwable e) {
+            cancelled = true;
+            buffer = null;
+            queue.clear();
+            s.cancel();
+            DisposableHelper.dispose(timer);
+            actual.onError(e);
         }
 
-        @Override
-        public boolean accept(Subscriber<? super U> a, U v) {
-            actual.onNext(v);
-            return true;
+        void terminate() {
+            DisposableHelper.dispose(timer);
+
+            U b = buffer;
+            buffer = null;
+
+            Throwable ex = error;
+            if (ex != null) {
+                actual.onError(ex);
+                return;
+            }
+            if (b != null) {
+                long r = requested();
+                if (r == 0L) {
+                    actual.onError(new MissingBackpressureException("Could not emit value due to lack of requests."));
+                    return;
+                }
+                actual.onNext(b);
+            }
+            actual.onComplete();
         }
 
         @Override
@@ -229,22 +335,32 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
         }
     }
 
+    /**
+     * Opens a new buffer on each {@code timeskip} tick and emits it {@code timespan} later.
+     * <p>
+     * Like {@link BufferExactUnboundedSubscriber}, the upstream and the timer take turns through
+     * the queue-drain work-in-progress counter: items, the {@link #OPEN} marker and the
+     * {@link RemoveFromBuffer} tasks are either applied directly or queued up for the current drainer.
+     */
     static final class BufferSkipBoundedSubscriber<T, U extends Collection<? super T>>
-    extends QueueDrainSubscriber<T, U, U> implements Subscription, Runnable {
+    extends QueueDrainSubscriber<T, Object, U> implements Subscription, Runnable {
         final Callable<U> bufferSupplier;
         final long timespan;
         final long timeskip;
         final TimeUnit unit;
         final Worker w;
+
+        /** The open buffers in the order they were opened, accessed only from within the drain loop. */
         final List<U> buffers;
 
         Subscription s;
 
+        static final Object OPEN = new Object();
 
         BufferSkipBoundedSubscriber(Subscriber<? super U> actual,
                 Callable<U> bufferSupplier, long timespan,
                 long timeskip, TimeUnit unit, Worker w) {
-            super(actual, new MpscLinkedQueue<U>());
+            super(actual, new MpscLinkedQueue<Object>());
             this.bufferSupplier = bufferSupplier;
             this.timespan = timespan;
             this.timeskip = timeskip;
@@ -276,44 +392,34 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
 
             actual.onSubscribe(this);
 
-            s.request(Long.MAX_VALUE);
+            if (!cancelled) {
+                s.request(Long.MAX_VALUE);
 
-            w.schedulePeriodically(this, timeskip, timeskip, unit);
+                w.schedulePeriodically(this, timeskip, timeskip, unit);
 
-            w.schedule(new RemoveFromBuffer(b), timespan, unit);
+                w.schedule(new RemoveFromBuffer(this, b), timespan, unit);
+            }
         }
 
         @Override
         public void onNext(T t) {
-            synchronized (this) {
-                for (U b : buffers) {
-                    b.add(t);
-                }
-            }
+            signal(t);
         }
 
         @Override
         public void onError(Throwable t) {
+            error = t;
             done = true;
-            w.dispose();
-            clear();
-            actual.onError(t);
+            if (enter()) {
+                drainLoop();
+            }
         }
 
         @Override
         public void onComplete() {
-            List<U> bs;
-            synchronized (this) {
-                bs = new ArrayList<U>(buffers);
-                buffers.clear();
-            }
-
-            for (U b : bs) {
-                queue.offer(b);
-            }
             done = true;
             if (enter()) {
-                QueueDrainHelper.drainMaxLoop(queue, actual, false, w, this);
+                drainLoop();
             }
         }
 
@@ -324,69 +430,194 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
 
         @Override
         public void cancel() {
-            clear();
-            s.cancel();
-            w.dispose();
-        }
+            if (!cancelled) {
+                cancelled = true;
+                s.cancel();
+                w.dispose();
 
-        void clear() {
-            synchronized (this) {
-                buffers.clear();
+                if (enter()) {
+                    buffers.clear();
+                    queue.clear();
+                }
             }
         }
 
         @Override
         public void run() {
-            if (cancelled) {
-                return;
+            signal(OPEN);
+        }
+
+        void signal(Object o) {
+            if (fastEnter()) {
+                if (!apply(o)) {
+                    return;
+                }
+                if (leave(-1) == 0) {
+                    return;
+                }
+            } else {
+                queue.offer(o);
+                if (!enter()) {
+                    return;
+                }
             }
-            final U b; // NOPMD
+            drainLoop();
+        }
 
-            try {
-                b = ObjectHelper.requireNonNull(bufferSupplier.call(), "The supplied buffer is null");
-            } catch (Throwable e) {
-                Exceptions.throwIfFatal(e);
-                cancel();
-                actual.onError(e);
-                return;
+        void drainLoop() {
+            final SimplePlainQueue<Object> q = queue;
+            int missed = 1;
+
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        buffers.clear();
+                        q.clear();
+                        return;
+                    }
+
+                    boolean d = done;
+
+                    Object o = q.poll();
+
+                    boolean empty = o == null;
+
+                    if (d && empty) {
+                        terminate();
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    if (!apply(o)) {
+                        return;
+                    }
+                }
+
+                missed = leave(-missed);
+                if (missed == 0) {
+                    break;
+                }
             }
+        }
 
-            synchronized (this) {
-                if (cancelled) {
-                    return;
+        /**
+         * Applies an item or a timer signal, must be called from within the drain loop.
+         * @param o the item, {@link #OPEN} or a {@link RemoveFromBuffer}
+         * @return false if the sequence got terminated due to a failure or lack of requests
+         */
+        @SuppressWarnings("unchecked")
+        boolean apply(Object o) {
+            if (o == OPEN) {
+                U b;
+
+                try {
+                    b = ObjectHelper.requireNonNull(bufferSupplier.call(), "The supplied buffer is null");
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    fail(e);
+                    return false;
                 }
+
                 buffers.add(b);
+
+                w.schedule(new RemoveFromBuffer(this, b), timespan, unit);
+                return true;
+            }
+            if (o instanceof RemoveFromBuffer) {
+                Object b = ((RemoveFromBuffer)o).buffer;
+                // buffers with equal content may be open at the same time, remove the instance
+                Iterator<U> it = buffers.iterator();
+                while (it.hasNext()) {
+                    if (it.next() == b) {
+                        it.remove();
+                        return emit((U)b);
+                    }
+                }
+                return true;
             }
+            for (U b : buffers) {
+                b.add((T)o);
+            }
+            return true;
+        }
 
-            w.schedule(new RemoveFromBuffer(b), timespan, unit);
+        boolean emit(U b) {
+            long r = requested();
+            if (r != 0L) {
+                actual.onNext(b);
+                if (r != Long.MAX_VALUE) {
+                    produced(1);
+                }
+                return true;
+            }
+            fail(new MissingBackpressureException("Could not emit buffer due to lack of requests"));
+            return false;
         }
 
-        @Override
-        public boolean accept(Subscriber<? super U> a, U v) {
-            a.onNext(v);
-            return true;
+        void fail(Throwable e) {
+            cancelled = true;
+            buffers.clear();
+            queue.clear();
+            s.cancel();
+            w.dispose();
+            actual.onError(e);
+        }
+
+        void terminate() {
+            w.dispose();
+
+            Throwable ex = error;
+            if (ex != null) {
+                buffers.clear();
+                actual.onError(ex);
+                return;
+            }
+            for (U b : buffers) {
+                long r = requested();
+                if (r == 0L) {
+                    buffers.clear();
+                    actual.onError(new MissingBackpressureException("Could not emit value due to lack of requests."));
+                    return;
+                }
+                actual.onNext(b);
+                if (r != Long.MAX_VALUE) {
+                    produced(1);
+                }
+            }
+            buffers.clear();
+            actual.onComplete();
         }
 
-        final class RemoveFromBuffer implements Runnable {
-            private final U buffer;
+        static final class RemoveFromBuffer implements Runnable {
+            final BufferSkipBoundedSubscriber<?, ?> parent;
 
-            RemoveFromBuffer(U buffer) {
+            final Object buffer;
+
+            RemoveFromBuffer(BufferSkipBoundedSubscriber<?, ?> parent, Object buffer) {
+                this.parent = parent;
                 this.buffer = buffer;
             }
 
             @Override
             public void run() {
-                synchronized (BufferSkipBoundedSubscriber.this) {
-                    buffers.remove(buffer);
-                }
-
-                fastPathOrderedEmitMax(buffer, false, w);
+                parent.signal(this);
             }
         }
     }
 
+    /**
+     * Collects items into the current buffer and emits it once it reaches {@code maxSize} items or on each timer tick.
+     * <p>
+     * Like {@link BufferExactUnboundedSubscriber}, the upstream and the timer take turns through
+     * the queue-drain work-in-progress counter instead of locking the buffer. If the timer is
+     * restarted when a buffer reaches {@code maxSize}, the ticks carry the index of the buffer their
+     * timer was started for and the ones of replaced timers are ignored.
+     */
     static final class BufferExactBoundedSubscriber<T, U extends Collection<? super T>>
-    extends QueueDrainSubscriber<T, U, U> implements Subscription, Runnable, Disposable {
+    extends QueueDrainSubscriber<T, Object, U> implements Subscription, Disposable {
         final Callable<U> bufferSupplier;
         final long timespan;
         final TimeUnit unit;
@@ -394,22 +625,23 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
         final boolean restartTimerOnMaxSize;
         final Worker w;
 
+        /** The current buffer, accessed only from within the drain loop. */
         U buffer;
 
+        /** The index of the current timer, accessed only from within the drain loop. */
+        long index;
+
+        /** The current timer, accessed only from within the drain loop once the upstream is requested from. */
         Disposable timer;
 
         Subscription s;
 
-        long producerIndex;
-
-        long consumerIndex;
-
         BufferExactBoundedSubscriber(
                 Subscriber<? super U> actual,
                 Callable<U> bufferSupplier,
                 long timespan, TimeUnit unit, int maxSize,
                 boolean restartOnMaxSize, Worker w) {
-            super(actual, new MpscLinkedQueue<U>());
+            super(actual, new MpscLinkedQueue<Object>());
             this.bufferSupplier = bufferSupplier;
             this.timespan = timespan;
             this.unit = unit;
@@ -441,92 +673,35 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
 
             actual.onSubscribe(this);
 
-            timer = w.schedulePeriodically(this, timespan, timespan, unit);
+            if (!cancelled) {
+                timer = w.schedulePeriodically(new Tick(this, 0L), timespan, timespan, unit);
 
-            s.request(Long.MAX_VALUE);
+                s.request(Long.MAX_VALUE);
+            }
         }
 
         @Override
         public void onNext(T t) {
-            U b;
-            synchronized (this) {
-                b = buffer;
-                if (b == null) {
-                    return;
-                }
-
-                b.add(t);
-
-                if (b.size() < maxSize) {
-                    return;
-                }
-            }
-
-            if (restartTimerOnMaxSize) {
-                buffer = null;
-                producerIndex++;
-
-                timer.dispose();
-            }
-
-            fastPathOrderedEmitMax(b, false, this);
-
-            try {
-                b = ObjectHelper.requireNonNull(bufferSupplier.call(), "The supplied buffer is null");
-            } catch (Throwable e) {
-                Exceptions.throwIfFatal(e);
-                cancel();
-                actual.onError(e);
-                return;
-            }
-
-            if (restartTimerOnMaxSize) {
-                synchronized (this) {
-                    buffer = b;
-                    consumerIndex++;
-                }
-
-                timer = w.schedulePeriodically(this, timespan, timespan, unit);
-            } else {
-                synchronized (this) {
-                    buffer = b;
-                }
-            }
+            signal(t);
         }
 
         @Override
         public void onError(Throwable t) {
-            synchronized (this) {
-                buffer = null;
+            error = t;
+            done = true;
+            if (enter()) {
+                drainLoop();
             }
-            actual.onError(t);
-            w.dispose();
         }
 
         @Override
         public void onComplete() {
-            U b;
-            synchronized (this) {
-                b = buffer;
-                buffer = null;
-            }
-
-            queue.offer(b);
             done = true;
             if (enter()) {
-                QueueDrainHelper.drainMaxLoop(queue, actual, false, this, this);
+                drainLoop();
             }
-
-            w.dispose();
         }
 
-        @Override
-        public boolean accept(Subscriber<? super U> a, U v) {
-            a.onNext(v);
-            return true;
-        }
-
-
         @Override
         public void request(long n) {
             requested(n);
@@ -536,17 +711,19 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
         public void cancel() {
             if (!cancelled) {
                 cancelled = true;
-                dispose();
+                s.cancel();
+                w.dispose();
+
+                if (enter()) {
+                    buffer = null;
+                    queue.clear();
+                }
             }
         }
 
         @Override
         public void dispose() {
-            synchronized (this) {
-                buffer = null;
-            }
-            s.cancel();
-            w.dispose();
+            cancel();
         }
 
         @Override
@@ -554,30 +731,183 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
             return w.isDisposed();
         }
 
-        @Override
-        public void run() {
+        void signal(Object o) {
+            if (fastEnter()) {
+                if (!apply(o)) {
+                    return;
+                }
+                if (leave(-1) == 0) {
+                    return;
+                }
+            } else {
+                queue.offer(o);
+                if (!enter()) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        void drainLoop() {
+            final SimplePlainQueue<Object> q = queue;
+            int missed = 1;
+
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        buffer = null;
+                        q.clear();
+                        return;
+                    }
+
+                    boolean d = done;
+
+                    Object o = q.poll();
+
+                    boolean empty = o == null;
+
+                    if (d && empty) {
+                        terminate();
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    if (!apply(o)) {
+                        return;
+                    }
+                }
+
+                missed = leave(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Applies an item or a timer tick, must be called from within the drain loop.
+         * @param o the item or a {@link Tick}
+         * @return false if the sequence got terminated due to a failure or lack of requests
+         */
+        @SuppressWarnings("unchecked")
+        boolean apply(Object o) {
+            if (o instanceof Tick) {
+                if (((Tick)o).index != index) {
+                    return true;
+                }
+                return boundary();
+            }
+            U b = buffer;
+            if (b == null) {
+                return true;
+            }
+            b.add((T)o);
+            if (b.size() < maxSize) {
+                return true;
+            }
+            if (restartTimerOnMaxSize) {
+                timer.dispose();
+            }
+            buffer = null;
+            if (!emit(b)) {
+                return false;
+            }
+            try {
+                b = ObjectHelper.requireNonNull(bufferSupplier.call(), "The supplied buffer is null");
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                fail(e);
+                return false;
+            }
+            buffer = b;
+            if (restartTimerOnMaxSize) {
+                timer = w.schedulePeriodically(new Tick(this, ++index), timespan, timespan, unit);
+            }
+            return true;
+        }
+
+        /**
+         * Emits the current buffer and replaces it with a fresh one, must be called from within the drain loop.
+         * @return false if the sequence got terminated due to a failure or lack of requests
+         */
+        boolean boundary() {
             U next;
 
             try {
                 next = ObjectHelper.requireNonNull(bufferSupplier.call(), "The supplied buffer is null");
             } catch (Throwable e) {
                 Exceptions.throwIfFatal(e);
-                cancel();
-                actual.onError(e);
-                return;
+                fail(e);
+                return false;
             }
 
-            U current;
+            U current = buffer;
+            buffer = next;
+
+            return emit(current);
+        }
+
+        boolean emit(U b) {
+            long r = requested();
+            if (r != 0L) {
+                actual.onNext(b);
+                if (r != Long.MAX_VALUE) {
+                    produced(1);
+                }
+                return true;
+            }
+            fail(new MissingBackpressureException("Could not emit buffer due to lack of requests"));
+            return false;
+        }
 
-            synchronized (this) {
-                current = buffer;
-                if (current == null || producerIndex != consumerIndex) {
+        void fail(Throwable e) {
+            cancelled = true;
+            buffer = null;
+            queue.clear();
+            s.cancel();
+            w.dispose();
+            actual.onError(e);
+        }
+
+        void terminate() {
+            w.dispose();
+
+            U b = buffer;
+            buffer = null;
+
+            Throwable ex = error;
+            if (ex != null) {
+                actual.onError(ex);
+                return;
+            }
+            if (b != null) {
+                long r = requested();
+                if (r == 0L) {
+                    actual.onError(new MissingBackpressureException("Could not emit value due to lack of requests."));
                     return;
                 }
-                buffer = next;
+                actual.onNext(b);
+            }
+            actual.onComplete();
+        }
+
+        static final class Tick implements Runnable {
+            final BufferExactBoundedSubscriber<?, ?> parent;
+
+            final long index;
+
+            Tick(BufferExactBoundedSubscriber<?, ?> parent, long index) {
+                this.parent = parent;
+                this.index = index;
             }
 
-            fastPathOrderedEmitMax(current, false, this);
+            @Override
+            public void run() {
+                parent.signal(this);
+            }
         }
     }
 }
@@ -0,0 +1,421 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.internal.operators;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.*;
+
+import org.reactivestreams.*;
+
+import hu.akarnokd.reactivestreams.extensions.RelaxedSubscriber;
+import io.reactivex.common.*;
+import io.reactivex.common.exceptions.Exceptions;
+import io.reactivex.common.functions.Function;
+import io.reactivex.common.internal.functions.ObjectHelper;
+import io.reactivex.flowable.*;
+import io.reactivex.flowable.extensions.HasUpstreamPublisher;
+import io.reactivex.flowable.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.flowable.internal.utils.*;
+
+/**
+ * Connects to the upstream on the first subscription, like {@link FlowableCache}, but retains
+ * only the items that fit into an item count, an estimated byte size and an age limit.
+ * <p>
+ * The retained items form a singly linked list; eviction only moves the head forward, therefore
+ * Subscribers lagging behind the head keep reading their part of the list while late
+ * Subscribers start from the current head.
+ *
+ * @param <T> the source element type
+ */
+public final class FlowableCacheBounded<T> extends CachedFlowable<T> implements HasUpstreamPublisher<T> {
+
+    final Flowable<T> source;
+
+    final CacheState<T> state;
+
+    final AtomicBoolean once;
+
+    public FlowableCacheBounded(Flowable<T> source, int maxItems, long maxBytes,
+            Function<? super T, Long> sizeEstimator, long maxAge, TimeUnit unit, Scheduler scheduler) {
+        this.source = source;
+        this.state = new CacheState<T>(maxItems, maxBytes, sizeEstimator, maxAge, unit, scheduler);
+        this.once = new AtomicBoolean();
+    }
+
+    @Override
+    public Publisher<T> source() {
+        return source;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> s) {
+        ReplaySubscription<T> rp = new ReplaySubscription<T>(s, state);
+        s.onSubscribe(rp);
+
+        state.add(rp);
+
+        if (!once.get() && once.compareAndSet(false, true)) {
+            source.subscribe(state);
+        }
+    }
+
+    @Override
+    public long retainedCount() {
+        return state.count;
+    }
+
+    @Override
+    public long retainedBytes() {
+        return state.bytes;
+    }
+
+    /**
+     * Node of the retained items list.
+     */
+    static final class Node extends AtomicReference<Node> {
+
+        private static final long serialVersionUID = 3713592843205853725L;
+
+        final Object value;
+
+        final long size;
+
+        final long time;
+
+        Node(Object value, long size, long time) {
+            this.value = value;
+            this.size = size;
+            this.time = time;
+        }
+    }
+
+    static final class CacheState<T> extends AtomicReference<Subscription> implements RelaxedSubscriber<T> {
+
+        private static final long serialVersionUID = -4361233484813264271L;
+
+        @SuppressWarnings("rawtypes")
+        static final ReplaySubscription[] EMPTY = new ReplaySubscription[0];
+
+        @SuppressWarnings("rawtypes")
+        static final ReplaySubscription[] TERMINATED = new ReplaySubscription[0];
+
+        final AtomicReference<ReplaySubscription<T>[]> subscribers;
+
+        final int maxItems;
+
+        final long maxBytes;
+
+        final Function<? super T, Long> sizeEstimator;
+
+        final long maxAge;
+
+        final TimeUnit unit;
+
+        final Scheduler scheduler;
+
+        /** The node preceding the oldest retained item, written by the upstream thread only. */
+        volatile Node head;
+
+        /** The last node of the list, accessed by the upstream thread only. */
+        Node tail;
+
+        volatile long count;
+
+        volatile long bytes;
+
+        boolean done;
+
+        @SuppressWarnings("unchecked")
+        CacheState(int maxItems, long maxBytes, Function<? super T, Long> sizeEstimator,
+                long maxAge, TimeUnit unit, Scheduler scheduler) {
+            this.maxItems = maxItems;
+            this.maxBytes = maxBytes;
+            this.sizeEstimator = sizeEstimator;
+            this.maxAge = maxAge;
+            this.unit = unit;
+            this.scheduler = scheduler;
+            this.subscribers = new AtomicReference<ReplaySubscription<T>[]>(EMPTY);
+            Node n = new Node(null, 0L, 0L);
+            this.tail = n;
+            this.head = n;
+        }
+
+        boolean add(ReplaySubscription<T> rp) {
+            for (;;) {
+                ReplaySubscription<T>[] a = subscribers.get();
+                if (a == TERMINATED) {
+                    rp.replay();
+                    return false;
+                }
+                int n = a.length;
+                @SuppressWarnings({ "unchecked", "rawtypes" })
+                ReplaySubscription<T>[] b = new ReplaySubscription[n + 1];
+                System.arraycopy(a, 0, b, 0, n);
+                b[n] = rp;
+                if (subscribers.compareAndSet(a, b)) {
+                    rp.replay();
+                    return true;
+                }
+            }
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        void remove(ReplaySubscription<T> rp) {
+            for (;;) {
+                ReplaySubscription<T>[] a = subscribers.get();
+                int n = a.length;
+                if (n == 0) {
+                    return;
+                }
+                int j = -1;
+                for (int i = 0; i < n; i++) {
+                    if (a[i] == rp) {
+                        j = i;
+                        break;
+                    }
+                }
+                if (j < 0) {
+                    return;
+                }
+                ReplaySubscription<T>[] b;
+                if (n == 1) {
+                    b = EMPTY;
+                } else {
+                    b = new ReplaySubscription[n - 1];
+                    System.arraycopy(a, 0, b, 0, j);
+                    System.arraycopy(a, j + 1, b, j, n - j - 1);
+                }
+                if (subscribers.compareAndSet(a, b)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Returns the node a new Subscriber should start after, skipping the items
+         * that are already older than the age limit; the terminal node is never skipped as
+         * its time is {@code Long.MAX_VALUE}.
+         * @return the starting node
+         */
+        Node startNode() {
+            Node h = head;
+            if (maxAge != Long.MAX_VALUE) {
+                long limit = scheduler.now(unit) - maxAge;
+                for (;;) {
+                    Node next = h.get();
+                    if (next == null || next.time > limit) {
+                        break;
+                    }
+                    h = next;
+                }
+            }
+            return h;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.setOnce(this, s)) {
+                s.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                return;
+            }
+            long size = 0L;
+            Function<? super T, Long> f = sizeEstimator;
+            if (f != null) {
+                try {
+                    size = ObjectHelper.requireNonNull(f.apply(t), "The sizeEstimator returned a null size");
+                } catch (Throwable ex) {
+                    Exceptions.throwIfFatal(ex);
+                    get().cancel();
+                    onError(ex);
+                    return;
+                }
+            }
+            long now = maxAge != Long.MAX_VALUE ? scheduler.now(unit) : 0L;
+
+            Node n = new Node(NotificationLite.next(t), size, now);
+            tail.set(n);
+            tail = n;
+
+            long c = count + 1;
+            long b = bytes + size;
+
+            Node h = head;
+            Node h0 = h;
+            long limit = now - maxAge;
+            while (c != 0L) {
+                Node next = h.get();
+                if (c > maxItems || b > maxBytes || next.time <= limit) {
+                    c--;
+                    b -= next.size;
+                    h = next;
+                } else {
+                    break;
+                }
+            }
+            if (h != h0) {
+                head = h;
+            }
+            bytes = b;
+            count = c;
+
+            for (ReplaySubscription<T> rp : subscribers.get()) {
+                rp.replay();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                RxJavaCommonPlugins.onError(t);
+                return;
+            }
+            terminate(NotificationLite.error(t));
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            terminate(NotificationLite.complete());
+        }
+
+        @SuppressWarnings("unchecked")
+        void terminate(Object notification) {
+            done = true;
+            lazySet(SubscriptionHelper.CANCELLED);
+            Node n = new Node(notification, 0L, Long.MAX_VALUE);
+            tail.set(n);
+            tail = n;
+            for (ReplaySubscription<T> rp : subscribers.getAndSet(TERMINATED)) {
+                rp.replay();
+            }
+        }
+    }
+
+    static final class ReplaySubscription<T> extends AtomicInteger implements Subscription {
+
+        private static final long serialVersionUID = -6591283750934632856L;
+
+        final Subscriber<? super T> actual;
+
+        final CacheState<T> state;
+
+        final AtomicLong requested;
+
+        /** The last node emitted to (or skipped for) the Subscriber. */
+        Node node;
+
+        long emitted;
+
+        volatile boolean cancelled;
+
+        ReplaySubscription(Subscriber<? super T> actual, CacheState<T> state) {
+            this.actual = actual;
+            this.state = state;
+            this.requested = new AtomicLong();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                replay();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                state.remove(this);
+                if (getAndIncrement() == 0) {
+                    node = null;
+                }
+            }
+        }
+
+        void replay() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            Subscriber<? super T> a = actual;
+            long e = emitted;
+
+            for (;;) {
+                if (cancelled) {
+                    node = null;
+                    return;
+                }
+
+                Node n = node;
+                if (n == null) {
+                    n = state.startNode();
+                    node = n;
+                }
+
+                long r = requested.get();
+
+                for (;;) {
+                    if (cancelled) {
+                        node = null;
+                        return;
+                    }
+
+                    Node next = n.get();
+                    if (next == null) {
+                        break;
+                    }
+
+                    Object o = next.value;
+                    if (NotificationLite.isComplete(o)) {
+                        node = null;
+                        cancelled = true;
+                        a.onComplete();
+                        return;
+                    }
+                    if (NotificationLite.isError(o)) {
+                        node = null;
+                        cancelled = true;
+                        a.onError(NotificationLite.getError(o));
+                        return;
+                    }
+
+                    if (e == r) {
+                        break;
+                    }
+
+                    a.onNext(NotificationLite.<T>getValue(o));
+                    e++;
+                    n = next;
+                }
+
+                node = n;
+                emitted = e;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -68,6 +68,7 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
         final boolean delayErrors;
         final int maxConcurrency;
         final int bufferSize;
+        final OperatorMetrics metrics;
 
         volatile SimplePlainQueue<U> queue;
 
@@ -98,6 +99,7 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
                 boolean delayErrors, int maxConcurrency, int bufferSize) {
             this.actual = actual;
             this.mapper = mapper;
+            this.metrics = OperatorMetrics.of(actual);
             this.delayErrors = delayErrors;
             this.maxConcurrency = maxConcurrency;
             this.bufferSize = bufferSize;
@@ -369,6 +371,10 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
 
         void drainLoop() {
             final Subscriber<? super U> child = this.actual;
+            OperatorMetrics m = metrics;
+            if (m != null) {
+                m.drainLoop();
+            }
             int missed = 1;
             for (;;) {
                 if (checkTerminate()) {
@@ -13,16 +13,16 @@
 
 package io.reactivex.flowable.internal.operators;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
 
 import org.reactivestreams.*;
 
 import hu.akarnokd.reactivestreams.extensions.RelaxedSubscriber;
-import io.reactivex.common.RxJavaCommonPlugins;
+import io.reactivex.common.*;
 import io.reactivex.common.annotations.Nullable;
-import io.reactivex.common.exceptions.Exceptions;
+import io.reactivex.common.exceptions.*;
 import io.reactivex.common.functions.Function;
 import io.reactivex.common.internal.functions.ObjectHelper;
 import io.reactivex.flowable.*;
@@ -35,18 +35,56 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
     final Function<? super T, ? extends V> valueSelector;
     final int bufferSize;
     final boolean delayError;
+    final int maxGroups;
+    final long maxIdleTime;
+    final TimeUnit unit;
+    final Scheduler scheduler;
+    final int groupCapacity;
+    final BackpressureOverflowStrategy overflowStrategy;
 
     public FlowableGroupBy(Flowable<T> source, Function<? super T, ? extends K> keySelector, Function<? super T, ? extends V> valueSelector, int bufferSize, boolean delayError) {
+        this(source, keySelector, valueSelector, bufferSize, delayError,
+                Integer.MAX_VALUE, Long.MAX_VALUE, TimeUnit.NANOSECONDS, null,
+                Integer.MAX_VALUE, BackpressureOverflowStrategy.ERROR);
+    }
+
+    /**
+     * Constructs a groupBy which limits the number of live groups, evicts groups not receiving
+     * items for some time and optionally caps the number of items buffered by each group.
+     * @param source the source Flowable
+     * @param keySelector the function extracting the group key
+     * @param valueSelector the function extracting the group value
+     * @param bufferSize the number of groups and group values to prefetch
+     * @param delayError delay the upstream error in the groups until their buffered items are consumed?
+     * @param maxGroups the maximum number of live groups, Integer.MAX_VALUE indicates no limit
+     * @param maxIdleTime the time a group may go without receiving an item before it is evicted,
+     *                    Long.MAX_VALUE indicates no limit
+     * @param unit the time unit of maxIdleTime
+     * @param scheduler the scheduler providing the current time, null if there is no idle limit
+     * @param groupCapacity the maximum number of items each group buffers, Integer.MAX_VALUE indicates no limit
+     * @param overflowStrategy what to do when a group's buffer is full
+     */
+    public FlowableGroupBy(Flowable<T> source, Function<? super T, ? extends K> keySelector, Function<? super T, ? extends V> valueSelector,
+            int bufferSize, boolean delayError, int maxGroups, long maxIdleTime, TimeUnit unit, Scheduler scheduler,
+            int groupCapacity, BackpressureOverflowStrategy overflowStrategy) {
         super(source);
         this.keySelector = keySelector;
         this.valueSelector = valueSelector;
         this.bufferSize = bufferSize;
         this.delayError = delayError;
+        this.maxGroups = maxGroups;
+        this.maxIdleTime = maxIdleTime;
+        this.unit = unit;
+        this.scheduler = scheduler;
+        this.groupCapacity = groupCapacity;
+        this.overflowStrategy = overflowStrategy;
     }
 
     @Override
     protected void subscribeActual(Subscriber<? super GroupedFlowable<K, V>> s) {
-        source.subscribe(new GroupBySubscriber<T, K, V>(s, keySelector, valueSelector, bufferSize, delayError));
+        source.subscribe(new GroupBySubscriber<T, K, V>(s, keySelector, valueSelector, bufferSize, delayError,
+                maxGroups, scheduler != null ? unit.toNanos(maxIdleTime) : Long.MAX_VALUE, scheduler,
+                groupCapacity, overflowStrategy));
     }
 
     public static final class GroupBySubscriber<T, K, V>
@@ -62,6 +100,16 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         final boolean delayError;
         final Map<Object, GroupedUnicast<K, V>> groups;
         final SpscLinkedArrayQueue<GroupedFlowable<K, V>> queue;
+        final int maxGroups;
+        final long maxIdleNanos;
+        final Scheduler scheduler;
+        final int groupCapacity;
+        final BackpressureOverflowStrategy overflowStrategy;
+        /**
+         * If true, the groups map is an access-ordered LinkedHashMap guarded by itself
+         * and groups are evicted based on maxGroups and maxIdleNanos.
+         */
+        final boolean evicting;
 
         static final Object NULL_KEY = new Object();
 
@@ -79,12 +127,29 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         boolean outputFused;
 
         public GroupBySubscriber(Subscriber<? super GroupedFlowable<K, V>> actual, Function<? super T, ? extends K> keySelector, Function<? super T, ? extends V> valueSelector, int bufferSize, boolean delayError) {
+            this(actual, keySelector, valueSelector, bufferSize, delayError,
+                    Integer.MAX_VALUE, Long.MAX_VALUE, null, Integer.MAX_VALUE, BackpressureOverflowStrategy.ERROR);
+        }
+
+        public GroupBySubscriber(Subscriber<? super GroupedFlowable<K, V>> actual, Function<? super T, ? extends K> keySelector, Function<? super T, ? extends V> valueSelector,
+                int bufferSize, boolean delayError, int maxGroups, long maxIdleNanos, Scheduler scheduler,
+                int groupCapacity, BackpressureOverflowStrategy overflowStrategy) {
             this.actual = actual;
             this.keySelector = keySelector;
             this.valueSelector = valueSelector;
             this.bufferSize = bufferSize;
             this.delayError = delayError;
-            this.groups = new ConcurrentHashMap<Object, GroupedUnicast<K, V>>();
+            this.maxGroups = maxGroups;
+            this.maxIdleNanos = maxIdleNanos;
+            this.scheduler = scheduler;
+            this.groupCapacity = groupCapacity;
+            this.overflowStrategy = overflowStrategy;
+            this.evicting = maxGroups != Integer.MAX_VALUE || scheduler != null;
+            if (evicting) {
+                this.groups = new LinkedHashMap<Object, GroupedUnicast<K, V>>(16, 0.75f, true);
+            } else {
+                this.groups = new ConcurrentHashMap<Object, GroupedUnicast<K, V>>();
+            }
             this.queue = new SpscLinkedArrayQueue<GroupedFlowable<K, V>>(bufferSize);
         }
 
@@ -117,7 +182,12 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
 
             boolean newGroup = false;
             Object mapKey = key != null ? key : NULL_KEY;
-            GroupedUnicast<K, V> group = groups.get(mapKey);
+            GroupedUnicast<K, V> group;
+            if (evicting) {
+                group = getOrEvict(mapKey);
+            } else {
+                group = groups.get(mapKey);
+            }
             if (group == null) {
                 // if the main has been cancelled, stop creating groups
                 // and skip this value
@@ -125,8 +195,12 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
                     return;
                 }
 
-                group = GroupedUnicast.createWith(key, bufferSize, this, delayError);
-                groups.put(mapKey, group);
+                group = GroupedUnicast.createWith(key, bufferSize, this, delayError, groupCapacity, overflowStrategy);
+                if (evicting) {
+                    putEvicting(mapKey, group);
+                } else {
+                    groups.put(mapKey, group);
+                }
 
                 groupCount.getAndIncrement();
 
@@ -157,10 +231,9 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
                 RxJavaCommonPlugins.onError(t);
                 return;
             }
-            for (GroupedUnicast<K, V> g : groups.values()) {
+            for (GroupedUnicast<K, V> g : removeAll()) {
                 g.onError(t);
             }
-            groups.clear();
 
             error = t;
             done = true;
@@ -170,10 +243,9 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         @Override
         public void onComplete() {
             if (!done) {
-                for (GroupedUnicast<K, V> g : groups.values()) {
+                for (GroupedUnicast<K, V> g : removeAll()) {
                     g.onComplete();
                 }
-                groups.clear();
                 done = true;
                 drain();
             }
@@ -198,9 +270,28 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
             }
         }
 
-        public void cancel(K key) {
+        /**
+         * Called at most once per group when the group gets detached: it was cancelled
+         * or failed due to an overflow of its buffer.
+         * @param key the group key
+         * @param state the group's state used for verifying the key still maps to the same group
+         */
+        void cancel(K key, State<V, K> state) {
             Object mapKey = key != null ? key : NULL_KEY;
-            groups.remove(mapKey);
+            if (evicting) {
+                synchronized (groups) {
+                    // a lookup would move the entry in the access-ordered map without refreshing its lastAccess
+                    if (!state.evicted) {
+                        groups.remove(mapKey);
+                    }
+                }
+            } else {
+                groups.remove(mapKey);
+            }
+            groupDone();
+        }
+
+        void groupDone() {
             if (groupCount.decrementAndGet() == 0) {
                 s.cancel();
 
@@ -210,6 +301,90 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
             }
         }
 
+        /**
+         * Removes the groups that have been idle for too long, then looks up the group
+         * for the given key and, if there is none, makes room for the new group by
+         * removing the least recently used one. The removed groups are completed
+         * outside the lock.
+         * @param mapKey the key of the group
+         * @return the group or null if there is no group for the key
+         */
+        GroupedUnicast<K, V> getOrEvict(Object mapKey) {
+            List<GroupedUnicast<K, V>> evicted = null;
+            GroupedUnicast<K, V> group;
+            synchronized (groups) {
+                Scheduler sch = scheduler;
+                long now = 0L;
+                if (sch != null) {
+                    now = sch.now(TimeUnit.NANOSECONDS);
+                    // the map is in access order thus the first entries are the ones idle the longest
+                    Iterator<GroupedUnicast<K, V>> it = groups.values().iterator();
+                    while (it.hasNext()) {
+                        GroupedUnicast<K, V> g = it.next();
+                        if (now - g.lastAccess < maxIdleNanos) {
+                            break;
+                        }
+                        it.remove();
+                        g.state.evicted = true;
+                        if (evicted == null) {
+                            evicted = new ArrayList<GroupedUnicast<K, V>>();
+                        }
+                        evicted.add(g);
+                    }
+                }
+
+                group = groups.get(mapKey);
+                if (group != null) {
+                    group.lastAccess = now;
+                } else if (groups.size() >= maxGroups) {
+                    Iterator<GroupedUnicast<K, V>> it = groups.values().iterator();
+                    GroupedUnicast<K, V> g = it.next();
+                    it.remove();
+                    g.state.evicted = true;
+                    if (evicted == null) {
+                        evicted = new ArrayList<GroupedUnicast<K, V>>();
+                    }
+                    evicted.add(g);
+                }
+            }
+            if (evicted != null) {
+                for (GroupedUnicast<K, V> g : evicted) {
+                    if (g.state.detached.compareAndSet(false, true)) {
+                        g.onComplete();
+                        groupDone();
+                    }
+                }
+            }
+            return group;
+        }
+
+        void putEvicting(Object mapKey, GroupedUnicast<K, V> group) {
+            Scheduler sch = scheduler;
+            if (sch != null) {
+                group.lastAccess = sch.now(TimeUnit.NANOSECONDS);
+            }
+            synchronized (groups) {
+                groups.put(mapKey, group);
+            }
+        }
+
+        Collection<GroupedUnicast<K, V>> removeAll() {
+            if (evicting) {
+                List<GroupedUnicast<K, V>> list;
+                synchronized (groups) {
+                    list = new ArrayList<GroupedUnicast<K, V>>(groups.values());
+                    groups.clear();
+                    for (GroupedUnicast<K, V> g : list) {
+                        g.state.evicted = true;
+                    }
+                }
+                return list;
+            }
+            List<GroupedUnicast<K, V>> list = new ArrayList<GroupedUnicast<K, V>>(groups.values());
+            groups.clear();
+            return list;
+        }
+
         void drain() {
             if (getAndIncrement() != 0) {
                 return;
@@ -376,8 +551,16 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
 
         final State<T, K> state;
 
+        /** The time of the last item routed to this group, accessed while holding the lock on the groups map. */
+        long lastAccess;
+
         public static <T, K> GroupedUnicast<K, T> createWith(K key, int bufferSize, GroupBySubscriber<?, K, T> parent, boolean delayError) {
-            State<T, K> state = new State<T, K>(bufferSize, parent, key, delayError);
+            return createWith(key, bufferSize, parent, delayError, Integer.MAX_VALUE, BackpressureOverflowStrategy.ERROR);
+        }
+
+        public static <T, K> GroupedUnicast<K, T> createWith(K key, int bufferSize, GroupBySubscriber<?, K, T> parent, boolean delayError,
+                int capacity, BackpressureOverflowStrategy overflowStrategy) {
+            State<T, K> state = new State<T, K>(bufferSize, parent, key, delayError, capacity, overflowStrategy);
             return new GroupedUnicast<K, T>(key, state);
         }
 
@@ -412,9 +595,26 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         final SpscLinkedArrayQueue<T> queue;
         final GroupBySubscriber<?, K, T> parent;
         final boolean delayError;
+        final int capacity;
+        final BackpressureOverflowStrategy overflowStrategy;
+
+        /** Set if the items the drain loop polls beyond the capacity are the oldest ones to drop. */
+        final boolean dropOldest;
+
+        /** The newest buffered item under DROP_LATEST once the queue holds capacity - 1 items; guarded by this. */
+        volatile T latest;
+
+        /** Set if the group failed because its buffer was full; read after done. */
+        boolean overflowed;
 
         final AtomicLong requested = new AtomicLong();
 
+        /** Set once the group no longer counts as a live group of the parent. */
+        final AtomicBoolean detached = new AtomicBoolean();
+
+        /** Set once the parent removed the group from its evicting groups map; guarded by the lock on that map. */
+        boolean evicted;
+
         volatile boolean done;
         Throwable error;
 
@@ -428,11 +628,15 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
 
         int produced;
 
-        State(int bufferSize, GroupBySubscriber<?, K, T> parent, K key, boolean delayError) {
+        State(int bufferSize, GroupBySubscriber<?, K, T> parent, K key, boolean delayError,
+                int capacity, BackpressureOverflowStrategy overflowStrategy) {
             this.queue = new SpscLinkedArrayQueue<T>(bufferSize);
             this.parent = parent;
             this.key = key;
             this.delayError = delayError;
+            this.capacity = capacity;
+            this.overflowStrategy = overflowStrategy;
+            this.dropOldest = capacity != Integer.MAX_VALUE && overflowStrategy == BackpressureOverflowStrategy.DROP_OLDEST;
         }
 
         @Override
@@ -446,7 +650,13 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         @Override
         public void cancel() {
             if (cancelled.compareAndSet(false, true)) {
-                parent.cancel(key);
+                detach();
+            }
+        }
+
+        void detach() {
+            if (detached.compareAndSet(false, true)) {
+                parent.cancel(key, this);
             }
         }
 
@@ -462,10 +672,120 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         }
 
         public void onNext(T t) {
+            if (capacity != Integer.MAX_VALUE) {
+                if (overflowStrategy == BackpressureOverflowStrategy.DROP_LATEST) {
+                    offerLatest(t);
+                    drain();
+                    return;
+                }
+                if (!dropOldest && queue.size() >= capacity) {
+                    overflowError();
+                    return;
+                }
+            }
             queue.offer(t);
             drain();
         }
 
+        /**
+         * Buffers an item under the DROP_LATEST strategy. The newest item is kept out of the queue
+         * once it holds capacity - 1 items so that it can be replaced when the buffer is full.
+         * The replaced items are requested again from the upstream so that a stalled group
+         * doesn't hold up the other groups.
+         * @param t the item to buffer
+         */
+        void offerLatest(T t) {
+            final SpscLinkedArrayQueue<T> q = queue;
+            final int c = capacity;
+            if (latest == null && q.size() < c - 1) {
+                q.offer(t);
+                return;
+            }
+            T dropped;
+            synchronized (this) {
+                dropped = latest;
+                if (dropped != null && q.size() < c - 1) {
+                    q.offer(dropped);
+                    dropped = null;
+                }
+                if (q.size() < c - 1) {
+                    q.offer(t);
+                    latest = null;
+                } else {
+                    latest = t;
+                }
+            }
+            if (dropped != null) {
+                parent.s.request(1);
+            }
+        }
+
+        /**
+         * Polls the next buffered item, which is the one kept out of the queue by
+         * {@link #offerLatest(Object)} once the queue is empty.
+         * @return the next item or null if the buffer is empty
+         */
+        @Nullable
+        T pollItem() {
+            T v = queue.poll();
+            if (v == null && latest != null) {
+                synchronized (this) {
+                    v = queue.poll();
+                    if (v == null) {
+                        v = latest;
+                        latest = null;
+                    }
+                }
+            }
+            return v;
+        }
+
+        /**
+         * Drops the oldest items beyond the capacity under the DROP_OLDEST strategy. Only the
+         * drain loop polls, so the buffer may exceed the capacity until it runs. The dropped
+         * items are requested again from the upstream.
+         * @param q the queue to trim
+         */
+        void trimOldest(SpscLinkedArrayQueue<T> q) {
+            final int c = capacity;
+            long dropped = 0L;
+            while (q.size() > c && q.poll() != null) {
+                dropped++;
+            }
+            if (dropped != 0L) {
+                parent.s.request(dropped);
+            }
+        }
+
+        /**
+         * Fails the group because its buffer is full. The item that doesn't fit is requested
+         * again from the upstream; the buffered ones when they are discarded.
+         */
+        void overflowError() {
+            overflowed = true;
+            parent.s.request(1);
+            detach();
+            onError(new MissingBackpressureException("The group's buffer is full: " + key));
+        }
+
+        /**
+         * Clears the buffer after an error; if the group overflowed, the discarded items are
+         * requested again from the upstream.
+         */
+        void discard() {
+            if (overflowed) {
+                long n = 0L;
+                while (pollItem() != null) {
+                    n++;
+                }
+                if (n != 0L) {
+                    parent.s.request(n);
+                }
+            } else {
+                clear();
+            }
+        }
+
         public void onError(Throwable e) {
             error = e;
             done = true;
@@ -491,13 +811,12 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         void drainFused() {
             int missed = 1;
 
-            final SpscLinkedArrayQueue<T> q = this.queue;
             Subscriber<? super T> a = this.actual.get();
 
             for (;;) {
                 if (a != null) {
                     if (cancelled.get()) {
-                        q.clear();
+                        clear();
                         return;
                     }
 
@@ -506,7 +825,7 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
                     if (d && !delayError) {
                         Throwable ex = error;
                         if (ex != null) {
-                            q.clear();
+                            discard();
                             a.onError(ex);
                             return;
                         }
@@ -541,15 +860,22 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
 
             final SpscLinkedArrayQueue<T> q = queue;
             final boolean delayError = this.delayError;
+            final boolean dropOldest = this.dropOldest;
             Subscriber<? super T> a = actual.get();
             for (;;) {
+                if (dropOldest) {
+                    trimOldest(q);
+                }
                 if (a != null) {
                     long r = requested.get();
                     long e = 0;
 
                     while (e != r) {
                         boolean d = done;
-                        T v = q.poll();
+                        if (dropOldest) {
+                            trimOldest(q);
+                        }
+                        T v = pollItem();
                         boolean empty = v == null;
 
                         if (checkTerminated(d, empty, a, delayError)) {
@@ -565,7 +891,7 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
                         e++;
                     }
 
-                    if (e == r && checkTerminated(done, q.isEmpty(), a, delayError)) {
+                    if (e == r && checkTerminated(done, isEmpty(), a, delayError)) {
                         return;
                     }
 
@@ -589,7 +915,7 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
 
         boolean checkTerminated(boolean d, boolean empty, Subscriber<? super T> a, boolean delayError) {
             if (cancelled.get()) {
-                queue.clear();
+                clear();
                 return true;
             }
 
@@ -607,7 +933,7 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
                 } else {
                     Throwable e = error;
                     if (e != null) {
-                        queue.clear();
+                        discard();
                         a.onError(e);
                         return true;
                     } else
@@ -623,7 +949,8 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
 
         @Override
         public int requestFusion(int mode) {
-            if ((mode & ASYNC) != 0) {
+            // dropping the oldest item requires exclusive access to the queue which the fused consumer doesn't respect
+            if ((mode & ASYNC) != 0 && (capacity == Integer.MAX_VALUE || overflowStrategy != BackpressureOverflowStrategy.DROP_OLDEST)) {
                 outputFused = true;
                 return ASYNC;
             }
@@ -633,7 +960,7 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         @Nullable
         @Override
         public T poll() {
-            T v = queue.poll();
+            T v = pollItem();
             if (v != null) {
                 produced++;
                 return v;
@@ -648,12 +975,13 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
 
         @Override
         public boolean isEmpty() {
-            return queue.isEmpty();
+            return queue.isEmpty() && latest == null;
         }
 
         @Override
         public void clear() {
             queue.clear();
+            latest = null;
         }
     }
 }
@@ -34,6 +34,8 @@ final Scheduler scheduler;
 
     final int prefetch;
 
+    final String location;
+
     public FlowableObserveOn(
             Flowable<T> source,
             Scheduler scheduler,
@@ -43,6 +45,7 @@ final Scheduler scheduler;
         this.scheduler = scheduler;
         this.delayError = delayError;
         this.prefetch = prefetch;
+        this.location = BufferTelemetry.assemblyLocation();
     }
 
     @Override
@@ -51,15 +54,15 @@ final Scheduler scheduler;
 
         if (s instanceof ConditionalSubscriber) {
             source.subscribe(new ObserveOnConditionalSubscriber<T>(
-                    (ConditionalSubscriber<? super T>) s, worker, delayError, prefetch));
+                    (ConditionalSubscriber<? super T>) s, worker, delayError, prefetch, location));
         } else {
-            source.subscribe(new ObserveOnSubscriber<T>(s, worker, delayError, prefetch));
+            source.subscribe(new ObserveOnSubscriber<T>(s, worker, delayError, prefetch, location));
         }
     }
 
     abstract static class BaseObserveOnSubscriber<T>
     extends BasicIntFusedQueueSubscription<T>
-    implements RelaxedSubscriber<T>, Runnable {
+    implements RelaxedSubscriber<T>, Runnable, PipelineTopology.Inspectable {
         private static final long serialVersionUID = -8241002408341274697L;
 
         final Worker worker;
@@ -72,6 +75,12 @@ final Scheduler scheduler;
 
         final AtomicLong requested;
 
+        final OperatorMetrics metrics;
+
+        final String location;
+
+        BufferProbe probe;
+
         Subscription s;
 
         FusedQueue<T> queue;
@@ -91,12 +100,16 @@ final Scheduler scheduler;
         BaseObserveOnSubscriber(
                 Worker worker,
                 boolean delayError,
-                int prefetch) {
+                int prefetch,
+                OperatorMetrics metrics,
+                String location) {
             this.worker = worker;
             this.delayError = delayError;
             this.prefetch = prefetch;
             this.requested = new AtomicLong();
             this.limit = prefetch - (prefetch >> 2);
+            this.metrics = metrics;
+            this.location = location;
         }
 
         @Override
@@ -108,11 +121,26 @@ final Scheduler scheduler;
                 trySchedule();
                 return;
             }
+            BufferProbe p = probe;
             if (!queue.offer(t)) {
                 s.cancel();
 
                 error = new MissingBackpressureException("Queue is full?!");
                 done = true;
+
+                if (p != null) {
+                    p.overflow();
+                }
+            }
+            OperatorMetrics m = metrics;
+            if (m != null || p != null) {
+                int size = ((SpscArrayQueue<T>)queue).size();
+                if (m != null) {
+                    m.queueSize(size);
+                }
+                if (p != null) {
+                    p.offered(size);
+                }
             }
             trySchedule();
         }
@@ -159,6 +187,38 @@ final Scheduler scheduler;
             }
         }
 
+        final void registerProbe() {
+            if (location != null) {
+                probe = BufferTelemetry.register(location, "observeOn", prefetch, this);
+            }
+        }
+
+        @Override
+        public final long occupancy() {
+            FusedQueue<T> q = queue;
+            return q instanceof SpscArrayQueue ? ((SpscArrayQueue<T>)q).size() : 0;
+        }
+
+        @Override
+        public final long outstandingRequest() {
+            return requested.get();
+        }
+
+        @Override
+        public final boolean isTerminated() {
+            return cancelled || (done && queue.isEmpty());
+        }
+
+        @Override
+        public final boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public final boolean isCancelled() {
+            return cancelled;
+        }
+
         final void trySchedule() {
             if (getAndIncrement() != 0) {
                 return;
@@ -168,6 +228,10 @@ final Scheduler scheduler;
 
         @Override
         public final void run() {
+            OperatorMetrics m = metrics;
+            if (m != null) {
+                m.drainLoop();
+            }
             if (outputFused) {
                 runBackfused();
             } else if (sourceMode == SYNC) {
@@ -250,8 +314,9 @@ final Scheduler scheduler;
                 Subscriber<? super T> actual,
                 Worker worker,
                 boolean delayError,
-                int prefetch) {
-            super(worker, delayError, prefetch);
+                int prefetch,
+                String location) {
+            super(worker, delayError, prefetch, OperatorMetrics.of(actual), location);
             this.actual = actual;
         }
 
@@ -288,6 +353,8 @@ final Scheduler scheduler;
 
                 queue = new SpscArrayQueue<T>(prefetch);
 
+                registerProbe();
+
                 actual.onSubscribe(this);
 
                 s.request(prefetch);
@@ -489,8 +556,9 @@ final Scheduler scheduler;
                 ConditionalSubscriber<? super T> actual,
                 Worker worker,
                 boolean delayError,
-                int prefetch) {
-            super(worker, delayError, prefetch);
+                int prefetch,
+                String location) {
+            super(worker, delayError, prefetch, OperatorMetrics.of(actual), location);
             this.actual = actual;
         }
 
@@ -527,6 +595,8 @@ final Scheduler scheduler;
 
                 queue = new SpscArrayQueue<T>(prefetch);
 
+                registerProbe();
+
                 actual.onSubscribe(this);
 
                 s.request(prefetch);
@@ -0,0 +1,258 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.internal.operators;
+
+import java.util.concurrent.atomic.*;
+
+import org.reactivestreams.*;
+
+import hu.akarnokd.reactivestreams.extensions.RelaxedSubscriber;
+import io.reactivex.common.*;
+import io.reactivex.common.Scheduler.Worker;
+import io.reactivex.common.exceptions.Exceptions;
+import io.reactivex.common.functions.BiFunction;
+import io.reactivex.common.internal.functions.ObjectHelper;
+import io.reactivex.flowable.Flowable;
+import io.reactivex.flowable.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.flowable.internal.utils.BackpressureHelper;
+
+/**
+ * Hands the upstream items over to a Scheduler through a single slot: items arriving
+ * while the previous one is still waiting get merged into it via a coalescer function
+ * (or replace it if there is no coalescer) so the consumer side does a bounded amount of work
+ * no matter how fast the upstream emits.
+ *
+ * @param <T> the value type
+ */
+public final class FlowableObserveOnCoalesce<T> extends AbstractFlowableWithUpstream<T, T> {
+
+    final Scheduler scheduler;
+
+    final BiFunction<? super T, ? super T, ? extends T> coalescer;
+
+    final boolean delayError;
+
+    /**
+     * Constructs an instance.
+     * @param source the source Flowable
+     * @param scheduler the scheduler to emit on
+     * @param coalescer the function merging the waiting item with a new one, null if the new item should win
+     * @param delayError if true, the waiting item is emitted before the upstream error
+     */
+    public FlowableObserveOnCoalesce(Flowable<T> source, Scheduler scheduler,
+            BiFunction<? super T, ? super T, ? extends T> coalescer, boolean delayError) {
+        super(source);
+        this.scheduler = scheduler;
+        this.coalescer = coalescer;
+        this.delayError = delayError;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> s) {
+        source.subscribe(new ObserveOnCoalesceSubscriber<T>(s, scheduler.createWorker(), coalescer, delayError));
+    }
+
+    static final class ObserveOnCoalesceSubscriber<T> extends AtomicInteger
+    implements RelaxedSubscriber<T>, Subscription, Runnable {
+
+        private static final long serialVersionUID = -2578611599211460367L;
+
+        final Subscriber<? super T> actual;
+
+        final Worker worker;
+
+        final BiFunction<? super T, ? super T, ? extends T> coalescer;
+
+        final boolean delayError;
+
+        final AtomicLong requested;
+
+        final AtomicReference<T> current;
+
+        Subscription s;
+
+        volatile boolean done;
+        Throwable error;
+
+        volatile boolean cancelled;
+
+        long emitted;
+
+        ObserveOnCoalesceSubscriber(Subscriber<? super T> actual, Worker worker,
+                BiFunction<? super T, ? super T, ? extends T> coalescer, boolean delayError) {
+            this.actual = actual;
+            this.worker = worker;
+            this.coalescer = coalescer;
+            this.delayError = delayError;
+            this.requested = new AtomicLong();
+            this.current = new AtomicReference<T>();
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+                actual.onSubscribe(this);
+                s.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                return;
+            }
+            BiFunction<? super T, ? super T, ? extends T> f = coalescer;
+            if (f == null) {
+                current.lazySet(t);
+            } else {
+                final AtomicReference<T> q = current;
+                for (;;) {
+                    T v = q.get();
+                    T w;
+                    if (v == null) {
+                        w = t;
+                    } else {
+                        try {
+                            w = ObjectHelper.requireNonNull(f.apply(v, t), "The coalescer returned a null value");
+                        } catch (Throwable ex) {
+                            Exceptions.throwIfFatal(ex);
+                            s.cancel();
+                            onError(ex);
+                            return;
+                        }
+                    }
+                    if (q.compareAndSet(v, w)) {
+                        break;
+                    }
+                }
+            }
+            trySchedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                RxJavaCommonPlugins.onError(t);
+                return;
+            }
+            error = t;
+            done = true;
+            trySchedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                trySchedule();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                trySchedule();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                s.cancel();
+                worker.dispose();
+
+                if (getAndIncrement() == 0) {
+                    current.lazySet(null);
+                }
+            }
+        }
+
+        void trySchedule() {
+            if (getAndIncrement() == 0) {
+                worker.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            final Subscriber<? super T> a = actual;
+            final AtomicReference<T> q = current;
+            long e = emitted;
+
+            for (;;) {
+                long r = requested.get();
+
+                while (e != r) {
+                    boolean d = done;
+                    T v = q.getAndSet(null);
+                    boolean empty = v == null;
+
+                    if (checkTerminated(d, empty, a, q)) {
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    a.onNext(v);
+
+                    e++;
+                }
+
+                if (e == r && checkTerminated(done, q.get() == null, a, q)) {
+                    return;
+                }
+
+                emitted = e;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        boolean checkTerminated(boolean d, boolean empty, Subscriber<?> a, AtomicReference<T> q) {
+            if (cancelled) {
+                q.lazySet(null);
+                return true;
+            }
+
+            if (d) {
+                Throwable e = error;
+                if (e != null && !delayError) {
+                    q.lazySet(null);
+                    a.onError(e);
+                    worker.dispose();
+                    return true;
+                } else
+                if (empty) {
+                    if (e != null) {
+                        a.onError(e);
+                    } else {
+                        a.onComplete();
+                    }
+                    worker.dispose();
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
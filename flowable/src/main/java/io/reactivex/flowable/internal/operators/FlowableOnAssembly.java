@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.internal.operators;
+
+import org.reactivestreams.Subscriber;
+
+import io.reactivex.common.AssemblyTracking.CallSite;
+import io.reactivex.flowable.Flowable;
+import io.reactivex.flowable.internal.subscribers.InstrumentedSubscriber;
+
+/**
+ * Wraps an operator sampled by {@code AssemblyTracking} and records its call site
+ * for the errors it signals; fusion passes through.
+ * @param <T> the value type
+ */
+public final class FlowableOnAssembly<T> extends AbstractFlowableWithUpstream<T, T> {
+
+    final CallSite callSite;
+
+    public FlowableOnAssembly(Flowable<T> source, CallSite callSite) {
+        super(source);
+        this.callSite = callSite;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> s) {
+        source.subscribe(InstrumentedSubscriber.wrap(s, null, callSite));
+    }
+}
@@ -18,6 +18,9 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.reactivestreams.*;
 
 import hu.akarnokd.reactivestreams.extensions.RelaxedSubscriber;
+import io.reactivex.common.BufferProbe;
+import io.reactivex.common.BufferTelemetry;
+import io.reactivex.common.PipelineTopology;
 import io.reactivex.common.annotations.Nullable;
 import io.reactivex.common.exceptions.*;
 import io.reactivex.common.functions.Action;
@@ -31,6 +34,7 @@ public final class FlowableOnBackpressureBuffer<T> extends AbstractFlowableWithU
     final boolean unbounded;
     final boolean delayError;
     final Action onOverflow;
+    final String location;
 
     public FlowableOnBackpressureBuffer(Flowable<T> source, int bufferSize, boolean unbounded,
             boolean delayError, Action onOverflow) {
@@ -39,14 +43,15 @@ public final class FlowableOnBackpressureBuffer<T> extends AbstractFlowableWithU
         this.unbounded = unbounded;
         this.delayError = delayError;
         this.onOverflow = onOverflow;
+        this.location = BufferTelemetry.assemblyLocation();
     }
 
     @Override
     protected void subscribeActual(Subscriber<? super T> s) {
-        source.subscribe(new BackpressureBufferSubscriber<T>(s, bufferSize, unbounded, delayError, onOverflow));
+        source.subscribe(new BackpressureBufferSubscriber<T>(s, bufferSize, unbounded, delayError, onOverflow, location));
     }
 
-    static final class BackpressureBufferSubscriber<T> extends BasicIntFusedQueueSubscription<T> implements RelaxedSubscriber<T> {
+    static final class BackpressureBufferSubscriber<T> extends BasicIntFusedQueueSubscription<T> implements RelaxedSubscriber<T>, PipelineTopology.Inspectable {
 
         private static final long serialVersionUID = -2514538129242366402L;
 
@@ -54,6 +59,7 @@ public final class FlowableOnBackpressureBuffer<T> extends AbstractFlowableWithU
         final SimplePlainQueue<T> queue;
         final boolean delayError;
         final Action onOverflow;
+        final BufferProbe probe;
 
         Subscription s;
 
@@ -67,7 +73,7 @@ public final class FlowableOnBackpressureBuffer<T> extends AbstractFlowableWithU
         boolean outputFused;
 
         BackpressureBufferSubscriber(Subscriber<? super T> actual, int bufferSize,
-                boolean unbounded, boolean delayError, Action onOverflow) {
+                boolean unbounded, boolean delayError, Action onOverflow, String location) {
             this.actual = actual;
             this.onOverflow = onOverflow;
             this.delayError = delayError;
@@ -81,6 +87,10 @@ public final class FlowableOnBackpressureBuffer<T> extends AbstractFlowableWithU
             }
 
             this.queue = q;
+
+            this.probe = location != null
+                    ? BufferTelemetry.register(location, "onBackpressureBuffer", unbounded ? -1L : bufferSize, this)
+                    : null;
         }
 
         @Override
@@ -94,7 +104,11 @@ public final class FlowableOnBackpressureBuffer<T> extends AbstractFlowableWithU
 
         @Override
         public void onNext(T t) {
+            BufferProbe p = probe;
             if (!queue.offer(t)) {
+                if (p != null) {
+                    p.overflow();
+                }
                 s.cancel();
                 MissingBackpressureException ex = new MissingBackpressureException("Buffer is full");
                 try {
@@ -106,6 +120,9 @@ public final class FlowableOnBackpressureBuffer<T> extends AbstractFlowableWithU
                 onError(ex);
                 return;
             }
+            if (p != null) {
+                p.offered(occupancy());
+            }
             if (outputFused) {
                 actual.onNext(null);
             } else {
@@ -156,6 +173,35 @@ public final class FlowableOnBackpressureBuffer<T> extends AbstractFlowableWithU
             }
         }
 
+        @Override
+        public long occupancy() {
+            SimplePlainQueue<T> q = queue;
+            if (q instanceof SpscArrayQueue) {
+                return ((SpscArrayQueue<T>)q).size();
+            }
+            return ((SpscLinkedArrayQueue<T>)q).size();
+        }
+
+        @Override
+        public long outstandingRequest() {
+            return requested.get();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return cancelled || (done && queue.isEmpty());
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
         void drain() {
             if (getAndIncrement() == 0) {
                 int missed = 1;
@@ -19,7 +19,7 @@ import java.util.concurrent.atomic.*;
 import org.reactivestreams.*;
 
 import hu.akarnokd.reactivestreams.extensions.RelaxedSubscriber;
-import io.reactivex.common.RxJavaCommonPlugins;
+import io.reactivex.common.*;
 import io.reactivex.common.exceptions.*;
 import io.reactivex.common.functions.Action;
 import io.reactivex.flowable.*;
@@ -39,22 +39,25 @@ public final class FlowableOnBackpressureBufferStrategy<T> extends AbstractFlowa
 
     final BackpressureOverflowStrategy strategy;
 
+    final String location;
+
     public FlowableOnBackpressureBufferStrategy(Flowable<T> source,
             long bufferSize, Action onOverflow, BackpressureOverflowStrategy strategy) {
         super(source);
         this.bufferSize = bufferSize;
         this.onOverflow = onOverflow;
         this.strategy = strategy;
+        this.location = BufferTelemetry.assemblyLocation();
     }
 
     @Override
     protected void subscribeActual(Subscriber<? super T> s) {
-        source.subscribe(new OnBackpressureBufferStrategySubscriber<T>(s, onOverflow, strategy, bufferSize));
+        source.subscribe(new OnBackpressureBufferStrategySubscriber<T>(s, onOverflow, strategy, bufferSize, location));
     }
 
     static final class OnBackpressureBufferStrategySubscriber<T>
     extends AtomicInteger
-    implements RelaxedSubscriber<T>, Subscription {
+    implements RelaxedSubscriber<T>, Subscription, PipelineTopology.Inspectable {
 
         private static final long serialVersionUID = 3240706908776709697L;
 
@@ -70,6 +73,8 @@ public final class FlowableOnBackpressureBufferStrategy<T> extends AbstractFlowa
 
         final Deque<T> deque;
 
+        final BufferProbe probe;
+
         Subscription s;
 
         volatile boolean cancelled;
@@ -78,13 +83,16 @@ public final class FlowableOnBackpressureBufferStrategy<T> extends AbstractFlowa
         Throwable error;
 
         OnBackpressureBufferStrategySubscriber(Subscriber<? super T> actual, Action onOverflow,
-                BackpressureOverflowStrategy strategy, long bufferSize) {
+                BackpressureOverflowStrategy strategy, long bufferSize, String location) {
             this.actual = actual;
             this.onOverflow = onOverflow;
             this.strategy = strategy;
             this.bufferSize = bufferSize;
             this.requested = new AtomicLong();
             this.deque = new ArrayDeque<T>();
+            this.probe = location != null
+                    ? BufferTelemetry.register(location, "onBackpressureBuffer", bufferSize, this)
+                    : null;
         }
 
         @Override
@@ -105,6 +113,7 @@ public final class FlowableOnBackpressureBufferStrategy<T> extends AbstractFlowa
             }
             boolean callOnOverflow = false;
             boolean callError = false;
+            int size;
             Deque<T> dq = deque;
             synchronized (dq) {
                if (dq.size() == bufferSize) {
@@ -127,6 +136,18 @@ public final class FlowableOnBackpressureBufferStrategy<T> extends AbstractFlowa
                } else {
                    dq.offer(t);
                }
+               size = dq.size();
+            }
+
+            BufferProbe p = probe;
+            if (p != null) {
+                if (callOnOverflow) {
+                    p.dropped();
+                } else if (callError) {
+                    p.overflow();
+                } else {
+                    p.offered(size);
+                }
             }
 
             if (callOnOverflow) {
@@ -182,6 +203,34 @@ public final class FlowableOnBackpressureBufferStrategy<T> extends AbstractFlowa
             }
         }
 
+        @Override
+        public long occupancy() {
+            Deque<T> dq = deque;
+            synchronized (dq) {
+                return dq.size();
+            }
+        }
+
+        @Override
+        public long outstandingRequest() {
+            return requested.get();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return cancelled || (done && occupancy() == 0);
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
         void clear(Deque<T> dq) {
             synchronized (dq) {
                 dq.clear();
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.internal.operators;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.*;
+
+import org.reactivestreams.*;
+
+import hu.akarnokd.reactivestreams.extensions.RelaxedSubscriber;
+import io.reactivex.common.Disposable;
+import io.reactivex.common.exceptions.Exceptions;
+import io.reactivex.common.functions.Consumer;
+import io.reactivex.common.internal.functions.ObjectHelper;
+import io.reactivex.common.internal.utils.ExceptionHelper;
+import io.reactivex.flowable.*;
+import io.reactivex.flowable.extensions.HasUpstreamPublisher;
+import io.reactivex.flowable.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.flowable.processors.*;
+
+/**
+ * A connectable Flowable which shares an underlying source through a fresh {@link FlowableProcessor}
+ * per connection, letting the processor decide how the items are dispatched to the Subscribers.
+ * @param <T> the value type
+ */
+public final class FlowablePublishProcessor<T> extends ConnectableFlowable<T> implements HasUpstreamPublisher<T> {
+
+    /** The source Flowable. */
+    final Flowable<T> source;
+
+    /** Creates the processor for each connection. */
+    final Callable<? extends FlowableProcessor<T>> processorSupplier;
+
+    /** Holds the current connection that is, will be or just was subscribed to the source. */
+    final AtomicReference<ProcessorConnection<T>> current;
+
+    public FlowablePublishProcessor(Flowable<T> source, Callable<? extends FlowableProcessor<T>> processorSupplier) {
+        this.source = source;
+        this.processorSupplier = processorSupplier;
+        this.current = new AtomicReference<ProcessorConnection<T>>();
+    }
+
+    @Override
+    public Publisher<T> source() {
+        return source;
+    }
+
+    /**
+     * Returns the current connection or replaces a terminated or disconnected one with a fresh connection.
+     * @return the current connection
+     */
+    ProcessorConnection<T> currentConnection() {
+        for (;;) {
+            ProcessorConnection<T> conn = current.get();
+            if (conn != null && !conn.isDisposed()) {
+                return conn;
+            }
+            FlowableProcessor<T> processor;
+            try {
+                processor = ObjectHelper.requireNonNull(processorSupplier.call(), "The processorSupplier returned a null FlowableProcessor");
+            } catch (Throwable ex) {
+                Exceptions.throwIfFatal(ex);
+                throw ExceptionHelper.wrapOrThrow(ex);
+            }
+            ProcessorConnection<T> u = new ProcessorConnection<T>(current, processor);
+            if (current.compareAndSet(conn, u)) {
+                return u;
+            }
+        }
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> s) {
+        currentConnection().processor.subscribe(s);
+    }
+
+    @Override
+    public void connect(Consumer<? super Disposable> connection) {
+        ProcessorConnection<T> conn = currentConnection();
+
+        boolean doConnect = !conn.shouldConnect.get() && conn.shouldConnect.compareAndSet(false, true);
+
+        try {
+            connection.accept(conn);
+        } catch (Throwable ex) {
+            Exceptions.throwIfFatal(ex);
+            throw ExceptionHelper.wrapOrThrow(ex);
+        }
+        if (doConnect) {
+            source.subscribe(conn);
+        }
+    }
+
+    static final class ProcessorConnection<T> extends AtomicReference<Subscription>
+    implements RelaxedSubscriber<T>, Disposable {
+
+        private static final long serialVersionUID = 4960564117463470547L;
+
+        final AtomicReference<ProcessorConnection<T>> current;
+
+        final FlowableProcessor<T> processor;
+
+        final AtomicBoolean shouldConnect;
+
+        ProcessorConnection(AtomicReference<ProcessorConnection<T>> current, FlowableProcessor<T> processor) {
+            this.current = current;
+            this.processor = processor;
+            this.shouldConnect = new AtomicBoolean();
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.setOnce(this, s)) {
+                processor.onSubscribe(s);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            processor.onNext(t);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            lazySet(SubscriptionHelper.CANCELLED);
+            current.compareAndSet(this, null);
+            processor.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            lazySet(SubscriptionHelper.CANCELLED);
+            current.compareAndSet(this, null);
+            processor.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            if (SubscriptionHelper.cancel(this)) {
+                current.compareAndSet(this, null);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get() == SubscriptionHelper.CANCELLED;
+        }
+    }
+
+    /**
+     * Creates a {@link RingBufferProcessor} with the given capacity for each connection.
+     * @param <T> the value type
+     */
+    public static final class RingBufferSupplier<T> implements Callable<FlowableProcessor<T>> {
+        final int capacity;
+
+        public RingBufferSupplier(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public FlowableProcessor<T> call() {
+            return RingBufferProcessor.create(capacity);
+        }
+    }
+
+    /**
+     * Creates a {@link PublishProcessor} with per-Subscriber buffers for each connection.
+     * @param <T> the value type
+     */
+    public static final class BufferedPublishSupplier<T> implements Callable<FlowableProcessor<T>> {
+        final int bufferSize;
+
+        final BackpressureOverflowStrategy overflowStrategy;
+
+        final Consumer<? super T> onOverflow;
+
+        public BufferedPublishSupplier(int bufferSize, BackpressureOverflowStrategy overflowStrategy,
+                Consumer<? super T> onOverflow) {
+            this.bufferSize = bufferSize;
+            this.overflowStrategy = overflowStrategy;
+            this.onOverflow = onOverflow;
+        }
+
+        @Override
+        public FlowableProcessor<T> call() {
+            return PublishProcessor.create(bufferSize, overflowStrategy, onOverflow);
+        }
+    }
+}
@@ -13,6 +13,7 @@
 
 package io.reactivex.flowable.internal.operators;
 
+import java.io.File;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
@@ -127,6 +128,26 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
         return create(source, new ScheduledReplayBufferTask<T>(bufferSize, maxAge, unit, scheduler));
     }
 
+    /**
+     * Creates a replaying ConnectableFlowable with a buffer persisted into segment files
+     * of the given directory.
+     * @param <T> the value type
+     * @param source the source Flowable to use
+     * @param directory the directory holding the segment files
+     * @param encoder the function that turns a value into bytes
+     * @param decoder the function that turns the bytes back into a value
+     * @param maxBytes the approximate maximum size of the retained segment files
+     * @param maxAge the maximum age of entries
+     * @param unit the unit of measure of the age amount
+     * @param scheduler the target scheduler providing the current time
+     * @return the new ConnectableFlowable instance
+     */
+    public static <T> ConnectableFlowable<T> createPersistent(Flowable<T> source,
+            File directory, Function<? super T, byte[]> encoder, Function<byte[], ? extends T> decoder,
+            long maxBytes, long maxAge, TimeUnit unit, Scheduler scheduler) {
+        return create(source, new PersistentReplayBufferTask<T>(directory, encoder, decoder, maxBytes, maxAge, unit, scheduler));
+    }
+
     /**
      * Creates a OperatorReplay instance to replay values of the given source observable.
      * @param source the source observable
@@ -286,6 +307,10 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
             // we don't care if it fails because it means the current has
             // been replaced in the meantime
             SubscriptionHelper.cancel(this);
+            // release the resources held by the buffer, if any
+            if (buffer instanceof Disposable) {
+                ((Disposable)buffer).dispose();
+            }
         }
 
         /**
@@ -383,10 +408,19 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
             }
         }
 
+        @SuppressWarnings("unchecked")
         @Override
         public void onNext(T t) {
             if (!done) {
-                buffer.next(t);
+                if (!buffer.next(t)) {
+                    // the buffer holds the failure as its terminal event
+                    done = true;
+                    SubscriptionHelper.cancel(this);
+                    for (InnerSubscription<T> rp : subscribers.getAndSet(TERMINATED)) {
+                        buffer.replay(rp);
+                    }
+                    return;
+                }
                 for (InnerSubscription<T> rp : subscribers.get()) {
                     buffer.replay(rp);
                 }
@@ -581,6 +615,11 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
         @Override
         public void dispose() {
             if (getAndSet(CANCELLED) != CANCELLED) {
+                // release the resources held by the buffer position, if any
+                Object idx = index;
+                if (idx instanceof Disposable) {
+                    ((Disposable)idx).dispose();
+                }
                 // remove this from the parent
                 parent.remove(this);
                 // After removal, we might have unblocked the other child subscribers:
@@ -608,8 +647,10 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
         /**
          * Adds a regular value to the buffer.
          * @param value the next value to store
+         * @return false if the value couldn't be stored and the buffer
+         * terminated itself with the failure
          */
-        void next(T value);
+        boolean next(T value);
         /**
          * Adds a terminal exception to the buffer.
          * @param e the Throwable instance
@@ -644,9 +685,10 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
             super(capacityHint);
         }
         @Override
-        public void next(T value) {
+        public boolean next(T value) {
             add(NotificationLite.next(value));
             size++;
+            return true;
         }
 
         @Override
@@ -802,11 +844,12 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
         }
 
         @Override
-        public final void next(T value) {
+        public final boolean next(T value) {
             Object o = enterTransform(NotificationLite.next(value));
             Node n = new Node(o, ++index);
             addLast(n);
             truncate();
+            return true;
         }
 
         @Override
@@ -985,117 +1028,164 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
     }
 
     /**
-     * Size and time bound replay buffer.
+     * Size and time bound replay buffer storing the events in linked array segments of
+     * {@link SegmentedTimedBuffer} so that expired events are dropped a segment at a time
+     * and late subscribers find their starting position via binary search.
      *
      * @param <T> the buffered value type
      */
-    static final class SizeAndTimeBoundReplayBuffer<T> extends BoundedReplayBuffer<T> {
+    static final class SizeAndTimeBoundReplayBuffer<T> implements ReplayBuffer<T> {
 
-        private static final long serialVersionUID = 3457957419649567404L;
         final Scheduler scheduler;
         final long maxAge;
         final TimeUnit unit;
         final int limit;
+
+        final SegmentedTimedBuffer buffer;
+
+        /** The number of events in the buffer after the last truncation, including the terminal event. */
+        int size;
+
         SizeAndTimeBoundReplayBuffer(int limit, long maxAge, TimeUnit unit, Scheduler scheduler) {
             this.scheduler = scheduler;
             this.limit = limit;
             this.maxAge = maxAge;
             this.unit = unit;
+            this.buffer = new SegmentedTimedBuffer(limit);
         }
 
         @Override
-        Object enterTransform(Object value) {
-            return new Timed<Object>(value, scheduler.now(unit), unit);
+        public boolean next(T value) {
+            long now = scheduler.now(unit);
+            buffer.add(NotificationLite.next(value), now);
+            buffer.trim(now - maxAge, limit);
+            size = (int)buffer.size();
+            return true;
         }
 
         @Override
-        Object leaveTransform(Object value) {
-            return ((Timed<?>)value).value();
+        public void error(Throwable e) {
+            addFinal(NotificationLite.error(e));
         }
 
         @Override
-        void truncate() {
-            long timeLimit = scheduler.now(unit) - maxAge;
+        public void complete() {
+            addFinal(NotificationLite.complete());
+        }
 
-            Node prev = get();
-            Node next = prev.get();
+        void addFinal(Object notification) {
+            // the terminal event never expires
+            buffer.add(notification, Long.MAX_VALUE);
+            buffer.trim(scheduler.now(unit) - maxAge, Long.MAX_VALUE);
+            size = (int)buffer.size();
+        }
 
-            int e = 0;
-            for (;;) {
-                if (next != null) {
-                    if (size > limit) {
-                        e++;
-                        size--;
-                        prev = next;
-                        next = next.get();
-                    } else {
-                        Timed<?> v = (Timed<?>)next.value;
-                        if (v.time() <= timeLimit) {
-                            e++;
-                            size--;
-                            prev = next;
-                            next = next.get();
-                        } else {
-                            break;
-                        }
-                    }
-                } else {
-                    break;
+        @Override
+        public void replay(InnerSubscription<T> output) {
+            synchronized (output) {
+                if (output.emitting) {
+                    output.missed = true;
+                    return;
                 }
+                output.emitting = true;
             }
-            if (e != 0) {
-                setFirst(prev);
-            }
-        }
-        @Override
-        void truncateFinal() {
-            long timeLimit = scheduler.now(unit) - maxAge;
+            final SegmentedTimedBuffer b = buffer;
+            for (;;) {
+                if (output.isDisposed()) {
+                    return;
+                }
+
+                long r = output.get();
+                boolean unbounded = r == Long.MAX_VALUE; // NOPMD
+                long e = 0L;
 
-            Node prev = get();
-            Node next = prev.get();
+                SegmentedTimedBuffer.Cursor cursor = output.index();
+                if (cursor == null) {
+                    cursor = getHead();
+                    output.index = cursor;
 
-            int e = 0;
-            for (;;) {
-                if (next != null && size > 1) {
-                    Timed<?> v = (Timed<?>)next.value;
-                    if (v.time() <= timeLimit) {
+                    BackpressureHelper.add(output.totalRequested, cursor.index());
+                }
+
+                while (r != 0) {
+                    if (cursor.index() != b.get()) {
+                        Object o = b.next(cursor);
+                        try {
+                            if (NotificationLite.accept(o, output.child)) {
+                                output.index = null;
+                                return;
+                            }
+                        } catch (Throwable err) {
+                            Exceptions.throwIfFatal(err);
+                            output.index = null;
+                            output.dispose();
+                            if (!NotificationLite.isError(o) && !NotificationLite.isComplete(o)) {
+                                output.child.onError(err);
+                            }
+                            return;
+                        }
                         e++;
-                        size--;
-                        prev = next;
-                        next = next.get();
+                        r--;
                     } else {
                         break;
                     }
-                } else {
-                    break;
+                    if (output.isDisposed()) {
+                        return;
+                    }
                 }
-            }
-            if (e != 0) {
-                setFirst(prev);
-            }
-        }
 
-        @Override
-        Node getHead() {
-            long timeLimit = scheduler.now(unit) - maxAge;
-            Node prev = get();
-            Node next = prev.get();
-            for (;;) {
-                if (next == null) {
-                    break;
+                if (e != 0L) {
+                    if (!unbounded) {
+                        output.produced(e);
+                    }
                 }
-                Timed<?> v = (Timed<?>)next.value;
-                if (NotificationLite.isComplete(v.value()) || NotificationLite.isError(v.value())) {
-                    break;
+
+                synchronized (output) {
+                    if (!output.missed) {
+                        output.emitting = false;
+                        return;
+                    }
+                    output.missed = false;
                 }
-                if (v.time() <= timeLimit) {
-                    prev = next;
-                    next = next.get();
-                } else {
+            }
+        }
+
+        SegmentedTimedBuffer.Cursor getHead() {
+            SegmentedTimedBuffer.Cursor cursor = new SegmentedTimedBuffer.Cursor();
+            buffer.seek(cursor, scheduler.now(unit) - maxAge);
+            return cursor;
+        }
+
+        /* test */ final void collect(Collection<? super T> output) {
+            SegmentedTimedBuffer.Cursor cursor = getHead();
+            while (cursor.index() != buffer.get()) {
+                Object v = buffer.next(cursor);
+                if (NotificationLite.isComplete(v) || NotificationLite.isError(v)) {
                     break;
                 }
+                output.add(NotificationLite.<T>getValue(v));
             }
-            return prev;
+        }
+
+        Object last() {
+            long end = buffer.get();
+            if (end == 0L) {
+                return null;
+            }
+            SegmentedTimedBuffer.Cursor cursor = new SegmentedTimedBuffer.Cursor();
+            buffer.seek(cursor, Long.MIN_VALUE);
+            if (cursor.index() == end) {
+                return null;
+            }
+            return buffer.valueAt(cursor, end - 1);
+        }
+
+        /* test */ boolean hasError() {
+            return NotificationLite.isError(last());
+        }
+
+        /* test */ boolean hasCompleted() {
+            return NotificationLite.isComplete(last());
         }
     }
 
@@ -1201,6 +1291,32 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
         }
     }
 
+    static final class PersistentReplayBufferTask<T> implements Callable<ReplayBuffer<T>> {
+        private final File directory;
+        private final Function<? super T, byte[]> encoder;
+        private final Function<byte[], ? extends T> decoder;
+        private final long maxBytes;
+        private final long maxAge;
+        private final TimeUnit unit;
+        private final Scheduler scheduler;
+
+        PersistentReplayBufferTask(File directory, Function<? super T, byte[]> encoder, Function<byte[], ? extends T> decoder,
+                long maxBytes, long maxAge, TimeUnit unit, Scheduler scheduler) {
+            this.directory = directory;
+            this.encoder = encoder;
+            this.decoder = decoder;
+            this.maxBytes = maxBytes;
+            this.maxAge = maxAge;
+            this.unit = unit;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public ReplayBuffer<T> call() throws Exception {
+            return new FlowableReplayPersistentBuffer<T>(directory, encoder, decoder, maxBytes, maxAge, unit, scheduler);
+        }
+    }
+
     static final class ReplayPublisher<T> implements Publisher<T> {
         private final AtomicReference<ReplaySubscriber<T>> curr;
         private final Callable<? extends ReplayBuffer<T>> bufferFactory;
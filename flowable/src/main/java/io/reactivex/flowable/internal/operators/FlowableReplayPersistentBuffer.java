@@ -0,0 +1,720 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.internal.operators;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.common.*;
+import io.reactivex.common.exceptions.Exceptions;
+import io.reactivex.common.functions.Function;
+import io.reactivex.common.internal.functions.ObjectHelper;
+import io.reactivex.flowable.internal.operators.FlowableReplay.*;
+import io.reactivex.flowable.internal.utils.*;
+
+/**
+ * A replay buffer that appends the encoded items to segment files in a directory so that
+ * the history survives a restart of the process.
+ * <p>
+ * Each record consists of the payload length (int), the timestamp in milliseconds (long) and
+ * the payload bytes produced by the encoder. A new segment file, named after the absolute
+ * index of its first record, is started once the current one reaches the segment size; the
+ * oldest segments are deleted while the total size exceeds the byte limit or their newest
+ * record is older than the maximum age. The active segment is fsync'd at most once per
+ * {@link #SYNC_INTERVAL_MILLIS} of scheduler time and when it is sealed or the sequence terminates.
+ * <p>
+ * Creating the buffer only reads the existing segments; the first append truncates a partially
+ * written last record and continues after the recovered history. Terminal events are not persisted.
+ * Each Subscriber streams the records from the files through its own {@link Cursor}, reading
+ * only as many as it requested.
+ *
+ * @param <T> the value type
+ */
+final class FlowableReplayPersistentBuffer<T> implements ReplayBuffer<T>, Disposable {
+
+    /** The file name suffix of the segment files. */
+    static final String SUFFIX = ".replay";
+
+    /** The maximum size of a segment file in bytes. */
+    static final long MAX_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    /** The minimum time between two fsyncs of the active segment. */
+    static final long SYNC_INTERVAL_MILLIS = 1000L;
+
+    /** The length of the record header: payload length and timestamp. */
+    static final int HEADER_SIZE = 12;
+
+    /** The size of the read buffer of a Cursor. */
+    static final int BUFFER_SIZE = 8192;
+
+    final File directory;
+
+    final Function<? super T, byte[]> encoder;
+
+    final Function<byte[], ? extends T> decoder;
+
+    final long maxBytes;
+
+    final long segmentSize;
+
+    final long maxAgeMillis;
+
+    final Scheduler scheduler;
+
+    /** The index of the first record added by this buffer; the records before it were recovered. */
+    final long baseIndex;
+
+    /** The oldest retained segment or null if there are no segments yet. */
+    volatile Segment head;
+
+    /** The terminal NotificationLite object, set after the last record has been written. */
+    volatile Object terminal;
+
+    /** The segment being appended to; guarded by this. */
+    Segment tail;
+
+    /** The open file of the tail segment; guarded by this. */
+    RandomAccessFile writer;
+
+    /** The absolute index of the next record; guarded by this. */
+    long index;
+
+    /** The total size of the retained segments; guarded by this. */
+    long totalBytes;
+
+    /** The time of the last fsync; guarded by this. */
+    long lastSync;
+
+    /** Set when the buffer no longer accepts items; guarded by this. */
+    boolean done;
+
+    FlowableReplayPersistentBuffer(File directory,
+            Function<? super T, byte[]> encoder, Function<byte[], ? extends T> decoder,
+            long maxBytes, long maxAge, TimeUnit unit, Scheduler scheduler) throws IOException {
+        this.directory = directory;
+        this.encoder = encoder;
+        this.decoder = decoder;
+        this.maxBytes = maxBytes;
+        this.segmentSize = Math.max(1L, Math.min(MAX_SEGMENT_SIZE, maxBytes / 4));
+        this.maxAgeMillis = unit.toMillis(maxAge);
+        this.scheduler = scheduler;
+
+        recover();
+        this.baseIndex = index;
+    }
+
+    static String segmentName(long firstIndex) {
+        String s = Long.toString(firstIndex);
+        StringBuilder b = new StringBuilder(19 + SUFFIX.length());
+        for (int i = s.length(); i < 19; i++) {
+            b.append('0');
+        }
+        return b.append(s).append(SUFFIX).toString();
+    }
+
+    /**
+     * Rebuilds the segment list from the files in the directory.
+     * @throws IOException if the directory can't be created or a segment can't be read
+     */
+    void recover() throws IOException {
+        File dir = directory;
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Unable to create the directory " + dir);
+        }
+
+        String[] names = dir.list(new FilenameFilter() {
+            @Override
+            public boolean accept(File d, String name) {
+                return name.endsWith(SUFFIX);
+            }
+        });
+        if (names == null) {
+            throw new IOException("Unable to list the directory " + dir);
+        }
+        Arrays.sort(names);
+
+        byte[] header = new byte[HEADER_SIZE];
+        Segment last = null;
+
+        for (String name : names) {
+            long first;
+            try {
+                first = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+            } catch (NumberFormatException ex) {
+                continue;
+            }
+
+            File f = new File(dir, name);
+            Segment s = new Segment(f, first);
+            long count = 0L;
+
+            RandomAccessFile raf = new RandomAccessFile(f, "r");
+            try {
+                long fileLength = raf.length();
+                long pos = 0L;
+                while (pos + HEADER_SIZE <= fileLength) {
+                    raf.seek(pos);
+                    raf.readFully(header);
+                    int size = getInt(header, 0);
+                    if (size < 0 || pos + HEADER_SIZE + size > fileLength) {
+                        break;
+                    }
+                    s.lastTime = getLong(header, 4);
+                    pos += HEADER_SIZE + size;
+                    count++;
+                }
+                // a partially written last record is ignored and overwritten by the next append
+                s.length = pos;
+            } finally {
+                raf.close();
+            }
+
+            if (count == 0L) {
+                // an empty segment is recreated when the writer reaches its index
+                continue;
+            }
+
+            if (last == null) {
+                head = s;
+            } else {
+                last.set(s);
+            }
+            last = s;
+            totalBytes += s.length;
+            index = first + count;
+        }
+
+        tail = last;
+
+        trim(scheduler.now(TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public boolean next(T value) {
+        synchronized (this) {
+            if (done) {
+                return false;
+            }
+            try {
+                byte[] payload = ObjectHelper.requireNonNull(encoder.apply(value), "The encoder returned a null array");
+                long now = scheduler.now(TimeUnit.MILLISECONDS);
+
+                Segment t = tail;
+                if (t == null || t.length >= segmentSize) {
+                    t = roll();
+                } else if (writer == null) {
+                    // continue the recovered segment
+                    RandomAccessFile w = new RandomAccessFile(t.file, "rw");
+                    w.setLength(t.length);
+                    w.seek(t.length);
+                    writer = w;
+                }
+
+                int size = payload.length;
+                byte[] record = new byte[HEADER_SIZE + size];
+                putInt(record, 0, size);
+                putLong(record, 4, now);
+                System.arraycopy(payload, 0, record, HEADER_SIZE, size);
+
+                writer.write(record);
+
+                t.lastTime = now;
+                t.length += record.length; // releases the record to the readers
+                index++;
+                totalBytes += record.length;
+
+                if (now - lastSync >= SYNC_INTERVAL_MILLIS) {
+                    lastSync = now;
+                    writer.getFD().sync();
+                }
+
+                trim(now);
+            } catch (Throwable ex) {
+                Exceptions.throwIfFatal(ex);
+                done = true;
+                closeWriter();
+                terminal = NotificationLite.error(ex);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Seals the tail segment and starts a new one.
+     * @return the new tail segment
+     * @throws IOException if the new segment file can't be created or the old one can't be synced
+     */
+    Segment roll() throws IOException {
+        Segment n = new Segment(new File(directory, segmentName(index)), index);
+        RandomAccessFile w = new RandomAccessFile(n.file, "rw");
+        w.setLength(0L);
+
+        Segment t = tail;
+        RandomAccessFile old = writer;
+        writer = w;
+        tail = n;
+
+        if (old != null) {
+            try {
+                old.getFD().sync();
+            } finally {
+                old.close();
+            }
+        }
+
+        if (t == null) {
+            head = n;
+        } else {
+            t.set(n); // seals t
+        }
+        return n;
+    }
+
+    /**
+     * Deletes the oldest segments, except the tail, while the retention limits are exceeded.
+     * @param now the current time in milliseconds
+     */
+    void trim(long now) {
+        long limit = now - maxAgeMillis;
+        Segment h = head;
+        while (h != null && h != tail) {
+            if (totalBytes > maxBytes || h.lastTime <= limit) {
+                Segment next = h.get();
+                totalBytes -= h.length;
+                h.deleted = true;
+                head = next;
+                if (!h.file.delete()) {
+                    h.file.deleteOnExit();
+                }
+                h = next;
+            } else {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void error(Throwable e) {
+        terminate(NotificationLite.error(e));
+    }
+
+    @Override
+    public void complete() {
+        terminate(NotificationLite.complete());
+    }
+
+    void terminate(Object notification) {
+        synchronized (this) {
+            if (done) {
+                return;
+            }
+            done = true;
+            RandomAccessFile w = writer;
+            writer = null;
+            if (w != null) {
+                try {
+                    w.getFD().sync();
+                } catch (IOException ex) {
+                    notification = NotificationLite.error(ex);
+                }
+                closeQuietly(w);
+            }
+            terminal = notification;
+        }
+    }
+
+    void closeWriter() {
+        RandomAccessFile w = writer;
+        writer = null;
+        if (w != null) {
+            closeQuietly(w);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (this) {
+            if (!done) {
+                done = true;
+                closeWriter();
+            }
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        synchronized (this) {
+            return done;
+        }
+    }
+
+    static void closeQuietly(Closeable c) {
+        try {
+            c.close();
+        } catch (IOException ex) {
+            // ignored
+        }
+    }
+
+    /**
+     * Positions a new cursor onto the first record newer than the maximum age.
+     * @return the new cursor
+     * @throws IOException if the record headers can't be read
+     */
+    Cursor seek() throws IOException {
+        Cursor c = new Cursor();
+        Segment s = head;
+        if (s == null) {
+            return c;
+        }
+        long limit = scheduler.now(TimeUnit.MILLISECONDS) - maxAgeMillis;
+
+        Segment next = s.get();
+        while (next != null && s.lastTime <= limit) {
+            s = next;
+            next = s.get();
+        }
+
+        c.segment = s;
+        c.index = s.firstIndex;
+
+        long len = s.length;
+        RandomAccessFile raf;
+        try {
+            raf = new RandomAccessFile(s.file, "r");
+        } catch (FileNotFoundException ex) {
+            if (s.deleted) {
+                return seek();
+            }
+            throw ex;
+        }
+        try {
+            // skip the expired records at the beginning of the segment
+            byte[] header = new byte[HEADER_SIZE];
+            long pos = 0L;
+            while (pos < len) {
+                raf.seek(pos);
+                raf.readFully(header);
+                if (getLong(header, 4) > limit) {
+                    break;
+                }
+                pos += HEADER_SIZE + getInt(header, 0);
+                c.index++;
+            }
+            c.position = pos;
+        } finally {
+            raf.close();
+        }
+        return c;
+    }
+
+    @Override
+    public void replay(InnerSubscription<T> output) {
+        synchronized (output) {
+            if (output.emitting) {
+                output.missed = true;
+                return;
+            }
+            output.emitting = true;
+        }
+        for (;;) {
+            Cursor c = output.index();
+            if (output.isDisposed()) {
+                if (c != null) {
+                    c.dispose();
+                }
+                return;
+            }
+
+            long r = output.get();
+            boolean unbounded = r == Long.MAX_VALUE; // NOPMD
+            long e = 0L;
+
+            Object terminated = null;
+            try {
+                if (c == null) {
+                    c = seek();
+                    output.index = c;
+
+                    BackpressureHelper.add(output.totalRequested, Math.max(0L, c.index - baseIndex));
+                }
+
+                while (r != 0) {
+                    Object t = terminal;
+                    T v = c.poll();
+                    if (v == null) {
+                        terminated = t;
+                        break;
+                    }
+                    output.child.onNext(v);
+                    e++;
+                    r--;
+                    if (output.isDisposed()) {
+                        c.dispose();
+                        return;
+                    }
+                }
+            } catch (Throwable ex) {
+                Exceptions.throwIfFatal(ex);
+                if (c != null) {
+                    c.dispose();
+                }
+                output.index = null;
+                if (!output.isDisposed()) {
+                    output.dispose();
+                    output.child.onError(ex);
+                }
+                return;
+            }
+
+            if (r == 0L && terminated == null) {
+                Object t = terminal;
+                if (t != null && !c.available()) {
+                    terminated = t;
+                }
+            }
+
+            if (terminated != null) {
+                c.dispose();
+                output.index = null;
+                NotificationLite.accept(terminated, output.child);
+                return;
+            }
+
+            if (e != 0L) {
+                if (!unbounded) {
+                    output.produced(e);
+                }
+            }
+
+            synchronized (output) {
+                if (!output.missed) {
+                    output.emitting = false;
+                    return;
+                }
+                output.missed = false;
+            }
+        }
+    }
+
+    static int getInt(byte[] b, int offset) {
+        return ((b[offset] & 0xFF) << 24) | ((b[offset + 1] & 0xFF) << 16)
+                | ((b[offset + 2] & 0xFF) << 8) | (b[offset + 3] & 0xFF);
+    }
+
+    static long getLong(byte[] b, int offset) {
+        return ((long)getInt(b, offset) << 32) | (getInt(b, offset + 4) & 0xFFFFFFFFL);
+    }
+
+    static void putInt(byte[] b, int offset, int v) {
+        b[offset] = (byte)(v >>> 24);
+        b[offset + 1] = (byte)(v >>> 16);
+        b[offset + 2] = (byte)(v >>> 8);
+        b[offset + 3] = (byte)v;
+    }
+
+    static void putLong(byte[] b, int offset, long v) {
+        putInt(b, offset, (int)(v >>> 32));
+        putInt(b, offset + 4, (int)v);
+    }
+
+    /**
+     * A segment file; the {@code AtomicReference} links to the next segment once this one is sealed.
+     */
+    static final class Segment extends AtomicReference<Segment> {
+
+        private static final long serialVersionUID = -2539962417418254353L;
+
+        final File file;
+
+        final long firstIndex;
+
+        /** The number of bytes readable by the cursors. */
+        volatile long length;
+
+        /** The timestamp of the last record in milliseconds. */
+        volatile long lastTime;
+
+        /** Set once retention removed this segment. */
+        volatile boolean deleted;
+
+        Segment(File file, long firstIndex) {
+            this.file = file;
+            this.firstIndex = firstIndex;
+        }
+    }
+
+    /**
+     * The read position of a Subscriber, holding the open segment file and a read buffer
+     * that never extends beyond the committed length of the segment.
+     */
+    final class Cursor implements Disposable {
+        /** The current segment or null if there were no segments when the cursor was created. */
+        Segment segment;
+
+        /** The byte offset of the next unread byte in the current segment. */
+        long position;
+
+        /** The absolute index of the next record. */
+        long index;
+
+        RandomAccessFile file;
+
+        final byte[] header = new byte[HEADER_SIZE];
+
+        byte[] buffer;
+
+        int bufferOffset;
+
+        int bufferLength;
+
+        volatile boolean disposed;
+
+        /**
+         * Moves to the next segment if the current one has been fully read and sealed.
+         * @return true if a record can be read from the current segment
+         */
+        boolean available() {
+            for (;;) {
+                Segment s = segment;
+                if (s == null) {
+                    s = head;
+                    if (s == null) {
+                        return false;
+                    }
+                    jump(s);
+                }
+
+                if (position < s.length) {
+                    return true;
+                }
+
+                Segment next = s.get();
+                if (next == null) {
+                    return false;
+                }
+                if (position < s.length) {
+                    return true;
+                }
+                jump(next.deleted ? head : next);
+            }
+        }
+
+        /**
+         * Reads the next record if it is available.
+         * @return the decoded value or null if the cursor is at the end of the written records
+         * @throws Exception if reading or decoding the record failed
+         */
+        T poll() throws Exception {
+            for (;;) {
+                if (!available()) {
+                    return null;
+                }
+                Segment s = segment;
+                if (file == null) {
+                    try {
+                        open(s);
+                    } catch (FileNotFoundException ex) {
+                        if (s.deleted) {
+                            jump(head);
+                            continue;
+                        }
+                        throw ex;
+                    }
+                }
+                long committed = s.length;
+
+                byte[] h = header;
+                read(h, HEADER_SIZE, committed);
+                int size = getInt(h, 0);
+                byte[] payload = new byte[size];
+                read(payload, size, committed);
+
+                index++;
+                return ObjectHelper.requireNonNull(decoder.apply(payload), "The decoder returned a null value");
+            }
+        }
+
+        void read(byte[] dst, int length, long committed) throws IOException {
+            int offset = 0;
+            while (length != 0) {
+                int avail = bufferLength - bufferOffset;
+                if (avail == 0) {
+                    RandomAccessFile f = file;
+                    f.seek(position);
+                    if (length >= BUFFER_SIZE) {
+                        f.readFully(dst, offset, length);
+                        position += length;
+                        return;
+                    }
+                    byte[] b = buffer;
+                    if (b == null) {
+                        b = new byte[BUFFER_SIZE];
+                        buffer = b;
+                    }
+                    avail = (int)Math.min(BUFFER_SIZE, committed - position);
+                    f.readFully(b, 0, avail);
+                    bufferOffset = 0;
+                    bufferLength = avail;
+                }
+                int n = Math.min(avail, length);
+                System.arraycopy(buffer, bufferOffset, dst, offset, n);
+                bufferOffset += n;
+                offset += n;
+                length -= n;
+                position += n;
+            }
+        }
+
+        void jump(Segment s) {
+            RandomAccessFile f = file;
+            file = null;
+            if (f != null) {
+                closeQuietly(f);
+            }
+            bufferOffset = 0;
+            bufferLength = 0;
+            segment = s;
+            position = 0L;
+            index = s.firstIndex;
+        }
+
+        void open(Segment s) throws IOException {
+            RandomAccessFile f = new RandomAccessFile(s.file, "r");
+            file = f;
+            if (disposed) {
+                file = null;
+                closeQuietly(f);
+                throw new IOException("Cursor disposed");
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            RandomAccessFile f = file;
+            if (f != null) {
+                closeQuietly(f);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -21,6 +21,8 @@ import hu.akarnokd.reactivestreams.extensions.*;
 import io.reactivex.common.*;
 import io.reactivex.common.Scheduler.Worker;
 import io.reactivex.common.exceptions.MissingBackpressureException;
+import io.reactivex.common.internal.schedulers.SchedulerMultiWorkerSupport;
+import io.reactivex.common.internal.schedulers.SchedulerMultiWorkerSupport.WorkerCallback;
 import io.reactivex.flowable.ParallelFlowable;
 import io.reactivex.flowable.internal.queues.SpscArrayQueue;
 import io.reactivex.flowable.internal.subscriptions.SubscriptionHelper;
@@ -38,11 +40,14 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
 
     final int prefetch;
 
+    final String location;
+
     public ParallelRunOn(ParallelFlowable<? extends T> parent,
             Scheduler scheduler, int prefetch) {
         this.source = parent;
         this.scheduler = scheduler;
         this.prefetch = prefetch;
+        this.location = BufferTelemetry.assemblyLocation();
     }
 
     @Override
@@ -56,24 +61,53 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
         @SuppressWarnings("unchecked")
         Subscriber<T>[] parents = new Subscriber[n];
 
-        int prefetch = this.prefetch;
-
-        for (int i = 0; i < n; i++) {
-            Subscriber<? super T> a = subscribers[i];
-
-            Worker w = scheduler.createWorker();
-            SpscArrayQueue<T> q = new SpscArrayQueue<T>(prefetch);
-
-            if (a instanceof ConditionalSubscriber) {
-                parents[i] = new RunOnConditionalSubscriber<T>((ConditionalSubscriber<? super T>)a, prefetch, q, w);
-            } else {
-                parents[i] = new RunOnSubscriber<T>(a, prefetch, q, w);
+        if (scheduler instanceof SchedulerMultiWorkerSupport) {
+            SchedulerMultiWorkerSupport multiworker = (SchedulerMultiWorkerSupport) scheduler;
+            multiworker.createWorkers(n, new MultiWorkerCallback(subscribers, parents));
+        } else {
+            for (int i = 0; i < n; i++) {
+                createSubscriber(i, subscribers, parents, scheduler.createWorker());
             }
         }
 
         source.subscribe(parents);
     }
 
+    void createSubscriber(int i, Subscriber<? super T>[] subscribers,
+            Subscriber<T>[] parents, Scheduler.Worker worker) {
+
+        Subscriber<? super T> a = subscribers[i];
+
+        SpscArrayQueue<T> q = new SpscArrayQueue<T>(prefetch);
+
+        if (a instanceof ConditionalSubscriber) {
+            parents[i] = new RunOnConditionalSubscriber<T>((ConditionalSubscriber<? super T>)a, prefetch, q, worker, location);
+        } else {
+            parents[i] = new RunOnSubscriber<T>(a, prefetch, q, worker, location);
+        }
+    }
+
+    /**
+     * Receives the workers of a {@link SchedulerMultiWorkerSupport} Scheduler so that
+     * each rail gets its own, distinct backing thread where possible.
+     */
+    final class MultiWorkerCallback implements WorkerCallback {
+
+        final Subscriber<? super T>[] subscribers;
+
+        final Subscriber<T>[] parents;
+
+        MultiWorkerCallback(Subscriber<? super T>[] subscribers,
+                Subscriber<T>[] parents) {
+            this.subscribers = subscribers;
+            this.parents = parents;
+        }
+
+        @Override
+        public void onWorker(int i, Worker w) {
+            createSubscriber(i, subscribers, parents, w);
+        }
+    }
 
     @Override
     public int parallelism() {
@@ -81,7 +115,7 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
     }
 
     abstract static class BaseRunOnSubscriber<T> extends AtomicInteger
-    implements RelaxedSubscriber<T>, Subscription, Runnable {
+    implements RelaxedSubscriber<T>, Subscription, Runnable, PipelineTopology.Inspectable {
 
         private static final long serialVersionUID = 9222303586456402150L;
 
@@ -93,6 +127,10 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
 
         final Worker worker;
 
+        final String location;
+
+        BufferProbe probe;
+
         Subscription s;
 
         volatile boolean done;
@@ -105,11 +143,12 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
 
         int consumed;
 
-        BaseRunOnSubscriber(int prefetch, SpscArrayQueue<T> queue, Worker worker) {
+        BaseRunOnSubscriber(int prefetch, SpscArrayQueue<T> queue, Worker worker, String location) {
             this.prefetch = prefetch;
             this.queue = queue;
             this.limit = prefetch - (prefetch >> 2);
             this.worker = worker;
+            this.location = location;
         }
 
         @Override
@@ -117,11 +156,18 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
             if (done) {
                 return;
             }
+            BufferProbe p = probe;
             if (!queue.offer(t)) {
+                if (p != null) {
+                    p.overflow();
+                }
                 s.cancel();
                 onError(new MissingBackpressureException("Queue is full?!"));
                 return;
             }
+            if (p != null) {
+                p.offered(queue.size());
+            }
             schedule();
         }
 
@@ -166,6 +212,37 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
             }
         }
 
+        final void registerProbe() {
+            if (location != null) {
+                probe = BufferTelemetry.register(location, "runOn", prefetch, this);
+            }
+        }
+
+        @Override
+        public final long occupancy() {
+            return queue.size();
+        }
+
+        @Override
+        public final long outstandingRequest() {
+            return requested.get();
+        }
+
+        @Override
+        public final boolean isTerminated() {
+            return cancelled || (done && queue.isEmpty());
+        }
+
+        @Override
+        public final boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public final boolean isCancelled() {
+            return cancelled;
+        }
+
         final void schedule() {
             if (getAndIncrement() == 0) {
                 worker.schedule(this);
@@ -179,8 +256,9 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
 
         final Subscriber<? super T> actual;
 
-        RunOnSubscriber(Subscriber<? super T> actual, int prefetch, SpscArrayQueue<T> queue, Worker worker) {
-            super(prefetch, queue, worker);
+        RunOnSubscriber(Subscriber<? super T> actual, int prefetch, SpscArrayQueue<T> queue, Worker worker,
+                String location) {
+            super(prefetch, queue, worker, location);
             this.actual = actual;
         }
 
@@ -189,6 +267,8 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
             if (SubscriptionHelper.validate(this.s, s)) {
                 this.s = s;
 
+                registerProbe();
+
                 actual.onSubscribe(this);
 
                 s.request(prefetch);
@@ -303,8 +383,9 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
 
         final ConditionalSubscriber<? super T> actual;
 
-        RunOnConditionalSubscriber(ConditionalSubscriber<? super T> actual, int prefetch, SpscArrayQueue<T> queue, Worker worker) {
-            super(prefetch, queue, worker);
+        RunOnConditionalSubscriber(ConditionalSubscriber<? super T> actual, int prefetch, SpscArrayQueue<T> queue, Worker worker,
+                String location) {
+            super(prefetch, queue, worker, location);
             this.actual = actual;
         }
 
@@ -313,6 +394,8 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
             if (SubscriptionHelper.validate(this.s, s)) {
                 this.s = s;
 
+                registerProbe();
+
                 actual.onSubscribe(this);
 
                 s.request(prefetch);
@@ -12,17 +12,17 @@
  */
 package io.reactivex.flowable.internal.subscribers;
 
-import java.util.concurrent.CountDownLatch;
-
 import org.reactivestreams.Subscription;
 
 import hu.akarnokd.reactivestreams.extensions.RelaxedSubscriber;
 import io.reactivex.common.internal.utils.*;
 import io.reactivex.flowable.internal.subscriptions.SubscriptionHelper;
 
-public abstract class BlockingBaseSubscriber<T> extends CountDownLatch
+public abstract class BlockingBaseSubscriber<T> extends ParkingLatch
 implements RelaxedSubscriber<T> {
 
+    private static final long serialVersionUID = -4407963476981567345L;
+
     T value;
     Throwable error;
 
@@ -30,10 +30,6 @@ implements RelaxedSubscriber<T> {
 
     volatile boolean cancelled;
 
-    public BlockingBaseSubscriber() {
-        super(1);
-    }
-
     @Override
     public final void onSubscribe(Subscription s) {
         if (SubscriptionHelper.validate(this.s, s)) {
@@ -13,12 +13,12 @@
 
 package io.reactivex.flowable.internal.subscribers;
 
-import java.util.Queue;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.reactivestreams.Subscription;
 
 import hu.akarnokd.reactivestreams.extensions.RelaxedSubscriber;
+import io.reactivex.common.internal.queues.MpscParkingQueue;
 import io.reactivex.flowable.internal.subscriptions.SubscriptionHelper;
 import io.reactivex.flowable.internal.utils.NotificationLite;
 
@@ -28,9 +28,9 @@ public final class BlockingSubscriber<T> extends AtomicReference<Subscription> i
 
     public static final Object TERMINATED = new Object();
 
-    final Queue<Object> queue;
+    final MpscParkingQueue<Object> queue;
 
-    public BlockingSubscriber(Queue<Object> queue) {
+    public BlockingSubscriber(MpscParkingQueue<Object> queue) {
         this.queue = queue;
     }
 
@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.internal.subscribers;
+
+import org.reactivestreams.*;
+
+import hu.akarnokd.reactivestreams.extensions.*;
+import io.reactivex.common.*;
+import io.reactivex.common.AssemblyTracking.CallSite;
+import io.reactivex.flowable.internal.subscriptions.SubscriptionHelper;
+
+/**
+ * Sits between an operator and its downstream Subscriber, counts the signals
+ * passing through into the operator's {@link OperatorMetrics} and records the
+ * operator's assembly {@link CallSite} for the errors passing through.
+ * <p>
+ * Fusion requests are forwarded to the operator so a fused chain stays fused; in fused
+ * mode items are counted as they are polled.
+ * @param <T> the value type
+ */
+public class InstrumentedSubscriber<T> implements RelaxedSubscriber<T>, FusedQueueSubscription<T>, OperatorMetrics.Instrumented {
+
+    final Subscriber<? super T> actual;
+
+    final OperatorMetrics metrics;
+
+    final CallSite callSite;
+
+    Subscription s;
+
+    FusedQueueSubscription<T> qs;
+
+    int sourceMode;
+
+    /**
+     * Wraps the given Subscriber, using the conditional variant if the Subscriber is conditional.
+     * @param <T> the value type
+     * @param actual the downstream Subscriber
+     * @param metrics the metrics to record into, null if not counting
+     * @param callSite the call site to record for errors, null if not tracked
+     * @return the instrumenting Subscriber
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Subscriber<T> wrap(Subscriber<? super T> actual, OperatorMetrics metrics, CallSite callSite) {
+        if (actual instanceof ConditionalSubscriber) {
+            return new InstrumentedConditionalSubscriber<T>((ConditionalSubscriber<? super T>)actual, metrics, callSite);
+        }
+        return new InstrumentedSubscriber<T>(actual, metrics, callSite);
+    }
+
+    InstrumentedSubscriber(Subscriber<? super T> actual, OperatorMetrics metrics, CallSite callSite) {
+        this.actual = actual;
+        this.metrics = metrics;
+        this.callSite = callSite;
+    }
+
+    @Override
+    public final OperatorMetrics operatorMetrics() {
+        return metrics;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final void onSubscribe(Subscription s) {
+        if (SubscriptionHelper.validate(this.s, s)) {
+            this.s = s;
+            if (s instanceof FusedQueueSubscription) {
+                this.qs = (FusedQueueSubscription<T>)s;
+            }
+            actual.onSubscribe(this);
+        }
+    }
+
+    @Override
+    public final void onNext(T t) {
+        OperatorMetrics m = metrics;
+        if (m == null || sourceMode == ASYNC) {
+            // in ASYNC mode only signals the availability of items, counted in poll()
+            actual.onNext(t);
+            return;
+        }
+        m.emitted();
+        long start = System.nanoTime();
+        actual.onNext(t);
+        m.onNextTime(System.nanoTime() - start);
+    }
+
+    @Override
+    public final void onError(Throwable t) {
+        CallSite cs = callSite;
+        if (cs != null) {
+            AssemblyTracking.recordCallSite(t, cs);
+        }
+        actual.onError(t);
+    }
+
+    @Override
+    public final void onComplete() {
+        actual.onComplete();
+    }
+
+    @Override
+    public final void request(long n) {
+        OperatorMetrics m = metrics;
+        if (m != null) {
+            m.requested(n);
+        }
+        s.request(n);
+    }
+
+    @Override
+    public final void cancel() {
+        OperatorMetrics m = metrics;
+        if (m != null) {
+            m.cancelled();
+        }
+        s.cancel();
+    }
+
+    @Override
+    public final int requestFusion(int mode) {
+        FusedQueueSubscription<T> q = qs;
+        if (q != null) {
+            int m = q.requestFusion(mode);
+            sourceMode = m;
+            return m;
+        }
+        return NONE;
+    }
+
+    @Override
+    public final boolean offer(T value) {
+        throw new UnsupportedOperationException("Should not be called!");
+    }
+
+    @Override
+    public final T poll() throws Throwable {
+        T v;
+        try {
+            v = qs.poll();
+        } catch (Throwable ex) {
+            CallSite cs = callSite;
+            if (cs != null) {
+                AssemblyTracking.recordCallSite(ex, cs);
+            }
+            throw ex;
+        }
+        OperatorMetrics m = metrics;
+        if (v != null && m != null) {
+            m.emitted();
+        }
+        return v;
+    }
+
+    @Override
+    public final boolean isEmpty() {
+        return qs.isEmpty();
+    }
+
+    @Override
+    public final void clear() {
+        qs.clear();
+    }
+
+    static final class InstrumentedConditionalSubscriber<T> extends InstrumentedSubscriber<T> implements ConditionalSubscriber<T> {
+
+        final ConditionalSubscriber<? super T> conditional;
+
+        InstrumentedConditionalSubscriber(ConditionalSubscriber<? super T> actual, OperatorMetrics metrics, CallSite callSite) {
+            super(actual, metrics, callSite);
+            this.conditional = actual;
+        }
+
+        @Override
+        public boolean tryOnNext(T t) {
+            OperatorMetrics m = metrics;
+            if (m == null || sourceMode == ASYNC) {
+                return conditional.tryOnNext(t);
+            }
+            m.emitted();
+            long start = System.nanoTime();
+            boolean b = conditional.tryOnNext(t);
+            m.onNextTime(System.nanoTime() - start);
+            return b;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.internal.utils;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * A single-producer, multi-consumer append-only buffer of timestamped items stored
+ * in linked array segments.
+ * <p>
+ * The producer appends via {@link #add(Object, long)} and moves the head forward via
+ * {@link #trim(long, long)}: whole segments whose last timestamp expired are
+ * dropped without looking at their individual items and the first live item of the remaining
+ * segment is located by binary search. Consumers use a {@link Cursor} positioned by
+ * {@link #seek(Cursor, long)}, which skips expired segments and binary-searches the rest
+ * the same way.
+ * <p>
+ * The timestamps are expected to be non-decreasing; an item added with {@code Long.MAX_VALUE}
+ * as its timestamp, such as a terminal notification, never expires. The value of the {@code AtomicLong}
+ * is the absolute index of the next item to be added.
+ */
+public final class SegmentedTimedBuffer extends AtomicLong {
+
+    private static final long serialVersionUID = -6396232406357366423L;
+
+    /** The maximum number of items in a segment. */
+    static final int MAX_SEGMENT_CAPACITY = 64;
+
+    final int capacity;
+
+    volatile Segment head;
+
+    volatile long headIndex;
+
+    Segment tail;
+
+    /**
+     * Constructs an empty buffer whose segments hold up to the given number of items.
+     * @param capacityHint the expected maximum number of items in the buffer, positive
+     */
+    public SegmentedTimedBuffer(int capacityHint) {
+        this.capacity = Math.min(capacityHint, MAX_SEGMENT_CAPACITY);
+        Segment s = new Segment(0L, capacity);
+        this.tail = s;
+        this.head = s;
+    }
+
+    /**
+     * Appends an item; should be called from a single thread at a time.
+     * @param value the value to append
+     * @param time the timestamp of the value
+     */
+    public void add(Object value, long time) {
+        long idx = get();
+        Segment t = tail;
+        int offset = (int)(idx - t.start);
+        if (offset == capacity) {
+            Segment n = new Segment(idx, capacity);
+            t.lazySet(n);
+            tail = n;
+            t = n;
+            offset = 0;
+        }
+        t.values[offset] = value;
+        t.times[offset] = time;
+        lazySet(idx + 1); // releases the value and the link
+    }
+
+    /**
+     * Moves the head past the items that exceed the size limit or whose timestamp is
+     * less than or equal to the time limit; should be called from the producer thread.
+     * @param timeLimit the items with timestamp up to and including this value are dropped
+     * @param maxSize the maximum number of items to keep
+     */
+    public void trim(long timeLimit, long maxSize) {
+        long end = get();
+        long h = headIndex;
+        Segment s = head;
+
+        if (end - h > maxSize) {
+            h = end - maxSize;
+        }
+        s = skip(s, h, end, timeLimit);
+        h = Math.max(h, s.start);
+        h = search(s, h, end, timeLimit);
+
+        head = s;
+        headIndex = h;
+    }
+
+    /**
+     * Positions the cursor onto the first item after the head whose timestamp is greater
+     * than the time limit.
+     * @param cursor the cursor to position
+     * @param timeLimit the items with timestamp up to and including this value are skipped
+     */
+    public void seek(Cursor cursor, long timeLimit) {
+        long h = headIndex;
+        Segment s = head;
+        long end = get();
+
+        h = Math.max(h, s.start);
+        s = skip(s, h, end, timeLimit);
+        h = Math.max(h, s.start);
+
+        cursor.segment = s;
+        cursor.index = search(s, h, end, timeLimit);
+    }
+
+    /**
+     * Skips the segments whose last item has expired.
+     * @param s the starting segment
+     * @param h the absolute index of the first item to consider
+     * @param end the absolute index (exclusive) of the last item to consider
+     * @param timeLimit the time limit
+     * @return the segment containing the first live item or the last segment up to end
+     */
+    Segment skip(Segment s, long h, long end, long timeLimit) {
+        final int c = capacity;
+        for (;;) {
+            long segmentEnd = s.start + c;
+            if (segmentEnd > end || segmentEnd <= h) {
+                if (segmentEnd <= h && segmentEnd < end) {
+                    s = s.get();
+                    continue;
+                }
+                return s;
+            }
+            if (s.times[c - 1] > timeLimit) {
+                return s;
+            }
+            if (segmentEnd == end) {
+                return s;
+            }
+            s = s.get();
+        }
+    }
+
+    /**
+     * Binary searches the first item in the segment with timestamp greater than the time limit.
+     * @param s the segment to search
+     * @param h the absolute index of the first item to consider, at least the segment start
+     * @param end the absolute index (exclusive) of the last item to consider
+     * @param timeLimit the time limit
+     * @return the absolute index of the first live item or the end of the searched range
+     */
+    long search(Segment s, long h, long end, long timeLimit) {
+        int low = (int)(h - s.start);
+        int high = (int)(Math.min(end, s.start + capacity) - s.start);
+        if (low >= high) {
+            return h;
+        }
+        long[] times = s.times;
+        if (times[low] > timeLimit) {
+            return h;
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] <= timeLimit) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return s.start + low;
+    }
+
+    /**
+     * Returns the number of items between the head and the end of the buffer.
+     * @return the number of items
+     */
+    public long size() {
+        long h = headIndex;
+        return get() - Math.max(h, head.start);
+    }
+
+    /**
+     * Returns the value at the cursor position and moves the cursor forward; the caller
+     * has to make sure the cursor index is less than the current {@link #get()} value.
+     * @param cursor the cursor
+     * @return the value at the cursor position
+     */
+    public Object next(Cursor cursor) {
+        Segment s = cursor.segment;
+        int offset = (int)(cursor.index - s.start);
+        if (offset == capacity) {
+            s = s.get();
+            cursor.segment = s;
+            offset = 0;
+        }
+        cursor.index++;
+        return s.values[offset];
+    }
+
+    /**
+     * Returns the value at the cursor position without moving the cursor; the caller
+     * has to make sure the cursor index is less than the current {@link #get()} value.
+     * @param cursor the cursor
+     * @return the value at the cursor position
+     */
+    public Object peek(Cursor cursor) {
+        Segment s = cursor.segment;
+        int offset = (int)(cursor.index - s.start);
+        if (offset == capacity) {
+            s = s.get();
+            cursor.segment = s;
+            offset = 0;
+        }
+        return s.values[offset];
+    }
+
+    /**
+     * Returns the value at the given absolute index by walking the segments from the cursor
+     * position without moving the cursor; the index has to be between the cursor index and
+     * the current {@link #get()} value.
+     * @param cursor the cursor to start from
+     * @param index the absolute index
+     * @return the value
+     */
+    public Object valueAt(Cursor cursor, long index) {
+        Segment s = cursor.segment;
+        final int c = capacity;
+        while (index >= s.start + c) {
+            s = s.get();
+        }
+        return s.values[(int)(index - s.start)];
+    }
+
+    /**
+     * A segment holding the values and their timestamps; the {@code AtomicReference}
+     * links to the next segment.
+     */
+    static final class Segment extends AtomicReference<Segment> {
+
+        private static final long serialVersionUID = 6404226426336033100L;
+
+        final long start;
+
+        final Object[] values;
+
+        final long[] times;
+
+        Segment(long start, int capacity) {
+            this.start = start;
+            this.values = new Object[capacity];
+            this.times = new long[capacity];
+        }
+    }
+
+    /**
+     * The read position of a consumer.
+     */
+    public static final class Cursor {
+        Segment segment;
+
+        long index;
+
+        /**
+         * Returns the absolute index of the next item to read.
+         * @return the absolute index of the next item to read
+         */
+        public long index() {
+            return index;
+        }
+    }
+}
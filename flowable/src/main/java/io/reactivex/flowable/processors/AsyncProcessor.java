@@ -13,12 +13,12 @@
 package io.reactivex.flowable.processors;
 
 import java.util.Arrays;
-import java.util.concurrent.atomic.AtomicReference;
 
 import org.reactivestreams.*;
 
 import io.reactivex.common.RxJavaCommonPlugins;
 import io.reactivex.common.annotations.*;
+import io.reactivex.common.internal.utils.SubscriberRegistry;
 import io.reactivex.flowable.internal.subscriptions.DeferredScalarSubscription;
 
 /**
@@ -31,18 +31,12 @@ import io.reactivex.flowable.internal.subscriptions.DeferredScalarSubscription;
  */
 public final class AsyncProcessor<T> extends FlowableProcessor<T> {
 
-    @SuppressWarnings("rawtypes")
-    static final AsyncSubscription[] EMPTY = new AsyncSubscription[0];
+    final SubscriberRegistry<AsyncSubscription<T>> subscribers;
 
-    @SuppressWarnings("rawtypes")
-    static final AsyncSubscription[] TERMINATED = new AsyncSubscription[0];
-
-    final AtomicReference<AsyncSubscription<T>[]> subscribers;
-
-    /** Write before updating subscribers, read after reading subscribers as TERMINATED. */
+    /** Write before updating subscribers, read after seeing subscribers terminated. */
     Throwable error;
 
-    /** Write before updating subscribers, read after reading subscribers as TERMINATED. */
+    /** Write before updating subscribers, read after seeing subscribers terminated. */
     T value;
 
     /**
@@ -60,14 +54,13 @@ public final class AsyncProcessor<T> extends FlowableProcessor<T> {
      * Constructs an AsyncProcessor.
      * @since 2.0
      */
-    @SuppressWarnings("unchecked")
     AsyncProcessor() {
-        this.subscribers = new AtomicReference<AsyncSubscription<T>[]>(EMPTY);
+        this.subscribers = new SubscriberRegistry<AsyncSubscription<T>>();
     }
 
     @Override
     public void onSubscribe(Subscription s) {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             s.cancel();
             return;
         }
@@ -77,7 +70,7 @@ public final class AsyncProcessor<T> extends FlowableProcessor<T> {
 
     @Override
     public void onNext(T t) {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             return;
         }
         if (t == null) {
@@ -87,70 +80,76 @@ public final class AsyncProcessor<T> extends FlowableProcessor<T> {
         value = t;
     }
 
-    @SuppressWarnings("unchecked")
     void nullOnNext() {
         value = null;
         Throwable ex = new NullPointerException("onNext called with null. Null values are generally not allowed in 2.x operators and sources.");
         error = ex;
-        for (AsyncSubscription<T> as : subscribers.getAndSet(TERMINATED)) {
-            as.onError(ex);
+        SubscriberRegistry.Snapshot<AsyncSubscription<T>> a = subscribers.terminate();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            AsyncSubscription<T> as = a.get(i);
+            if (as != null) {
+                as.onError(ex);
+            }
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void onError(Throwable t) {
         if (t == null) {
             t = new NullPointerException("onError called with null. Null values are generally not allowed in 2.x operators and sources.");
         }
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             RxJavaCommonPlugins.onError(t);
             return;
         }
         value = null;
         error = t;
-        for (AsyncSubscription<T> as : subscribers.getAndSet(TERMINATED)) {
-            as.onError(t);
+        SubscriberRegistry.Snapshot<AsyncSubscription<T>> a = subscribers.terminate();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            AsyncSubscription<T> as = a.get(i);
+            if (as != null) {
+                as.onError(t);
+            }
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void onComplete() {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             return;
         }
         T v = value;
-        AsyncSubscription<T>[] array = subscribers.getAndSet(TERMINATED);
-        if (v == null) {
-            for (AsyncSubscription<T> as : array) {
-                as.onComplete();
-            }
-        } else {
-            for (AsyncSubscription<T> as : array) {
-                as.complete(v);
+        SubscriberRegistry.Snapshot<AsyncSubscription<T>> a = subscribers.terminate();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            AsyncSubscription<T> as = a.get(i);
+            if (as != null) {
+                if (v == null) {
+                    as.onComplete();
+                } else {
+                    as.complete(v);
+                }
             }
         }
     }
 
     @Override
     public boolean hasSubscribers() {
-        return subscribers.get().length != 0;
+        return subscribers.size() != 0;
     }
 
     @Override
     public boolean hasThrowable() {
-        return subscribers.get() == TERMINATED && error != null;
+        return subscribers.isTerminated() && error != null;
     }
 
     @Override
     public boolean hasComplete() {
-        return subscribers.get() == TERMINATED && error == null;
+        return subscribers.isTerminated() && error == null;
     }
 
     @Override
     public Throwable getThrowable() {
-        return subscribers.get() == TERMINATED ? error : null;
+        return subscribers.isTerminated() ? error : null;
     }
 
     @Override
@@ -183,62 +182,15 @@ public final class AsyncProcessor<T> extends FlowableProcessor<T> {
      * @return true if successful, false if the subject has terminated
      */
     boolean add(AsyncSubscription<T> ps) {
-        for (;;) {
-            AsyncSubscription<T>[] a = subscribers.get();
-            if (a == TERMINATED) {
-                return false;
-            }
-
-            int n = a.length;
-            @SuppressWarnings("unchecked")
-            AsyncSubscription<T>[] b = new AsyncSubscription[n + 1];
-            System.arraycopy(a, 0, b, 0, n);
-            b[n] = ps;
-
-            if (subscribers.compareAndSet(a, b)) {
-                return true;
-            }
-        }
+        return subscribers.add(ps);
     }
 
     /**
      * Atomically removes the given subscriber if it is subscribed to the subject.
      * @param ps the subject to remove
      */
-    @SuppressWarnings("unchecked")
     void remove(AsyncSubscription<T> ps) {
-        for (;;) {
-            AsyncSubscription<T>[] a = subscribers.get();
-            int n = a.length;
-            if (n == 0) {
-                return;
-            }
-
-            int j = -1;
-            for (int i = 0; i < n; i++) {
-                if (a[i] == ps) {
-                    j = i;
-                    break;
-                }
-            }
-
-            if (j < 0) {
-                return;
-            }
-
-            AsyncSubscription<T>[] b;
-
-            if (n == 1) {
-                b = EMPTY;
-            } else {
-                b = new AsyncSubscription[n - 1];
-                System.arraycopy(a, 0, b, 0, j);
-                System.arraycopy(a, j + 1, b, j, n - j - 1);
-            }
-            if (subscribers.compareAndSet(a, b)) {
-                return;
-            }
-        }
+        subscribers.remove(ps);
     }
 
     /**
@@ -247,7 +199,7 @@ public final class AsyncProcessor<T> extends FlowableProcessor<T> {
      * @return true if the subject has any value
      */
     public boolean hasValue() {
-        return subscribers.get() == TERMINATED && value != null;
+        return subscribers.isTerminated() && value != null;
     }
 
     /**
@@ -256,7 +208,7 @@ public final class AsyncProcessor<T> extends FlowableProcessor<T> {
      * @return a single value the Subject currently has or null if no such value exists
      */
     public T getValue() {
-        return subscribers.get() == TERMINATED ? value : null;
+        return subscribers.isTerminated() ? value : null;
     }
 
     /**
@@ -295,16 +247,28 @@ public final class AsyncProcessor<T> extends FlowableProcessor<T> {
         return array;
     }
 
-    static final class AsyncSubscription<T> extends DeferredScalarSubscription<T> {
+    static final class AsyncSubscription<T> extends DeferredScalarSubscription<T> implements SubscriberRegistry.Entry {
         private static final long serialVersionUID = 5629876084736248016L;
 
         final AsyncProcessor<T> parent;
 
+        int registryIndex;
+
         AsyncSubscription(Subscriber<? super T> actual, AsyncProcessor<T> parent) {
             super(actual);
             this.parent = parent;
         }
 
+        @Override
+        public int registryIndex() {
+            return registryIndex;
+        }
+
+        @Override
+        public void registryIndex(int index) {
+            registryIndex = index;
+        }
+
         @Override
         public void cancel() {
             if (super.tryCancel()) {
@@ -15,7 +15,6 @@ package io.reactivex.flowable.processors;
 
 import java.lang.reflect.Array;
 import java.util.concurrent.atomic.*;
-import java.util.concurrent.locks.*;
 
 import org.reactivestreams.*;
 
@@ -24,7 +23,7 @@ import io.reactivex.common.annotations.*;
 import io.reactivex.common.exceptions.MissingBackpressureException;
 import io.reactivex.common.internal.functions.ObjectHelper;
 import io.reactivex.common.internal.utils.AbstractAppendOnlyLinkedArrayList.NonThrowingPredicate;
-import io.reactivex.common.internal.utils.ExceptionHelper;
+import io.reactivex.common.internal.utils.*;
 import io.reactivex.flowable.internal.subscriptions.SubscriptionHelper;
 import io.reactivex.flowable.internal.utils.*;
 
@@ -72,25 +71,19 @@ import io.reactivex.flowable.internal.utils.*;
  *          the type of item expected to be observed and emitted by the Processor
  */
 public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
-    final AtomicReference<BehaviorSubscription<T>[]> subscribers;
+    final SubscriberRegistry<BehaviorSubscription<T>> subscribers;
 
     static final Object[] EMPTY_ARRAY = new Object[0];
 
-    @SuppressWarnings("rawtypes")
-    static final BehaviorSubscription[] EMPTY = new BehaviorSubscription[0];
-
-    @SuppressWarnings("rawtypes")
-    static final BehaviorSubscription[] TERMINATED = new BehaviorSubscription[0];
-
-    final ReadWriteLock lock;
-    final Lock readLock;
-    final Lock writeLock;
-
     final AtomicReference<Object> value;
 
     final AtomicReference<Throwable> terminalEvent;
 
-    long index;
+    /**
+     * The version of the current value, odd while a new value is being written;
+     * lets subscribers snapshot a consistent value-version pair without locking.
+     */
+    final AtomicLong version;
 
     /**
      * Creates a {@link BehaviorProcessor} without a default item.
@@ -125,13 +118,10 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
      * Constructs an empty BehaviorProcessor.
      * @since 2.0
      */
-    @SuppressWarnings("unchecked")
     BehaviorProcessor() {
         this.value = new AtomicReference<Object>();
-        this.lock = new ReentrantReadWriteLock();
-        this.readLock = lock.readLock();
-        this.writeLock = lock.writeLock();
-        this.subscribers = new AtomicReference<BehaviorSubscription<T>[]>(EMPTY);
+        this.version = new AtomicLong();
+        this.subscribers = new SubscriberRegistry<BehaviorSubscription<T>>();
         this.terminalEvent = new AtomicReference<Throwable>();
     }
 
@@ -185,9 +175,13 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
             return;
         }
         Object o = NotificationLite.next(t);
-        setCurrent(o);
-        for (BehaviorSubscription<T> bs : subscribers.get()) {
-            bs.emitNext(o, index);
+        long v = setCurrent(o);
+        SubscriberRegistry.Snapshot<BehaviorSubscription<T>> a = subscribers.snapshot();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            BehaviorSubscription<T> bs = a.get(i);
+            if (bs != null) {
+                bs.emitNext(o, v);
+            }
         }
     }
 
@@ -200,10 +194,7 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
             RxJavaCommonPlugins.onError(t);
             return;
         }
-        Object o = NotificationLite.error(t);
-        for (BehaviorSubscription<T> bs : terminate(o)) {
-            bs.emitNext(o, index);
-        }
+        emitTerminal(NotificationLite.error(t));
     }
 
     @Override
@@ -211,10 +202,7 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
         if (!terminalEvent.compareAndSet(null, ExceptionHelper.TERMINATED)) {
             return;
         }
-        Object o = NotificationLite.complete();
-        for (BehaviorSubscription<T> bs : terminate(o)) {
-            bs.emitNext(o, index);  // relaxed read okay since this is the only mutator thread
-        }
+        emitTerminal(NotificationLite.complete());
     }
 
     /**
@@ -236,30 +224,35 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
             onError(new NullPointerException("onNext called with null. Null values are generally not allowed in 2.x operators and sources."));
             return true;
         }
-        BehaviorSubscription<T>[] array = subscribers.get();
+        SubscriberRegistry.Snapshot<BehaviorSubscription<T>> a = subscribers.snapshot();
+        int n = a.size();
 
-        for (BehaviorSubscription<T> s : array) {
-            if (s.isFull()) {
+        for (int i = 0; i < n; i++) {
+            BehaviorSubscription<T> s = a.get(i);
+            if (s != null && s.isFull()) {
                 return false;
             }
         }
 
         Object o = NotificationLite.next(t);
-        setCurrent(o);
-        for (BehaviorSubscription<T> bs : array) {
-            bs.emitNext(o, index);
+        long v = setCurrent(o);
+        for (int i = 0; i < n; i++) {
+            BehaviorSubscription<T> bs = a.get(i);
+            if (bs != null) {
+                bs.emitNext(o, v);
+            }
         }
         return true;
     }
 
     @Override
     public boolean hasSubscribers() {
-        return subscribers.get().length != 0;
+        return subscribers.size() != 0;
     }
 
 
     /* test support*/ int subscriberCount() {
-        return subscribers.get().length;
+        return subscribers.size();
     }
 
     @Override
@@ -354,79 +347,41 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
 
 
     boolean add(BehaviorSubscription<T> rs) {
-        for (;;) {
-            BehaviorSubscription<T>[] a = subscribers.get();
-            if (a == TERMINATED) {
-                return false;
-            }
-            int len = a.length;
-            @SuppressWarnings("unchecked")
-            BehaviorSubscription<T>[] b = new BehaviorSubscription[len + 1];
-            System.arraycopy(a, 0, b, 0, len);
-            b[len] = rs;
-            if (subscribers.compareAndSet(a, b)) {
-                return true;
-            }
-        }
+        return subscribers.add(rs);
     }
 
-    @SuppressWarnings("unchecked")
     void remove(BehaviorSubscription<T> rs) {
-        for (;;) {
-            BehaviorSubscription<T>[] a = subscribers.get();
-            if (a == TERMINATED || a == EMPTY) {
-                return;
-            }
-            int len = a.length;
-            int j = -1;
-            for (int i = 0; i < len; i++) {
-                if (a[i] == rs) {
-                    j = i;
-                    break;
-                }
-            }
-
-            if (j < 0) {
-                return;
-            }
-            BehaviorSubscription<T>[] b;
-            if (len == 1) {
-                b = EMPTY;
-            } else {
-                b = new BehaviorSubscription[len - 1];
-                System.arraycopy(a, 0, b, 0, j);
-                System.arraycopy(a, j + 1, b, j, len - j - 1);
-            }
-            if (subscribers.compareAndSet(a, b)) {
-                return;
-            }
-        }
+        subscribers.remove(rs);
     }
 
-    @SuppressWarnings("unchecked")
-    BehaviorSubscription<T>[] terminate(Object terminalValue) {
-
-        BehaviorSubscription<T>[] a = subscribers.get();
-        if (a != TERMINATED) {
-            a = subscribers.getAndSet(TERMINATED);
-            if (a != TERMINATED) {
-                // either this or atomics with lots of allocation
-                setCurrent(terminalValue);
+    void emitTerminal(Object terminalValue) {
+        SubscriberRegistry.Snapshot<BehaviorSubscription<T>> a = subscribers.terminate();
+        long v = setCurrent(terminalValue);
+        for (int i = 0, n = a.size(); i < n; i++) {
+            BehaviorSubscription<T> bs = a.get(i);
+            if (bs != null) {
+                bs.emitNext(terminalValue, v);
             }
         }
-
-        return a;
     }
 
-    void setCurrent(Object o) {
-        Lock wl = writeLock;
-        wl.lock();
-        index++;
+    /**
+     * Publishes the new current value, must be called from the single mutator thread.
+     * @param o the new value
+     * @return the version of the new value
+     */
+    long setCurrent(Object o) {
+        AtomicLong ver = version;
+        long v = ver.get();
+        ver.lazySet(v + 1);
         value.lazySet(o);
-        wl.unlock();
+        // full barrier so the new version is visible before the subscribers are read
+        ver.set(v + 2);
+        return v + 2;
     }
 
-    static final class BehaviorSubscription<T> extends AtomicLong implements Subscription, NonThrowingPredicate<Object> {
+    static final class BehaviorSubscription<T> extends AtomicLong
+    implements Subscription, NonThrowingPredicate<Object>, SubscriberRegistry.Entry {
 
         private static final long serialVersionUID = 3293175281126227086L;
 
@@ -443,11 +398,23 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
 
         long index;
 
+        int registryIndex;
+
         BehaviorSubscription(Subscriber<? super T> actual, BehaviorProcessor<T> state) {
             this.actual = actual;
             this.state = state;
         }
 
+        @Override
+        public int registryIndex() {
+            return registryIndex;
+        }
+
+        @Override
+        public void registryIndex(int index) {
+            registryIndex = index;
+        }
+
         @Override
         public void request(long n) {
             if (SubscriptionHelper.validate(n)) {
@@ -479,11 +446,18 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
 
                 BehaviorProcessor<T> s = state;
 
-                Lock readLock = s.readLock;
-                readLock.lock();
-                index = s.index;
-                o = s.value.get();
-                readLock.unlock();
+                // read the value and its version consistently, retry if a new value was written in between
+                AtomicLong ver = s.version;
+                for (;;) {
+                    long v = ver.get();
+                    if ((v & 1) == 0) {
+                        o = s.value.get();
+                        if (ver.get() == v) {
+                            index = v;
+                            break;
+                        }
+                    }
+                }
 
                 emitting = o != null;
                 next = true;
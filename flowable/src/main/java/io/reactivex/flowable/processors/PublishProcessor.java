@@ -18,7 +18,12 @@ import org.reactivestreams.*;
 
 import io.reactivex.common.RxJavaCommonPlugins;
 import io.reactivex.common.annotations.*;
-import io.reactivex.common.exceptions.MissingBackpressureException;
+import io.reactivex.common.exceptions.*;
+import io.reactivex.common.functions.Consumer;
+import io.reactivex.common.internal.functions.ObjectHelper;
+import io.reactivex.common.internal.utils.SubscriberRegistry;
+import io.reactivex.flowable.*;
+import io.reactivex.flowable.internal.queues.SpscLinkedArrayQueue;
 import io.reactivex.flowable.internal.subscriptions.SubscriptionHelper;
 import io.reactivex.flowable.internal.utils.BackpressureHelper;
 
@@ -33,6 +38,12 @@ import io.reactivex.flowable.internal.utils.BackpressureHelper;
  * to multiple sources (note on serialization though) unlike the standard contract on Subscriber. Child subscribers, however, are not overflown but receive an
  * IllegalStateException in case their requested amount is zero.
  *
+ * <p>Alternatively, a PublishProcessor created via {@link #create(int, BackpressureOverflowStrategy, Consumer)}
+ * gives each Subscriber its own bounded buffer, so that a Subscriber without requests doesn't affect the others.
+ * When a Subscriber's buffer is full, the configured {@link BackpressureOverflowStrategy} decides whether the oldest
+ * or the latest buffered item is dropped (and handed to the optional overflow consumer, for example to spill it
+ * to a secondary sink) or the Subscriber is disconnected with a MissingBackpressureException.
+ *
  * <p>The implementation of onXXX methods are technically thread-safe but non-serialized calls
  * to them may lead to undefined state in the currently subscribed Subscribers.
  *
@@ -57,19 +68,21 @@ import io.reactivex.flowable.internal.utils.BackpressureHelper;
  * @param <T> the value type multicast to Subscribers.
  */
 public final class PublishProcessor<T> extends FlowableProcessor<T> {
-    /** The terminated indicator for the subscribers array. */
-    @SuppressWarnings("rawtypes")
-    static final PublishSubscription[] TERMINATED = new PublishSubscription[0];
-    /** An empty subscribers array to avoid allocating it all the time. */
-    @SuppressWarnings("rawtypes")
-    static final PublishSubscription[] EMPTY = new PublishSubscription[0];
-
-    /** The array of currently subscribed subscribers. */
-    final AtomicReference<PublishSubscription<T>[]> subscribers;
+    /** The currently subscribed subscribers. */
+    final SubscriberRegistry<PublishSubscription<T>> subscribers;
 
     /** The error, write before terminating and read after checking subscribers. */
     Throwable error;
 
+    /** The per-Subscriber buffer size or zero if the Subscribers are not buffered. */
+    final int bufferSize;
+
+    /** The strategy applied when a Subscriber's buffer is full, null if the Subscribers are not buffered. */
+    final BackpressureOverflowStrategy overflowStrategy;
+
+    /** Receives the items dropped from a Subscriber's buffer, may be null. */
+    final Consumer<? super T> onOverflow;
+
     /**
      * Constructs a PublishProcessor.
      * @param <T> the value type
@@ -80,19 +93,75 @@ public final class PublishProcessor<T> extends FlowableProcessor<T> {
         return new PublishProcessor<T>();
     }
 
+    /**
+     * Constructs a PublishProcessor which gives each Subscriber its own bounded buffer and
+     * applies the given strategy when a Subscriber's buffer is full.
+     * @param <T> the value type
+     * @param bufferSize the number of items buffered for each Subscriber, positive
+     * @param overflowStrategy the strategy to apply when a Subscriber's buffer is full
+     * @return the new PublishProcessor
+     */
+    @CheckReturnValue
+    @Experimental
+    public static <T> PublishProcessor<T> create(int bufferSize, BackpressureOverflowStrategy overflowStrategy) {
+        return create(bufferSize, overflowStrategy, null);
+    }
+
+    /**
+     * Constructs a PublishProcessor which gives each Subscriber its own bounded buffer and
+     * applies the given strategy when a Subscriber's buffer is full.
+     * <p>
+     * With {@link BackpressureOverflowStrategy#DROP_OLDEST DROP_OLDEST} and
+     * {@link BackpressureOverflowStrategy#DROP_LATEST DROP_LATEST}, the dropped item is handed
+     * to the {@code onOverflow} consumer on the emitting thread; with {@code DROP_OLDEST}, if the
+     * Subscriber's buffer is being drained at that moment, on the draining thread instead, so the
+     * consumer may be called concurrently for different Subscribers. If the consumer crashes, the
+     * affected Subscriber is disconnected with the crash. With {@link BackpressureOverflowStrategy#ERROR ERROR},
+     * the Subscriber is disconnected with a {@link MissingBackpressureException}.
+     * @param <T> the value type
+     * @param bufferSize the number of items buffered for each Subscriber, positive
+     * @param overflowStrategy the strategy to apply when a Subscriber's buffer is full
+     * @param onOverflow the consumer receiving the dropped items, null allowed
+     * @return the new PublishProcessor
+     */
+    @CheckReturnValue
+    @Experimental
+    public static <T> PublishProcessor<T> create(int bufferSize, BackpressureOverflowStrategy overflowStrategy,
+            Consumer<? super T> onOverflow) {
+        ObjectHelper.verifyPositive(bufferSize, "bufferSize");
+        ObjectHelper.requireNonNull(overflowStrategy, "overflowStrategy is null");
+        return new PublishProcessor<T>(bufferSize, overflowStrategy, onOverflow);
+    }
+
     /**
      * Constructs a PublishProcessor.
      * @since 2.0
      */
-    @SuppressWarnings("unchecked")
     PublishProcessor() {
-        subscribers = new AtomicReference<PublishSubscription<T>[]>(EMPTY);
+        this(0, null, null);
     }
 
+    /**
+     * Constructs a PublishProcessor.
+     * @param bufferSize the per-Subscriber buffer size or zero for no buffering
+     * @param overflowStrategy the strategy when a Subscriber's buffer is full
+     * @param onOverflow the consumer receiving the dropped items, may be null
+     */
+    PublishProcessor(int bufferSize, BackpressureOverflowStrategy overflowStrategy, Consumer<? super T> onOverflow) {
+        this.subscribers = new SubscriberRegistry<PublishSubscription<T>>();
+        this.bufferSize = bufferSize;
+        this.overflowStrategy = overflowStrategy;
+        this.onOverflow = onOverflow;
+    }
 
     @Override
     public void subscribeActual(Subscriber<? super T> t) {
-        PublishSubscription<T> ps = new PublishSubscription<T>(t, this);
+        PublishSubscription<T> ps;
+        if (bufferSize != 0) {
+            ps = new BufferedPublishSubscription<T>(t, this, bufferSize, overflowStrategy, onOverflow);
+        } else {
+            ps = new PublishSubscription<T>(t, this);
+        }
         t.onSubscribe(ps);
         if (add(ps)) {
             // if cancellation happened while a successful add, the remove() didn't work
@@ -111,73 +180,26 @@ public final class PublishProcessor<T> extends FlowableProcessor<T> {
     }
 
     /**
-     * Tries to add the given subscriber to the subscribers array atomically
+     * Tries to add the given subscriber to the subscribers
      * or returns false if the subject has terminated.
      * @param ps the subscriber to add
      * @return true if successful, false if the subject has terminated
      */
     boolean add(PublishSubscription<T> ps) {
-        for (;;) {
-            PublishSubscription<T>[] a = subscribers.get();
-            if (a == TERMINATED) {
-                return false;
-            }
-
-            int n = a.length;
-            @SuppressWarnings("unchecked")
-            PublishSubscription<T>[] b = new PublishSubscription[n + 1];
-            System.arraycopy(a, 0, b, 0, n);
-            b[n] = ps;
-
-            if (subscribers.compareAndSet(a, b)) {
-                return true;
-            }
-        }
+        return subscribers.add(ps);
     }
 
     /**
-     * Atomically removes the given subscriber if it is subscribed to the subject.
+     * Removes the given subscriber if it is subscribed to the subject.
      * @param ps the subject to remove
      */
-    @SuppressWarnings("unchecked")
     void remove(PublishSubscription<T> ps) {
-        for (;;) {
-            PublishSubscription<T>[] a = subscribers.get();
-            if (a == TERMINATED || a == EMPTY) {
-                return;
-            }
-
-            int n = a.length;
-            int j = -1;
-            for (int i = 0; i < n; i++) {
-                if (a[i] == ps) {
-                    j = i;
-                    break;
-                }
-            }
-
-            if (j < 0) {
-                return;
-            }
-
-            PublishSubscription<T>[] b;
-
-            if (n == 1) {
-                b = EMPTY;
-            } else {
-                b = new PublishSubscription[n - 1];
-                System.arraycopy(a, 0, b, 0, j);
-                System.arraycopy(a, j + 1, b, j, n - j - 1);
-            }
-            if (subscribers.compareAndSet(a, b)) {
-                return;
-            }
-        }
+        subscribers.remove(ps);
     }
 
     @Override
     public void onSubscribe(Subscription s) {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             s.cancel();
             return;
         }
@@ -187,22 +209,25 @@ public final class PublishProcessor<T> extends FlowableProcessor<T> {
 
     @Override
     public void onNext(T t) {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             return;
         }
         if (t == null) {
             onError(new NullPointerException("onNext called with null. Null values are generally not allowed in 2.x operators and sources."));
             return;
         }
-        for (PublishSubscription<T> s : subscribers.get()) {
-            s.onNext(t);
+        SubscriberRegistry.Snapshot<PublishSubscription<T>> a = subscribers.snapshot();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            PublishSubscription<T> s = a.get(i);
+            if (s != null) {
+                s.onNext(t);
+            }
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void onError(Throwable t) {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             RxJavaCommonPlugins.onError(t);
             return;
         }
@@ -211,19 +236,26 @@ public final class PublishProcessor<T> extends FlowableProcessor<T> {
         }
         error = t;
 
-        for (PublishSubscription<T> s : subscribers.getAndSet(TERMINATED)) {
-            s.onError(t);
+        SubscriberRegistry.Snapshot<PublishSubscription<T>> a = subscribers.terminate();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            PublishSubscription<T> s = a.get(i);
+            if (s != null) {
+                s.onError(t);
+            }
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void onComplete() {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             return;
         }
-        for (PublishSubscription<T> s : subscribers.getAndSet(TERMINATED)) {
-            s.onComplete();
+        SubscriberRegistry.Snapshot<PublishSubscription<T>> a = subscribers.terminate();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            PublishSubscription<T> s = a.get(i);
+            if (s != null) {
+                s.onComplete();
+            }
         }
     }
 
@@ -231,6 +263,9 @@ public final class PublishProcessor<T> extends FlowableProcessor<T> {
      * Tries to emit the item to all currently subscribed Subscribers if all of them
      * has requested some value, returns false otherwise.
      * <p>
+     * If the Subscribers are buffered, the item is always emitted and the overflow
+     * strategy applies to the individual Subscribers.
+     * <p>
      * This method should be called in a sequential manner just like the onXXX methods
      * of the PublishProcessor.
      * <p>
@@ -246,28 +281,33 @@ public final class PublishProcessor<T> extends FlowableProcessor<T> {
             onError(new NullPointerException("onNext called with null. Null values are generally not allowed in 2.x operators and sources."));
             return true;
         }
-        PublishSubscription<T>[] array = subscribers.get();
+        SubscriberRegistry.Snapshot<PublishSubscription<T>> a = subscribers.snapshot();
+        int n = a.size();
 
-        for (PublishSubscription<T> s : array) {
-            if (s.isFull()) {
+        for (int i = 0; i < n; i++) {
+            PublishSubscription<T> s = a.get(i);
+            if (s != null && s.isFull()) {
                 return false;
             }
         }
 
-        for (PublishSubscription<T> s : array) {
-            s.onNext(t);
+        for (int i = 0; i < n; i++) {
+            PublishSubscription<T> s = a.get(i);
+            if (s != null) {
+                s.onNext(t);
+            }
         }
         return true;
     }
 
     @Override
     public boolean hasSubscribers() {
-        return subscribers.get().length != 0;
+        return subscribers.size() != 0;
     }
 
     @Override
     public Throwable getThrowable() {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             return error;
         }
         return null;
@@ -275,27 +315,29 @@ public final class PublishProcessor<T> extends FlowableProcessor<T> {
 
     @Override
     public boolean hasThrowable() {
-        return subscribers.get() == TERMINATED && error != null;
+        return subscribers.isTerminated() && error != null;
     }
 
     @Override
     public boolean hasComplete() {
-        return subscribers.get() == TERMINATED && error == null;
+        return subscribers.isTerminated() && error == null;
     }
 
     /**
      * Wraps the actual subscriber, tracks its requests and makes cancellation
-     * to remove itself from the current subscribers array.
+     * to remove itself from the current subscribers.
      *
      * @param <T> the value type
      */
-    static final class PublishSubscription<T> extends AtomicLong implements Subscription {
+    static class PublishSubscription<T> extends AtomicLong implements Subscription, SubscriberRegistry.Entry {
 
         private static final long serialVersionUID = 3562861878281475070L;
         /** The actual subscriber. */
         final Subscriber<? super T> actual;
         /** The subject state. */
         final PublishProcessor<T> parent;
+        /** The slot in the parent's registry. */
+        int registryIndex;
 
         /**
          * Constructs a PublishSubscriber, wraps the actual subscriber and the state.
@@ -355,8 +397,320 @@ public final class PublishProcessor<T> extends FlowableProcessor<T> {
             return get() == Long.MIN_VALUE;
         }
 
+        @Override
+        public int registryIndex() {
+            return registryIndex;
+        }
+
+        @Override
+        public void registryIndex(int index) {
+            registryIndex = index;
+        }
+
         boolean isFull() {
             return get() == 0L;
         }
     }
+
+    /**
+     * Buffers items for a Subscriber that has no outstanding requests and applies the
+     * overflow strategy once its buffer is full.
+     *
+     * @param <T> the value type
+     */
+    static final class BufferedPublishSubscription<T> extends PublishSubscription<T> {
+
+        private static final long serialVersionUID = -4453897557930727610L;
+
+        final int bufferSize;
+
+        final BackpressureOverflowStrategy overflowStrategy;
+
+        final Consumer<? super T> onOverflow;
+
+        final SpscLinkedArrayQueue<T> queue;
+
+        final AtomicInteger wip;
+
+        /** The newest buffered item under DROP_LATEST once the queue holds bufferSize - 1 items; guarded by this. */
+        volatile T latest;
+
+        volatile boolean done;
+        Throwable error;
+
+        /** Set if this Subscriber got disconnected due to an overflow, cuts ahead of the buffered items. */
+        volatile boolean disconnected;
+        Throwable disconnectError;
+
+        BufferedPublishSubscription(Subscriber<? super T> actual, PublishProcessor<T> parent,
+                int bufferSize, BackpressureOverflowStrategy overflowStrategy, Consumer<? super T> onOverflow) {
+            super(actual, parent);
+            this.bufferSize = bufferSize;
+            this.overflowStrategy = overflowStrategy;
+            this.onOverflow = onOverflow;
+            this.queue = new SpscLinkedArrayQueue<T>(Math.min(bufferSize, Flowable.bufferSize()));
+            this.wip = new AtomicInteger();
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (isCancelled() || disconnected) {
+                return;
+            }
+            AtomicInteger w = wip;
+            if (w.get() == 0 && w.compareAndSet(0, 1)) {
+                long r = get();
+                if (r != 0L && isEmpty()) {
+                    actual.onNext(t);
+                    if (r != Long.MAX_VALUE) {
+                        BackpressureHelper.producedCancel(this, 1);
+                    }
+                    if (w.decrementAndGet() == 0) {
+                        return;
+                    }
+                } else {
+                    enqueue(t);
+                }
+            } else {
+                enqueue(t);
+                if (w.getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        /**
+         * Offers the item to the buffer and applies the overflow strategy if the buffer is full.
+         * DROP_OLDEST is applied by the drain loop, the only one allowed to poll.
+         * @param t the item to buffer
+         */
+        void enqueue(T t) {
+            switch (overflowStrategy) {
+            case DROP_LATEST:
+                offerLatest(t);
+                break;
+            case DROP_OLDEST:
+                queue.offer(t);
+                break;
+            default:
+                if (queue.size() >= bufferSize) {
+                    disconnect(new MissingBackpressureException("The Subscriber's buffer is full"));
+                } else {
+                    queue.offer(t);
+                }
+            }
+        }
+
+        /**
+         * Buffers an item under the DROP_LATEST strategy. The newest item is kept out of the queue
+         * once it holds bufferSize - 1 items so that it can be replaced when the buffer is full.
+         * @param t the item to buffer
+         */
+        void offerLatest(T t) {
+            final SpscLinkedArrayQueue<T> q = queue;
+            final int c = bufferSize;
+            if (latest == null && q.size() < c - 1) {
+                q.offer(t);
+                return;
+            }
+            T dropped;
+            synchronized (this) {
+                dropped = latest;
+                if (dropped != null && q.size() < c - 1) {
+                    q.offer(dropped);
+                    dropped = null;
+                }
+                if (q.size() < c - 1) {
+                    q.offer(t);
+                    latest = null;
+                } else {
+                    latest = t;
+                }
+            }
+            if (dropped != null) {
+                overflow(dropped);
+            }
+        }
+
+        /**
+         * Drops the oldest items beyond the buffer size under the DROP_OLDEST strategy.
+         * @param q the queue to trim
+         */
+        void trimOldest(SpscLinkedArrayQueue<T> q) {
+            final int c = bufferSize;
+            while (q.size() > c) {
+                T v = q.poll();
+                if (v == null) {
+                    break;
+                }
+                overflow(v);
+            }
+        }
+
+        /**
+         * Hands a dropped item to the overflow consumer, if any.
+         * @param v the item dropped
+         */
+        void overflow(T v) {
+            Consumer<? super T> c = onOverflow;
+            if (c != null) {
+                try {
+                    c.accept(v);
+                } catch (Throwable ex) {
+                    Exceptions.throwIfFatal(ex);
+                    disconnect(ex);
+                }
+            }
+        }
+
+        /**
+         * Polls the next buffered item, which is the one kept out of the queue by
+         * {@link #offerLatest(Object)} once the queue is empty.
+         * @return the next item or null if the buffer is empty
+         */
+        T poll() {
+            T v = queue.poll();
+            if (v == null && latest != null) {
+                synchronized (this) {
+                    v = queue.poll();
+                    if (v == null) {
+                        v = latest;
+                        latest = null;
+                    }
+                }
+            }
+            return v;
+        }
+
+        boolean isEmpty() {
+            return queue.isEmpty() && latest == null;
+        }
+
+        /**
+         * Removes this Subscriber from the processor; the error is
+         * signalled by the drain loop ahead of the buffered items.
+         * @param ex the error to signal
+         */
+        void disconnect(Throwable ex) {
+            disconnectError = ex;
+            disconnected = true;
+            parent.remove(this);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.addCancel(this, n);
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            super.cancel();
+            if (wip.getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        @Override
+        boolean isFull() {
+            return false;
+        }
+
+        void clear() {
+            queue.clear();
+            latest = null;
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        void drainLoop() {
+            int missed = 1;
+            final SpscLinkedArrayQueue<T> q = queue;
+            final boolean dropOldest = overflowStrategy == BackpressureOverflowStrategy.DROP_OLDEST;
+            Subscriber<? super T> a = actual;
+
+            for (;;) {
+                long r = get();
+                long e = 0L;
+
+                for (;;) {
+                    if (dropOldest) {
+                        trimOldest(q);
+                    }
+
+                    if (isCancelled()) {
+                        clear();
+                        return;
+                    }
+
+                    if (disconnected) {
+                        clear();
+                        lazySet(Long.MIN_VALUE);
+                        a.onError(disconnectError);
+                        return;
+                    }
+
+                    boolean d = done;
+
+                    T v = null;
+
+                    if (e != r) {
+                        v = poll();
+                    }
+
+                    boolean empty = v == null;
+
+                    if (d && empty) {
+                        if (isEmpty()) {
+                            lazySet(Long.MIN_VALUE);
+                            Throwable ex = error;
+                            if (ex != null) {
+                                a.onError(ex);
+                            } else {
+                                a.onComplete();
+                            }
+                            return;
+                        }
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    a.onNext(v);
+
+                    e++;
+                }
+
+                if (e != 0L && r != Long.MAX_VALUE) {
+                    BackpressureHelper.producedCancel(this, e);
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
 }
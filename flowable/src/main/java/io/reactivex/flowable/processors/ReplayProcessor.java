@@ -23,6 +23,7 @@ import org.reactivestreams.*;
 import io.reactivex.common.*;
 import io.reactivex.common.annotations.CheckReturnValue;
 import io.reactivex.common.internal.functions.ObjectHelper;
+import io.reactivex.common.internal.utils.SubscriberRegistry;
 import io.reactivex.flowable.internal.subscriptions.SubscriptionHelper;
 import io.reactivex.flowable.internal.utils.*;
 
@@ -68,13 +69,7 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
 
     boolean done;
 
-    final AtomicReference<ReplaySubscription<T>[]> subscribers;
-
-    @SuppressWarnings("rawtypes")
-    static final ReplaySubscription[] EMPTY = new ReplaySubscription[0];
-
-    @SuppressWarnings("rawtypes")
-    static final ReplaySubscription[] TERMINATED = new ReplaySubscription[0];
+    final SubscriberRegistry<ReplaySubscription<T>> subscribers;
 
     /**
      * Creates an unbounded ReplayProcessor.
@@ -236,10 +231,9 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
      * Constructs a ReplayProcessor with the given custom ReplayBuffer instance.
      * @param buffer the ReplayBuffer instance, not null (not verified)
      */
-    @SuppressWarnings("unchecked")
     ReplayProcessor(ReplayBuffer<T> buffer) {
         this.buffer = buffer;
-        this.subscribers = new AtomicReference<ReplaySubscription<T>[]>(EMPTY);
+        this.subscribers = new SubscriberRegistry<ReplaySubscription<T>>();
     }
 
     @Override
@@ -278,8 +272,12 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
         ReplayBuffer<T> b = buffer;
         b.add(t);
 
-        for (ReplaySubscription<T> rs : subscribers.get()) {
-            b.replay(rs);
+        SubscriberRegistry.Snapshot<ReplaySubscription<T>> a = subscribers.snapshot();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            ReplaySubscription<T> rs = a.get(i);
+            if (rs != null) {
+                b.replay(rs);
+            }
         }
     }
 
@@ -300,8 +298,12 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
         ReplayBuffer<T> b = buffer;
 
         b.addFinal(o);
-        for (ReplaySubscription<T> rs : subscribers.getAndSet(TERMINATED)) {
-            b.replay(rs);
+        SubscriberRegistry.Snapshot<ReplaySubscription<T>> a = subscribers.terminate();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            ReplaySubscription<T> rs = a.get(i);
+            if (rs != null) {
+                b.replay(rs);
+            }
         }
     }
 
@@ -319,18 +321,22 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
 
         b.addFinal(o);
 
-        for (ReplaySubscription<T> rs : subscribers.getAndSet(TERMINATED)) {
-            b.replay(rs);
+        SubscriberRegistry.Snapshot<ReplaySubscription<T>> a = subscribers.terminate();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            ReplaySubscription<T> rs = a.get(i);
+            if (rs != null) {
+                b.replay(rs);
+            }
         }
     }
 
     @Override
     public boolean hasSubscribers() {
-        return subscribers.get().length != 0;
+        return subscribers.size() != 0;
     }
 
     /* test */ int subscriberCount() {
-        return subscribers.get().length;
+        return subscribers.size();
     }
 
     @Override
@@ -405,53 +411,11 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
     }
 
     boolean add(ReplaySubscription<T> rs) {
-        for (;;) {
-            ReplaySubscription<T>[] a = subscribers.get();
-            if (a == TERMINATED) {
-                return false;
-            }
-            int len = a.length;
-            @SuppressWarnings("unchecked")
-            ReplaySubscription<T>[] b = new ReplaySubscription[len + 1];
-            System.arraycopy(a, 0, b, 0, len);
-            b[len] = rs;
-            if (subscribers.compareAndSet(a, b)) {
-                return true;
-            }
-        }
+        return subscribers.add(rs);
     }
 
-    @SuppressWarnings("unchecked")
     void remove(ReplaySubscription<T> rs) {
-        for (;;) {
-            ReplaySubscription<T>[] a = subscribers.get();
-            if (a == TERMINATED || a == EMPTY) {
-                return;
-            }
-            int len = a.length;
-            int j = -1;
-            for (int i = 0; i < len; i++) {
-                if (a[i] == rs) {
-                    j = i;
-                    break;
-                }
-            }
-
-            if (j < 0) {
-                return;
-            }
-            ReplaySubscription<T>[] b;
-            if (len == 1) {
-                b = EMPTY;
-            } else {
-                b = new ReplaySubscription[len - 1];
-                System.arraycopy(a, 0, b, 0, j);
-                System.arraycopy(a, j + 1, b, j, len - j - 1);
-            }
-            if (subscribers.compareAndSet(a, b)) {
-                return;
-            }
-        }
+        subscribers.remove(rs);
     }
 
     /**
@@ -481,7 +445,7 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
         Object get();
     }
 
-    static final class ReplaySubscription<T> extends AtomicInteger implements Subscription {
+    static final class ReplaySubscription<T> extends AtomicInteger implements Subscription, SubscriberRegistry.Entry {
 
         private static final long serialVersionUID = 466549804534799122L;
         final Subscriber<? super T> actual;
@@ -493,11 +457,24 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
 
         volatile boolean cancelled;
 
+        int registryIndex;
+
         ReplaySubscription(Subscriber<? super T> actual, ReplayProcessor<T> state) {
             this.actual = actual;
             this.state = state;
             this.requested = new AtomicLong();
         }
+
+        @Override
+        public int registryIndex() {
+            return registryIndex;
+        }
+
+        @Override
+        public void registryIndex(int index) {
+            registryIndex = index;
+        }
+
         @Override
         public void request(long n) {
             if (SubscriptionHelper.validate(n)) {
@@ -712,19 +689,6 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
         }
     }
 
-    static final class TimedNode<T> extends AtomicReference<TimedNode<T>> {
-
-        private static final long serialVersionUID = 6404226426336033100L;
-
-        final T value;
-        final long time;
-
-        TimedNode(T value, long time) {
-            this.value = value;
-            this.time = time;
-        }
-    }
-
     static final class SizeBoundReplayBuffer<T>
     extends AtomicReference<Object>
     implements ReplayBuffer<T> {
@@ -933,6 +897,13 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
         }
     }
 
+    /**
+     * Holds the items in linked array segments of {@link SegmentedTimedBuffer} so that
+     * expired items can be dropped a segment at a time and late subscribers find their
+     * starting position via binary search.
+     *
+     * @param <T> the value type
+     */
     static final class SizeAndTimeBoundReplayBuffer<T>
     extends AtomicReference<Object>
     implements ReplayBuffer<T> {
@@ -943,11 +914,11 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
         final long maxAge;
         final TimeUnit unit;
         final Scheduler scheduler;
-        int size;
 
-        volatile TimedNode<Object> head;
+        final SegmentedTimedBuffer buffer;
 
-        TimedNode<Object> tail;
+        /** The last value added, even if it expired; published by the buffer's add. */
+        T latest;
 
         volatile boolean done;
 
@@ -957,116 +928,40 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
             this.maxAge = ObjectHelper.verifyPositive(maxAge, "maxAge");
             this.unit = ObjectHelper.requireNonNull(unit, "unit is null");
             this.scheduler = ObjectHelper.requireNonNull(scheduler, "scheduler is null");
-            TimedNode<Object> h = new TimedNode<Object>(null, 0L);
-            this.tail = h;
-            this.head = h;
-        }
-
-        void trim() {
-            if (size > maxSize) {
-                size--;
-                TimedNode<Object> h = head;
-                head = h.get();
-            }
-            long limit = scheduler.now(unit) - maxAge;
-
-            TimedNode<Object> h = head;
-
-            for (;;) {
-                TimedNode<Object> next = h.get();
-                if (next == null) {
-                    head = h;
-                    break;
-                }
-
-                if (next.time > limit) {
-                    head = h;
-                    break;
-                }
-
-                h = next;
-            }
-
-        }
-
-        void trimFinal() {
-            long limit = scheduler.now(unit) - maxAge;
-
-            TimedNode<Object> h = head;
-
-            for (;;) {
-                TimedNode<Object> next = h.get();
-                if (next.get() == null) {
-                    head = h;
-                    break;
-                }
-
-                if (next.time > limit) {
-                    head = h;
-                    break;
-                }
-
-                h = next;
-            }
+            this.buffer = new SegmentedTimedBuffer(maxSize);
         }
 
         @Override
         public void add(T value) {
-            TimedNode<Object> n = new TimedNode<Object>(value, scheduler.now(unit));
-            TimedNode<Object> t = tail;
-
-            tail = n;
-            size++;
-            t.set(n); // releases both the tail and size
-
-            trim();
+            long now = scheduler.now(unit);
+            latest = value;
+            buffer.add(value, now);
+            buffer.trim(now - maxAge, maxSize);
         }
 
         @Override
         public void addFinal(Object notificationLite) {
             lazySet(notificationLite);
-            TimedNode<Object> n = new TimedNode<Object>(notificationLite, Long.MAX_VALUE);
-            TimedNode<Object> t = tail;
-
-            tail = n;
-            size++;
-            t.set(n); // releases both the tail and size
-            trimFinal();
+            // the terminal event never expires
+            buffer.add(notificationLite, Long.MAX_VALUE);
+            buffer.trim(scheduler.now(unit) - maxAge, Long.MAX_VALUE);
 
             done = true;
         }
 
         @Override
-        @SuppressWarnings("unchecked")
         public T getValue() {
-            TimedNode<Object> prev = null;
-            TimedNode<Object> h = head;
-
-            for (;;) {
-                TimedNode<Object> next = h.get();
-                if (next == null) {
-                    break;
-                }
-                prev = h;
-                h = next;
-            }
-
-            Object v = h.value;
-            if (v == null) {
+            if (buffer.get() == 0L) {
                 return null;
             }
-            if (NotificationLite.isComplete(v) || NotificationLite.isError(v)) {
-                return (T)prev.value;
-            }
-
-            return (T)v;
+            return latest;
         }
 
         @Override
         @SuppressWarnings("unchecked")
         public T[] getValues(T[] array) {
-            TimedNode<Object> h = getHead();
-            int s = size(h);
+            SegmentedTimedBuffer.Cursor c = getHead();
+            int s = size(c);
 
             if (s == 0) {
                 if (array.length != 0) {
@@ -1077,12 +972,9 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
                     array = (T[])Array.newInstance(array.getClass().getComponentType(), s);
                 }
 
-                int i = 0;
-                while (i != s) {
-                    TimedNode<Object> next = h.get();
-                    array[i] = (T)next.value;
-                    i++;
-                    h = next;
+                SegmentedTimedBuffer b = buffer;
+                for (int i = 0; i < s; i++) {
+                    array[i] = (T)b.next(c);
                 }
                 if (array.length > s) {
                     array[s] = null;
@@ -1092,20 +984,11 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
             return array;
         }
 
-        TimedNode<Object> getHead() {
-            TimedNode<Object> index = head;
+        SegmentedTimedBuffer.Cursor getHead() {
+            SegmentedTimedBuffer.Cursor c = new SegmentedTimedBuffer.Cursor();
             // skip old entries
-            long limit = scheduler.now(unit) - maxAge;
-            TimedNode<Object> next = index.get();
-            while (next != null) {
-                long ts = next.time;
-                if (ts > limit) {
-                    break;
-                }
-                index = next;
-                next = index.get();
-            }
-            return index;
+            buffer.seek(c, scheduler.now(unit) - maxAge);
+            return c;
         }
 
         @Override
@@ -1117,8 +1000,9 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
 
             int missed = 1;
             final Subscriber<? super T> a = rs.actual;
+            final SegmentedTimedBuffer b = buffer;
 
-            TimedNode<Object> index = (TimedNode<Object>)rs.index;
+            SegmentedTimedBuffer.Cursor index = (SegmentedTimedBuffer.Cursor)rs.index;
             if (index == null) {
                 index = getHead();
             }
@@ -1134,16 +1018,16 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
                         return;
                     }
 
-                    TimedNode<Object> n = index.get();
+                    long end = b.get();
 
-                    if (n == null) {
+                    if (index.index() == end) {
                         break;
                     }
 
-                    Object o = n.value;
+                    Object o = b.peek(index);
 
                     if (done) {
-                        if (n.get() == null) {
+                        if (index.index() + 1 == b.get()) {
 
                             if (NotificationLite.isComplete(o)) {
                                 a.onComplete();
@@ -1167,7 +1051,7 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
                     r--;
                     e--;
 
-                    index = n;
+                    b.next(index);
                 }
 
                 if (e != 0L) {
@@ -1190,22 +1074,17 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
             return size(getHead());
         }
 
-        int size(TimedNode<Object> h) {
-            int s = 0;
-            while (s != Integer.MAX_VALUE) {
-                TimedNode<Object> next = h.get();
-                if (next == null) {
-                    Object o = h.value;
-                    if (NotificationLite.isComplete(o) || NotificationLite.isError(o)) {
-                        s--;
-                    }
-                    break;
+        int size(SegmentedTimedBuffer.Cursor c) {
+            SegmentedTimedBuffer b = buffer;
+            long end = b.get();
+            long s = end - c.index();
+            if (s != 0L) {
+                Object o = b.valueAt(c, end - 1);
+                if (NotificationLite.isComplete(o) || NotificationLite.isError(o)) {
+                    s--;
                 }
-                s++;
-                h = next;
             }
-
-            return s;
+            return (int)Math.min(s, Integer.MAX_VALUE);
         }
     }
 }
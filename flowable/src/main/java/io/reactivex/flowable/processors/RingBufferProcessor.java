@@ -0,0 +1,521 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.processors;
+
+import java.util.concurrent.atomic.*;
+
+import org.reactivestreams.*;
+
+import io.reactivex.common.RxJavaCommonPlugins;
+import io.reactivex.common.annotations.*;
+import io.reactivex.common.exceptions.MissingBackpressureException;
+import io.reactivex.common.internal.functions.ObjectHelper;
+import io.reactivex.common.internal.utils.Pow2;
+import io.reactivex.flowable.Flowable;
+import io.reactivex.flowable.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.flowable.internal.utils.BackpressureHelper;
+
+/**
+ * A backpressure-aware multicasting processor that stores each item exactly once in a
+ * pre-allocated ring buffer and lets every Subscriber read it through its own cursor.
+ * <p>
+ * Unlike {@link PublishProcessor}, items are not handed to each Subscriber individually:
+ * the producer writes the item into the next slot and advances a single producer index,
+ * after which each Subscriber emits the contiguous range between its own cursor and the
+ * producer index, limited by its own request amount. A Subscriber that subscribes
+ * receives items written after the subscription only.
+ * <p>
+ * The processor requests from its upstream as long as there is free space in front of the
+ * slowest Subscriber's cursor; a fast Subscriber can run ahead of a slow one by at most the
+ * capacity of the buffer. When there are no Subscribers, the items are dropped.
+ * <p>
+ * If the upstream doesn't honor backpressure (or {@code onNext} is called directly
+ * while the buffer is full), the processor terminates its Subscribers with a
+ * {@link MissingBackpressureException}. Use {@link #offer(Object)} to emit manually
+ * without risking this.
+ * <p>
+ * The onXXX methods must be called in a sequential manner. Note that the buffer retains
+ * references to up to capacity already consumed items until their slots are overwritten.
+ * <p>
+ * Example usage:
+ * <pre><code>
+ * RingBufferProcessor&lt;Integer&gt; processor = RingBufferProcessor.create(1024);
+ *
+ * processor.subscribe(fastSubscriber);
+ * processor.observeOn(Schedulers.computation()).subscribe(slowSubscriber);
+ *
+ * Flowable.range(1, 1000000).subscribe(processor);
+ * </code></pre>
+ *
+ * @param <T> the value type multicast to Subscribers.
+ */
+@Experimental
+public final class RingBufferProcessor<T> extends FlowableProcessor<T> {
+    /** The terminated indicator for the subscribers array. */
+    @SuppressWarnings("rawtypes")
+    static final RingSubscription[] TERMINATED = new RingSubscription[0];
+    /** An empty subscribers array to avoid allocating it all the time. */
+    @SuppressWarnings("rawtypes")
+    static final RingSubscription[] EMPTY = new RingSubscription[0];
+
+    /** Indicates a Subscriber's cursor which hasn't been settled on a producer index yet. */
+    static final long PENDING = Long.MIN_VALUE;
+
+    /** The array of currently subscribed subscribers. */
+    final AtomicReference<RingSubscription<T>[]> subscribers;
+
+    /** The pre-allocated slots. */
+    final Object[] buffer;
+
+    /** The buffer length minus one. */
+    final int mask;
+
+    /** Replenish the upstream in batches of at least this amount. */
+    final int limit;
+
+    /** The index of the next slot to be written, written only by the producer. */
+    final AtomicLong producerIndex;
+
+    /** The producer index up to which items were requested from the upstream. */
+    final AtomicLong requestedIndex;
+
+    /** The upstream Subscription, if any. */
+    final AtomicReference<Subscription> upstream;
+
+    /** Accumulates the request amount before the upstream Subscription arrives. */
+    final AtomicLong deferredRequested;
+
+    /** Set after the error field, read before the producer index. */
+    volatile boolean done;
+
+    /** The error, write before done and read after checking done. */
+    Throwable error;
+
+    /**
+     * Constructs a RingBufferProcessor with a capacity of {@link Flowable#bufferSize()}.
+     * @param <T> the value type
+     * @return the new RingBufferProcessor
+     */
+    @CheckReturnValue
+    public static <T> RingBufferProcessor<T> create() {
+        return new RingBufferProcessor<T>(Flowable.bufferSize());
+    }
+
+    /**
+     * Constructs a RingBufferProcessor with the given capacity, rounded up to the next power of 2.
+     * @param <T> the value type
+     * @param capacity the number of items the fastest Subscriber can be ahead of the slowest one, positive
+     * @return the new RingBufferProcessor
+     */
+    @CheckReturnValue
+    public static <T> RingBufferProcessor<T> create(int capacity) {
+        return new RingBufferProcessor<T>(ObjectHelper.verifyPositive(capacity, "capacity"));
+    }
+
+    /**
+     * Constructs a RingBufferProcessor.
+     * @param capacity the capacity hint, positive
+     */
+    @SuppressWarnings("unchecked")
+    RingBufferProcessor(int capacity) {
+        int c = Pow2.roundToPowerOfTwo(capacity);
+        this.buffer = new Object[c];
+        this.mask = c - 1;
+        this.limit = c - (c >> 2);
+        this.subscribers = new AtomicReference<RingSubscription<T>[]>(EMPTY);
+        this.producerIndex = new AtomicLong();
+        this.requestedIndex = new AtomicLong(c);
+        this.upstream = new AtomicReference<Subscription>();
+        this.deferredRequested = new AtomicLong(c);
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> s) {
+        RingSubscription<T> rs = new RingSubscription<T>(s, this);
+        s.onSubscribe(rs);
+        if (add(rs)) {
+            // if cancellation happened while a successful add, the remove() didn't work
+            // so we need to do it again
+            if (rs.cancelled) {
+                remove(rs);
+                replenish();
+            } else {
+                rs.drain();
+            }
+        } else {
+            Throwable ex = error;
+            if (ex != null) {
+                s.onError(ex);
+            } else {
+                s.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Tries to add the given subscriber to the subscribers array atomically
+     * or returns false if the processor has terminated.
+     * @param rs the subscriber to add
+     * @return true if successful, false if the processor has terminated
+     */
+    boolean add(RingSubscription<T> rs) {
+        for (;;) {
+            RingSubscription<T>[] a = subscribers.get();
+            if (a == TERMINATED) {
+                return false;
+            }
+
+            int n = a.length;
+            @SuppressWarnings("unchecked")
+            RingSubscription<T>[] b = new RingSubscription[n + 1];
+            System.arraycopy(a, 0, b, 0, n);
+            b[n] = rs;
+
+            if (subscribers.compareAndSet(a, b)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Atomically removes the given subscriber if it is subscribed to the processor.
+     * @param rs the subscriber to remove
+     */
+    @SuppressWarnings("unchecked")
+    void remove(RingSubscription<T> rs) {
+        for (;;) {
+            RingSubscription<T>[] a = subscribers.get();
+            if (a == TERMINATED || a == EMPTY) {
+                return;
+            }
+
+            int n = a.length;
+            int j = -1;
+            for (int i = 0; i < n; i++) {
+                if (a[i] == rs) {
+                    j = i;
+                    break;
+                }
+            }
+
+            if (j < 0) {
+                return;
+            }
+
+            RingSubscription<T>[] b;
+
+            if (n == 1) {
+                b = EMPTY;
+            } else {
+                b = new RingSubscription[n - 1];
+                System.arraycopy(a, 0, b, 0, j);
+                System.arraycopy(a, j + 1, b, j, n - j - 1);
+            }
+            if (subscribers.compareAndSet(a, b)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        if (done) {
+            s.cancel();
+            return;
+        }
+        if (!SubscriptionHelper.deferredSetOnce(upstream, deferredRequested, s)) {
+            s.cancel();
+        }
+    }
+
+    @Override
+    public void onNext(T t) {
+        if (done) {
+            return;
+        }
+        if (t == null) {
+            onError(new NullPointerException("onNext called with null. Null values are generally not allowed in 2.x operators and sources."));
+            return;
+        }
+        if (!tryOffer(t)) {
+            SubscriptionHelper.cancel(upstream);
+            onError(new MissingBackpressureException("The ring buffer is full because the upstream didn't honor backpressure"));
+        }
+    }
+
+    /**
+     * Tries to emit the item if the slowest Subscriber has consumed enough items to
+     * make room for it in the ring buffer, returns false otherwise.
+     * <p>
+     * This method should be called in a sequential manner just like the onXXX methods
+     * of the RingBufferProcessor.
+     * <p>
+     * Calling with null will terminate the RingBufferProcessor and a NullPointerException
+     * is signalled to the Subscribers.
+     * @param t the item to emit, not null
+     * @return true if the item was emitted
+     */
+    public boolean offer(T t) {
+        if (done) {
+            return true;
+        }
+        if (t == null) {
+            onError(new NullPointerException("onNext called with null. Null values are generally not allowed in 2.x operators and sources."));
+            return true;
+        }
+        return tryOffer(t);
+    }
+
+    boolean tryOffer(T t) {
+        long pi = producerIndex.get();
+        if (pi == requestedIndex.get()) {
+            replenish();
+            if (pi == requestedIndex.get()) {
+                return false;
+            }
+        }
+
+        buffer[(int)pi & mask] = t;
+        producerIndex.lazySet(pi + 1);
+
+        RingSubscription<T>[] a = subscribers.get();
+        if (a.length == 0) {
+            replenish();
+        } else {
+            for (RingSubscription<T> rs : a) {
+                rs.drain();
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            RxJavaCommonPlugins.onError(t);
+            return;
+        }
+        if (t == null) {
+            t = new NullPointerException("onError called with null. Null values are generally not allowed in 2.x operators and sources.");
+        }
+        error = t;
+        done = true;
+
+        for (RingSubscription<T> rs : subscribers.getAndSet(TERMINATED)) {
+            rs.drain();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+
+        for (RingSubscription<T> rs : subscribers.getAndSet(TERMINATED)) {
+            rs.drain();
+        }
+    }
+
+    /**
+     * Moves the requested window of the upstream to the capacity in front of the slowest
+     * Subscriber's cursor, requesting in batches of {@link #limit} at least.
+     */
+    void replenish() {
+        // the producer index must be read before the subscribers, so that any
+        // Subscriber missing from the array will settle its cursor at or after it
+        long pi = producerIndex.get();
+        RingSubscription<T>[] a = subscribers.get();
+        if (a == TERMINATED) {
+            return;
+        }
+
+        long min = pi;
+        for (RingSubscription<T> rs : a) {
+            long c = rs.cursor(pi);
+            if (c < min) {
+                min = c;
+            }
+        }
+
+        long target = min + buffer.length;
+
+        for (;;) {
+            long current = requestedIndex.get();
+            long n = target - current;
+            if (n < limit) {
+                return;
+            }
+            if (requestedIndex.compareAndSet(current, target)) {
+                SubscriptionHelper.deferredRequest(upstream, deferredRequested, n);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasSubscribers() {
+        return subscribers.get().length != 0;
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        if (done) {
+            return error;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasThrowable() {
+        return done && error != null;
+    }
+
+    @Override
+    public boolean hasComplete() {
+        return done && error == null;
+    }
+
+    /**
+     * Tracks the requests and the read position of a Subscriber and
+     * emits the items between its cursor and the producer index.
+     *
+     * @param <T> the value type
+     */
+    static final class RingSubscription<T> extends AtomicInteger implements Subscription {
+
+        private static final long serialVersionUID = -3851087427010467404L;
+        /** The actual subscriber. */
+        final Subscriber<? super T> actual;
+        /** The parent processor. */
+        final RingBufferProcessor<T> parent;
+        /** The outstanding request amount. */
+        final AtomicLong requested;
+        /** The index of the next slot to read, or {@link RingBufferProcessor#PENDING}. */
+        final AtomicLong cursor;
+
+        volatile boolean cancelled;
+
+        RingSubscription(Subscriber<? super T> actual, RingBufferProcessor<T> parent) {
+            this.actual = actual;
+            this.parent = parent;
+            this.requested = new AtomicLong();
+            this.cursor = new AtomicLong(PENDING);
+        }
+
+        /**
+         * Returns the current cursor, settling it on the given producer index if it
+         * hasn't been settled yet.
+         * @param producerIndex the producer index to settle on
+         * @return the current cursor
+         */
+        long cursor(long producerIndex) {
+            long c = cursor.get();
+            if (c == PENDING) {
+                cursor.compareAndSet(PENDING, producerIndex);
+                c = cursor.get();
+            }
+            return c;
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                // until the first drain settles the cursor, this
+                // subscription may not have been added to the processor
+                if (cursor.get() != PENDING) {
+                    drain();
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                parent.remove(this);
+                parent.replenish();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            final RingBufferProcessor<T> p = parent;
+            final Object[] b = p.buffer;
+            final int m = p.mask;
+            final Subscriber<? super T> a = actual;
+
+            long c = cursor(p.producerIndex.get());
+
+            for (;;) {
+
+                if (cancelled) {
+                    return;
+                }
+
+                boolean d = p.done;
+                long pi = p.producerIndex.get();
+                long r = requested.get();
+
+                long end = pi - c <= r ? pi : c + r;
+                long start = c;
+
+                while (c != end) {
+                    if (cancelled) {
+                        return;
+                    }
+                    a.onNext((T)b[(int)c & m]);
+                    c++;
+                }
+
+                if (c != start) {
+                    cursor.lazySet(c);
+                    if (r != Long.MAX_VALUE) {
+                        requested.addAndGet(start - c);
+                    }
+                    p.replenish();
+                }
+
+                if (cancelled) {
+                    return;
+                }
+
+                if (d && c == pi) {
+                    cancelled = true;
+                    Throwable ex = p.error;
+                    if (ex != null) {
+                        a.onError(ex);
+                    } else {
+                        a.onComplete();
+                    }
+                    return;
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
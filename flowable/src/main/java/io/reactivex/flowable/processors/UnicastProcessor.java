@@ -21,7 +21,7 @@ import hu.akarnokd.reactivestreams.extensions.FusedQueueSubscription;
 import io.reactivex.common.RxJavaCommonPlugins;
 import io.reactivex.common.annotations.*;
 import io.reactivex.common.internal.functions.ObjectHelper;
-import io.reactivex.flowable.internal.queues.SpscLinkedArrayQueue;
+import io.reactivex.flowable.internal.queues.*;
 import io.reactivex.flowable.internal.subscriptions.*;
 import io.reactivex.flowable.internal.utils.BackpressureHelper;
 
@@ -32,6 +32,10 @@ import io.reactivex.flowable.internal.utils.BackpressureHelper;
  *
  * <p>This processor holds an unbounded internal buffer.
  *
+ * <p>The instances returned by {@link #createMultiProducer()} allow calling {@code onNext}
+ * from multiple threads concurrently without external serialization; {@code onError} and
+ * {@code onComplete} still have to be called once, after all {@code onNext} calls returned.
+ *
  * <p>If more than one Subscriber attempts to subscribe to this Processor, they
  * will receive an IllegalStateException if this Processor hasn't terminated yet,
  * or the Subscribers receive the terminal event (error or completion) if this
@@ -44,7 +48,7 @@ import io.reactivex.flowable.internal.utils.BackpressureHelper;
  */
 public final class UnicastProcessor<T> extends FlowableProcessor<T> {
 
-    final SpscLinkedArrayQueue<T> queue;
+    final SimplePlainQueue<T> queue;
 
     final AtomicReference<Runnable> onTerminate;
 
@@ -139,6 +143,31 @@ public final class UnicastProcessor<T> extends FlowableProcessor<T> {
         return new UnicastProcessor<T>(capacityHint, onCancelled, delayError);
     }
 
+    /**
+     * Creates an UnicastProcessor whose {@code onNext} can be called from multiple threads
+     * concurrently, with an internal buffer chunk size of {@link #bufferSize()} (128 by default).
+     * @param <T> the value type
+     * @return an UnicastProcessor instance
+     */
+    @CheckReturnValue
+    @Experimental
+    public static <T> UnicastProcessor<T> createMultiProducer() {
+        return createMultiProducer(bufferSize());
+    }
+
+    /**
+     * Creates an UnicastProcessor whose {@code onNext} can be called from multiple threads
+     * concurrently, with the given internal buffer chunk size.
+     * @param <T> the value type
+     * @param capacityHint the size of the arrays the internal unbounded buffer is made of
+     * @return an UnicastProcessor instance
+     */
+    @CheckReturnValue
+    @Experimental
+    public static <T> UnicastProcessor<T> createMultiProducer(int capacityHint) {
+        return new UnicastProcessor<T>(new MpscLinkedArrayQueue<T>(ObjectHelper.verifyPositive(capacityHint, "capacityHint")), null, true);
+    }
+
     /**
      * Creates an UnicastProcessor with the given capacity hint.
      * @param capacityHint the capacity hint for the internal, unbounded queue
@@ -168,7 +197,18 @@ public final class UnicastProcessor<T> extends FlowableProcessor<T> {
      * @since 2.0.8 - experimental
      */
     UnicastProcessor(int capacityHint, Runnable onTerminate, boolean delayError) {
-        this.queue = new SpscLinkedArrayQueue<T>(ObjectHelper.verifyPositive(capacityHint, "capacityHint"));
+        this(new SpscLinkedArrayQueue<T>(ObjectHelper.verifyPositive(capacityHint, "capacityHint")), onTerminate, delayError);
+    }
+
+    /**
+     * Creates an UnicastProcessor with the given queue and callback
+     * for when the Processor is terminated normally or its single Subscriber cancels.
+     * @param queue the internal, unbounded queue
+     * @param onTerminate the callback to run when the Processor is terminated or cancelled, null allowed
+     * @param delayError deliver pending onNext events before onError
+     */
+    UnicastProcessor(SimplePlainQueue<T> queue, Runnable onTerminate, boolean delayError) {
+        this.queue = queue;
         this.onTerminate = new AtomicReference<Runnable>(onTerminate);
         this.delayError = delayError;
         this.actual = new AtomicReference<Subscriber<? super T>>();
@@ -187,7 +227,7 @@ public final class UnicastProcessor<T> extends FlowableProcessor<T> {
     void drainRegular(Subscriber<? super T> a) {
         int missed = 1;
 
-        final SpscLinkedArrayQueue<T> q = queue;
+        final SimplePlainQueue<T> q = queue;
         final boolean failFast = !delayError;
         for (;;) {
 
@@ -231,7 +271,7 @@ public final class UnicastProcessor<T> extends FlowableProcessor<T> {
     void drainFused(Subscriber<? super T> a) {
         int missed = 1;
 
-        final SpscLinkedArrayQueue<T> q = queue;
+        final SimplePlainQueue<T> q = queue;
         final boolean failFast = !delayError;
         for (;;) {
 
@@ -297,7 +337,7 @@ public final class UnicastProcessor<T> extends FlowableProcessor<T> {
         }
     }
 
-    boolean checkTerminated(boolean failFast, boolean d, boolean empty, Subscriber<? super T> a, SpscLinkedArrayQueue<T> q) {
+    boolean checkTerminated(boolean failFast, boolean d, boolean empty, Subscriber<? super T> a, SimplePlainQueue<T> q) {
         if (cancelled) {
             q.clear();
             actual.lazySet(null);
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.*;
+
+import io.reactivex.common.*;
+import io.reactivex.common.exceptions.MissingBackpressureException;
+import io.reactivex.flowable.processors.PublishProcessor;
+import io.reactivex.flowable.subscribers.TestSubscriber;
+
+public class BufferTelemetryTest {
+
+    @After
+    public void after() {
+        BufferTelemetry.disable();
+        BufferTelemetry.reset();
+    }
+
+    static List<BufferProbe.Snapshot> single(Map<String, List<BufferProbe.Snapshot>> map, String method) {
+        assertEquals(map.toString(), 1, map.size());
+        Map.Entry<String, List<BufferProbe.Snapshot>> e = map.entrySet().iterator().next();
+        assertTrue(e.getKey(), e.getKey().startsWith(BufferTelemetryTest.class.getName() + "." + method + "("));
+        return e.getValue();
+    }
+
+    @Test
+    public void disabledByDefault() {
+        assertFalse(BufferTelemetry.isEnabled());
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.observeOn(new TestScheduler()).test();
+
+        pp.onNext(1);
+
+        assertTrue(BufferTelemetry.snapshot().isEmpty());
+
+        ts.cancel();
+    }
+
+    @Test
+    public void observeOn() {
+        BufferTelemetry.enable();
+
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.observeOn(scheduler).test();
+
+        for (int i = 0; i < 5; i++) {
+            pp.onNext(i);
+        }
+
+        BufferProbe.Snapshot s = single(BufferTelemetry.snapshot(), "observeOn").get(0);
+
+        assertEquals("observeOn", s.operator());
+        assertEquals(Flowable.bufferSize(), s.capacity());
+        assertEquals(5, s.occupancy());
+        assertEquals(5, s.highWaterMark());
+        assertEquals(Long.MAX_VALUE, s.outstandingRequest());
+        assertEquals(0, s.overflows());
+
+        scheduler.triggerActions();
+
+        s = single(BufferTelemetry.snapshot(), "observeOn").get(0);
+
+        assertEquals(0, s.occupancy());
+        assertEquals(5, s.highWaterMark());
+
+        pp.onComplete();
+        scheduler.triggerActions();
+
+        ts.assertValues(0, 1, 2, 3, 4).assertComplete();
+
+        assertTrue(BufferTelemetry.snapshot().isEmpty());
+    }
+
+    @Test
+    public void onBackpressureBuffer() {
+        BufferTelemetry.enable();
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.onBackpressureBuffer(2).test(0);
+
+        pp.onNext(1);
+        pp.onNext(2);
+
+        BufferProbe.Snapshot s = single(BufferTelemetry.snapshot(), "onBackpressureBuffer").get(0);
+
+        assertEquals(2, s.capacity());
+        assertEquals(2, s.occupancy());
+        assertEquals(0, s.outstandingRequest());
+        assertEquals(1.0, s.utilization(), 0.0);
+
+        ts.cancel();
+
+        assertTrue(BufferTelemetry.snapshot().isEmpty());
+    }
+
+    @Test
+    public void onBackpressureBufferDropOldest() {
+        BufferTelemetry.enable();
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.onBackpressureBuffer(2, null, BackpressureOverflowStrategy.DROP_OLDEST).test(0);
+
+        for (int i = 0; i < 5; i++) {
+            pp.onNext(i);
+        }
+
+        BufferProbe.Snapshot s = single(BufferTelemetry.snapshot(), "onBackpressureBufferDropOldest").get(0);
+
+        assertEquals(2, s.occupancy());
+        assertEquals(3, s.drops());
+        assertEquals(0, s.overflows());
+
+        ts.request(2);
+
+        ts.assertValues(3, 4);
+    }
+
+    @Test
+    public void totalsSurviveOverflow() {
+        BufferTelemetry.enable();
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.onBackpressureBuffer(2).test(0);
+
+        pp.onNext(1);
+        pp.onNext(2);
+        pp.onNext(3);
+
+        ts.assertFailure(MissingBackpressureException.class);
+
+        assertTrue(BufferTelemetry.snapshot().isEmpty());
+
+        Map<String, BufferTelemetry.Totals> totals = BufferTelemetry.totals();
+
+        assertEquals(1, totals.size());
+        Map.Entry<String, BufferTelemetry.Totals> e = totals.entrySet().iterator().next();
+        assertTrue(e.getKey(), e.getKey().startsWith(BufferTelemetryTest.class.getName() + ".totalsSurviveOverflow("));
+        assertEquals(1, e.getValue().overflows());
+        assertEquals(0, e.getValue().drops());
+    }
+
+    @Test
+    public void totalsSumSubscriptions() {
+        BufferTelemetry.enable();
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        Flowable<Integer> f = pp.onBackpressureBuffer(2, null, BackpressureOverflowStrategy.DROP_OLDEST);
+
+        TestSubscriber<Integer> ts1 = f.test(0);
+        TestSubscriber<Integer> ts2 = f.test(0);
+
+        for (int i = 0; i < 5; i++) {
+            pp.onNext(i);
+        }
+
+        ts1.cancel();
+        ts2.cancel();
+
+        assertTrue(BufferTelemetry.snapshot().isEmpty());
+
+        BufferTelemetry.Totals t = BufferTelemetry.totals().values().iterator().next();
+
+        assertEquals(6, t.drops());
+        assertEquals(0, t.overflows());
+    }
+
+    @Test
+    public void runOnRails() {
+        BufferTelemetry.enable();
+
+        TestScheduler scheduler = new TestScheduler();
+
+        TestSubscriber<Integer> ts = Flowable.range(1, 10).parallel(2).runOn(scheduler).sequential().test();
+
+        List<BufferProbe.Snapshot> list = single(BufferTelemetry.snapshot(), "runOnRails");
+
+        assertEquals(2, list.size());
+        for (BufferProbe.Snapshot s : list) {
+            assertEquals("runOn", s.operator());
+            assertEquals(5, s.occupancy());
+        }
+
+        scheduler.triggerActions();
+
+        ts.assertValueCount(10).assertComplete();
+
+        assertTrue(BufferTelemetry.snapshot().isEmpty());
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.*;
+
+import hu.akarnokd.reactivestreams.extensions.ConstantValuePublisher;
+import io.reactivex.common.*;
+import io.reactivex.common.exceptions.*;
+import io.reactivex.common.functions.Function;
+import io.reactivex.flowable.subscribers.TestSubscriber;
+
+public class FlowableAssemblyTrackingTest {
+
+    @After
+    public void after() {
+        AssemblyTracking.disable();
+        AssemblyTracking.reset();
+        OperatorInstrumentation.disable();
+        OperatorInstrumentation.reset();
+    }
+
+    @Test
+    public void disabledByDefault() {
+        assertFalse(AssemblyTracking.isEnabled());
+
+        Flowable<Integer> f = Flowable.<Integer>error(new TestException());
+
+        assertNull(AssemblyTracking.callSiteOf((Object)f));
+
+        TestSubscriber<Integer> ts = f.test();
+
+        ts.assertFailure(TestException.class);
+
+        assertNull(AssemblyTracking.callSiteOf(ts.errors().get(0)));
+    }
+
+    @Test
+    public void errorCarriesCallSite() {
+        AssemblyTracking.enable();
+
+        Flowable<Integer> f = Flowable.range(1, 5).map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                throw new IOException();
+            }
+        });
+
+        TestSubscriber<Integer> ts = f.test();
+
+        ts.assertFailure(IOException.class);
+
+        AssemblyTracking.CallSite cs = AssemblyTracking.callSiteOf(ts.errors().get(0));
+
+        assertNotNull(cs);
+        assertTrue(cs.location(), cs.location().startsWith(getClass().getName() + ".errorCarriesCallSite("));
+    }
+
+    @Test
+    public void sharedErrorNotModified() {
+        AssemblyTracking.enable();
+
+        IOException ex = new IOException();
+
+        Flowable<Integer> f1 = Flowable.<Integer>error(ex).hide();
+        Flowable<Integer> f2 = Flowable.<Integer>error(ex).hide();
+
+        Throwable e1 = f1.test().assertFailure(IOException.class).errors().get(0);
+        Throwable e2 = f2.test().assertFailure(IOException.class).errors().get(0);
+
+        assertSame(ex, e1);
+        assertSame(ex, e2);
+        assertNotNull(AssemblyTracking.callSiteOf(ex));
+        assertNull(ex.getCause());
+    }
+
+    @Test
+    public void fusedPollErrorCarriesCallSite() {
+        AssemblyTracking.enable();
+
+        Flowable<Integer> f = Flowable.range(1, 5).map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                throw new IOException();
+            }
+        });
+
+        // concatMap fuses with map in SYNC mode and polls it
+        TestSubscriber<Integer> ts = f.concatMap(new Function<Integer, Flowable<Integer>>() {
+            @Override
+            public Flowable<Integer> apply(Integer v) throws Exception {
+                return Flowable.just(v);
+            }
+        })
+        .test();
+
+        ts.assertFailure(IOException.class);
+
+        AssemblyTracking.CallSite cs = AssemblyTracking.callSiteOf(ts.errors().get(0));
+
+        assertNotNull(cs);
+        assertTrue(cs.location(), cs.location().startsWith(getClass().getName() + ".fusedPollErrorCarriesCallSite("));
+    }
+
+    @Test
+    public void scalarSourcesNotTracked() {
+        AssemblyTracking.enable();
+
+        Flowable<Integer> f = Flowable.just(1);
+
+        assertTrue(f instanceof ConstantValuePublisher);
+        assertNull(AssemblyTracking.callSiteOf((Object)f));
+    }
+
+    @Test
+    public void operatorMetricsCallSite() {
+        AssemblyTracking.enable();
+        OperatorInstrumentation.enable();
+
+        Flowable<Integer> f = Flowable.range(1, 5);
+
+        f.test().assertResult(1, 2, 3, 4, 5);
+
+        List<OperatorMetrics.Snapshot> list = OperatorInstrumentation.snapshot();
+
+        assertEquals(1, list.size());
+        assertEquals("FlowableRange", list.get(0).name());
+        assertEquals(5, list.get(0).emitted());
+
+        String cs = list.get(0).callSite();
+
+        assertTrue(cs, cs.startsWith(getClass().getName() + ".operatorMetricsCallSite("));
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.*;
+
+import io.reactivex.common.*;
+import io.reactivex.common.functions.*;
+import io.reactivex.common.internal.functions.Functions;
+import io.reactivex.flowable.subscribers.TestSubscriber;
+
+public class FlowableInstrumentationTest {
+
+    @After
+    public void after() {
+        OperatorInstrumentation.disable();
+        OperatorInstrumentation.reset();
+    }
+
+    @Test
+    public void disabledByDefault() {
+        assertFalse(OperatorInstrumentation.isEnabled());
+
+        Flowable.range(1, 5).map(Functions.<Integer>identity()).test().assertResult(1, 2, 3, 4, 5);
+
+        assertTrue(OperatorInstrumentation.snapshot().isEmpty());
+    }
+
+    @Test
+    public void countsSignals() {
+        OperatorInstrumentation.enable();
+
+        Flowable<Integer> source = Flowable.range(1, 10).hide();
+
+        TestSubscriber<Integer> ts = source.take(3).test(2);
+
+        ts.request(1);
+
+        ts.assertResult(1, 2, 3);
+
+        OperatorMetrics.Snapshot s = OperatorInstrumentation.metricsOf(source).snapshot();
+
+        assertEquals("FlowableHide", s.name());
+        assertEquals(3, s.emitted());
+        assertEquals(3, s.requested());
+        assertEquals(1, s.cancelled());
+    }
+
+    @Test
+    public void unboundedRequest() {
+        OperatorInstrumentation.enable();
+
+        Flowable<Integer> source = Flowable.range(1, 10);
+
+        source.test().assertValueCount(10);
+
+        OperatorMetrics.Snapshot s = OperatorInstrumentation.metricsOf(source).snapshot();
+
+        assertEquals(10, s.emitted());
+        assertEquals(Long.MAX_VALUE, s.requested());
+        assertEquals(0, s.cancelled());
+    }
+
+    @Test
+    public void fusionKept() {
+        OperatorInstrumentation.enable();
+
+        Flowable<Integer> source = Flowable.range(1, 10);
+
+        TestScheduler scheduler = new TestScheduler();
+
+        Flowable<Integer> observed = source.observeOn(scheduler);
+
+        TestSubscriber<Integer> ts = observed.test();
+
+        scheduler.triggerActions();
+
+        ts.assertValueCount(10).assertComplete();
+
+        // range is polled by observeOn instead of emitting into its queue
+        assertEquals(10, OperatorInstrumentation.metricsOf(source).snapshot().emitted());
+        assertEquals(0, OperatorInstrumentation.metricsOf(observed).snapshot().queueHighWaterMark());
+        assertEquals(10, OperatorInstrumentation.metricsOf(observed).snapshot().emitted());
+    }
+
+    @Test
+    public void queueHighWaterMark() {
+        OperatorInstrumentation.enable();
+
+        TestScheduler scheduler = new TestScheduler();
+
+        Flowable<Integer> observed = Flowable.range(1, 100).hide().observeOn(scheduler);
+
+        TestSubscriber<Integer> ts = observed.test();
+
+        scheduler.triggerActions();
+
+        ts.assertValueCount(100).assertComplete();
+
+        OperatorMetrics.Snapshot s = OperatorInstrumentation.metricsOf(observed).snapshot();
+
+        assertEquals(100, s.queueHighWaterMark());
+        assertTrue(s.drainLoops() > 0);
+        assertEquals(100, s.emitted());
+    }
+
+    @Test
+    public void conditionalDownstream() {
+        OperatorInstrumentation.enable();
+
+        Flowable<Integer> source = Flowable.range(1, 10);
+
+        source.filter(new Predicate<Integer>() {
+            @Override
+            public boolean test(Integer v) throws Exception {
+                return v % 2 == 0;
+            }
+        })
+        .test()
+        .assertResult(2, 4, 6, 8, 10);
+
+        assertEquals(10, OperatorInstrumentation.metricsOf(source).snapshot().emitted());
+    }
+
+    @Test
+    public void snapshotOrderedBySubscription() {
+        OperatorInstrumentation.enable();
+
+        Flowable<Integer> source = Flowable.just(1);
+        Flowable<Integer> hidden = source.hide();
+
+        hidden.test().assertResult(1);
+
+        List<OperatorMetrics.Snapshot> list = OperatorInstrumentation.snapshot();
+
+        assertEquals(2, list.size());
+        assertEquals("FlowableHide", list.get(0).name());
+        assertEquals("FlowableJust", list.get(1).name());
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.*;
+
+import org.junit.*;
+
+import io.reactivex.common.*;
+import io.reactivex.common.functions.Consumer;
+import io.reactivex.flowable.processors.PublishProcessor;
+import io.reactivex.flowable.subscribers.TestSubscriber;
+
+public class FlowableStallWatchdogTest {
+
+    final BlockingQueue<StallWatchdog.Stall> stalls = new LinkedBlockingQueue<StallWatchdog.Stall>();
+
+    @Before
+    public void before() {
+        BufferTelemetry.enable();
+        StallWatchdog.enable(50, TimeUnit.MILLISECONDS, new Consumer<StallWatchdog.Stall>() {
+            @Override
+            public void accept(StallWatchdog.Stall s) throws Exception {
+                stalls.offer(s);
+            }
+        });
+    }
+
+    @After
+    public void after() {
+        StallWatchdog.disable();
+        BufferTelemetry.disable();
+        BufferTelemetry.reset();
+    }
+
+    @Test
+    public void missingRequest() throws Exception {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.observeOn(Schedulers.single()).test(0);
+
+        pp.onNext(1);
+        pp.onNext(2);
+
+        StallWatchdog.Stall s = stalls.poll(5, TimeUnit.SECONDS);
+        assertNotNull(s);
+        assertEquals(StallWatchdog.Stall.Kind.QUEUE, s.kind());
+        assertTrue(s.subject(), s.subject().startsWith("observeOn @ " + FlowableStallWatchdogTest.class.getName() + ".missingRequest("));
+        assertEquals(2, s.queued());
+        assertEquals(0, s.requested());
+        assertNull(s.thread());
+
+        ts.request(2);
+        ts.awaitCount(2);
+        ts.assertValues(1, 2);
+
+        ts.cancel();
+    }
+
+    @Test
+    public void drainingNotReported() throws Exception {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.observeOn(Schedulers.single()).test();
+
+        for (int i = 0; i < 10; i++) {
+            pp.onNext(i);
+            Thread.sleep(20);
+        }
+
+        ts.awaitCount(10);
+
+        Thread.sleep(100);
+
+        assertTrue(stalls.toString(), stalls.isEmpty());
+
+        ts.cancel();
+    }
+}
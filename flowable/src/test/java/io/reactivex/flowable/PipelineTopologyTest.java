@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.*;
+
+import io.reactivex.common.*;
+import io.reactivex.common.functions.*;
+import io.reactivex.flowable.processors.PublishProcessor;
+import io.reactivex.flowable.subscribers.TestSubscriber;
+
+public class PipelineTopologyTest {
+
+    @After
+    public void after() {
+        PipelineTopology.disable();
+        PipelineTopology.reset();
+    }
+
+    static Flowable<Integer> chain(PublishProcessor<Integer> pp, Scheduler scheduler) {
+        return pp.map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                return v + 1;
+            }
+        })
+        .filter(new Predicate<Integer>() {
+            @Override
+            public boolean test(Integer v) throws Exception {
+                return true;
+            }
+        })
+        .observeOn(scheduler);
+    }
+
+    @Test
+    public void disabledByDefault() {
+        assertFalse(PipelineTopology.isEnabled());
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = chain(pp, new TestScheduler()).test();
+
+        assertTrue(PipelineTopology.snapshot().isEmpty());
+        assertEquals("", PipelineTopology.dump());
+
+        ts.cancel();
+    }
+
+    @Test
+    public void liveChain() {
+        PipelineTopology.enable();
+
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        // the operators are held weakly, keep the chain reachable
+        Flowable<Integer> f = chain(pp, scheduler);
+
+        TestSubscriber<Integer> ts = f.test(0);
+
+        for (int i = 0; i < 5; i++) {
+            pp.onNext(i);
+        }
+
+        List<PipelineTopology.Node> roots = PipelineTopology.snapshot();
+        assertEquals(roots.toString(), 1, roots.size());
+
+        PipelineTopology.Node n = roots.get(0);
+        assertEquals("FlowableObserveOn", n.operator());
+        assertEquals(1, n.consumers().size());
+        assertEquals(TestSubscriber.class.getName(), n.consumers().get(0).type());
+        assertFalse(n.consumers().get(0).isCancelled());
+
+        n = n.upstream();
+        assertEquals("FlowableFilter", n.operator());
+        PipelineTopology.ConsumerState s = n.consumers().get(0);
+        assertTrue(s.type(), s.type().contains("ObserveOn"));
+        assertEquals(5, s.queued());
+        assertEquals(0, s.requested());
+        assertFalse(s.isDone());
+
+        n = n.upstream();
+        assertEquals("FlowableMap", n.operator());
+
+        n = n.upstream();
+        assertEquals("PublishProcessor", n.operator());
+        assertNull(n.upstream());
+
+        String dump = PipelineTopology.dump();
+        assertTrue(dump, dump.startsWith("FlowableObserveOn\n"));
+        assertTrue(dump, dump.contains("queued=5, done=false, cancelled=false"));
+
+        ts.cancel();
+
+        assertNotNull(f);
+
+        roots = PipelineTopology.snapshot();
+        for (PipelineTopology.Node r : roots) {
+            assertNotEquals("FlowableObserveOn", r.operator());
+        }
+    }
+
+    @Test
+    public void terminatedDropped() {
+        PipelineTopology.enable();
+
+        Flowable.range(1, 5).observeOn(new TestScheduler()).test().cancel();
+
+        for (PipelineTopology.Node r : PipelineTopology.snapshot()) {
+            assertNotEquals("FlowableObserveOn", r.operator());
+        }
+    }
+
+    @Test
+    public void callSite() {
+        PipelineTopology.enable();
+        AssemblyTracking.enable();
+        try {
+            PublishProcessor<Integer> pp = PublishProcessor.create();
+
+            Flowable<Integer> f = pp.observeOn(new TestScheduler());
+
+            TestSubscriber<Integer> ts = f.test();
+
+            PipelineTopology.Node n = PipelineTopology.snapshot().get(0);
+            assertEquals("FlowableObserveOn", n.operator());
+            assertTrue(n.callSite(), n.callSite().startsWith(PipelineTopologyTest.class.getName() + ".callSite("));
+            assertEquals("PublishProcessor", n.upstream().operator());
+
+            ts.cancel();
+
+            assertNotNull(f);
+        } finally {
+            AssemblyTracking.disable();
+            AssemblyTracking.reset();
+        }
+    }
+}
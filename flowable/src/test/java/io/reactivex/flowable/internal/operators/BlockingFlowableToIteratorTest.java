@@ -16,14 +16,17 @@ package io.reactivex.flowable.internal.operators;
 import static org.junit.Assert.*;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.*;
 import org.reactivestreams.*;
 
+import io.reactivex.common.Schedulers;
 import io.reactivex.common.exceptions.*;
-import io.reactivex.flowable.Flowable;
+import io.reactivex.flowable.*;
 import io.reactivex.flowable.internal.operators.BlockingFlowableIterable.BlockingFlowableIterator;
 import io.reactivex.flowable.internal.subscriptions.BooleanSubscription;
+import io.reactivex.flowable.processors.PublishProcessor;
 
 public class BlockingFlowableToIteratorTest {
 
@@ -185,4 +188,99 @@ public class BlockingFlowableToIteratorTest {
 
         it.next();
     }
+
+    @Test
+    public void batched() {
+        Iterator<List<Integer>> it = Flowable.range(1, 10).blockingIterableBatched(4).iterator();
+
+        assertTrue(it.hasNext());
+        assertEquals(Arrays.asList(1, 2, 3, 4), it.next());
+        assertEquals(Arrays.asList(5, 6, 7, 8), it.next());
+        assertEquals(Arrays.asList(9, 10), it.next());
+        assertFalse(it.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void batchedEmpty() {
+        Iterator<List<Integer>> it = Flowable.<Integer>empty().blockingIterableBatched(4).iterator();
+
+        assertFalse(it.hasNext());
+        it.next();
+    }
+
+    @Test
+    public void batchedError() {
+        Iterator<List<Integer>> it = Flowable.<Integer>error(new TestException()).blockingIterableBatched(4).iterator();
+
+        try {
+            it.hasNext();
+            fail("Should have thrown");
+        } catch (TestException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void batchedAsyncMaxWait() {
+        int count = 100000;
+        List<Integer> all = new ArrayList<Integer>();
+        int lists = 0;
+        for (List<Integer> list : Flowable.range(1, count)
+                .subscribeOn(Schedulers.computation())
+                .blockingIterableBatched(256, 10, TimeUnit.MILLISECONDS)) {
+            assertFalse(list.isEmpty());
+            assertTrue(list.size() <= 256);
+            all.addAll(list);
+            lists++;
+        }
+
+        assertEquals(count, all.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i + 1, all.get(i).intValue());
+        }
+        assertTrue(lists >= count / 256);
+    }
+
+    @Test
+    public void batchedMaxWaitReturnsPartial() {
+        Iterator<List<Long>> it = Flowable.intervalRange(0, 3, 0, 50, TimeUnit.MILLISECONDS)
+                .blockingIterableBatched(10, 1, TimeUnit.MILLISECONDS).iterator();
+
+        List<Long> first = it.next();
+        assertTrue(first.size() < 3);
+
+        List<Long> all = new ArrayList<Long>(first);
+        while (it.hasNext()) {
+            all.addAll(it.next());
+        }
+        assertEquals(Arrays.asList(0L, 1L, 2L), all);
+    }
+
+    @Test
+    public void batchedFullAfterPartial() {
+        PublishProcessor<Integer> pp = PublishProcessor.create(1024, BackpressureOverflowStrategy.ERROR);
+
+        Iterator<List<Integer>> it = pp.blockingIterableBatched(128, 100, TimeUnit.MILLISECONDS).iterator();
+
+        for (int i = 0; i < 50; i++) {
+            pp.onNext(i);
+        }
+
+        assertEquals(50, it.next().size());
+
+        for (int i = 0; i < 200; i++) {
+            pp.onNext(i);
+        }
+
+        long start = System.nanoTime();
+
+        assertEquals(128, it.next().size());
+
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void batchedNegativeMaxWait() {
+        Flowable.just(1).blockingIterableBatched(1, -1, TimeUnit.SECONDS);
+    }
 }
@@ -154,6 +154,44 @@ public class FlowableBlockingTest {
         assertEquals(Arrays.asList(1, 2, 3, 4, 5, 100), list);
     }
 
+    @Test
+    public void blockingSubscribeObserverCancelledAsync() {
+        final List<Object> list = new ArrayList<Object>();
+
+        Flowable.never()
+        .blockingSubscribe(new RelaxedSubscriber<Object>() {
+
+            @Override
+            public void onSubscribe(final Subscription s) {
+                s.request(Long.MAX_VALUE);
+                Schedulers.single().scheduleDirect(new Runnable() {
+                    @Override
+                    public void run() {
+                        s.cancel();
+                    }
+                }, 50, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void onNext(Object value) {
+                list.add(value);
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                list.add(e);
+            }
+
+            @Override
+            public void onComplete() {
+                list.add(100);
+            }
+
+        });
+
+        assertEquals(Collections.emptyList(), list);
+    }
+
     @Test
     public void blockingSubscribeObserverError() {
         final List<Object> list = new ArrayList<Object>();
@@ -26,7 +26,7 @@ import org.mockito.*;
 import org.reactivestreams.*;
 
 import io.reactivex.common.*;
-import io.reactivex.common.exceptions.TestException;
+import io.reactivex.common.exceptions.*;
 import io.reactivex.common.functions.*;
 import io.reactivex.common.internal.functions.Functions;
 import io.reactivex.flowable.*;
@@ -1972,4 +1972,157 @@ public class FlowableBufferTest {
         .test()
         .assertResult(Arrays.asList(1, 2), Arrays.asList(4, 5), Arrays.asList(7, 8), Arrays.asList(10));
     }
+
+    @Test
+    public void timedExactUnboundedOnNextTimerRace() {
+        for (int i = 0; i < 1000; i++) {
+            final TestScheduler scheduler = new TestScheduler();
+            final PublishProcessor<Integer> pp = PublishProcessor.create();
+
+            final TestSubscriber<List<Integer>> ts = pp.buffer(1, TimeUnit.SECONDS, scheduler).test();
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10; j++) {
+                        pp.onNext(j);
+                    }
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+                }
+            };
+
+            TestCommonHelper.race(r1, r2);
+
+            pp.onComplete();
+
+            ts.assertNoErrors().assertComplete();
+
+            int count = 0;
+            for (List<Integer> list : ts.values()) {
+                count += list.size();
+            }
+            assertEquals(10, count);
+        }
+    }
+
+    @Test
+    public void timedExactUnboundedNoRequests() {
+        TestScheduler scheduler = new TestScheduler();
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<List<Integer>> ts = pp.buffer(1, TimeUnit.SECONDS, scheduler).test(0L);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        ts.assertFailure(MissingBackpressureException.class);
+
+        assertFalse(pp.hasSubscribers());
+    }
+
+    @Test
+    public void timedExactUnboundedSupplierCrashOnTick() {
+        TestScheduler scheduler = new TestScheduler();
+        final int[] calls = { 0 };
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<List<Integer>> ts = pp.buffer(1, 1, TimeUnit.SECONDS, scheduler, new Callable<List<Integer>>() {
+            @Override
+            public List<Integer> call() throws Exception {
+                if (++calls[0] == 2) {
+                    throw new TestException();
+                }
+                return new ArrayList<Integer>();
+            }
+        })
+        .test();
+
+        pp.onNext(1);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        ts.assertFailure(TestException.class);
+
+        assertFalse(pp.hasSubscribers());
+    }
+
+    @Test
+    public void timedExactBoundedOnNextTimerRace() {
+        for (int i = 0; i < 1000; i++) {
+            final TestScheduler scheduler = new TestScheduler();
+            final PublishProcessor<Integer> pp = PublishProcessor.create();
+
+            final TestSubscriber<List<Integer>> ts = pp.buffer(1, TimeUnit.SECONDS, scheduler, 3).test();
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10; j++) {
+                        pp.onNext(j);
+                    }
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+                }
+            };
+
+            TestCommonHelper.race(r1, r2);
+
+            pp.onComplete();
+
+            ts.assertNoErrors().assertComplete();
+
+            int count = 0;
+            for (List<Integer> list : ts.values()) {
+                assertTrue(list.toString(), list.size() <= 3);
+                count += list.size();
+            }
+            assertEquals(10, count);
+        }
+    }
+
+    @Test
+    public void timedSkipOnNextTimerRace() {
+        for (int i = 0; i < 1000; i++) {
+            final TestScheduler scheduler = new TestScheduler();
+            final PublishProcessor<Integer> pp = PublishProcessor.create();
+
+            final TestSubscriber<List<Integer>> ts = pp.buffer(2, 1, TimeUnit.SECONDS, scheduler).test();
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10; j++) {
+                        pp.onNext(j);
+                    }
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+                }
+            };
+
+            TestCommonHelper.race(r1, r2);
+
+            pp.onComplete();
+
+            ts.assertNoErrors().assertComplete().assertValueCount(2);
+
+            assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), ts.values().get(0));
+        }
+    }
 }
@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.internal.operators;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.common.*;
+import io.reactivex.common.exceptions.TestException;
+import io.reactivex.common.functions.*;
+import io.reactivex.flowable.*;
+import io.reactivex.flowable.processors.PublishProcessor;
+import io.reactivex.flowable.subscribers.TestSubscriber;
+
+public class FlowableCacheBoundedTest {
+
+    static final Function<String, Long> LENGTH = new Function<String, Long>() {
+        @Override
+        public Long apply(String v) throws Exception {
+            return (long)v.length();
+        }
+    };
+
+    @Test
+    public void maxItems() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+        CachedFlowable<Integer> cache = pp.cacheBounded(3);
+
+        TestSubscriber<Integer> ts1 = cache.test();
+
+        for (int i = 1; i <= 5; i++) {
+            pp.onNext(i);
+        }
+
+        assertEquals(3, cache.retainedCount());
+        assertEquals(0, cache.retainedBytes());
+
+        cache.test().assertValues(3, 4, 5).assertNotComplete();
+
+        pp.onComplete();
+
+        ts1.assertResult(1, 2, 3, 4, 5);
+        cache.test().assertResult(3, 4, 5);
+    }
+
+    @Test
+    public void connectsOnce() {
+        final int[] subscriptions = { 0 };
+        CachedFlowable<Integer> cache = Flowable.range(1, 10)
+                .doOnSubscribe(new Consumer<Subscription>() {
+                    @Override
+                    public void accept(Subscription s) throws Exception {
+                        subscriptions[0]++;
+                    }
+                })
+                .cacheBounded(4);
+
+        assertEquals(0, subscriptions[0]);
+
+        cache.test().assertResult(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        cache.test().assertResult(7, 8, 9, 10);
+
+        assertEquals(1, subscriptions[0]);
+    }
+
+    @Test
+    public void backpressuredLaggardKeepsEvictedItems() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+        CachedFlowable<Integer> cache = pp.cacheBounded(2);
+
+        TestSubscriber<Integer> ts = cache.test(1);
+
+        for (int i = 1; i <= 5; i++) {
+            pp.onNext(i);
+        }
+        pp.onComplete();
+
+        ts.assertValues(1).assertNotComplete();
+
+        ts.request(10);
+
+        ts.assertResult(1, 2, 3, 4, 5);
+        assertEquals(2, cache.retainedCount());
+    }
+
+    @Test
+    public void maxBytes() {
+        PublishProcessor<String> pp = PublishProcessor.create();
+        CachedFlowable<String> cache = pp.cacheBounded(Integer.MAX_VALUE, 10, LENGTH,
+                Long.MAX_VALUE, TimeUnit.MILLISECONDS, Schedulers.trampoline());
+
+        cache.test();
+
+        pp.onNext("aaaa");
+        pp.onNext("bbbb");
+
+        assertEquals(2, cache.retainedCount());
+        assertEquals(8, cache.retainedBytes());
+
+        pp.onNext("cccc");
+
+        assertEquals(2, cache.retainedCount());
+        assertEquals(8, cache.retainedBytes());
+
+        pp.onNext("dddddddddddd");
+
+        assertEquals(0, cache.retainedCount());
+        assertEquals(0, cache.retainedBytes());
+
+        pp.onNext("e");
+        pp.onComplete();
+
+        cache.test().assertResult("e");
+    }
+
+    @Test
+    public void maxAge() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+        CachedFlowable<Integer> cache = pp.cacheBounded(10, TimeUnit.SECONDS, scheduler);
+
+        cache.test();
+
+        pp.onNext(1);
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+        pp.onNext(2);
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+        pp.onNext(3);
+
+        assertEquals(2, cache.retainedCount());
+        cache.test().assertValues(2, 3);
+
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+
+        cache.test().assertValues(3);
+
+        pp.onComplete();
+        scheduler.advanceTimeBy(1, TimeUnit.MINUTES);
+
+        cache.test().assertResult();
+    }
+
+    @Test
+    public void error() {
+        CachedFlowable<Integer> cache = Flowable.range(1, 5)
+                .concatWith(Flowable.<Integer>error(new TestException()))
+                .cacheBounded(2);
+
+        cache.test().assertFailure(TestException.class, 1, 2, 3, 4, 5);
+        cache.test().assertFailure(TestException.class, 4, 5);
+    }
+
+    @Test
+    public void estimatorCrash() {
+        CachedFlowable<String> cache = Flowable.just("a", "b")
+                .cacheBounded(10, 10, new Function<String, Long>() {
+                    @Override
+                    public Long apply(String v) throws Exception {
+                        throw new TestException();
+                    }
+                }, Long.MAX_VALUE, TimeUnit.MILLISECONDS, Schedulers.trampoline());
+
+        cache.test().assertFailure(TestException.class);
+    }
+
+    @Test
+    public void cancelStopsReplay() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+        CachedFlowable<Integer> cache = pp.cacheBounded(5);
+
+        TestSubscriber<Integer> ts = cache.test();
+        pp.onNext(1);
+        ts.cancel();
+        pp.onNext(2);
+
+        ts.assertValues(1);
+        assertTrue(pp.hasSubscribers());
+    }
+
+    @Test
+    public void asyncConsumers() {
+        CachedFlowable<Integer> cache = Flowable.range(1, 10000)
+                .subscribeOn(Schedulers.computation())
+                .cacheBounded(16);
+
+        TestSubscriber<Integer> ts = cache.observeOn(Schedulers.single()).test();
+
+        ts.awaitDone(5, TimeUnit.SECONDS)
+        .assertValueCount(10000)
+        .assertNoErrors()
+        .assertComplete();
+
+        assertTrue(cache.retainedCount() <= 16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroMaxItems() {
+        Flowable.just(1).cacheBounded(0);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void assemblyHook() {
+        final List<Object> seen = new ArrayList<Object>();
+        RxJavaFlowablePlugins.setOnFlowableAssembly(new Function<Flowable, Flowable>() {
+            @Override
+            public Flowable apply(Flowable f) throws Exception {
+                seen.add(f);
+                return f;
+            }
+        });
+        try {
+            CachedFlowable<Integer> cache = Flowable.range(1, 5).cacheBounded(2);
+
+            assertTrue(seen.contains(cache));
+
+            cache.test().assertResult(1, 2, 3, 4, 5);
+            cache.test().assertResult(4, 5);
+        } finally {
+            RxJavaFlowablePlugins.reset();
+        }
+    }
+
+    @Test
+    public void assemblyTrackingKeepsCachedType() {
+        AssemblyTracking.enable();
+        try {
+            PublishProcessor<Integer> pp = PublishProcessor.create();
+            CachedFlowable<Integer> cache = pp.cacheBounded(2);
+
+            TestSubscriber<Integer> ts = cache.test();
+
+            pp.onNext(1);
+            pp.onNext(2);
+            pp.onNext(3);
+
+            assertEquals(2, cache.retainedCount());
+
+            pp.onComplete();
+
+            ts.assertResult(1, 2, 3);
+            cache.test().assertResult(2, 3);
+        } finally {
+            AssemblyTracking.disable();
+            AssemblyTracking.reset();
+        }
+    }
+}
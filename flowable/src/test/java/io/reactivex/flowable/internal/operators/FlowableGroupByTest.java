@@ -27,9 +27,10 @@ import org.reactivestreams.*;
 
 import hu.akarnokd.reactivestreams.extensions.FusedQueueSubscription;
 import io.reactivex.common.*;
-import io.reactivex.common.exceptions.TestException;
+import io.reactivex.common.exceptions.*;
 import io.reactivex.common.functions.*;
 import io.reactivex.common.internal.functions.Functions;
+import io.reactivex.common.internal.schedulers.ImmediateThinScheduler;
 import io.reactivex.flowable.*;
 import io.reactivex.flowable.internal.subscriptions.BooleanSubscription;
 import io.reactivex.flowable.processors.PublishProcessor;
@@ -1841,4 +1842,202 @@ public class FlowableGroupByTest {
         .test()
         .assertResult(1);
     }
+
+    static final Function<GroupedFlowable<Integer, Integer>, Publisher<List<Integer>>> GROUP_TO_LIST =
+            new Function<GroupedFlowable<Integer, Integer>, Publisher<List<Integer>>>() {
+        @Override
+        public Publisher<List<Integer>> apply(GroupedFlowable<Integer, Integer> g) throws Exception {
+            return g.toList();
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void maxGroupsEvictsLeastRecentlyUsed() {
+        Flowable.just(1, 2, 1, 3, 2)
+        .groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), false, 16, 2)
+        .flatMap(GROUP_TO_LIST)
+        .test()
+        .assertResult(Arrays.asList(2), Arrays.asList(1, 1), Arrays.asList(3), Arrays.asList(2));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void idleGroupsEvicted() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<List<Integer>> ts = pp
+        .groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), false, 16, Integer.MAX_VALUE,
+                1, TimeUnit.SECONDS, scheduler)
+        .flatMap(GROUP_TO_LIST)
+        .test();
+
+        pp.onNext(1);
+        pp.onNext(2);
+
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+
+        pp.onNext(2);
+
+        ts.assertEmpty();
+
+        scheduler.advanceTimeBy(600, TimeUnit.MILLISECONDS);
+
+        pp.onNext(2);
+
+        ts.assertValues(Arrays.asList(1))
+        .assertNoErrors()
+        .assertNotComplete();
+
+        pp.onNext(1);
+        pp.onComplete();
+
+        ts.assertResult(Arrays.asList(1), Arrays.asList(2, 2, 2), Arrays.asList(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void maxGroupsCancelledGroupReplaced() {
+        Flowable.just(1, 1, 2, 1, 3)
+        .groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), false, 16, 2)
+        .flatMap(new Function<GroupedFlowable<Integer, Integer>, Publisher<List<Integer>>>() {
+            @Override
+            public Publisher<List<Integer>> apply(GroupedFlowable<Integer, Integer> g) throws Exception {
+                return g.take(1).toList();
+            }
+        })
+        .test()
+        .assertResult(Arrays.asList(1), Arrays.asList(1), Arrays.asList(2), Arrays.asList(1), Arrays.asList(3));
+    }
+
+    TestSubscriber<Integer> groupCapacity(BackpressureOverflowStrategy strategy) {
+        TestSubscriber<GroupedFlowable<Integer, Integer>> ts = Flowable.range(1, 10)
+        .groupBy(Functions.justFunction(1), Functions.<Integer>identity(), false, 4, Integer.MAX_VALUE,
+                Long.MAX_VALUE, TimeUnit.NANOSECONDS, ImmediateThinScheduler.INSTANCE, 3, strategy)
+        .test();
+
+        ts.assertValueCount(1).assertComplete();
+
+        TestSubscriber<Integer> ts2 = ts.values().get(0).test(0);
+
+        ts2.assertEmpty();
+
+        ts2.request(10);
+
+        return ts2;
+    }
+
+    @Test
+    public void groupCapacityDropLatest() {
+        groupCapacity(BackpressureOverflowStrategy.DROP_LATEST)
+        .assertResult(1, 2, 10);
+    }
+
+    @Test
+    public void groupCapacityDropLatestFused() {
+        TestSubscriber<Integer> ts = SubscriberFusion.newTest(FusedQueueSubscription.ANY);
+
+        Flowable.range(1, 10)
+        .groupBy(Functions.justFunction(1), Functions.<Integer>identity(), false, 4, Integer.MAX_VALUE,
+                Long.MAX_VALUE, TimeUnit.NANOSECONDS, ImmediateThinScheduler.INSTANCE, 3, BackpressureOverflowStrategy.DROP_LATEST)
+        .blockingFirst()
+        .subscribe(ts);
+
+        SubscriberFusion.assertFusion(ts, FusedQueueSubscription.ASYNC)
+        .assertResult(1, 2, 10);
+    }
+
+    @Test
+    public void groupCapacityDropOldest() {
+        groupCapacity(BackpressureOverflowStrategy.DROP_OLDEST)
+        .assertResult(8, 9, 10);
+    }
+
+    @Test
+    public void groupCapacityDropOldestNotFused() {
+        TestSubscriber<Integer> ts = SubscriberFusion.newTest(FusedQueueSubscription.ANY);
+
+        Flowable.range(1, 10)
+        .groupBy(Functions.justFunction(1), Functions.<Integer>identity(), false, 4, Integer.MAX_VALUE,
+                Long.MAX_VALUE, TimeUnit.NANOSECONDS, ImmediateThinScheduler.INSTANCE, 3, BackpressureOverflowStrategy.DROP_OLDEST)
+        .blockingFirst()
+        .subscribe(ts);
+
+        SubscriberFusion.assertFusion(ts, FusedQueueSubscription.NONE)
+        .assertResult(8, 9, 10);
+    }
+
+    @Test
+    public void groupCapacityDropOldestWhileDraining() {
+        final PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        final TestSubscriber<Integer> ts = new TestSubscriber<Integer>(1L) {
+            @Override
+            public void onNext(Integer t) {
+                super.onNext(t);
+                if (t == 1) {
+                    for (int i = 2; i <= 6; i++) {
+                        pp.onNext(i);
+                    }
+                }
+            }
+        };
+
+        pp.groupBy(Functions.justFunction(1), Functions.<Integer>identity(), false, 16, Integer.MAX_VALUE,
+                Long.MAX_VALUE, TimeUnit.NANOSECONDS, ImmediateThinScheduler.INSTANCE, 2, BackpressureOverflowStrategy.DROP_OLDEST)
+        .subscribe(new Consumer<GroupedFlowable<Integer, Integer>>() {
+            @Override
+            public void accept(GroupedFlowable<Integer, Integer> g) throws Exception {
+                g.subscribe(ts);
+            }
+        });
+
+        pp.onNext(1);
+
+        ts.assertValue(1);
+
+        ts.request(10);
+
+        ts.assertValues(1, 5, 6);
+    }
+
+    @Test
+    public void groupCapacityErrorDelayErrorRequests() {
+        final List<Long> requests = new ArrayList<Long>();
+
+        TestSubscriber<GroupedFlowable<Integer, Integer>> ts = Flowable.range(1, 3)
+        .doOnRequest(new LongConsumer() {
+            @Override
+            public void accept(long n) throws Exception {
+                requests.add(n);
+            }
+        })
+        .groupBy(Functions.justFunction(1), Functions.<Integer>identity(), true, 16, Integer.MAX_VALUE,
+                Long.MAX_VALUE, TimeUnit.NANOSECONDS, ImmediateThinScheduler.INSTANCE, 2, BackpressureOverflowStrategy.ERROR)
+        .test();
+
+        ts.values().get(0).test()
+        .assertFailure(MissingBackpressureException.class, 1, 2);
+
+        // the prefetch, the replenishment for the group emitted and the item that didn't fit;
+        // the buffered items are delivered, not discarded, so they aren't requested again
+        assertEquals(Arrays.asList(16L, 1L, 1L), requests);
+    }
+
+    @Test
+    public void groupCapacityError() {
+        TestSubscriber<GroupedFlowable<Integer, Integer>> ts = Flowable.range(1, 5)
+        .groupBy(Functions.justFunction(1), Functions.<Integer>identity(), false, 16, Integer.MAX_VALUE,
+                Long.MAX_VALUE, TimeUnit.NANOSECONDS, ImmediateThinScheduler.INSTANCE, 2, BackpressureOverflowStrategy.ERROR)
+        .test();
+
+        ts.assertValueCount(2).assertComplete();
+
+        ts.values().get(0).test(0)
+        .assertFailure(MissingBackpressureException.class);
+
+        ts.values().get(1).test()
+        .assertResult(4, 5);
+    }
 }
@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.internal.operators;
+
+import static org.junit.Assert.assertFalse;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.common.*;
+import io.reactivex.common.exceptions.TestException;
+import io.reactivex.common.functions.*;
+import io.reactivex.flowable.*;
+import io.reactivex.flowable.processors.PublishProcessor;
+import io.reactivex.flowable.subscribers.TestSubscriber;
+
+public class FlowableObserveOnCoalesceTest {
+
+    static final BiFunction<Integer, Integer, Integer> SUM = new BiFunction<Integer, Integer, Integer>() {
+        @Override
+        public Integer apply(Integer a, Integer b) throws Exception {
+            return a + b;
+        }
+    };
+
+    @Test
+    public void latestWins() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.observeOnLatest(scheduler).test();
+
+        pp.onNext(1);
+        pp.onNext(2);
+        pp.onNext(3);
+
+        ts.assertEmpty();
+
+        scheduler.triggerActions();
+
+        ts.assertValue(3);
+
+        pp.onNext(4);
+        pp.onComplete();
+
+        scheduler.triggerActions();
+
+        ts.assertResult(3, 4);
+    }
+
+    @Test
+    public void coalesce() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.observeOnCoalesce(scheduler, SUM).test();
+
+        pp.onNext(1);
+        pp.onNext(2);
+        pp.onNext(3);
+
+        scheduler.triggerActions();
+
+        ts.assertValue(6);
+
+        pp.onNext(4);
+        pp.onNext(5);
+        pp.onComplete();
+
+        scheduler.triggerActions();
+
+        ts.assertResult(6, 9);
+    }
+
+    @Test
+    public void coalesceWhileNoDemand() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.observeOnCoalesce(scheduler, SUM).test(0);
+
+        pp.onNext(1);
+        pp.onNext(2);
+
+        scheduler.triggerActions();
+
+        ts.assertEmpty();
+
+        pp.onNext(3);
+
+        ts.request(1);
+        scheduler.triggerActions();
+
+        ts.assertValue(6);
+
+        pp.onNext(4);
+        pp.onComplete();
+
+        scheduler.triggerActions();
+
+        ts.assertValue(6).assertNotComplete();
+
+        ts.request(1);
+        scheduler.triggerActions();
+
+        ts.assertResult(6, 4);
+    }
+
+    @Test
+    public void errorCutsAhead() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.observeOnCoalesce(scheduler, SUM).test();
+
+        pp.onNext(1);
+        pp.onError(new TestException());
+
+        scheduler.triggerActions();
+
+        ts.assertFailure(TestException.class);
+    }
+
+    @Test
+    public void errorDelayed() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.observeOnCoalesce(scheduler, SUM, true).test();
+
+        pp.onNext(1);
+        pp.onNext(2);
+        pp.onError(new TestException());
+
+        scheduler.triggerActions();
+
+        ts.assertFailure(TestException.class, 3);
+    }
+
+    @Test
+    public void coalescerCrash() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.observeOnCoalesce(scheduler, new BiFunction<Integer, Integer, Integer>() {
+            @Override
+            public Integer apply(Integer a, Integer b) throws Exception {
+                throw new TestException();
+            }
+        }).test();
+
+        pp.onNext(1);
+        pp.onNext(2);
+
+        scheduler.triggerActions();
+
+        ts.assertFailure(TestException.class);
+        assertFalse(pp.hasSubscribers());
+    }
+
+    @Test
+    public void async() {
+        Flowable.range(1, 1000)
+        .observeOnCoalesce(Schedulers.single(), SUM)
+        .reduce(0, SUM)
+        .test()
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertResult(500500);
+    }
+
+    @Test
+    public void dispose() {
+        TestHelper.checkDisposed(PublishProcessor.create().observeOnLatest(new TestScheduler()));
+    }
+
+    @Test
+    public void doubleOnSubscribe() {
+        TestHelper.checkDoubleOnSubscribeFlowable(new Function<Flowable<Object>, Publisher<Object>>() {
+            @Override
+            public Publisher<Object> apply(Flowable<Object> f) throws Exception {
+                return f.observeOnLatest(new TestScheduler());
+            }
+        });
+    }
+}
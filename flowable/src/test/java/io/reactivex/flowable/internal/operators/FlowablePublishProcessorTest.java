@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.internal.operators;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.Test;
+
+import io.reactivex.common.Disposable;
+import io.reactivex.common.exceptions.*;
+import io.reactivex.common.functions.Consumer;
+import io.reactivex.flowable.*;
+import io.reactivex.flowable.processors.PublishProcessor;
+import io.reactivex.flowable.subscribers.TestSubscriber;
+
+public class FlowablePublishProcessorTest {
+
+    @Test
+    public void normal() {
+        ConnectableFlowable<Integer> cf = Flowable.range(1, 5).publishRing();
+
+        TestSubscriber<Integer> ts1 = cf.test();
+        TestSubscriber<Integer> ts2 = cf.test();
+
+        ts1.assertEmpty();
+
+        cf.connect();
+
+        ts1.assertResult(1, 2, 3, 4, 5);
+        ts2.assertResult(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void slowSubscriberBoundedByCapacity() {
+        ConnectableFlowable<Integer> cf = Flowable.range(1, 100).publishRing(16);
+
+        TestSubscriber<Integer> fast = cf.test();
+        TestSubscriber<Integer> slow = cf.test(0L);
+
+        cf.connect();
+
+        fast.assertValueCount(16).assertNoErrors().assertNotComplete();
+
+        slow.request(100);
+
+        fast.assertValueCount(100).assertNoErrors().assertComplete();
+        slow.assertValueCount(100).assertNoErrors().assertComplete();
+    }
+
+    @Test
+    public void error() {
+        ConnectableFlowable<Integer> cf = Flowable.<Integer>error(new TestException()).publishRing();
+
+        TestSubscriber<Integer> ts = cf.test();
+
+        cf.connect();
+
+        ts.assertFailure(TestException.class);
+    }
+
+    @Test
+    public void reconnectAfterTermination() {
+        ConnectableFlowable<Integer> cf = Flowable.range(1, 3).publishRing();
+
+        TestSubscriber<Integer> ts1 = cf.test();
+
+        cf.connect();
+
+        ts1.assertResult(1, 2, 3);
+
+        TestSubscriber<Integer> ts2 = cf.test();
+
+        ts2.assertEmpty();
+
+        cf.connect();
+
+        ts2.assertResult(1, 2, 3);
+    }
+
+    @Test
+    public void disconnect() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        ConnectableFlowable<Integer> cf = pp.publishRing();
+
+        TestSubscriber<Integer> ts = cf.test();
+
+        Disposable d = cf.connect();
+
+        assertTrue(pp.hasSubscribers());
+
+        pp.onNext(1);
+
+        d.dispose();
+
+        assertTrue(d.isDisposed());
+        assertFalse(pp.hasSubscribers());
+
+        ts.assertValues(1).assertNoErrors().assertNotComplete();
+
+        TestSubscriber<Integer> ts2 = cf.test();
+
+        cf.connect();
+
+        pp.onNext(2);
+        pp.onComplete();
+
+        ts2.assertResult(2);
+    }
+
+    @Test
+    public void connectTwice() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        ConnectableFlowable<Integer> cf = pp.publishRing();
+
+        Disposable d1 = cf.connect();
+        Disposable d2 = cf.connect();
+
+        assertSame(d1, d2);
+
+        d1.dispose();
+    }
+
+    @Test
+    public void dispose() {
+        TestHelper.checkDisposed(Flowable.never().publishRing());
+    }
+
+    @Test
+    public void isolatedSlowSubscriberDropOldest() {
+        final List<Integer> spilled = new ArrayList<Integer>();
+
+        ConnectableFlowable<Integer> cf = Flowable.range(1, 10)
+                .publish(4, BackpressureOverflowStrategy.DROP_OLDEST, new Consumer<Integer>() {
+                    @Override
+                    public void accept(Integer v) throws Exception {
+                        spilled.add(v);
+                    }
+                });
+
+        TestSubscriber<Integer> fast = cf.test();
+        TestSubscriber<Integer> slow = cf.test(0L);
+
+        cf.connect();
+
+        fast.assertResult(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        slow.assertEmpty();
+
+        slow.request(10);
+
+        slow.assertResult(7, 8, 9, 10);
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), spilled);
+    }
+
+    @Test
+    public void isolatedSlowSubscriberError() {
+        ConnectableFlowable<Integer> cf = Flowable.range(1, 10)
+                .publish(4, BackpressureOverflowStrategy.ERROR);
+
+        TestSubscriber<Integer> fast = cf.test();
+        TestSubscriber<Integer> slow = cf.test(2L);
+
+        cf.connect();
+
+        fast.assertResult(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        slow.assertFailure(MissingBackpressureException.class, 1, 2);
+    }
+
+    @Test
+    public void isolatedDispose() {
+        TestHelper.checkDisposed(Flowable.never().publish(4, BackpressureOverflowStrategy.DROP_LATEST));
+    }
+}
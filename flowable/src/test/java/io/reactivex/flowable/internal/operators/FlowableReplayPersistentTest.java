@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.internal.operators;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+import io.reactivex.common.TestScheduler;
+import io.reactivex.common.exceptions.TestException;
+import io.reactivex.common.functions.Function;
+import io.reactivex.flowable.*;
+import io.reactivex.flowable.processors.PublishProcessor;
+import io.reactivex.flowable.subscribers.TestSubscriber;
+
+public class FlowableReplayPersistentTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    static final Function<Integer, byte[]> ENCODER = new Function<Integer, byte[]>() {
+        @Override
+        public byte[] apply(Integer v) {
+            return v.toString().getBytes();
+        }
+    };
+
+    static final Function<byte[], Integer> DECODER = new Function<byte[], Integer>() {
+        @Override
+        public Integer apply(byte[] b) {
+            return Integer.valueOf(new String(b));
+        }
+    };
+
+    File dir() {
+        return new File(folder.getRoot(), "replay");
+    }
+
+    int segments() {
+        return dir().list().length;
+    }
+
+    @Test
+    public void replayToLateSubscriber() {
+        ConnectableFlowable<Integer> co = Flowable.range(1, 5).replay(dir(), ENCODER, DECODER);
+
+        co.test().assertEmpty();
+
+        co.connect();
+
+        co.test().assertResult(1, 2, 3, 4, 5);
+        co.test().assertResult(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void live() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        ConnectableFlowable<Integer> co = pp.replay(dir(), ENCODER, DECODER);
+
+        TestSubscriber<Integer> ts = co.test();
+
+        co.connect();
+
+        pp.onNext(1);
+        pp.onNext(2);
+
+        ts.assertValues(1, 2);
+
+        TestSubscriber<Integer> ts2 = co.test();
+
+        ts2.assertValues(1, 2);
+
+        pp.onNext(3);
+        pp.onComplete();
+
+        ts.assertResult(1, 2, 3);
+        ts2.assertResult(1, 2, 3);
+    }
+
+    @Test
+    public void backpressured() {
+        ConnectableFlowable<Integer> co = Flowable.range(1, 5).replay(dir(), ENCODER, DECODER);
+
+        co.connect();
+
+        TestSubscriber<Integer> ts = co.test(0L);
+
+        ts.assertEmpty();
+
+        ts.request(2);
+
+        ts.assertValues(1, 2).assertNotComplete();
+
+        ts.request(3);
+
+        ts.assertResult(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void historySurvivesNewInstance() {
+        ConnectableFlowable<Integer> co = Flowable.range(1, 5).replay(dir(), ENCODER, DECODER);
+        co.connect();
+
+        co.test().assertResult(1, 2, 3, 4, 5);
+
+        // a fresh operator over the same directory, as after a restart
+        ConnectableFlowable<Integer> co2 = Flowable.range(6, 3).replay(dir(), ENCODER, DECODER);
+
+        TestSubscriber<Integer> ts = co2.test();
+
+        co2.connect();
+
+        ts.assertResult(1, 2, 3, 4, 5, 6, 7, 8);
+    }
+
+    @Test
+    public void partiallyWrittenRecordIgnored() throws Exception {
+        Flowable.range(1, 3).replay(dir(), ENCODER, DECODER).autoConnect().test().assertResult(1, 2, 3);
+
+        File[] files = dir().listFiles();
+        assertEquals(1, files.length);
+
+        RandomAccessFile raf = new RandomAccessFile(files[0], "rw");
+        try {
+            raf.seek(raf.length());
+            // a header claiming 100 bytes of payload that never arrived
+            raf.writeInt(100);
+            raf.writeLong(0L);
+            raf.write(1);
+        } finally {
+            raf.close();
+        }
+
+        ConnectableFlowable<Integer> co = Flowable.range(4, 2).replay(dir(), ENCODER, DECODER);
+
+        // the recovered history is available before connecting
+        TestSubscriber<Integer> ts = co.test();
+
+        ts.assertValues(1, 2, 3).assertNotComplete();
+
+        co.connect();
+
+        ts.assertResult(1, 2, 3, 4, 5);
+        co.test().assertResult(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void sizeRetention() {
+        ConnectableFlowable<Integer> co = Flowable.range(1, 100)
+                .replay(dir(), ENCODER, DECODER, 100, 1, TimeUnit.DAYS, new TestScheduler());
+
+        co.test();
+
+        co.connect();
+
+        TestSubscriber<Integer> ts = co.test();
+
+        ts.assertNoErrors().assertComplete();
+
+        assertEquals(100, ts.values().get(ts.valueCount() - 1).intValue());
+        assertTrue("" + ts.valueCount(), ts.valueCount() < 20);
+        assertTrue("" + segments(), segments() < 10);
+    }
+
+    @Test
+    public void timeRetention() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        ConnectableFlowable<Integer> co = pp
+                .replay(dir(), ENCODER, DECODER, 120, 5, TimeUnit.SECONDS, scheduler);
+
+        co.test();
+
+        co.connect();
+
+        for (int i = 1; i <= 20; i++) {
+            pp.onNext(i);
+            scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        }
+
+        // now at 20s, the items emitted after 15s are live
+        co.test().assertValues(17, 18, 19, 20);
+
+        int before = segments();
+
+        scheduler.advanceTimeBy(100, TimeUnit.SECONDS);
+
+        pp.onNext(21);
+
+        assertTrue(segments() < before);
+
+        co.test().assertValue(21);
+    }
+
+    @Test
+    public void encoderCrash() {
+        Flowable.range(1, 5).replay(dir(), new Function<Integer, byte[]>() {
+            @Override
+            public byte[] apply(Integer v) throws Exception {
+                if (v == 3) {
+                    throw new TestException();
+                }
+                return ENCODER.apply(v);
+            }
+        }, DECODER)
+        .autoConnect()
+        .test()
+        .assertFailure(TestException.class, 1, 2);
+    }
+
+    @Test
+    public void encoderCrashCancelsUpstream() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        ConnectableFlowable<Integer> co = pp.replay(dir(), new Function<Integer, byte[]>() {
+            @Override
+            public byte[] apply(Integer v) throws Exception {
+                if (v == 2) {
+                    throw new TestException();
+                }
+                return ENCODER.apply(v);
+            }
+        }, DECODER);
+
+        TestSubscriber<Integer> ts = co.test();
+
+        co.connect();
+
+        pp.onNext(1);
+        pp.onNext(2);
+
+        assertFalse(pp.hasSubscribers());
+        ts.assertFailure(TestException.class, 1);
+
+        co.test().assertFailure(TestException.class, 1);
+    }
+
+    @Test
+    public void decoderCrash() {
+        ConnectableFlowable<Integer> co = Flowable.range(1, 5).replay(dir(), ENCODER, new Function<byte[], Integer>() {
+            @Override
+            public Integer apply(byte[] b) throws Exception {
+                Integer v = DECODER.apply(b);
+                if (v == 3) {
+                    throw new TestException();
+                }
+                return v;
+            }
+        });
+
+        co.connect();
+
+        co.test().assertFailure(TestException.class, 1, 2);
+    }
+
+    @Test
+    public void cancelAndResubscribe() {
+        ConnectableFlowable<Integer> co = Flowable.range(1, 5).replay(dir(), ENCODER, DECODER);
+        co.connect();
+
+        TestSubscriber<Integer> ts = co.test(2L);
+        ts.assertValues(1, 2);
+        ts.cancel();
+
+        co.test().assertResult(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void badArguments() {
+        try {
+            Flowable.<Integer>never().replay(dir(), ENCODER, DECODER, 0, 1, TimeUnit.DAYS, new TestScheduler());
+            fail("Should have thrown");
+        } catch (IllegalArgumentException ex) {
+            assertEquals("maxBytes > 0 required but it was 0", ex.getMessage());
+        }
+    }
+}
@@ -1674,6 +1674,39 @@ public class FlowableReplayTest {
         Assert.assertTrue(buf.hasError());
     }
 
+    @Test
+    public void testTimedTruncationAcrossSegments() {
+        TestScheduler test = new TestScheduler();
+        SizeAndTimeBoundReplayBuffer<Integer> buf = new SizeAndTimeBoundReplayBuffer<Integer>(Integer.MAX_VALUE, 10, TimeUnit.SECONDS, test);
+        List<Integer> values = new ArrayList<Integer>();
+
+        for (int i = 0; i < 500; i++) {
+            buf.next(i);
+            if (i % 10 == 9 && i != 499) {
+                test.advanceTimeBy(1, TimeUnit.SECONDS);
+            }
+        }
+
+        Assert.assertEquals(100, buf.size);
+
+        buf.collect(values);
+        Assert.assertEquals(100, values.size());
+        Assert.assertEquals(400, values.get(0).intValue());
+        Assert.assertEquals(499, values.get(99).intValue());
+
+        test.advanceTimeBy(5, TimeUnit.SECONDS);
+
+        values.clear();
+        buf.collect(values);
+        Assert.assertEquals(50, values.size());
+        Assert.assertEquals(450, values.get(0).intValue());
+
+        buf.complete();
+
+        Assert.assertEquals(51, buf.size);
+        Assert.assertTrue(buf.hasCompleted());
+    }
+
     @Test
     public void testSizedTruncation() {
         SizeBoundReplayBuffer<Integer> buf = new SizeBoundReplayBuffer<Integer>(2);
@@ -15,7 +15,7 @@ package io.reactivex.flowable.internal.operators;
 
 import static org.junit.Assert.*;
 
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
@@ -23,7 +23,7 @@ import org.reactivestreams.Subscriber;
 
 import io.reactivex.common.*;
 import io.reactivex.common.exceptions.*;
-import io.reactivex.common.functions.Predicate;
+import io.reactivex.common.functions.*;
 import io.reactivex.common.internal.functions.Functions;
 import io.reactivex.common.internal.schedulers.ImmediateThinScheduler;
 import io.reactivex.flowable.*;
@@ -277,4 +277,30 @@ public class ParallelRunOnTest {
             TestCommonHelper.race(r1, r2);
         }
     }
+
+    @Test
+    public void railsOnDistinctThreads() {
+        int n = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+        final Set<String> threads = Collections.synchronizedSet(new HashSet<String>());
+
+        Flowable.range(1, 1000)
+        .parallel(n)
+        .runOn(Schedulers.computation())
+        .map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                threads.add(Thread.currentThread().getName());
+                return v;
+            }
+        })
+        .sequential()
+        .test()
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertValueCount(1000)
+        .assertNoErrors()
+        .assertComplete();
+
+        assertEquals(n, threads.size());
+    }
 }
@@ -15,12 +15,12 @@ package io.reactivex.flowable.internal.subscribers;
 
 import static org.junit.Assert.*;
 
-import java.util.ArrayDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Test;
 import org.reactivestreams.Subscription;
 
+import io.reactivex.common.internal.queues.MpscParkingQueue;
 import io.reactivex.flowable.TestHelper;
 import io.reactivex.flowable.internal.subscriptions.BooleanSubscription;
 
@@ -28,12 +28,12 @@ public class BlockingSubscriberTest {
 
     @Test
     public void doubleOnSubscribe() {
-        TestHelper.doubleOnSubscribe(new BlockingSubscriber<Integer>(new ArrayDeque<Object>()));
+        TestHelper.doubleOnSubscribe(new BlockingSubscriber<Integer>(new MpscParkingQueue<Object>(8)));
     }
 
     @Test
     public void cancel() {
-        BlockingSubscriber<Integer> bq = new BlockingSubscriber<Integer>(new ArrayDeque<Object>());
+        BlockingSubscriber<Integer> bq = new BlockingSubscriber<Integer>(new MpscParkingQueue<Object>(8));
 
         assertFalse(bq.isCancelled());
 
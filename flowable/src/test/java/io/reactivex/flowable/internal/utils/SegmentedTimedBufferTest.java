@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.internal.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import io.reactivex.flowable.internal.utils.SegmentedTimedBuffer.Cursor;
+
+public class SegmentedTimedBufferTest {
+
+    static SegmentedTimedBuffer fill(int capacityHint, int count) {
+        SegmentedTimedBuffer b = new SegmentedTimedBuffer(capacityHint);
+        for (int i = 0; i < count; i++) {
+            b.add(i, i);
+        }
+        return b;
+    }
+
+    @Test
+    public void segmentCapacityCapped() {
+        assertEquals(SegmentedTimedBuffer.MAX_SEGMENT_CAPACITY, new SegmentedTimedBuffer(Integer.MAX_VALUE).capacity);
+        assertEquals(3, new SegmentedTimedBuffer(3).capacity);
+    }
+
+    @Test
+    public void readAcrossSegments() {
+        SegmentedTimedBuffer b = fill(4, 10);
+
+        assertEquals(10, b.size());
+
+        Cursor c = new Cursor();
+        b.seek(c, Long.MIN_VALUE);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, b.peek(c));
+            assertEquals(i, b.next(c));
+        }
+        assertEquals(10, c.index());
+    }
+
+    @Test
+    public void trimWholeSegments() {
+        SegmentedTimedBuffer b = fill(4, 10);
+
+        b.trim(7, Long.MAX_VALUE);
+
+        assertEquals(2, b.size());
+        assertEquals(8L, b.headIndex);
+        assertEquals(8L, b.head.start);
+    }
+
+    @Test
+    public void trimWithinSegment() {
+        SegmentedTimedBuffer b = fill(4, 10);
+
+        b.trim(4, Long.MAX_VALUE);
+
+        assertEquals(5, b.size());
+        assertEquals(4L, b.head.start);
+
+        Cursor c = new Cursor();
+        b.seek(c, Long.MIN_VALUE);
+        assertEquals(5L, c.index());
+        assertEquals(5, b.next(c));
+    }
+
+    @Test
+    public void trimEverything() {
+        SegmentedTimedBuffer b = fill(4, 8);
+
+        b.trim(100, Long.MAX_VALUE);
+
+        assertEquals(0, b.size());
+
+        b.add(8, 200);
+
+        assertEquals(1, b.size());
+
+        Cursor c = new Cursor();
+        b.seek(c, 100);
+        assertEquals(8, b.next(c));
+    }
+
+    @Test
+    public void trimSize() {
+        SegmentedTimedBuffer b = fill(4, 10);
+
+        b.trim(Long.MIN_VALUE, 3);
+
+        assertEquals(3, b.size());
+
+        Cursor c = new Cursor();
+        b.seek(c, Long.MIN_VALUE);
+        assertEquals(7L, c.index());
+    }
+
+    @Test
+    public void seekBinarySearch() {
+        SegmentedTimedBuffer b = new SegmentedTimedBuffer(8);
+        for (int i = 0; i < 20; i++) {
+            b.add(i, i / 3);
+        }
+
+        for (int t = -1; t < 7; t++) {
+            Cursor c = new Cursor();
+            b.seek(c, t);
+            assertEquals("" + t, Math.min(20, (t + 1) * 3), c.index());
+        }
+    }
+
+    @Test
+    public void neverExpiringLast() {
+        SegmentedTimedBuffer b = fill(4, 4);
+        b.add("done", Long.MAX_VALUE);
+
+        b.trim(100, Long.MAX_VALUE);
+
+        assertEquals(1, b.size());
+
+        Cursor c = new Cursor();
+        b.seek(c, Long.MAX_VALUE - 1);
+        assertEquals("done", b.valueAt(c, 4));
+    }
+
+    @Test
+    public void valueAt() {
+        SegmentedTimedBuffer b = fill(4, 10);
+
+        Cursor c = new Cursor();
+        b.seek(c, 1);
+
+        for (int i = 2; i < 10; i++) {
+            assertEquals(i, b.valueAt(c, i));
+        }
+        assertEquals(2L, c.index());
+    }
+}
@@ -805,4 +805,38 @@ public class BehaviorProcessorTest extends DelayedFlowableProcessorTest<Object>
             ts.assertFailure(TestException.class);
         }
     }
+
+    @Test
+    public void subscribeOnNextRaceNoLostUpdate() {
+        for (int i = 0; i < 1000; i++) {
+            final BehaviorProcessor<Integer> p = BehaviorProcessor.createDefault(0);
+
+            final TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    p.subscribe(ts);
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 1; j <= 10; j++) {
+                        p.onNext(j);
+                    }
+                }
+            };
+
+            TestCommonHelper.race(r1, r2);
+
+            List<Integer> values = ts.values();
+            assertFalse(values.isEmpty());
+            assertEquals(10, values.get(values.size() - 1).intValue());
+            for (int j = 1; j < values.size(); j++) {
+                assertEquals(values.get(j - 1) + 1, values.get(j).intValue());
+            }
+        }
+    }
 }
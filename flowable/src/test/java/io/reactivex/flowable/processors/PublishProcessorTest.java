@@ -17,7 +17,7 @@ import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
-import java.util.ArrayList;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -678,4 +678,233 @@ public class PublishProcessorTest extends FlowableProcessorTest<Object> {
         .awaitDone(5, TimeUnit.SECONDS)
         .assertResult(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
     }
+
+    @Test
+    public void bufferedFastSubscriberUnaffected() {
+        PublishProcessor<Integer> pp = PublishProcessor.create(2, BackpressureOverflowStrategy.DROP_LATEST);
+
+        TestSubscriber<Integer> fast = pp.test();
+        TestSubscriber<Integer> slow = pp.test(0L);
+
+        TestHelper.emit(pp, 1, 2, 3, 4, 5);
+
+        fast.assertResult(1, 2, 3, 4, 5);
+
+        slow.assertEmpty();
+
+        slow.request(1);
+
+        slow.assertValues(1).assertNoErrors().assertNotComplete();
+
+        slow.request(1);
+
+        slow.assertResult(1, 5);
+    }
+
+    @Test
+    public void bufferedDropOldestSpill() {
+        final List<Integer> spilled = new ArrayList<Integer>();
+
+        PublishProcessor<Integer> pp = PublishProcessor.create(2, BackpressureOverflowStrategy.DROP_OLDEST, new Consumer<Integer>() {
+            @Override
+            public void accept(Integer v) throws Exception {
+                spilled.add(v);
+            }
+        });
+
+        TestSubscriber<Integer> ts = pp.test(1L);
+
+        TestHelper.emit(pp, 1, 2, 3, 4, 5);
+
+        ts.assertValues(1);
+
+        ts.request(5);
+
+        ts.assertResult(1, 4, 5);
+
+        assertEquals(Arrays.asList(2, 3), spilled);
+    }
+
+    @Test
+    public void bufferedDropOldestWhileDraining() {
+        final List<Integer> spilled = new ArrayList<Integer>();
+
+        final PublishProcessor<Integer> pp = PublishProcessor.create(2, BackpressureOverflowStrategy.DROP_OLDEST, new Consumer<Integer>() {
+            @Override
+            public void accept(Integer v) throws Exception {
+                spilled.add(v);
+            }
+        });
+
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>(1L) {
+            @Override
+            public void onNext(Integer t) {
+                super.onNext(t);
+                if (t == 1) {
+                    TestHelper.emit(pp, 2, 3, 4, 5, 6);
+                }
+            }
+        };
+
+        pp.subscribe(ts);
+
+        pp.onNext(1);
+
+        ts.assertValues(1);
+
+        ts.request(5);
+
+        ts.assertResult(1, 5, 6);
+
+        assertEquals(Arrays.asList(2, 3, 4), spilled);
+    }
+
+    @Test
+    public void bufferedDropLatestWhileDraining() {
+        final List<Integer> spilled = new ArrayList<Integer>();
+
+        final PublishProcessor<Integer> pp = PublishProcessor.create(2, BackpressureOverflowStrategy.DROP_LATEST, new Consumer<Integer>() {
+            @Override
+            public void accept(Integer v) throws Exception {
+                spilled.add(v);
+            }
+        });
+
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>(1L) {
+            @Override
+            public void onNext(Integer t) {
+                super.onNext(t);
+                if (t == 1) {
+                    TestHelper.emit(pp, 2, 3, 4, 5, 6);
+                }
+            }
+        };
+
+        pp.subscribe(ts);
+
+        pp.onNext(1);
+
+        ts.assertValues(1);
+
+        ts.request(5);
+
+        ts.assertResult(1, 2, 6);
+
+        assertEquals(Arrays.asList(3, 4, 5), spilled);
+    }
+
+    @Test
+    public void bufferedSpillCrash() {
+        PublishProcessor<Integer> pp = PublishProcessor.create(1, BackpressureOverflowStrategy.DROP_OLDEST, new Consumer<Integer>() {
+            @Override
+            public void accept(Integer v) throws Exception {
+                throw new TestException();
+            }
+        });
+
+        TestSubscriber<Integer> ts = pp.test(0L);
+        TestSubscriber<Integer> ts2 = pp.test();
+
+        pp.onNext(1);
+        pp.onNext(2);
+
+        ts.assertFailure(TestException.class);
+
+        assertEquals(1, pp.subscribers.size());
+
+        pp.onNext(3);
+        pp.onComplete();
+
+        ts2.assertResult(1, 2, 3);
+    }
+
+    @Test
+    public void bufferedErrorDisconnectsLaggard() {
+        PublishProcessor<Integer> pp = PublishProcessor.create(2, BackpressureOverflowStrategy.ERROR);
+
+        TestSubscriber<Integer> slow = pp.test(0L);
+        TestSubscriber<Integer> fast = pp.test();
+
+        pp.onNext(1);
+        pp.onNext(2);
+
+        slow.assertEmpty();
+
+        pp.onNext(3);
+
+        slow.assertFailure(MissingBackpressureException.class);
+
+        assertTrue(pp.hasSubscribers());
+
+        pp.onNext(4);
+        pp.onComplete();
+
+        fast.assertResult(1, 2, 3, 4);
+    }
+
+    @Test
+    public void bufferedTerminalAfterBufferedItems() {
+        PublishProcessor<Integer> pp = PublishProcessor.create(4, BackpressureOverflowStrategy.ERROR);
+
+        TestSubscriber<Integer> ts = pp.test(0L);
+
+        pp.onNext(1);
+        pp.onNext(2);
+        pp.onError(new TestException());
+
+        ts.assertEmpty();
+
+        ts.request(2);
+
+        ts.assertFailure(TestException.class, 1, 2);
+    }
+
+    @Test
+    public void bufferedCancel() {
+        PublishProcessor<Integer> pp = PublishProcessor.create(4, BackpressureOverflowStrategy.ERROR);
+
+        TestSubscriber<Integer> ts = pp.test(0L);
+
+        pp.onNext(1);
+
+        ts.cancel();
+
+        assertFalse(pp.hasSubscribers());
+
+        pp.onNext(2);
+
+        ts.assertEmpty();
+    }
+
+    @Test
+    public void bufferedOffer() {
+        PublishProcessor<Integer> pp = PublishProcessor.create(1, BackpressureOverflowStrategy.DROP_LATEST);
+
+        TestSubscriber<Integer> ts = pp.test(0L);
+
+        assertTrue(pp.offer(1));
+        assertTrue(pp.offer(2));
+
+        ts.requestMore(2);
+
+        ts.assertValues(2);
+    }
+
+    @Test
+    public void bufferedAsync() {
+        for (int i = 0; i < 10; i++) {
+            PublishProcessor<Integer> pp = PublishProcessor.create(16, BackpressureOverflowStrategy.DROP_OLDEST);
+
+            TestSubscriber<Integer> ts1 = pp.observeOn(Schedulers.single()).test();
+            TestSubscriber<Integer> ts2 = pp.test();
+
+            for (int j = 0; j < 10000; j++) {
+                pp.onNext(j);
+            }
+            pp.onComplete();
+
+            ts1.awaitDone(5, TimeUnit.SECONDS).assertNoErrors().assertComplete();
+            ts2.assertValueCount(10000).assertNoErrors().assertComplete();
+        }
+    }
 }
@@ -1025,6 +1025,25 @@ public class ReplayProcessorTest extends FlowableProcessorTest<Object> {
         assertNull(rp.getValues(new Integer[2])[0]);
     }
 
+    @Test
+    public void peekStateTimeExpired() {
+        TestScheduler scheduler = new TestScheduler();
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithTime(1, TimeUnit.SECONDS, scheduler);
+
+        rp.onNext(1);
+        rp.onNext(2);
+
+        scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+
+        assertEquals((Integer)2, rp.getValue());
+        assertEquals(0, rp.getValues().length);
+
+        rp.onComplete();
+
+        assertEquals((Integer)2, rp.getValue());
+        assertEquals(0, rp.getValues().length);
+    }
+
     @Test
     public void capacityHint() {
         ReplayProcessor<Integer> rp = ReplayProcessor.create(8);
@@ -1197,6 +1216,63 @@ public class ReplayProcessorTest extends FlowableProcessorTest<Object> {
         .assertEmpty();
     }
 
+    @Test
+    public void timedLateSubscriberAcrossSegments() {
+        TestScheduler scheduler = new TestScheduler();
+
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithTime(10, TimeUnit.SECONDS, scheduler);
+
+        for (int i = 0; i < 200; i++) {
+            rp.onNext(i);
+            if (i % 10 == 9 && i != 199) {
+                scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(100, rp.size());
+        assertEquals((Integer)199, rp.getValue());
+
+        TestSubscriber<Integer> ts = rp.test(0L);
+
+        ts.requestMore(1).assertValue(100);
+
+        rp.onComplete();
+
+        ts.requestMore(Long.MAX_VALUE);
+
+        ts.assertValueCount(100)
+        .assertNoErrors()
+        .assertComplete();
+
+        assertEquals((Integer)199, ts.values().get(99));
+        assertEquals(100, rp.getValues().length);
+    }
+
+    @Test
+    public void timedAllExpiredThenNewItems() {
+        TestScheduler scheduler = new TestScheduler();
+
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithTime(1, TimeUnit.SECONDS, scheduler);
+
+        for (int i = 0; i < 100; i++) {
+            rp.onNext(i);
+        }
+
+        scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+
+        rp.onNext(100);
+        rp.onNext(101);
+
+        rp.test().assertValues(100, 101);
+
+        scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+
+        rp.onComplete();
+
+        assertEquals(0, rp.size());
+        rp.test().assertResult();
+    }
+
     @Test
     public void takeSizeAndTime() {
         TestScheduler scheduler = new TestScheduler();
@@ -0,0 +1,285 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowable.processors;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.reactivex.common.*;
+import io.reactivex.common.exceptions.*;
+import io.reactivex.common.functions.LongConsumer;
+import io.reactivex.flowable.*;
+import io.reactivex.flowable.subscribers.TestSubscriber;
+
+public class RingBufferProcessorTest extends FlowableProcessorTest<Object> {
+
+    @Override
+    protected FlowableProcessor<Object> create() {
+        return RingBufferProcessor.create();
+    }
+
+    @Test
+    public void normal() {
+        RingBufferProcessor<Integer> rp = RingBufferProcessor.create(16);
+
+        TestSubscriber<Integer> ts1 = rp.test();
+        TestSubscriber<Integer> ts2 = rp.test();
+
+        Flowable.range(1, 100).subscribe(rp);
+
+        ts1.assertValueCount(100).assertNoErrors().assertComplete();
+        ts2.assertValueCount(100).assertNoErrors().assertComplete();
+
+        assertTrue(rp.hasComplete());
+        assertFalse(rp.hasThrowable());
+        assertNull(rp.getThrowable());
+        assertFalse(rp.hasSubscribers());
+    }
+
+    @Test
+    public void fastRunsAheadOfSlowByCapacity() {
+        RingBufferProcessor<Integer> rp = RingBufferProcessor.create(16);
+
+        TestSubscriber<Integer> fast = rp.test();
+        TestSubscriber<Integer> slow = rp.test(0L);
+
+        Flowable.range(1, 100).subscribe(rp);
+
+        fast.assertValueCount(16).assertNoErrors().assertNotComplete();
+        slow.assertEmpty();
+
+        slow.request(12);
+
+        slow.assertValueCount(12);
+        fast.assertValueCount(28);
+
+        slow.request(100);
+
+        slow.assertValueCount(100).assertNoErrors().assertComplete();
+        fast.assertValueCount(100).assertNoErrors().assertComplete();
+    }
+
+    @Test
+    public void slowCancelReleasesFast() {
+        RingBufferProcessor<Integer> rp = RingBufferProcessor.create(16);
+
+        TestSubscriber<Integer> fast = rp.test();
+        TestSubscriber<Integer> slow = rp.test(0L);
+
+        Flowable.range(1, 100).subscribe(rp);
+
+        fast.assertValueCount(16);
+
+        slow.cancel();
+
+        fast.assertValueCount(100).assertNoErrors().assertComplete();
+    }
+
+    @Test
+    public void noSubscribersDropsItems() {
+        RingBufferProcessor<Integer> rp = RingBufferProcessor.create(8);
+
+        TestHelper.emit(rp, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        assertTrue(rp.hasComplete());
+
+        rp.test().assertResult();
+    }
+
+    @Test
+    public void lateSubscriberSeesNewItemsOnly() {
+        RingBufferProcessor<Integer> rp = RingBufferProcessor.create(8);
+
+        rp.onNext(1);
+        rp.onNext(2);
+
+        TestSubscriber<Integer> ts = rp.test();
+
+        rp.onNext(3);
+        rp.onComplete();
+
+        ts.assertResult(3);
+    }
+
+    @Test
+    public void offer() {
+        RingBufferProcessor<Integer> rp = RingBufferProcessor.create(4);
+
+        TestSubscriber<Integer> ts = rp.test(0L);
+
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(rp.offer(i));
+        }
+        assertFalse(rp.offer(5));
+
+        ts.request(4);
+
+        assertTrue(rp.offer(5));
+
+        ts.request(1);
+
+        ts.assertValues(1, 2, 3, 4, 5).assertNoErrors().assertNotComplete();
+    }
+
+    @Test
+    public void offerNull() {
+        RingBufferProcessor<Integer> rp = RingBufferProcessor.create();
+
+        TestSubscriber<Integer> ts = rp.test();
+
+        assertTrue(rp.offer(null));
+
+        ts.assertFailure(NullPointerException.class);
+    }
+
+    @Test
+    public void overflow() {
+        RingBufferProcessor<Integer> rp = RingBufferProcessor.create(4);
+
+        TestSubscriber<Integer> ts = rp.test(0L);
+
+        for (int i = 1; i <= 5; i++) {
+            rp.onNext(i);
+        }
+
+        ts.request(10);
+
+        ts.assertFailure(MissingBackpressureException.class, 1, 2, 3, 4);
+    }
+
+    @Test
+    public void error() {
+        RingBufferProcessor<Integer> rp = RingBufferProcessor.create();
+
+        TestSubscriber<Integer> ts = rp.test(0L);
+
+        rp.onNext(1);
+        rp.onError(new TestException());
+
+        ts.assertEmpty();
+
+        ts.request(1);
+
+        ts.assertFailure(TestException.class, 1);
+
+        assertTrue(rp.hasThrowable());
+        assertTrue(rp.getThrowable() instanceof TestException);
+
+        rp.test().assertFailure(TestException.class);
+    }
+
+    @Test
+    public void onErrorAfterTerminate() {
+        List<Throwable> errors = TestCommonHelper.trackPluginErrors();
+        try {
+            RingBufferProcessor<Integer> rp = RingBufferProcessor.create();
+
+            rp.onComplete();
+            rp.onError(new TestException());
+
+            TestCommonHelper.assertUndeliverable(errors, 0, TestException.class);
+        } finally {
+            RxJavaCommonPlugins.reset();
+        }
+    }
+
+    @Test
+    public void requestsUpstreamInBatches() {
+        RingBufferProcessor<Integer> rp = RingBufferProcessor.create(16);
+
+        final List<Long> requests = new ArrayList<Long>();
+
+        TestSubscriber<Integer> ts = rp.test(0L);
+
+        Flowable.range(1, 100)
+        .doOnRequest(new LongConsumer() {
+            @Override
+            public void accept(long n) throws Exception {
+                requests.add(n);
+            }
+        })
+        .subscribe(rp);
+
+        ts.request(20);
+
+        assertEquals(16L, requests.get(0).longValue());
+        for (int i = 1; i < requests.size(); i++) {
+            assertTrue(requests.get(i) >= 12L);
+        }
+    }
+
+    @Test
+    public void async() {
+        for (int i = 0; i < 10; i++) {
+            RingBufferProcessor<Integer> rp = RingBufferProcessor.create(32);
+
+            TestSubscriber<Integer> ts1 = rp.observeOn(Schedulers.single()).test();
+            TestSubscriber<Integer> ts2 = rp.observeOn(Schedulers.computation()).test();
+            TestSubscriber<Integer> ts3 = rp.rebatchRequests(1).test();
+
+            Flowable.range(1, 10000).subscribeOn(Schedulers.io()).subscribe(rp);
+
+            for (TestSubscriber<Integer> ts : new TestSubscriber[] { ts1, ts2, ts3 }) {
+                ts.awaitDone(5, TimeUnit.SECONDS)
+                .assertValueCount(10000)
+                .assertNoErrors()
+                .assertComplete();
+
+                List<Integer> list = ts.values();
+                for (int j = 0; j < 10000; j++) {
+                    assertEquals(j + 1, list.get(j).intValue());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void subscribeCancelRace() {
+        for (int i = 0; i < 1000; i++) {
+            final RingBufferProcessor<Integer> rp = RingBufferProcessor.create(16);
+
+            final TestSubscriber<Integer> ts1 = rp.test();
+
+            final TestSubscriber<Integer> ts2 = new TestSubscriber<Integer>();
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    rp.subscribe(ts2);
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10; j++) {
+                        rp.onNext(j);
+                    }
+                }
+            };
+
+            TestCommonHelper.race(r1, r2);
+
+            ts1.assertValueCount(10);
+
+            ts2.cancel();
+
+            assertEquals(1, rp.subscribers.get().length);
+        }
+    }
+}
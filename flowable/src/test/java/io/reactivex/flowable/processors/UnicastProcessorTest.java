@@ -16,6 +16,7 @@ package io.reactivex.flowable.processors;
 import static org.junit.Assert.*;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Test;
@@ -317,4 +318,86 @@ public class UnicastProcessorTest extends DelayedFlowableProcessorTest<Object> {
             TestCommonHelper.race(r1, r2, Schedulers.single());
         }
     }
+
+    static void produceConcurrently(final UnicastProcessor<Integer> p, int producers, final int count) throws InterruptedException {
+        Thread[] threads = new Thread[producers];
+        for (int k = 0; k < producers; k++) {
+            final int base = k * count;
+            threads[k] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < count; i++) {
+                        p.onNext(base + i);
+                    }
+                }
+            });
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        p.onComplete();
+    }
+
+    static void assertPerProducerOrder(List<Integer> values, int producers, int count) {
+        assertEquals(producers * count, values.size());
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        for (Integer v : values) {
+            int k = v / count;
+            assertEquals(last[k] + 1, v % count);
+            last[k] = v % count;
+        }
+    }
+
+    @Test
+    public void multiProducer() throws Exception {
+        UnicastProcessor<Integer> p = UnicastProcessor.createMultiProducer();
+        TestSubscriber<Integer> ts = p.test();
+
+        produceConcurrently(p, 4, 10000);
+
+        ts.awaitDone(5, TimeUnit.SECONDS)
+        .assertNoErrors()
+        .assertComplete();
+
+        assertPerProducerOrder(ts.values(), 4, 10000);
+    }
+
+    @Test
+    public void multiProducerBackpressured() throws Exception {
+        UnicastProcessor<Integer> p = UnicastProcessor.createMultiProducer(8);
+        TestSubscriber<Integer> ts = p.test(0);
+
+        produceConcurrently(p, 4, 1000);
+
+        ts.assertEmpty();
+
+        ts.request(1000);
+        ts.assertValueCount(1000).assertNotComplete();
+
+        ts.request(3000);
+        ts.assertNoErrors().assertComplete();
+
+        assertPerProducerOrder(ts.values(), 4, 1000);
+    }
+
+    @Test
+    public void multiProducerFused() throws Exception {
+        UnicastProcessor<Integer> p = UnicastProcessor.createMultiProducer();
+        TestSubscriber<Integer> ts = SubscriberFusion.newTest(FusedQueueSubscription.ANY);
+
+        p.subscribe(ts);
+
+        produceConcurrently(p, 4, 1000);
+
+        ts.assertOf(SubscriberFusion.<Integer>assertFusionMode(FusedQueueSubscription.ASYNC))
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertNoErrors()
+        .assertComplete();
+
+        assertPerProducerOrder(ts.values(), 4, 1000);
+    }
 }
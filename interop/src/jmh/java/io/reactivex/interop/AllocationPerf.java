@@ -0,0 +1,357 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.interop;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.common.functions.*;
+import io.reactivex.common.internal.functions.Functions;
+import io.reactivex.flowable.*;
+import io.reactivex.flowable.processors.*;
+import io.reactivex.observable.*;
+import io.reactivex.observable.subjects.*;
+
+/**
+ * Measures the bytes allocated per element for each major operator family; run it with the
+ * GC profiler and check the results against {@code src/jmh/allocation-budget.properties}:
+ * <pre>
+ * ./gradlew :rxjava3-interop:jmh -Pjmh=AllocationPerf -PjmhProfilers=gc
+ * ./gradlew :rxjava3-interop:jmhAllocationCheck
+ * </pre>
+ * Each invocation processes {@link #COUNT} elements (or runs {@link #COUNT} Single/Maybe/Completable
+ * chains), so {@code gc.alloc.rate.norm} is reported per element. The items are pre-boxed and the
+ * functions return pre-boxed values so that Integer boxing does not show up as operator allocation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+@OperationsPerInvocation(AllocationPerf.COUNT)
+public class AllocationPerf {
+
+    static final int COUNT = 1000;
+
+    static final Integer[] ITEMS = new Integer[COUNT + 1];
+
+    static {
+        for (int i = 0; i < ITEMS.length; i++) {
+            ITEMS[i] = i;
+        }
+    }
+
+    @Param
+    public Family family;
+
+    Runnable run;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        run = family.prepare(bh);
+    }
+
+    @Benchmark
+    public void run() {
+        run.run();
+    }
+
+    static final Function<Integer, Integer> INCREMENT = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer v) throws Exception {
+            return ITEMS[(v + 1) % COUNT];
+        }
+    };
+
+    static final Function<Integer, Integer> MOD_8 = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer v) throws Exception {
+            return ITEMS[v & 7];
+        }
+    };
+
+    static final Predicate<Integer> ALWAYS_TRUE = Functions.alwaysTrue();
+
+    static final BiFunction<Integer, Integer, Integer> FIRST = new BiFunction<Integer, Integer, Integer>() {
+        @Override
+        public Integer apply(Integer a, Integer b) throws Exception {
+            return a;
+        }
+    };
+
+    static final Function<Integer, Publisher<Integer>> FLOWABLE_JUST = new Function<Integer, Publisher<Integer>>() {
+        @Override
+        public Publisher<Integer> apply(Integer v) throws Exception {
+            return Flowable.just(v);
+        }
+    };
+
+    static final Function<Integer, ObservableSource<Integer>> OBSERVABLE_JUST = new Function<Integer, ObservableSource<Integer>>() {
+        @Override
+        public ObservableSource<Integer> apply(Integer v) throws Exception {
+            return Observable.just(v);
+        }
+    };
+
+    static final Function<Integer, SingleSource<Integer>> SINGLE_JUST = new Function<Integer, SingleSource<Integer>>() {
+        @Override
+        public SingleSource<Integer> apply(Integer v) throws Exception {
+            return Single.just(v);
+        }
+    };
+
+    static final Function<Integer, MaybeSource<Integer>> MAYBE_JUST = new Function<Integer, MaybeSource<Integer>>() {
+        @Override
+        public MaybeSource<Integer> apply(Integer v) throws Exception {
+            return Maybe.just(v);
+        }
+    };
+
+    static Runnable flowable(final Publisher<?> source, final Blackhole bh) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                source.subscribe(new PerfConsumer(bh));
+            }
+        };
+    }
+
+    static Runnable observable(final ObservableSource<?> source, final Blackhole bh) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                source.subscribe(new PerfConsumer(bh));
+            }
+        };
+    }
+
+    static Runnable each(final SingleSource<?> source, final Blackhole bh) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                PerfConsumer c = new PerfConsumer(bh);
+                for (int i = 0; i < COUNT; i++) {
+                    source.subscribe(c);
+                }
+            }
+        };
+    }
+
+    static Runnable each(final MaybeSource<?> source, final Blackhole bh) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                PerfConsumer c = new PerfConsumer(bh);
+                for (int i = 0; i < COUNT; i++) {
+                    source.subscribe(c);
+                }
+            }
+        };
+    }
+
+    static Runnable each(final CompletableSource source, final Blackhole bh) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                PerfConsumer c = new PerfConsumer(bh);
+                for (int i = 0; i < COUNT; i++) {
+                    source.subscribe(c);
+                }
+            }
+        };
+    }
+
+    static void emit(FlowableProcessor<Integer> processor, Blackhole bh) {
+        processor.subscribe(new PerfConsumer(bh));
+        for (int i = 0; i < COUNT; i++) {
+            processor.onNext(ITEMS[i]);
+        }
+        processor.onComplete();
+    }
+
+    static void emit(Subject<Integer> subject, Blackhole bh) {
+        subject.subscribe(new PerfConsumer(bh));
+        for (int i = 0; i < COUNT; i++) {
+            subject.onNext(ITEMS[i]);
+        }
+        subject.onComplete();
+    }
+
+    public enum Family {
+        FLOWABLE_MAP_FILTER {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return flowable(Flowable.fromArray(ITEMS).map(INCREMENT).filter(ALWAYS_TRUE).map(INCREMENT).filter(ALWAYS_TRUE), bh);
+            }
+        },
+        FLOWABLE_FLAT_MAP {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return flowable(Flowable.fromArray(ITEMS).flatMap(FLOWABLE_JUST), bh);
+            }
+        },
+        FLOWABLE_CONCAT_MAP {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return flowable(Flowable.fromArray(ITEMS).concatMap(FLOWABLE_JUST), bh);
+            }
+        },
+        FLOWABLE_GROUP_BY {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return flowable(Flowable.fromArray(ITEMS).groupBy(MOD_8).flatMap(Functions.<GroupedFlowable<Integer, Integer>>identity()), bh);
+            }
+        },
+        FLOWABLE_WINDOW {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return flowable(Flowable.fromArray(ITEMS).window(16).flatMap(Functions.<Flowable<Integer>>identity()), bh);
+            }
+        },
+        FLOWABLE_BUFFER {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return flowable(Flowable.fromArray(ITEMS).buffer(16), bh);
+            }
+        },
+        FLOWABLE_ZIP {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return flowable(Flowable.fromArray(ITEMS).zipWith(Flowable.fromArray(ITEMS), FIRST), bh);
+            }
+        },
+        FLOWABLE_REPLAY {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return flowable(Flowable.fromArray(ITEMS).replay(Functions.<Flowable<Integer>>identity()), bh);
+            }
+        },
+        PUBLISH_PROCESSOR {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return new Runnable() {
+                    @Override
+                    public void run() {
+                        emit(PublishProcessor.<Integer>create(), bh);
+                    }
+                };
+            }
+        },
+        REPLAY_PROCESSOR {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return new Runnable() {
+                    @Override
+                    public void run() {
+                        emit(ReplayProcessor.<Integer>create(), bh);
+                    }
+                };
+            }
+        },
+        OBSERVABLE_MAP_FILTER {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return observable(Observable.fromArray(ITEMS).map(INCREMENT).filter(ALWAYS_TRUE).map(INCREMENT).filter(ALWAYS_TRUE), bh);
+            }
+        },
+        OBSERVABLE_FLAT_MAP {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return observable(Observable.fromArray(ITEMS).flatMap(OBSERVABLE_JUST), bh);
+            }
+        },
+        OBSERVABLE_CONCAT_MAP {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return observable(Observable.fromArray(ITEMS).concatMap(OBSERVABLE_JUST), bh);
+            }
+        },
+        OBSERVABLE_GROUP_BY {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return observable(Observable.fromArray(ITEMS).groupBy(MOD_8).flatMap(Functions.<GroupedObservable<Integer, Integer>>identity()), bh);
+            }
+        },
+        OBSERVABLE_WINDOW {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return observable(Observable.fromArray(ITEMS).window(16).flatMap(Functions.<Observable<Integer>>identity()), bh);
+            }
+        },
+        OBSERVABLE_BUFFER {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return observable(Observable.fromArray(ITEMS).buffer(16), bh);
+            }
+        },
+        OBSERVABLE_ZIP {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return observable(Observable.fromArray(ITEMS).zipWith(Observable.fromArray(ITEMS), FIRST), bh);
+            }
+        },
+        OBSERVABLE_REPLAY {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return observable(Observable.fromArray(ITEMS).replay(Functions.<Observable<Integer>>identity()), bh);
+            }
+        },
+        PUBLISH_SUBJECT {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return new Runnable() {
+                    @Override
+                    public void run() {
+                        emit(PublishSubject.<Integer>create(), bh);
+                    }
+                };
+            }
+        },
+        REPLAY_SUBJECT {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return new Runnable() {
+                    @Override
+                    public void run() {
+                        emit(ReplaySubject.<Integer>create(), bh);
+                    }
+                };
+            }
+        },
+        SINGLE_CHAIN {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return each(Single.just(ITEMS[0]).map(INCREMENT).flatMap(SINGLE_JUST), bh);
+            }
+        },
+        MAYBE_CHAIN {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return each(Maybe.just(ITEMS[0]).map(INCREMENT).filter(ALWAYS_TRUE).flatMap(MAYBE_JUST), bh);
+            }
+        },
+        COMPLETABLE_CHAIN {
+            @Override
+            Runnable prepare(final Blackhole bh) {
+                return each(Completable.complete().andThen(Completable.complete()).onErrorComplete(), bh);
+            }
+        };
+
+        abstract Runnable prepare(Blackhole bh);
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.interop;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.common.AssemblyTracking;
+import io.reactivex.common.functions.*;
+import io.reactivex.common.internal.functions.Functions;
+import io.reactivex.flowable.Flowable;
+import io.reactivex.observable.Observable;
+
+/**
+ * Measures the overhead of {@link AssemblyTracking} at different sampling rates on
+ * assembling-and-subscribing short chains and on streaming through pre-assembled ones;
+ * {@code sampleRate} 0 runs with tracking disabled, the other rows of the same benchmark
+ * and {@code count} should stay within a few percent of it.
+ * <pre>
+ * ./gradlew :rxjava3-interop:jmh -Pjmh=AssemblyTrackingPerf
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class AssemblyTrackingPerf {
+
+    @Param({ "0", "1024", "64", "1" })
+    public int sampleRate;
+
+    @Param({ "1", "1000" })
+    public int count;
+
+    Predicate<Integer> always;
+
+    Flowable<Integer> flowable;
+
+    Observable<Integer> observable;
+
+    @Setup
+    public void setup() {
+        if (sampleRate != 0) {
+            AssemblyTracking.enable(sampleRate);
+        }
+        always = new Predicate<Integer>() {
+            @Override
+            public boolean test(Integer v) throws Exception {
+                return true;
+            }
+        };
+
+        flowable = Flowable.range(1, count).map(Functions.<Integer>identity()).filter(always);
+        observable = Observable.range(1, count).map(Functions.<Integer>identity()).filter(always);
+    }
+
+    @TearDown
+    public void teardown() {
+        AssemblyTracking.disable();
+        AssemblyTracking.reset();
+    }
+
+    @Benchmark
+    public void flowableAssembleAndSubscribe(Blackhole bh) {
+        Flowable.range(1, count).map(Functions.<Integer>identity()).filter(always)
+        .subscribe(new PerfSubscriber(bh));
+    }
+
+    @Benchmark
+    public void observableAssembleAndSubscribe(Blackhole bh) {
+        Observable.range(1, count).map(Functions.<Integer>identity()).filter(always)
+        .subscribe(new PerfObserver(bh));
+    }
+
+    @Benchmark
+    public void flowableStream(Blackhole bh) {
+        flowable.subscribe(new PerfSubscriber(bh));
+    }
+
+    @Benchmark
+    public void observableStream(Blackhole bh) {
+        observable.subscribe(new PerfObserver(bh));
+    }
+}
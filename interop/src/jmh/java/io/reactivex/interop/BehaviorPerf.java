@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.interop;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.flowable.Flowable;
+import io.reactivex.flowable.processors.BehaviorProcessor;
+import io.reactivex.observable.Observable;
+import io.reactivex.observable.subjects.BehaviorSubject;
+
+/**
+ * Measures BehaviorProcessor and BehaviorSubject updates while other threads keep
+ * subscribing (and snapshotting the current value) concurrently.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Group)
+public class BehaviorPerf {
+
+    BehaviorProcessor<Integer> processor;
+
+    Flowable<Integer> processorFirst;
+
+    BehaviorSubject<Integer> subject;
+
+    Observable<Integer> subjectFirst;
+
+    @Setup
+    public void setup() {
+        processor = BehaviorProcessor.createDefault(0);
+        processorFirst = processor.take(1);
+
+        subject = BehaviorSubject.createDefault(0);
+        subjectFirst = subject.take(1);
+    }
+
+    @Benchmark
+    @Group("processor")
+    @GroupThreads(1)
+    public void processorOnNext() {
+        processor.onNext(1);
+    }
+
+    @Benchmark
+    @Group("processor")
+    @GroupThreads(3)
+    public void processorSubscribe(Blackhole bh) {
+        processorFirst.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    @Group("subject")
+    @GroupThreads(1)
+    public void subjectOnNext() {
+        subject.onNext(1);
+    }
+
+    @Benchmark
+    @Group("subject")
+    @GroupThreads(3)
+    public void subjectSubscribe(Blackhole bh) {
+        subjectFirst.subscribe(new PerfConsumer(bh));
+    }
+}
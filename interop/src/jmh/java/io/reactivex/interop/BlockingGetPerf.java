@@ -17,6 +17,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.openjdk.jmh.annotations.*;
 
+import io.reactivex.common.Schedulers;
 import io.reactivex.flowable.Flowable;
 import io.reactivex.observable.*;
 
@@ -37,6 +38,10 @@ public class BlockingGetPerf {
 
     Completable completable;
 
+    Single<Integer> singleAsync;
+
+    Flowable<Integer> flowableAsync;
+
     @Setup
     public void setup() {
         flowable = Flowable.just(1);
@@ -48,6 +53,10 @@ public class BlockingGetPerf {
         maybe = Maybe.just(1);
 
         completable = Completable.complete();
+
+        singleAsync = single.subscribeOn(Schedulers.computation());
+
+        flowableAsync = flowable.subscribeOn(Schedulers.computation());
     }
 
     @Benchmark
@@ -84,4 +93,14 @@ public class BlockingGetPerf {
     public Object completable() {
         return completable.blockingGet();
     }
+
+    @Benchmark
+    public Object singleAsync() {
+        return singleAsync.blockingGet();
+    }
+
+    @Benchmark
+    public Object flowableAsyncBlockingFirst() {
+        return flowableAsync.blockingFirst();
+    }
 }
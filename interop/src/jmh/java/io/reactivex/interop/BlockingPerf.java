@@ -13,11 +13,14 @@
 
 package io.reactivex.interop;
 
-import java.util.Arrays;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 
 import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
 
+import io.reactivex.common.Schedulers;
+import io.reactivex.common.functions.Consumer;
 import io.reactivex.flowable.Flowable;
 import io.reactivex.observable.Observable;
 
@@ -35,6 +38,10 @@ public class BlockingPerf {
 
     Observable<Integer> observable;
 
+    Flowable<Integer> flowableAsync;
+
+    Observable<Integer> observableAsync;
+
     @Setup
     public void setup() {
         Integer[] array = new Integer[times];
@@ -43,6 +50,10 @@ public class BlockingPerf {
         flowable = Flowable.fromArray(array);
 
         observable = Observable.fromArray(array);
+
+        flowableAsync = flowable.subscribeOn(Schedulers.computation());
+
+        observableAsync = observable.subscribeOn(Schedulers.computation());
     }
 
     @Benchmark
@@ -64,4 +75,64 @@ public class BlockingPerf {
     public Object observableBlockingFirst() {
         return observable.blockingFirst();
     }
+
+    @Benchmark
+    public Object flowableAsyncBlockingLast() {
+        return flowableAsync.blockingLast();
+    }
+
+    @Benchmark
+    public Object observableAsyncBlockingLast() {
+        return observableAsync.blockingLast();
+    }
+
+    @Benchmark
+    public void flowableBlockingIterable(Blackhole bh) {
+        for (Integer v : flowable.blockingIterable()) {
+            bh.consume(v);
+        }
+    }
+
+    @Benchmark
+    public void flowableAsyncBlockingIterable(Blackhole bh) {
+        for (Integer v : flowableAsync.blockingIterable()) {
+            bh.consume(v);
+        }
+    }
+
+    @Benchmark
+    public void flowableAsyncBlockingIterableBatched(Blackhole bh) {
+        for (List<Integer> list : flowableAsync.blockingIterableBatched(128)) {
+            for (Integer v : list) {
+                bh.consume(v);
+            }
+        }
+    }
+
+    @Benchmark
+    public void observableAsyncBlockingIterable(Blackhole bh) {
+        for (Integer v : observableAsync.blockingIterable()) {
+            bh.consume(v);
+        }
+    }
+
+    @Benchmark
+    public void flowableAsyncBlockingSubscribe(final Blackhole bh) {
+        flowableAsync.blockingSubscribe(new Consumer<Integer>() {
+            @Override
+            public void accept(Integer v) throws Exception {
+                bh.consume(v);
+            }
+        });
+    }
+
+    @Benchmark
+    public void observableAsyncBlockingSubscribe(final Blackhole bh) {
+        observableAsync.blockingSubscribe(new Consumer<Integer>() {
+            @Override
+            public void accept(Integer v) throws Exception {
+                bh.consume(v);
+            }
+        });
+    }
 }
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.interop;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.common.*;
+import io.reactivex.common.functions.Consumer;
+import io.reactivex.flowable.processors.*;
+import io.reactivex.observable.subjects.*;
+
+/**
+ * Measures the time-bound buffers fed by several producer threads through a serialized
+ * processor or subject while the computation timer ticks concurrently. With {@code pooled},
+ * the consumer hands each emitted buffer back to a pool the bufferSupplier takes from.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Group)
+public class BufferTimedMultiProducerPerf {
+    @Param({ "EXACT", "BOUNDED", "SKIP" })
+    public String variant;
+
+    @Param({ "false", "true" })
+    public boolean pooled;
+
+    FlowableProcessor<Integer> flowable;
+
+    Subject<Integer> observable;
+
+    @Setup
+    public void setup(final Blackhole bh) {
+        final ConcurrentLinkedQueue<List<Integer>> pool = new ConcurrentLinkedQueue<List<Integer>>();
+
+        Callable<List<Integer>> supplier = new Callable<List<Integer>>() {
+            @Override
+            public List<Integer> call() throws Exception {
+                List<Integer> list = pooled ? pool.poll() : null;
+                return list != null ? list : new ArrayList<Integer>();
+            }
+        };
+
+        Consumer<List<Integer>> consumer = new Consumer<List<Integer>>() {
+            @Override
+            public void accept(List<Integer> list) throws Exception {
+                bh.consume(list.size());
+                if (pooled) {
+                    list.clear();
+                    pool.offer(list);
+                }
+            }
+        };
+
+        flowable = PublishProcessor.<Integer>create().toSerialized();
+        observable = PublishSubject.<Integer>create().toSerialized();
+
+        Scheduler scheduler = Schedulers.computation();
+
+        if ("EXACT".equals(variant)) {
+            flowable.buffer(100, 100, TimeUnit.MICROSECONDS, scheduler, supplier).subscribe(consumer);
+            observable.buffer(100, 100, TimeUnit.MICROSECONDS, scheduler, supplier).subscribe(consumer);
+        } else if ("BOUNDED".equals(variant)) {
+            flowable.buffer(100, TimeUnit.MICROSECONDS, scheduler, 1000, supplier, true).subscribe(consumer);
+            observable.buffer(100, TimeUnit.MICROSECONDS, scheduler, 1000, supplier, true).subscribe(consumer);
+        } else {
+            flowable.buffer(200, 100, TimeUnit.MICROSECONDS, scheduler, supplier).subscribe(consumer);
+            observable.buffer(200, 100, TimeUnit.MICROSECONDS, scheduler, supplier).subscribe(consumer);
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        flowable.onComplete();
+        observable.onComplete();
+    }
+
+    @Benchmark
+    @Group("flowable")
+    @GroupThreads(4)
+    public void flowableOnNext() {
+        flowable.onNext(1);
+    }
+
+    @Benchmark
+    @Group("observable")
+    @GroupThreads(4)
+    public void observableOnNext() {
+        observable.onNext(1);
+    }
+}
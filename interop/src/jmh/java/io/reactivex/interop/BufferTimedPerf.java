@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.interop;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.common.Schedulers;
+import io.reactivex.flowable.Flowable;
+import io.reactivex.observable.Observable;
+
+/**
+ * Measures the time-bound exact buffer while its timer ticks concurrently with the upstream.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class BufferTimedPerf {
+    @Param({ "1000", "1000000" })
+    public int count;
+
+    @Param({ "1", "100" })
+    public int timespanMicros;
+
+    Flowable<?> flowable;
+
+    Observable<?> observable;
+
+    @Setup
+    public void setup() {
+        Integer[] array = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            array[i] = i;
+        }
+
+        flowable = Flowable.fromArray(array)
+                .buffer(timespanMicros, TimeUnit.MICROSECONDS, Schedulers.computation());
+
+        observable = Observable.fromArray(array)
+                .buffer(timespanMicros, TimeUnit.MICROSECONDS, Schedulers.computation());
+    }
+
+    @Benchmark
+    public void flowable(Blackhole bh) {
+        flowable.subscribeWith(new PerfAsyncConsumer(bh)).await(count);
+    }
+
+    @Benchmark
+    public void observable(Blackhole bh) {
+        observable.subscribeWith(new PerfAsyncConsumer(bh)).await(count);
+    }
+}
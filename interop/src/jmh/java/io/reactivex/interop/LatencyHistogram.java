@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.interop;
+
+import java.util.Arrays;
+
+/**
+ * A log-linear histogram of nanosecond latencies in the spirit of HdrHistogram:
+ * values below 128 are recorded exactly, larger values in buckets of 64 sub-buckets per
+ * power of two, keeping the relative error under 1.6% up to {@code Long.MAX_VALUE}.
+ * <p>
+ * Not thread-safe; record from one thread and hand over the instance with a proper
+ * happens-before edge (e.g., a latch) before reading it.
+ */
+public final class LatencyHistogram {
+
+    static final int LINEAR = 128;
+
+    static final int SUB_BUCKETS = 64;
+
+    final long[] counts = new long[LINEAR + 56 * SUB_BUCKETS];
+
+    long totalCount;
+
+    long max;
+
+    double sum;
+
+    public void recordValue(long value) {
+        if (value < 0L) {
+            value = 0L;
+        }
+        counts[indexOf(value)]++;
+        totalCount++;
+        sum += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public void add(LatencyHistogram other) {
+        long[] a = counts;
+        long[] b = other.counts;
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        totalCount = 0L;
+        sum = 0d;
+        max = 0L;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMaxValue() {
+        return max;
+    }
+
+    public double getMean() {
+        return totalCount != 0L ? sum / totalCount : 0d;
+    }
+
+    /**
+     * Returns the highest value equivalent to the bucket that contains the given percentile.
+     * @param percentile the percentile between 0 and 100
+     * @return the value at the percentile, 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long target = (long)Math.ceil(Math.min(percentile, 100d) / 100d * totalCount);
+        if (target < 1L) {
+            target = 1L;
+        }
+        long seen = 0L;
+        long[] a = counts;
+        for (int i = 0; i < a.length; i++) {
+            seen += a[i];
+            if (seen >= target) {
+                return Math.min(highestOf(i), max);
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Formats the usual percentiles in microseconds.
+     * @return the summary line
+     */
+    public String summary() {
+        return String.format("count=%d mean=%.1f p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f p99.99=%.1f max=%.1f (us)",
+                totalCount, getMean() / 1000d,
+                getValueAtPercentile(50) / 1000d, getValueAtPercentile(90) / 1000d,
+                getValueAtPercentile(99) / 1000d, getValueAtPercentile(99.9) / 1000d,
+                getValueAtPercentile(99.99) / 1000d, max / 1000d);
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR) {
+            return (int)value;
+        }
+        int shift = 57 - Long.numberOfLeadingZeros(value);
+        return LINEAR + (shift - 1) * SUB_BUCKETS + (int)((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long highestOf(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int k = index - LINEAR;
+        int shift = k / SUB_BUCKETS + 1;
+        long sub = k % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.interop;
+
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.reactivestreams.*;
+
+import hu.akarnokd.reactivestreams.extensions.RelaxedSubscriber;
+import io.reactivex.common.*;
+import io.reactivex.common.functions.Function;
+import io.reactivex.flowable.*;
+import io.reactivex.flowable.processors.UnicastProcessor;
+
+/**
+ * Measures the end-to-end latency distribution of asynchronous hops under a fixed offered load.
+ * <p>
+ * The benchmark thread emits {@code count} items at {@code rate} items per second, each item being
+ * the time it was <em>scheduled</em> to be sent. The consumers record the difference to the time of
+ * arrival, so when the producer falls behind (a stall in the pipeline backs up into the source), the
+ * delay shows up in the latencies instead of being omitted, avoiding coordinated omission.
+ * <p>
+ * The JMH score only reflects how long a burst took; the latency percentiles of the
+ * measurement iterations are printed at the end of each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class LatencyPerf {
+
+    @Param
+    public Pipeline pipeline;
+
+    @Param({ "10000", "100000", "1000000" })
+    public int rate;
+
+    @Param({ "10000" })
+    public int count;
+
+    final LatencyHistogram histogram = new LatencyHistogram();
+
+    boolean measuring;
+
+    @Setup(Level.Iteration)
+    public void setupIteration(IterationParams params) {
+        measuring = params.getType() == IterationType.MEASUREMENT;
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        System.out.println();
+        System.out.println("LatencyPerf " + pipeline + " @ " + rate + "/s: " + histogram.summary());
+    }
+
+    @Benchmark
+    public void burst() throws InterruptedException {
+        UnicastProcessor<Long> source = UnicastProcessor.create();
+
+        Recorder[] recorders = new Recorder[pipeline.consumers];
+        for (int i = 0; i < recorders.length; i++) {
+            recorders[i] = new Recorder();
+        }
+
+        pipeline.subscribe(source, recorders);
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        int n = count;
+        for (int i = 0; i < n; i++) {
+            long intended = start + i * interval;
+            while (System.nanoTime() < intended) {
+                // pacing the offered load
+            }
+            source.onNext(intended);
+        }
+        source.onComplete();
+
+        for (Recorder r : recorders) {
+            r.await();
+            if (measuring) {
+                histogram.add(r.histogram);
+            }
+        }
+    }
+
+    public enum Pipeline {
+        OBSERVE_ON(1) {
+            @Override
+            void subscribe(Flowable<Long> source, Recorder[] recorders) {
+                source.observeOn(Schedulers.computation()).subscribe(recorders[0]);
+            }
+        },
+        FLAT_MAP_ASYNC(1) {
+            @Override
+            void subscribe(Flowable<Long> source, Recorder[] recorders) {
+                source.flatMap(new Function<Long, Publisher<Long>>() {
+                    @Override
+                    public Publisher<Long> apply(Long v) throws Exception {
+                        return Flowable.just(v).subscribeOn(Schedulers.computation());
+                    }
+                }).subscribe(recorders[0]);
+            }
+        },
+        PUBLISH(2) {
+            @Override
+            void subscribe(Flowable<Long> source, Recorder[] recorders) {
+                ConnectableFlowable<Long> published = source.publish();
+                for (Recorder r : recorders) {
+                    published.observeOn(Schedulers.computation()).subscribe(r);
+                }
+                published.connect();
+            }
+        },
+        PARALLEL_RUN_ON(1) {
+            @Override
+            void subscribe(Flowable<Long> source, Recorder[] recorders) {
+                source.parallel().runOn(Schedulers.computation()).sequential().subscribe(recorders[0]);
+            }
+        };
+
+        final int consumers;
+
+        Pipeline(int consumers) {
+            this.consumers = consumers;
+        }
+
+        abstract void subscribe(Flowable<Long> source, Recorder[] recorders);
+    }
+
+    static final class Recorder extends CountDownLatch implements RelaxedSubscriber<Long> {
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        Recorder() {
+            super(1);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Long t) {
+            histogram.recordValue(System.nanoTime() - t);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            t.printStackTrace();
+            countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            countDown();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.interop;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.common.Schedulers;
+import io.reactivex.flowable.Flowable;
+import io.reactivex.flowable.processors.ReplayProcessor;
+
+/**
+ * Measures the time-bound replay buffers: feeding items into them while they evict the
+ * expired ones and replaying the buffered items to a late subscriber.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ReplayTimedPerf {
+    @Param({ "1000", "1000000" })
+    public int count;
+
+    ReplayProcessor<Integer> filled;
+
+    @Setup
+    public void setup() {
+        filled = ReplayProcessor.createWithTime(1, TimeUnit.DAYS, Schedulers.single());
+        for (int i = 0; i < count; i++) {
+            filled.onNext(i);
+        }
+    }
+
+    @Benchmark
+    public void processorAdd(Blackhole bh) {
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithTime(1, TimeUnit.MILLISECONDS, Schedulers.single());
+        for (int i = 0; i < count; i++) {
+            rp.onNext(i);
+        }
+        bh.consume(rp);
+    }
+
+    @Benchmark
+    public void processorLateSubscriber(Blackhole bh) {
+        filled.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public void replayOperator(Blackhole bh) {
+        Flowable.range(1, count)
+        .replay(1, TimeUnit.MILLISECONDS, Schedulers.single())
+        .autoConnect()
+        .subscribe(new PerfConsumer(bh));
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.interop;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.common.Disposable;
+import io.reactivex.common.functions.Consumer;
+import io.reactivex.flowable.processors.PublishProcessor;
+import io.reactivex.observable.subjects.PublishSubject;
+
+/**
+ * Measures subscribing and cancelling on a PublishProcessor and PublishSubject that
+ * already has a large number of subscribers while another thread keeps emitting.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Group)
+public class SubscriberChurnPerf {
+
+    @Param({ "10", "1000", "10000" })
+    public int count;
+
+    PublishProcessor<Integer> processor;
+
+    PublishSubject<Integer> subject;
+
+    Consumer<Integer> consumer;
+
+    volatile int sink;
+
+    @Setup
+    public void setup() {
+        processor = PublishProcessor.create();
+        subject = PublishSubject.create();
+        consumer = new Consumer<Integer>() {
+            @Override
+            public void accept(Integer v) throws Exception {
+                sink = v;
+            }
+        };
+
+        for (int i = 0; i < count; i++) {
+            processor.subscribe(consumer);
+            subject.subscribe(consumer);
+        }
+    }
+
+    @Benchmark
+    @Group("processor")
+    @GroupThreads(1)
+    public void processorOnNext() {
+        processor.onNext(1);
+    }
+
+    @Benchmark
+    @Group("processor")
+    @GroupThreads(3)
+    public void processorChurn(Blackhole bh) {
+        Disposable d = processor.subscribe(consumer);
+        d.dispose();
+        bh.consume(d);
+    }
+
+    @Benchmark
+    @Group("subject")
+    @GroupThreads(1)
+    public void subjectOnNext() {
+        subject.onNext(1);
+    }
+
+    @Benchmark
+    @Group("subject")
+    @GroupThreads(3)
+    public void subjectChurn(Blackhole bh) {
+        Disposable d = subject.subscribe(consumer);
+        d.dispose();
+        bh.consume(d);
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.interop;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.flowable.processors.*;
+
+/**
+ * Compares concurrent onNext calls on a multi-producer UnicastProcessor with
+ * a serialized single-producer one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Group)
+public class UnicastMultiProducerPerf {
+
+    FlowableProcessor<Integer> multi;
+
+    FlowableProcessor<Integer> serialized;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        multi = UnicastProcessor.createMultiProducer();
+        multi.subscribe(new PerfConsumer(bh));
+
+        serialized = UnicastProcessor.<Integer>create().toSerialized();
+        serialized.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    @Group("multi")
+    @GroupThreads(4)
+    public void multiOnNext() {
+        multi.onNext(1);
+    }
+
+    @Benchmark
+    @Group("serialized")
+    @GroupThreads(4)
+    public void serializedOnNext() {
+        serialized.onNext(1);
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.interop.parallel;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.common.*;
+import io.reactivex.common.functions.Function;
+import io.reactivex.flowable.Flowable;
+import io.reactivex.interop.PerfAsyncConsumer;
+
+/**
+ * Compares runOn with the computation Scheduler handing out one distinct event loop per rail
+ * against the same Scheduler accessed only through round-robin {@link Scheduler#createWorker()}.
+ * <p>
+ * Run with {@code parallelism} up to the number of cores to see the per-core scaling.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1,jvmArgsAppend = { "-XX:MaxInlineLevel=20" })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class ParallelRunOnPerf implements Function<Integer, Integer> {
+
+    @Param({"10000"})
+    public int count;
+
+    @Param({"100", "10000"})
+    public int compute;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    Flowable<Integer> pinned;
+
+    Flowable<Integer> roundRobin;
+
+    @Override
+    public Integer apply(Integer t) throws Exception {
+        Blackhole.consumeCPU(compute);
+        return t;
+    }
+
+    @Setup
+    public void setup() {
+        Integer[] ints = new Integer[count];
+        Arrays.fill(ints, 777);
+
+        Flowable<Integer> source = Flowable.fromArray(ints);
+
+        final Scheduler computation = Schedulers.computation();
+
+        // hides the multi-worker support of the computation Scheduler
+        Scheduler plain = new Scheduler() {
+            @Override
+            public Worker createWorker() {
+                return computation.createWorker();
+            }
+        };
+
+        pinned = source.parallel(parallelism).runOn(computation).map(this).sequential();
+
+        roundRobin = source.parallel(parallelism).runOn(plain).map(this).sequential();
+    }
+
+    void subscribe(Flowable<Integer> f, Blackhole bh) {
+        PerfAsyncConsumer consumer = new PerfAsyncConsumer(bh);
+        f.subscribe(consumer);
+        consumer.await(count);
+    }
+
+    @Benchmark
+    public void pinned(Blackhole bh) {
+        subscribe(pinned, bh);
+    }
+
+    @Benchmark
+    public void roundRobin(Blackhole bh) {
+        subscribe(roundRobin, bh);
+    }
+}
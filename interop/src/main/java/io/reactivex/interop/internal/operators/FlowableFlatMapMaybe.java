@@ -13,6 +13,7 @@
 
 package io.reactivex.interop.internal.operators;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.*;
 
 import org.reactivestreams.*;
@@ -31,6 +32,7 @@ import io.reactivex.flowable.internal.queues.SpscLinkedArrayQueue;
 import io.reactivex.flowable.internal.subscriptions.SubscriptionHelper;
 import io.reactivex.flowable.internal.utils.BackpressureHelper;
 import io.reactivex.observable.*;
+import io.reactivex.observable.extensions.ScalarCallable;
 
 /**
  * Maps upstream values into MaybeSources and merges their signals into one sequence.
@@ -115,6 +117,7 @@ public final class FlowableFlatMapMaybe<T, R> extends AbstractFlowableWithUpstre
             }
         }
 
+        @SuppressWarnings("unchecked")
         @Override
         public void onNext(T t) {
             MaybeSource<? extends R> ms;
@@ -128,6 +131,31 @@ public final class FlowableFlatMapMaybe<T, R> extends AbstractFlowableWithUpstre
                 return;
             }
 
+            if (ms instanceof Callable) {
+                R v;
+
+                if (ms instanceof ScalarCallable) {
+                    v = ((ScalarCallable<R>)ms).call();
+                } else {
+                    try {
+                        v = ((Callable<R>)ms).call();
+                    } catch (Throwable ex) {
+                        Exceptions.throwIfFatal(ex);
+                        scalarError(ex);
+                        return;
+                    }
+                }
+
+                if (v == null) {
+                    if (maxConcurrency != Integer.MAX_VALUE) {
+                        s.request(1);
+                    }
+                } else {
+                    scalarSuccess(v);
+                }
+                return;
+            }
+
             active.getAndIncrement();
 
             InnerObserver inner = new InnerObserver();
@@ -215,6 +243,55 @@ public final class FlowableFlatMapMaybe<T, R> extends AbstractFlowableWithUpstre
             drainLoop();
         }
 
+        /**
+         * Emits a value the mapper's source held in hand without subscribing to it,
+         * queueing it only if the downstream is not ready or there is a drain in progress.
+         * @param value the value to emit
+         */
+        void scalarSuccess(R value) {
+            if (get() == 0 && compareAndSet(0, 1)) {
+                SpscLinkedArrayQueue<R> q = queue.get();
+                if (requested.get() != 0 && (q == null || q.isEmpty())) {
+                    actual.onNext(value);
+                    BackpressureHelper.produced(requested, 1);
+                    if (maxConcurrency != Integer.MAX_VALUE) {
+                        s.request(1);
+                    }
+                } else {
+                    q = getOrCreateQueue();
+                    synchronized (q) {
+                        q.offer(value);
+                    }
+                }
+                if (decrementAndGet() == 0) {
+                    return;
+                }
+            } else {
+                SpscLinkedArrayQueue<R> q = getOrCreateQueue();
+                synchronized (q) {
+                    q.offer(value);
+                }
+                if (getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        void scalarError(Throwable e) {
+            if (errors.addThrowable(e)) {
+                if (!delayErrors) {
+                    s.cancel();
+                    set.dispose();
+                } else if (maxConcurrency != Integer.MAX_VALUE) {
+                    s.request(1);
+                }
+                drain();
+            } else {
+                RxJavaCommonPlugins.onError(e);
+            }
+        }
+
         SpscLinkedArrayQueue<R> getOrCreateQueue() {
             for (;;) {
                 SpscLinkedArrayQueue<R> current = queue.get();
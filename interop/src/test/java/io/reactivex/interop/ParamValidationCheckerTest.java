@@ -13,6 +13,7 @@
 
 package io.reactivex.interop;
 
+import java.io.File;
 import java.lang.reflect.*;
 import java.util.*;
 import java.util.concurrent.*;
@@ -131,6 +132,9 @@ public class ParamValidationCheckerTest {
         // null default is allowed
         addOverride(new ParamOverride(Flowable.class, 0, ParamMode.ANY, "blockingLast", Object.class));
 
+        // zero wait is allowed
+        addOverride(new ParamOverride(Flowable.class, 1, ParamMode.NON_NEGATIVE, "blockingIterableBatched", Integer.TYPE, Long.TYPE, TimeUnit.class));
+
         // negative time is considered as zero time
         addOverride(new ParamOverride(Flowable.class, 0, ParamMode.ANY, "timer", Long.TYPE, TimeUnit.class));
         addOverride(new ParamOverride(Flowable.class, 0, ParamMode.ANY, "timer", Long.TYPE, TimeUnit.class, Scheduler.class));
@@ -167,6 +171,10 @@ public class ParamValidationCheckerTest {
         // zero repeat is allowed
         addOverride(new ParamOverride(Flowable.class, 0, ParamMode.NON_NEGATIVE, "repeat", Long.TYPE));
 
+        // negative time is considered as zero time
+        addOverride(new ParamOverride(Flowable.class, 0, ParamMode.ANY, "cacheBounded", Long.TYPE, TimeUnit.class, Scheduler.class));
+        addOverride(new ParamOverride(Flowable.class, 3, ParamMode.ANY, "cacheBounded", Integer.TYPE, Long.TYPE, Function.class, Long.TYPE, TimeUnit.class, Scheduler.class));
+
         // negative time is considered as zero time
         addOverride(new ParamOverride(Flowable.class, 0, ParamMode.ANY, "replay", Long.TYPE, TimeUnit.class));
         addOverride(new ParamOverride(Flowable.class, 0, ParamMode.ANY, "replay", Long.TYPE, TimeUnit.class, Scheduler.class));
@@ -407,6 +415,10 @@ public class ParamValidationCheckerTest {
         // zero repeat is allowed
         addOverride(new ParamOverride(Observable.class, 0, ParamMode.NON_NEGATIVE, "repeat", Long.TYPE));
 
+        // negative time is considered as zero time
+        addOverride(new ParamOverride(Observable.class, 0, ParamMode.ANY, "cacheBounded", Long.TYPE, TimeUnit.class, Scheduler.class));
+        addOverride(new ParamOverride(Observable.class, 3, ParamMode.ANY, "cacheBounded", Integer.TYPE, Long.TYPE, Function.class, Long.TYPE, TimeUnit.class, Scheduler.class));
+
         // negative time is considered as zero time
         addOverride(new ParamOverride(Observable.class, 0, ParamMode.ANY, "replay", Long.TYPE, TimeUnit.class));
         addOverride(new ParamOverride(Observable.class, 0, ParamMode.ANY, "replay", Long.TYPE, TimeUnit.class, Scheduler.class));
@@ -548,6 +560,7 @@ public class ParamValidationCheckerTest {
         defaultValues.put(Iterable.class, Collections.emptyList());
         defaultValues.put(Object.class, 1);
         defaultValues.put(Class.class, Integer.class);
+        defaultValues.put(File.class, new File("."));
         Object af = new AllFunctionals();
         for (Class<?> interfaces : AllFunctionals.class.getInterfaces()) {
             defaultValues.put(interfaces, af);
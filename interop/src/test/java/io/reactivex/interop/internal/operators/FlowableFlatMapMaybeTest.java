@@ -559,4 +559,73 @@ public class FlowableFlatMapMaybeTest {
             TestCommonHelper.race(r1, r2);
         }
     }
+
+    @Test
+    public void scalar() {
+        flatMapMaybe(Flowable.range(1, 5), new Function<Integer, MaybeSource<Integer>>() {
+            @Override
+            public MaybeSource<Integer> apply(Integer v) throws Exception {
+                return v % 2 == 0 ? Maybe.<Integer>empty() : Maybe.just(v * 10);
+            }
+        })
+        .test()
+        .assertResult(10, 30, 50);
+    }
+
+    @Test
+    public void scalarBackpressured() {
+        TestSubscriber<Integer> ts = flatMapMaybe(Flowable.range(1, 5), new Function<Integer, MaybeSource<Integer>>() {
+            @Override
+            public MaybeSource<Integer> apply(Integer v) throws Exception {
+                return v == 3 ? Maybe.<Integer>empty() : Maybe.just(v * 10);
+            }
+        }, false, 2)
+        .test(0L);
+
+        ts.assertEmpty();
+
+        ts.request(1);
+
+        ts.assertValues(10).assertNoErrors().assertNotComplete();
+
+        ts.request(10);
+
+        ts.assertResult(10, 20, 40, 50);
+    }
+
+    @Test
+    public void callable() {
+        flatMapMaybe(Flowable.range(1, 4), new Function<Integer, MaybeSource<Integer>>() {
+            @Override
+            public MaybeSource<Integer> apply(final Integer v) throws Exception {
+                return Maybe.fromCallable(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        return v % 2 == 0 ? null : v;
+                    }
+                });
+            }
+        }, false, 1)
+        .test()
+        .assertResult(1, 3);
+    }
+
+    @Test
+    public void callableError() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = flatMapMaybe(pp, Functions.justFunction(Maybe.fromCallable(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                throw new TestException();
+            }
+        })))
+        .test();
+
+        pp.onNext(1);
+
+        assertFalse(pp.hasSubscribers());
+
+        ts.assertFailure(TestException.class);
+    }
 }
@@ -478,4 +478,120 @@ public class FlowableFlatMapSingleTest {
             TestCommonHelper.race(r1, r2);
         }
     }
+
+    @Test
+    public void scalar() {
+        flatMapSingle(Flowable.range(1, 5), new Function<Integer, SingleSource<Integer>>() {
+            @Override
+            public SingleSource<Integer> apply(Integer v) throws Exception {
+                return Single.just(v * 10);
+            }
+        })
+        .test()
+        .assertResult(10, 20, 30, 40, 50);
+    }
+
+    @Test
+    public void scalarBackpressured() {
+        TestSubscriber<Integer> ts = flatMapSingle(Flowable.range(1, 5), new Function<Integer, SingleSource<Integer>>() {
+            @Override
+            public SingleSource<Integer> apply(Integer v) throws Exception {
+                return Single.just(v * 10);
+            }
+        }, false, 2)
+        .test(0L);
+
+        ts.assertEmpty();
+
+        ts.request(1);
+
+        ts.assertValues(10).assertNoErrors().assertNotComplete();
+
+        ts.request(10);
+
+        ts.assertResult(10, 20, 30, 40, 50);
+    }
+
+    @Test
+    public void scalarMixed() {
+        flatMapSingle(Flowable.range(1, 6), new Function<Integer, SingleSource<Integer>>() {
+            @Override
+            public SingleSource<Integer> apply(Integer v) throws Exception {
+                if (v % 2 == 0) {
+                    return Single.just(v);
+                }
+                return Single.just(v).hide();
+            }
+        }, false, 1)
+        .test()
+        .assertResult(1, 2, 3, 4, 5, 6);
+    }
+
+    @Test
+    public void callable() {
+        flatMapSingle(Flowable.range(1, 3), new Function<Integer, SingleSource<Integer>>() {
+            @Override
+            public SingleSource<Integer> apply(final Integer v) throws Exception {
+                return Single.fromCallable(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        return v + 1;
+                    }
+                });
+            }
+        })
+        .test()
+        .assertResult(2, 3, 4);
+    }
+
+    @Test
+    public void scalarError() {
+        final Single<Integer> single = Single.fromCallable(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                throw new TestException();
+            }
+        });
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = flatMapSingle(pp, Functions.justFunction(single)).test();
+
+        pp.onNext(1);
+
+        assertFalse(pp.hasSubscribers());
+
+        ts.assertFailure(TestException.class);
+    }
+
+    @Test
+    public void callableNull() {
+        flatMapSingle(Flowable.just(1), Functions.justFunction(Single.fromCallable(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return null;
+            }
+        })))
+        .test()
+        .assertFailure(NullPointerException.class);
+    }
+
+    @Test
+    public void scalarErrorDelayed() {
+        final Single<Integer> single = Single.fromCallable(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                throw new TestException();
+            }
+        });
+
+        flatMapSingle(Flowable.range(1, 3), new Function<Integer, SingleSource<Integer>>() {
+            @Override
+            public SingleSource<Integer> apply(Integer v) throws Exception {
+                return v == 2 ? single : Single.just(v);
+            }
+        }, true, 1)
+        .test()
+        .assertFailure(TestException.class, 1, 3);
+    }
 }
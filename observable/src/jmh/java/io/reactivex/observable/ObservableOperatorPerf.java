@@ -0,0 +1,315 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.observable;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.common.functions.*;
+import io.reactivex.common.internal.functions.Functions;
+
+/**
+ * Runs a synchronous range through each of the commonly used Observable operators in isolation,
+ * so a change to one operator can be measured without the rest of the interop suite.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ObservableOperatorPerf {
+
+    @Param({ "1", "1000", "1000000" })
+    public int times;
+
+    @Param
+    public Operator operator;
+
+    Observable<?> flow;
+
+    @Setup
+    public void setup() {
+        flow = operator.apply(Observable.range(1, times), times);
+    }
+
+    @Benchmark
+    public Object run(Blackhole bh) {
+        PerfObserver s = new PerfObserver(bh);
+        flow.subscribe(s);
+        return s;
+    }
+
+    static final Function<Integer, Integer> INCREMENT = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer v) throws Exception {
+            return v + 1;
+        }
+    };
+
+    static final Function<Integer, Integer> MOD_8 = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer v) throws Exception {
+            return v & 7;
+        }
+    };
+
+    static final Predicate<Integer> EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean test(Integer v) throws Exception {
+            return (v & 1) == 0;
+        }
+    };
+
+    static final Predicate<Integer> ALWAYS_TRUE = Functions.alwaysTrue();
+
+    static final Predicate<Integer> ALWAYS_FALSE = Functions.alwaysFalse();
+
+    static final BiFunction<Integer, Integer, Integer> SUM = new BiFunction<Integer, Integer, Integer>() {
+        @Override
+        public Integer apply(Integer a, Integer b) throws Exception {
+            return a + b;
+        }
+    };
+
+    static final Callable<List<Integer>> LIST_SUPPLIER = new Callable<List<Integer>>() {
+        @Override
+        public List<Integer> call() throws Exception {
+            return new ArrayList<Integer>();
+        }
+    };
+
+    static final BiConsumer<List<Integer>, Integer> LIST_ADD = new BiConsumer<List<Integer>, Integer>() {
+        @Override
+        public void accept(List<Integer> list, Integer v) throws Exception {
+            list.add(v);
+        }
+    };
+
+    static final Consumer<Integer> NO_OP = Functions.emptyConsumer();
+
+    static final Function<Integer, ObservableSource<Integer>> TO_JUST = new Function<Integer, ObservableSource<Integer>>() {
+        @Override
+        public ObservableSource<Integer> apply(Integer v) throws Exception {
+            return Observable.just(v);
+        }
+    };
+
+    static final Function<Integer, ObservableSource<Integer>> TO_RANGE = new Function<Integer, ObservableSource<Integer>>() {
+        @Override
+        public ObservableSource<Integer> apply(Integer v) throws Exception {
+            return Observable.range(v, 2);
+        }
+    };
+
+    public enum Operator {
+        MAP {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.map(INCREMENT);
+            }
+        },
+        FILTER {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.filter(EVEN);
+            }
+        },
+        TAKE {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.take(times / 2 + 1);
+            }
+        },
+        SKIP {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.skip(times / 2);
+            }
+        },
+        TAKE_WHILE {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.takeWhile(ALWAYS_TRUE);
+            }
+        },
+        SKIP_WHILE {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.skipWhile(ALWAYS_FALSE);
+            }
+        },
+        TAKE_LAST {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.takeLast(16);
+            }
+        },
+        SKIP_LAST {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.skipLast(16);
+            }
+        },
+        DISTINCT {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.distinct();
+            }
+        },
+        DISTINCT_UNTIL_CHANGED {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.distinctUntilChanged();
+            }
+        },
+        SCAN {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.scan(SUM);
+            }
+        },
+        REDUCE {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.reduce(SUM).toObservable();
+            }
+        },
+        COUNT {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.count().toObservable();
+            }
+        },
+        TO_LIST {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.toList().toObservable();
+            }
+        },
+        COLLECT {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.collect(LIST_SUPPLIER, LIST_ADD).toObservable();
+            }
+        },
+        LAST {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.lastElement().toObservable();
+            }
+        },
+        ANY {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.any(ALWAYS_FALSE).toObservable();
+            }
+        },
+        ALL {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.all(ALWAYS_TRUE).toObservable();
+            }
+        },
+        IGNORE_ELEMENTS {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.ignoreElements().toObservable();
+            }
+        },
+        DO_ON_NEXT {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.doOnNext(NO_OP);
+            }
+        },
+        BUFFER {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.buffer(16);
+            }
+        },
+        WINDOW {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.window(16).flatMap(Functions.<Observable<Integer>>identity());
+            }
+        },
+        GROUP_BY {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.groupBy(MOD_8).flatMap(Functions.<GroupedObservable<Integer, Integer>>identity());
+            }
+        },
+        FLAT_MAP_JUST {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.flatMap(TO_JUST);
+            }
+        },
+        FLAT_MAP_RANGE {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.flatMap(TO_RANGE);
+            }
+        },
+        CONCAT_MAP_JUST {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.concatMap(TO_JUST);
+            }
+        },
+        CONCAT_MAP_RANGE {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.concatMap(TO_RANGE);
+            }
+        },
+        SWITCH_MAP_JUST {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.switchMap(TO_JUST);
+            }
+        },
+        ZIP_WITH {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.zipWith(source, SUM);
+            }
+        },
+        MERGE_WITH {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.mergeWith(source);
+            }
+        },
+        CONCAT_WITH {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.concatWith(source);
+            }
+        },
+        START_WITH {
+            @Override
+            Observable<?> apply(Observable<Integer> source, int times) {
+                return source.startWith(0);
+            }
+        };
+
+        abstract Observable<?> apply(Observable<Integer> source, int times);
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.observable.subjects;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.observable.PerfObserver;
+
+/**
+ * Emits a batch of items through each subject type to one or more Observers,
+ * measuring the per-item dispatch cost of the subject itself.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class SubjectPerf {
+
+    @Param({ "1", "1000", "1000000" })
+    public int count;
+
+    @Param({ "1", "4" })
+    public int consumers;
+
+    @Param
+    public Kind kind;
+
+    @Benchmark
+    public Object emit(Blackhole bh) {
+        Subject<Integer> p = kind.create();
+
+        int c = kind.unicast ? 1 : consumers;
+        for (int i = 0; i < c; i++) {
+            p.subscribe(new PerfObserver(bh));
+        }
+
+        int n = count;
+        for (int i = 0; i < n; i++) {
+            p.onNext(i);
+        }
+        p.onComplete();
+        return p;
+    }
+
+    public enum Kind {
+        PUBLISH(false) {
+            @Override
+            Subject<Integer> create() {
+                return PublishSubject.<Integer>create();
+            }
+        },
+        BEHAVIOR(false) {
+            @Override
+            Subject<Integer> create() {
+                return BehaviorSubject.<Integer>create();
+            }
+        },
+        REPLAY(false) {
+            @Override
+            Subject<Integer> create() {
+                return ReplaySubject.<Integer>create();
+            }
+        },
+        REPLAY_SIZE(false) {
+            @Override
+            Subject<Integer> create() {
+                return ReplaySubject.<Integer>createWithSize(16);
+            }
+        },
+        ASYNC(false) {
+            @Override
+            Subject<Integer> create() {
+                return AsyncSubject.<Integer>create();
+            }
+        },
+        UNICAST(true) {
+            @Override
+            Subject<Integer> create() {
+                return UnicastSubject.<Integer>create();
+            }
+        },
+        UNICAST_MULTI_PRODUCER(true) {
+            @Override
+            Subject<Integer> create() {
+                return UnicastSubject.<Integer>createMultiProducer();
+            }
+        },
+        SERIALIZED_PUBLISH(false) {
+            @Override
+            Subject<Integer> create() {
+                return PublishSubject.<Integer>create().toSerialized();
+            }
+        };
+
+        final boolean unicast;
+
+        Kind(boolean unicast) {
+            this.unicast = unicast;
+        }
+
+        abstract Subject<Integer> create();
+    }
+}
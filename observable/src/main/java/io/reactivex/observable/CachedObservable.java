@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.observable;
+
+import io.reactivex.common.annotations.Experimental;
+
+/**
+ * An {@link Observable} that connects to its upstream on the first subscription, retains a bounded window
+ * of the items it receives and replays that window (plus any terminal event) to each {@link Observer}.
+ * <p>
+ * Items are evicted oldest-first once the item count, the estimated byte size or the age limit
+ * given to {@link Observable#cacheBounded(int, long, io.reactivex.common.functions.Function, long, java.util.concurrent.TimeUnit, io.reactivex.common.Scheduler)}
+ * is exceeded; Observers that are still behind the evicted items keep receiving them, late Observers
+ * start with the oldest retained item.
+ *
+ * @param <T> the type of items emitted by the {@code CachedObservable}
+ */
+@Experimental
+public abstract class CachedObservable<T> extends Observable<T> {
+
+    /**
+     * Returns the number of items currently retained for replay, not counting the terminal event.
+     * @return the number of retained items
+     */
+    public abstract long retainedCount();
+
+    /**
+     * Returns the sum of the estimated sizes of the items currently retained for replay.
+     * @return the estimated size of the retained items in bytes, or 0 if no estimator was given
+     */
+    public abstract long retainedBytes();
+}
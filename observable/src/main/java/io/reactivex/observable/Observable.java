@@ -5793,6 +5793,91 @@ public abstract class Observable<T> implements ObservableSource<T> {
         return ObservableCache.from(this, initialCapacity);
     }
 
+    /**
+     * Returns a {@link CachedObservable} that subscribes to this ObservableSource lazily and replays at most
+     * the latest {@code maxItems} items plus the terminal event to its Observers.
+     * <p>
+     * Unlike {@link #cache()}, older items are evicted once the limit is exceeded, so a long-running
+     * source does not grow the cache without bounds. Observers that are still behind the evicted
+     * items keep receiving them, late Observers start with the oldest retained item.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>This version of {@code cacheBounded} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param maxItems the maximum number of items retained, positive
+     * @return the new CachedObservable instance
+     * @see #cacheBounded(int, long, Function, long, TimeUnit, Scheduler)
+     */
+    @CheckReturnValue
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final CachedObservable<T> cacheBounded(int maxItems) {
+        ObjectHelper.verifyPositive(maxItems, "maxItems");
+        return RxJavaObservablePlugins.onAssembly(new ObservableCacheBounded<T>(this, maxItems, Long.MAX_VALUE, null,
+                Long.MAX_VALUE, TimeUnit.MILLISECONDS, Schedulers.trampoline()));
+    }
+
+    /**
+     * Returns a {@link CachedObservable} that subscribes to this ObservableSource lazily and replays the items
+     * not older than {@code maxAge} plus the terminal event to its Observers.
+     * <p>
+     * Items are evicted when a newer item arrives; Observers arriving later skip items that
+     * have expired in the meantime.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use as the time source.</dd>
+     * </dl>
+     *
+     * @param maxAge the maximum age of the retained items
+     * @param unit the time unit of {@code maxAge}
+     * @param scheduler the scheduler providing the current time
+     * @return the new CachedObservable instance
+     * @see #cacheBounded(int, long, Function, long, TimeUnit, Scheduler)
+     */
+    @CheckReturnValue
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    @Experimental
+    public final CachedObservable<T> cacheBounded(long maxAge, TimeUnit unit, Scheduler scheduler) {
+        ObjectHelper.requireNonNull(unit, "unit is null");
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        return RxJavaObservablePlugins.onAssembly(new ObservableCacheBounded<T>(this, Integer.MAX_VALUE, Long.MAX_VALUE, null, maxAge, unit, scheduler));
+    }
+
+    /**
+     * Returns a {@link CachedObservable} that subscribes to this ObservableSource lazily and replays the latest
+     * items that fit into the given item count, estimated byte size and age limits, plus the terminal
+     * event, to its Observers.
+     * <p>
+     * Items are evicted oldest-first whenever a new item pushes the cache over any of the limits.
+     * The current occupancy can be queried via {@link CachedObservable#retainedCount()} and
+     * {@link CachedObservable#retainedBytes()}.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use as the time source.</dd>
+     * </dl>
+     *
+     * @param maxItems the maximum number of items retained, positive, {@code Integer.MAX_VALUE} for no limit
+     * @param maxBytes the maximum sum of the estimated item sizes, positive, {@code Long.MAX_VALUE} for no limit
+     * @param sizeEstimator the function returning the estimated size of an item in bytes
+     * @param maxAge the maximum age of the retained items, {@code Long.MAX_VALUE} for no limit
+     * @param unit the time unit of {@code maxAge}
+     * @param scheduler the scheduler providing the current time
+     * @return the new CachedObservable instance
+     */
+    @CheckReturnValue
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    @Experimental
+    public final CachedObservable<T> cacheBounded(int maxItems, long maxBytes, Function<? super T, Long> sizeEstimator,
+            long maxAge, TimeUnit unit, Scheduler scheduler) {
+        ObjectHelper.verifyPositive(maxItems, "maxItems");
+        ObjectHelper.verifyPositive(maxBytes, "maxBytes");
+        ObjectHelper.requireNonNull(sizeEstimator, "sizeEstimator is null");
+        ObjectHelper.requireNonNull(unit, "unit is null");
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        return RxJavaObservablePlugins.onAssembly(new ObservableCacheBounded<T>(this, maxItems, maxBytes, sizeEstimator, maxAge, unit, scheduler));
+    }
+
     /**
      * Returns an Observable that emits the items emitted by the source ObservableSource, converted to the specified
      * type.
@@ -8177,6 +8262,183 @@ public abstract class Observable<T> implements ObservableSource<T> {
         return RxJavaObservablePlugins.onAssembly(new ObservableGroupBy<T, K, V>(this, keySelector, valueSelector, bufferSize, delayError));
     }
 
+    /**
+     * Groups the items emitted by an {@code ObservableSource} according to a specified criterion, and emits these
+     * grouped items as {@link GroupedObservable}s, keeping at most {@code maxGroups} groups alive at a time.
+     * <p>
+     * When an item with a new key arrives and there are already {@code maxGroups} live groups, the
+     * least recently used group (the one which received an item the longest time ago) is evicted: it is
+     * completed after it emitted its buffered items and the next item with its key will
+     * trigger a new {@code GroupedObservableSource} emission.
+     * <p>
+     * <img width="640" height="360" src="https://raw.github.com/wiki/ReactiveX/RxJava/images/rx-operators/groupBy.png" alt="">
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>{@code groupBy} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param keySelector
+     *            a function that extracts the key for each item
+     * @param valueSelector
+     *            a function that extracts the return element for each item
+     * @param delayError
+     *            if true, the exception from the current Observable is delayed in each group until that specific group emitted
+     *            the normal values; if false, the exception bypasses values in the groups and is reported immediately.
+     * @param bufferSize
+     *            the hint for how many {@link GroupedObservable}s and element in each {@link GroupedObservable} should be buffered
+     * @param maxGroups
+     *            the maximum number of groups alive at a time, positive
+     * @param <K>
+     *            the key type
+     * @param <V>
+     *            the element type
+     * @return an {@code ObservableSource} that emits {@link GroupedObservable}s, each of which corresponds to a
+     *         key value and each of which emits those items from the source ObservableSource that share that
+     *         key value
+     * @see <a href="http://reactivex.io/documentation/operators/groupby.html">ReactiveX operators documentation: GroupBy</a>
+     */
+    @CheckReturnValue
+    @SchedulerSupport(SchedulerSupport.NONE)
+    public final <K, V> Observable<GroupedObservable<K, V>> groupBy(Function<? super T, ? extends K> keySelector,
+            Function<? super T, ? extends V> valueSelector,
+            boolean delayError, int bufferSize, int maxGroups) {
+        ObjectHelper.requireNonNull(keySelector, "keySelector is null");
+        ObjectHelper.requireNonNull(valueSelector, "valueSelector is null");
+        ObjectHelper.verifyPositive(bufferSize, "bufferSize");
+        ObjectHelper.verifyPositive(maxGroups, "maxGroups");
+
+        return RxJavaObservablePlugins.onAssembly(new ObservableGroupBy<T, K, V>(this, keySelector, valueSelector, bufferSize, delayError,
+                maxGroups, Long.MAX_VALUE, TimeUnit.NANOSECONDS, null, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Groups the items emitted by an {@code ObservableSource} according to a specified criterion, and emits these
+     * grouped items as {@link GroupedObservable}s, keeping at most {@code maxGroups} groups alive at a time
+     * and evicting groups which haven't received an item for the specified amount of time.
+     * <p>
+     * Evicted groups are completed after they emitted their buffered items and the next item with the
+     * same key will trigger a new {@code GroupedObservableSource} emission. Groups become idle based on the time
+     * provided by the {@code scheduler} and are evicted when the next item arrives from the source {@code ObservableSource};
+     * when the number of live groups reaches {@code maxGroups}, a new key evicts the least recently used group.
+     * <p>
+     * <img width="640" height="360" src="https://raw.github.com/wiki/ReactiveX/RxJava/images/rx-operators/groupBy.png" alt="">
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator uses for determining the idle time of the groups.</dd>
+     * </dl>
+     *
+     * @param keySelector
+     *            a function that extracts the key for each item
+     * @param valueSelector
+     *            a function that extracts the return element for each item
+     * @param delayError
+     *            if true, the exception from the current Observable is delayed in each group until that specific group emitted
+     *            the normal values; if false, the exception bypasses values in the groups and is reported immediately.
+     * @param bufferSize
+     *            the hint for how many {@link GroupedObservable}s and element in each {@link GroupedObservable} should be buffered
+     * @param maxGroups
+     *            the maximum number of groups alive at a time, positive, {@code Integer.MAX_VALUE} for no limit
+     * @param maxIdleTime
+     *            the time a group may go without receiving an item before it is evicted, positive
+     * @param unit
+     *            the time unit of {@code maxIdleTime}
+     * @param scheduler
+     *            the {@link Scheduler} providing the current time
+     * @param <K>
+     *            the key type
+     * @param <V>
+     *            the element type
+     * @return an {@code ObservableSource} that emits {@link GroupedObservable}s, each of which corresponds to a
+     *         key value and each of which emits those items from the source ObservableSource that share that
+     *         key value
+     * @see <a href="http://reactivex.io/documentation/operators/groupby.html">ReactiveX operators documentation: GroupBy</a>
+     */
+    @CheckReturnValue
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    public final <K, V> Observable<GroupedObservable<K, V>> groupBy(Function<? super T, ? extends K> keySelector,
+            Function<? super T, ? extends V> valueSelector,
+            boolean delayError, int bufferSize, int maxGroups,
+            long maxIdleTime, TimeUnit unit, Scheduler scheduler) {
+        ObjectHelper.requireNonNull(keySelector, "keySelector is null");
+        ObjectHelper.requireNonNull(valueSelector, "valueSelector is null");
+        ObjectHelper.verifyPositive(bufferSize, "bufferSize");
+        ObjectHelper.verifyPositive(maxGroups, "maxGroups");
+        ObjectHelper.verifyPositive(maxIdleTime, "maxIdleTime");
+        ObjectHelper.requireNonNull(unit, "unit is null");
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+
+        return RxJavaObservablePlugins.onAssembly(new ObservableGroupBy<T, K, V>(this, keySelector, valueSelector, bufferSize, delayError,
+                maxGroups, maxIdleTime, unit, scheduler, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Groups the items emitted by an {@code ObservableSource} according to a specified criterion, and emits these
+     * grouped items as {@link GroupedObservable}s, keeping at most {@code maxGroups} groups alive at a time
+     * evicting groups which haven't received an item for the specified amount of time and buffering at most
+     * {@code groupCapacity} items in each group.
+     * <p>
+     * Evicted groups are completed after they emitted their buffered items and the next item with the
+     * same key will trigger a new {@code GroupedObservableSource} emission. Groups become idle based on the time
+     * provided by the {@code scheduler} and are evicted when the next item arrives from the source {@code ObservableSource};
+     * when the number of live groups reaches {@code maxGroups}, a new key evicts the least recently used group.
+     * <p>
+     * A group buffers the items it receives before it is subscribed to or while its {@code Observer} is busy.
+     * If a group's buffer is full, a {@code MissingBackpressureException} is signalled to that group only
+     * and the next item with the same key will trigger a new {@code GroupedObservable} emission.
+     * <p>
+     * <img width="640" height="360" src="https://raw.github.com/wiki/ReactiveX/RxJava/images/rx-operators/groupBy.png" alt="">
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator uses for determining the idle time of the groups.</dd>
+     * </dl>
+     *
+     * @param keySelector
+     *            a function that extracts the key for each item
+     * @param valueSelector
+     *            a function that extracts the return element for each item
+     * @param delayError
+     *            if true, the exception from the current Observable is delayed in each group until that specific group emitted
+     *            the normal values; if false, the exception bypasses values in the groups and is reported immediately.
+     * @param bufferSize
+     *            the hint for how many {@link GroupedObservable}s and element in each {@link GroupedObservable} should be buffered
+     * @param maxGroups
+     *            the maximum number of groups alive at a time, positive, {@code Integer.MAX_VALUE} for no limit
+     * @param maxIdleTime
+     *            the time a group may go without receiving an item before it is evicted, positive
+     * @param unit
+     *            the time unit of {@code maxIdleTime}
+     * @param scheduler
+     *            the {@link Scheduler} providing the current time
+     * @param groupCapacity
+     *            the maximum number of items buffered by each group, positive, {@code Integer.MAX_VALUE} for no limit
+     * @param <K>
+     *            the key type
+     * @param <V>
+     *            the element type
+     * @return an {@code ObservableSource} that emits {@link GroupedObservable}s, each of which corresponds to a
+     *         key value and each of which emits those items from the source ObservableSource that share that
+     *         key value
+     * @see <a href="http://reactivex.io/documentation/operators/groupby.html">ReactiveX operators documentation: GroupBy</a>
+     */
+    @CheckReturnValue
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    public final <K, V> Observable<GroupedObservable<K, V>> groupBy(Function<? super T, ? extends K> keySelector,
+            Function<? super T, ? extends V> valueSelector,
+            boolean delayError, int bufferSize, int maxGroups,
+            long maxIdleTime, TimeUnit unit, Scheduler scheduler, int groupCapacity) {
+        ObjectHelper.requireNonNull(keySelector, "keySelector is null");
+        ObjectHelper.requireNonNull(valueSelector, "valueSelector is null");
+        ObjectHelper.verifyPositive(bufferSize, "bufferSize");
+        ObjectHelper.verifyPositive(maxGroups, "maxGroups");
+        ObjectHelper.verifyPositive(maxIdleTime, "maxIdleTime");
+        ObjectHelper.requireNonNull(unit, "unit is null");
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        ObjectHelper.verifyPositive(groupCapacity, "groupCapacity");
+
+        return RxJavaObservablePlugins.onAssembly(new ObservableGroupBy<T, K, V>(this, keySelector, valueSelector, bufferSize, delayError,
+                maxGroups, maxIdleTime, unit, scheduler, groupCapacity));
+    }
+
     /**
      * Returns an Observable that correlates two ObservableSources when they overlap in time and groups the results.
      * <p>
@@ -8591,6 +8853,101 @@ public abstract class Observable<T> implements ObservableSource<T> {
         return RxJavaObservablePlugins.onAssembly(new ObservableObserveOn<T>(this, scheduler, delayError, bufferSize));
     }
 
+    /**
+     * Modifies a ObservableSource to perform its emissions and notifications on a specified {@link Scheduler}
+     * through a single-item hand-off where an item still waiting to be emitted is replaced by
+     * the newer one from upstream.
+     * <p>
+     * This is useful when only the latest value is of interest (such as state or UI updates): a consumer
+     * that can't keep up with the upstream receives the latest item available instead of every intermediate one.
+     * The error notification cuts ahead of the waiting item.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use</dd>
+     * </dl>
+     *
+     * @param scheduler
+     *            the {@link Scheduler} to notify {@link Observer}s on
+     * @return the source ObservableSource modified so that its {@link Observer}s are notified on the specified
+     *         {@link Scheduler} with the latest item available
+     * @see #observeOn(Scheduler)
+     * @see #observeOnCoalesce(Scheduler, BiFunction)
+     */
+    @CheckReturnValue
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    public final Observable<T> observeOnLatest(Scheduler scheduler) {
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        return RxJavaObservablePlugins.onAssembly(new ObservableObserveOnCoalesce<T>(this, scheduler, null, false));
+    }
+
+    /**
+     * Modifies a ObservableSource to perform its emissions and notifications on a specified {@link Scheduler}
+     * through a single-item hand-off where an item still waiting to be emitted is merged with
+     * the newer one from upstream via a coalescer function.
+     * <p>
+     * Bursts of items arriving while the consumer is busy collapse into a single
+     * emission, for example by summing cumulative counters or merging state deltas, so the consumer does
+     * a bounded amount of work regardless of the upstream rate. The error notification cuts ahead of the waiting item.
+     * <p>
+     * The coalescer may be invoked more than once for the same upstream item if it races with the
+     * consumer taking the waiting item, therefore it should be free of side-effects.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use</dd>
+     * </dl>
+     *
+     * @param scheduler
+     *            the {@link Scheduler} to notify {@link Observer}s on
+     * @param coalescer
+     *            the function receiving the item waiting to be emitted and the new item from upstream
+     *            and returning the item to emit in their place
+     * @return the source ObservableSource modified so that its {@link Observer}s are notified on the specified
+     *         {@link Scheduler} with the coalesced items
+     * @see #observeOn(Scheduler)
+     * @see #observeOnLatest(Scheduler)
+     */
+    @CheckReturnValue
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    public final Observable<T> observeOnCoalesce(Scheduler scheduler, BiFunction<? super T, ? super T, ? extends T> coalescer) {
+        return observeOnCoalesce(scheduler, coalescer, false);
+    }
+
+    /**
+     * Modifies a ObservableSource to perform its emissions and notifications on a specified {@link Scheduler}
+     * through a single-item hand-off where an item still waiting to be emitted is merged with
+     * the newer one from upstream via a coalescer function and optionally delays onError notifications.
+     * <p>
+     * Bursts of items arriving while the consumer is busy collapse into a single
+     * emission, for example by summing cumulative counters or merging state deltas, so the consumer does
+     * a bounded amount of work regardless of the upstream rate.
+     * <p>
+     * The coalescer may be invoked more than once for the same upstream item if it races with the
+     * consumer taking the waiting item, therefore it should be free of side-effects.
+     * <dl>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use</dd>
+     * </dl>
+     *
+     * @param scheduler
+     *            the {@link Scheduler} to notify {@link Observer}s on
+     * @param coalescer
+     *            the function receiving the item waiting to be emitted and the new item from upstream
+     *            and returning the item to emit in their place
+     * @param delayError
+     *            indicates if the onError notification may not cut ahead of the waiting item
+     * @return the source ObservableSource modified so that its {@link Observer}s are notified on the specified
+     *         {@link Scheduler} with the coalesced items
+     * @see #observeOn(Scheduler)
+     * @see #observeOnLatest(Scheduler)
+     */
+    @CheckReturnValue
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    public final Observable<T> observeOnCoalesce(Scheduler scheduler, BiFunction<? super T, ? super T, ? extends T> coalescer, boolean delayError) {
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        ObjectHelper.requireNonNull(coalescer, "coalescer is null");
+        return RxJavaObservablePlugins.onAssembly(new ObservableObserveOnCoalesce<T>(this, scheduler, coalescer, delayError));
+    }
+
     /**
      * Filters the items emitted by an ObservableSource, only emitting those of the specified type.
      * <p>
@@ -10825,6 +11182,7 @@ public abstract class Observable<T> implements ObservableSource<T> {
             Exceptions.throwIfFatal(e);
             // can't call onError because no way to know if a Disposable has been set or not
             // can't call onSubscribe because the call might have set a Subscription already
+            AssemblyTracking.recordCallSite(e, this);
             RxJavaCommonPlugins.onError(e);
 
             NullPointerException npe = new NullPointerException("Actually not, but can't throw other exceptions due to RS");
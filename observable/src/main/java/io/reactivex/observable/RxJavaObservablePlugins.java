@@ -20,6 +20,9 @@ import io.reactivex.common.functions.*;
 import io.reactivex.common.internal.functions.ObjectHelper;
 import io.reactivex.common.internal.schedulers.*;
 import io.reactivex.common.internal.utils.ExceptionHelper;
+import io.reactivex.observable.extensions.HasUpstreamObservableSource;
+import io.reactivex.observable.internal.observers.InstrumentedObserver;
+import io.reactivex.observable.internal.operators.*;
 /**
  * Utility class to inject handlers to certain standard RxJava operations.
  */
@@ -301,7 +304,9 @@ public final class RxJavaObservablePlugins {
     }
 
     /**
-     * Calls the associated hook function.
+     * Calls the associated hook function, records the subscription if {@link PipelineTopology}
+     * is enabled and, if {@link OperatorInstrumentation} is enabled,
+     * wraps the resulting observer so it counts into the metrics of the source.
      * @param <T> the value type
      * @param source the hook's input value
      * @param observer the observer
@@ -312,11 +317,31 @@ public final class RxJavaObservablePlugins {
     public static <T> Observer<? super T> onSubscribe(@NonNull Observable<T> source, @NonNull Observer<? super T> observer) {
         BiFunction<? super Observable, ? super Observer, ? extends Observer> f = onObservableSubscribe;
         if (f != null) {
-            return apply(f, source, observer);
+            observer = apply(f, source, observer);
+        }
+        if (PipelineTopology.isEnabled() && observer != null && !isAssemblyWrapper(source)) {
+            Object upstream = source instanceof HasUpstreamObservableSource ? ((HasUpstreamObservableSource<?>)source).source() : null;
+            while (isAssemblyWrapper(upstream)) {
+                upstream = ((HasUpstreamObservableSource<?>)upstream).source();
+            }
+            PipelineTopology.register(source, upstream, observer);
+        }
+        if (OperatorInstrumentation.isEnabled() && observer != null && !isAssemblyWrapper(source)) {
+            return new InstrumentedObserver<T>(observer, OperatorInstrumentation.metricsOf(source), null);
         }
         return observer;
     }
 
+    /**
+     * Returns true if the given object only forwards to its upstream on behalf of the
+     * assembly hooks and should not be registered or instrumented itself.
+     * @param o the object to check, null allowed
+     * @return true if {@code o} is an assembly wrapper
+     */
+    static boolean isAssemblyWrapper(Object o) {
+        return o instanceof ObservableOnAssembly || o instanceof CachedObservableOnAssembly;
+    }
+
     /**
      * Calls the associated hook function.
      * @param <T> the value type
@@ -383,7 +408,8 @@ public final class RxJavaObservablePlugins {
     }
 
     /**
-     * Calls the associated hook function.
+     * Calls the associated hook function and, if {@link AssemblyTracking} is enabled
+     * and samples this assembly, wraps the result so the call site of its errors gets recorded.
      * @param <T> the value type
      * @param source the hook's input value
      * @return the value returned by the hook
@@ -393,11 +419,34 @@ public final class RxJavaObservablePlugins {
     public static <T> Observable<T> onAssembly(@NonNull Observable<T> source) {
         Function<? super Observable, ? extends Observable> f = onObservableAssembly;
         if (f != null) {
-            return apply(f, source);
+            source = apply(f, source);
+        }
+        if (!(source instanceof Callable)) {
+            AssemblyTracking.CallSite cs = AssemblyTracking.onAssembly(source);
+            if (cs != null) {
+                return new ObservableOnAssembly<T>(source, cs);
+            }
         }
         return source;
     }
 
+    /**
+     * Calls the {@link Observable} assembly hook and {@link AssemblyTracking} on a cache and,
+     * if either returns a different {@code Observable}, keeps the {@link CachedObservable} type around it.
+     * @param <T> the value type
+     * @param source the hook's input value
+     * @return the value returned by the hook
+     */
+    @Experimental
+    @NonNull
+    public static <T> CachedObservable<T> onAssembly(@NonNull CachedObservable<T> source) {
+        Observable<T> result = onAssembly((Observable<T>)source);
+        if (result instanceof CachedObservable) {
+            return (CachedObservable<T>)result;
+        }
+        return new CachedObservableOnAssembly<T>(result, source);
+    }
+
     /**
      * Calls the associated hook function.
      * @param <T> the value type
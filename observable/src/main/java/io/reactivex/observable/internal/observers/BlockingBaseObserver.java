@@ -12,15 +12,15 @@
  */
 package io.reactivex.observable.internal.observers;
 
-import java.util.concurrent.CountDownLatch;
-
 import io.reactivex.common.Disposable;
 import io.reactivex.common.internal.utils.*;
 import io.reactivex.observable.Observer;
 
-public abstract class BlockingBaseObserver<T> extends CountDownLatch
+public abstract class BlockingBaseObserver<T> extends ParkingLatch
 implements Observer<T>, Disposable {
 
+    private static final long serialVersionUID = 6530395633125011234L;
+
     T value;
     Throwable error;
 
@@ -28,10 +28,6 @@ implements Observer<T>, Disposable {
 
     volatile boolean cancelled;
 
-    public BlockingBaseObserver() {
-        super(1);
-    }
-
     @Override
     public final void onSubscribe(Disposable d) {
         this.d = d;
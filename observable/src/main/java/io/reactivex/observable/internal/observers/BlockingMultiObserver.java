@@ -20,13 +20,15 @@ import io.reactivex.common.internal.utils.*;
 import io.reactivex.observable.*;
 
 /**
- * A combined Observer that awaits the success or error signal via a CountDownLatch.
+ * A combined Observer that awaits the success or error signal via a ParkingLatch.
  * @param <T> the value type
  */
 public final class BlockingMultiObserver<T>
-extends CountDownLatch
+extends ParkingLatch
 implements SingleObserver<T>, CompletableObserver, MaybeObserver<T> {
 
+    private static final long serialVersionUID = -7524938402358014917L;
+
     T value;
     Throwable error;
 
@@ -34,10 +36,6 @@ implements SingleObserver<T>, CompletableObserver, MaybeObserver<T> {
 
     volatile boolean cancelled;
 
-    public BlockingMultiObserver() {
-        super(1);
-    }
-
     void dispose() {
         cancelled = true;
         Disposable d = this.d;
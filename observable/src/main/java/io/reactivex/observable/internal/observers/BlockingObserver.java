@@ -13,11 +13,11 @@
 
 package io.reactivex.observable.internal.observers;
 
-import java.util.Queue;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.common.Disposable;
 import io.reactivex.common.internal.disposables.DisposableHelper;
+import io.reactivex.common.internal.queues.MpscParkingQueue;
 import io.reactivex.observable.Observer;
 import io.reactivex.observable.internal.utils.NotificationLite;
 
@@ -27,9 +27,9 @@ public final class BlockingObserver<T> extends AtomicReference<Disposable> imple
 
     public static final Object TERMINATED = new Object();
 
-    final Queue<Object> queue;
+    final MpscParkingQueue<Object> queue;
 
-    public BlockingObserver(Queue<Object> queue) {
+    public BlockingObserver(MpscParkingQueue<Object> queue) {
         this.queue = queue;
     }
 
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.observable.internal.observers;
+
+import io.reactivex.common.*;
+import io.reactivex.common.AssemblyTracking.CallSite;
+import io.reactivex.common.internal.disposables.DisposableHelper;
+import io.reactivex.observable.Observer;
+import io.reactivex.observable.extensions.QueueDisposable;
+
+/**
+ * Sits between an operator and its downstream Observer, counts the signals
+ * passing through into the operator's {@link OperatorMetrics} and records the
+ * operator's assembly {@link CallSite} for the errors passing through.
+ * <p>
+ * Fusion requests are forwarded to the operator so a fused chain stays fused; in fused
+ * mode items are counted as they are polled.
+ * @param <T> the value type
+ */
+public final class InstrumentedObserver<T> implements Observer<T>, QueueDisposable<T>, OperatorMetrics.Instrumented {
+
+    final Observer<? super T> actual;
+
+    final OperatorMetrics metrics;
+
+    final CallSite callSite;
+
+    Disposable s;
+
+    QueueDisposable<T> qs;
+
+    int sourceMode;
+
+    /**
+     * Constructs an instance.
+     * @param actual the downstream Observer
+     * @param metrics the metrics to record into, null if not counting
+     * @param callSite the call site to record for errors, null if not tracked
+     */
+    public InstrumentedObserver(Observer<? super T> actual, OperatorMetrics metrics, CallSite callSite) {
+        this.actual = actual;
+        this.metrics = metrics;
+        this.callSite = callSite;
+    }
+
+    @Override
+    public OperatorMetrics operatorMetrics() {
+        return metrics;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onSubscribe(Disposable s) {
+        if (DisposableHelper.validate(this.s, s)) {
+            this.s = s;
+            if (s instanceof QueueDisposable) {
+                this.qs = (QueueDisposable<T>)s;
+            }
+            actual.onSubscribe(this);
+        }
+    }
+
+    @Override
+    public void onNext(T t) {
+        OperatorMetrics m = metrics;
+        if (m == null || sourceMode == ASYNC) {
+            // in ASYNC mode only signals the availability of items, counted in poll()
+            actual.onNext(t);
+            return;
+        }
+        m.emitted();
+        long start = System.nanoTime();
+        actual.onNext(t);
+        m.onNextTime(System.nanoTime() - start);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        CallSite cs = callSite;
+        if (cs != null) {
+            AssemblyTracking.recordCallSite(t, cs);
+        }
+        actual.onError(t);
+    }
+
+    @Override
+    public void onComplete() {
+        actual.onComplete();
+    }
+
+    @Override
+    public void dispose() {
+        OperatorMetrics m = metrics;
+        if (m != null) {
+            m.cancelled();
+        }
+        s.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return s.isDisposed();
+    }
+
+    @Override
+    public int requestFusion(int mode) {
+        QueueDisposable<T> q = qs;
+        if (q != null) {
+            int m = q.requestFusion(mode);
+            sourceMode = m;
+            return m;
+        }
+        return NONE;
+    }
+
+    @Override
+    public boolean offer(T value) {
+        throw new UnsupportedOperationException("Should not be called!");
+    }
+
+    @Override
+    public boolean offer(T v1, T v2) {
+        throw new UnsupportedOperationException("Should not be called!");
+    }
+
+    @Override
+    public T poll() throws Exception {
+        T v;
+        try {
+            v = qs.poll();
+        } catch (Exception ex) {
+            CallSite cs = callSite;
+            if (cs != null) {
+                AssemblyTracking.recordCallSite(ex, cs);
+            }
+            throw ex;
+        }
+        OperatorMetrics m = metrics;
+        if (v != null && m != null) {
+            m.emitted();
+        }
+        return v;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return qs.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        qs.clear();
+    }
+}
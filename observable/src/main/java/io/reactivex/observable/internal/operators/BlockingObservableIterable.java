@@ -15,7 +15,7 @@ package io.reactivex.observable.internal.operators;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.*;
+import java.util.concurrent.locks.LockSupport;
 
 import io.reactivex.common.Disposable;
 import io.reactivex.common.internal.disposables.DisposableHelper;
@@ -49,17 +49,15 @@ public final class BlockingObservableIterable<T> implements Iterable<T> {
 
         final SpscLinkedArrayQueue<T> queue;
 
-        final Lock lock;
-
-        final Condition condition;
+        /** The consumer thread while it is parked waiting for items. */
+        final AtomicReference<Thread> waiter;
 
         volatile boolean done;
         Throwable error;
 
         BlockingObservableIterator(int batchSize) {
             this.queue = new SpscLinkedArrayQueue<T>(batchSize);
-            this.lock = new ReentrantLock();
-            this.condition = lock.newCondition();
+            this.waiter = new AtomicReference<Thread>();
         }
 
         @Override
@@ -79,14 +77,7 @@ public final class BlockingObservableIterable<T> implements Iterable<T> {
                 if (empty) {
                     try {
                         BlockingHelper.verifyNonBlocking();
-                        lock.lock();
-                        try {
-                            while (!done && queue.isEmpty()) {
-                                condition.await();
-                            }
-                        } finally {
-                            lock.unlock();
-                        }
+                        await();
                     } catch (InterruptedException ex) {
                         DisposableHelper.dispose(this);
                         signalConsumer();
@@ -98,6 +89,31 @@ public final class BlockingObservableIterable<T> implements Iterable<T> {
             }
         }
 
+        /**
+         * Spins for a while, then parks until an item or terminal event is available.
+         * @throws InterruptedException if the consumer thread has been interrupted
+         */
+        void await() throws InterruptedException {
+            for (int i = BlockingHelper.SPIN_COUNT; i > 0; i--) {
+                if (done || !queue.isEmpty()) {
+                    return;
+                }
+            }
+            Thread t = Thread.currentThread();
+            for (;;) {
+                waiter.set(t);
+                if (done || !queue.isEmpty()) {
+                    break;
+                }
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    waiter.lazySet(null);
+                    throw new InterruptedException();
+                }
+            }
+            waiter.lazySet(null);
+        }
+
         @Override
         public T next() {
             if (hasNext()) {
@@ -131,12 +147,7 @@ public final class BlockingObservableIterable<T> implements Iterable<T> {
         }
 
         void signalConsumer() {
-            lock.lock();
-            try {
-                condition.signalAll();
-            } finally {
-                lock.unlock();
-            }
+            BlockingHelper.unpark(waiter);
         }
 
         @Override // otherwise default method which isn't available in Java 7
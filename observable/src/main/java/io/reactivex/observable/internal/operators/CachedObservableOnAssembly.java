@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.observable.internal.operators;
+
+import io.reactivex.observable.*;
+import io.reactivex.observable.extensions.HasUpstreamObservableSource;
+
+/**
+ * Keeps the {@link CachedObservable} type of a cache whose assembly hook or
+ * {@code AssemblyTracking} returned a plain {@link Observable}; observers go to that
+ * Observable, the retained amounts come from the cache.
+ * @param <T> the value type
+ */
+public final class CachedObservableOnAssembly<T> extends CachedObservable<T> implements HasUpstreamObservableSource<T> {
+
+    final Observable<T> source;
+
+    final CachedObservable<T> cache;
+
+    public CachedObservableOnAssembly(Observable<T> source, CachedObservable<T> cache) {
+        this.source = source;
+        this.cache = cache;
+    }
+
+    @Override
+    public ObservableSource<T> source() {
+        return source;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> s) {
+        source.subscribe(s);
+    }
+
+    @Override
+    public long retainedCount() {
+        return cache.retainedCount();
+    }
+
+    @Override
+    public long retainedBytes() {
+        return cache.retainedBytes();
+    }
+}
@@ -13,10 +13,9 @@
 
 package io.reactivex.observable.internal.operators;
 
-import java.util.concurrent.*;
-
 import io.reactivex.common.functions.*;
 import io.reactivex.common.internal.functions.*;
+import io.reactivex.common.internal.queues.MpscParkingQueue;
 import io.reactivex.common.internal.utils.*;
 import io.reactivex.observable.*;
 import io.reactivex.observable.internal.observers.*;
@@ -41,7 +40,7 @@ public final class ObservableBlockingSubscribe {
      * @param <T> the value type
      */
     public static <T> void subscribe(ObservableSource<? extends T> o, Observer<? super T> observer) {
-        final BlockingQueue<Object> queue = new LinkedBlockingQueue<Object>();
+        final MpscParkingQueue<Object> queue = new MpscParkingQueue<Object>(Observable.bufferSize());
 
         BlockingObserver<T> bs = new BlockingObserver<T>(queue);
         observer.onSubscribe(bs);
@@ -62,7 +61,7 @@ public final class ObservableBlockingSubscribe {
                 }
             }
             if (bs.isDisposed()
-                    || o == BlockingObserver.TERMINATED
+                    || v == BlockingObserver.TERMINATED
                     || NotificationLite.acceptFull(v, observer)) {
                 break;
             }
@@ -24,11 +24,10 @@ import io.reactivex.common.internal.disposables.DisposableHelper;
 import io.reactivex.common.internal.functions.ObjectHelper;
 import io.reactivex.observable.ObservableSource;
 import io.reactivex.observable.Observer;
+import io.reactivex.observable.extensions.SimplePlainQueue;
 import io.reactivex.observable.internal.disposables.EmptyDisposable;
 import io.reactivex.observable.internal.observers.QueueDrainObserver;
 import io.reactivex.observable.internal.queues.MpscLinkedQueue;
-import io.reactivex.observable.internal.utils.QueueDrainHelper;
-import io.reactivex.observable.observers.SerializedObserver;
 
 public final class ObservableBufferTimed<T, U extends Collection<? super T>>
 extends AbstractObservableWithUpstream<T, U> {
@@ -57,15 +56,14 @@ extends AbstractObservableWithUpstream<T, U> {
     protected void subscribeActual(Observer<? super U> t) {
         if (timespan == timeskip && maxSize == Integer.MAX_VALUE) {
             source.subscribe(new BufferExactUnboundedObserver<T, U>(
-                    new SerializedObserver<U>(t),
-                    bufferSupplier, timespan, unit, scheduler));
+                    t, bufferSupplier, timespan, unit, scheduler));
             return;
         }
         Scheduler.Worker w = scheduler.createWorker();
 
         if (timespan == timeskip) {
             source.subscribe(new BufferExactBoundedObserver<T, U>(
-                    new SerializedObserver<U>(t),
+                    t,
                     bufferSupplier,
                     timespan, unit, maxSize, restartTimerOnMaxSize, w
             ));
@@ -74,13 +72,22 @@ extends AbstractObservableWithUpstream<T, U> {
         // Can't use maxSize because what to do if a buffer is full but its
         // timespan hasn't been elapsed?
         source.subscribe(new BufferSkipBoundedObserver<T, U>(
-                new SerializedObserver<U>(t),
+                t,
                 bufferSupplier, timespan, timeskip, unit, w));
 
     }
 
+    /**
+     * Collects items into the current buffer and swaps it for a fresh one on each timer tick.
+     * <p>
+     * Instead of guarding the buffer with a lock, the upstream and the timer take turns through
+     * the queue-drain work-in-progress counter: whoever enters it uncontended works on the buffer
+     * directly, the other side queues up its item or the {@link #BOUNDARY} marker for the
+     * current drainer to apply in order. Since all emissions happen inside the drain loop,
+     * the downstream doesn't need to be serialized.
+     */
     static final class BufferExactUnboundedObserver<T, U extends Collection<? super T>>
-    extends QueueDrainObserver<T, U, U> implements Runnable, Disposable {
+    extends QueueDrainObserver<T, Object, U> implements Runnable, Disposable {
         final Callable<U> bufferSupplier;
         final long timespan;
         final TimeUnit unit;
@@ -88,14 +95,17 @@ extends AbstractObservableWithUpstream<T, U> {
 
         Disposable s;
 
+        /** The current buffer, accessed only from within the drain loop. */
         U buffer;
 
         final AtomicReference<Disposable> timer = new AtomicReference<Disposable>();
 
+        static final Object BOUNDARY = new Object();
+
         BufferExactUnboundedObserver(
                 Observer<? super U> actual, Callable<U> bufferSupplier,
                 long timespan, TimeUnit unit, Scheduler scheduler) {
-            super(actual, new MpscLinkedQueue<U>());
+            super(actual, new MpscLinkedQueue<Object>());
             this.bufferSupplier = bufferSupplier;
             this.timespan = timespan;
             this.unit = unit;
@@ -133,45 +143,52 @@ extends AbstractObservableWithUpstream<T, U> {
 
         @Override
         public void onNext(T t) {
-            synchronized (this) {
+            if (fastEnter()) {
                 U b = buffer;
-                if (b == null) {
+                if (b != null) {
+                    b.add(t);
+                }
+                if (leave(-1) == 0) {
+                    return;
+                }
+            } else {
+                queue.offer(t);
+                if (!enter()) {
                     return;
                 }
-                b.add(t);
             }
+            drainLoop();
         }
 
         @Override
         public void onError(Throwable t) {
-            synchronized (this) {
-                buffer = null;
+            error = t;
+            done = true;
+            if (enter()) {
+                drainLoop();
             }
-            actual.onError(t);
-            DisposableHelper.dispose(timer);
         }
 
         @Override
         public void onComplete() {
-            U b;
-            synchronized (this) {
-                b = buffer;
-                buffer = null;
-            }
-            if (b != null) {
-                queue.offer(b);
-                done = true;
-                if (enter()) {
-                    QueueDrainHelper.drainLoop(queue, actual, false, this, this);
-                }
+            done = true;
+            if (enter()) {
+                drainLoop();
             }
-            DisposableHelper.dispose(timer);
         }
 
         @Override
         public void dispose() {
-            DisposableHelper.dispose(timer);
-            s.dispose();
+            if (!cancelled) {
+                cancelled = true;
+                DisposableHelper.dispose(timer);
+                s.dispose();
+
+                if (enter()) {
+                    buffer = null;
+                    queue.clear();
+                }
+            }
         }
 
         @Override
@@ -181,56 +198,140 @@ extends AbstractObservableWithUpstream<T, U> {
 
         @Override
         public void run() {
+            if (fastEnter()) {
+                if (!boundary()) {
+                    return;
+                }
+                if (leave(-1) == 0) {
+                    return;
+                }
+            } else {
+                queue.offer(BOUNDARY);
+                if (!enter()) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        @SuppressWarnings("unchecked")
+        void drainLoop() {
+            final SimplePlainQueue<Object> q = queue;
+            int missed = 1;
+
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        buffer = null;
+                        q.clear();
+                        return;
+                    }
+
+                    boolean d = done;
+
+                    Object o = q.poll();
+
+                    boolean empty = o == null;
+
+                    if (d && empty) {
+                        terminate();
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    if (o == BOUNDARY) {
+                        if (!boundary()) {
+                            return;
+                        }
+                    } else {
+                        U b = buffer;
+                        if (b != null) {
+                            b.add((T)o);
+                        }
+                    }
+                }
+
+                missed = leave(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Emits the current buffer and replaces it with a fresh one, must be called from within the drain loop.
+         * @return false if the sequence got terminated due to a failure
+         */
+        boolean boundary() {
             U next;
 
             try {
                 next = ObjectHelper.requireNonNull(bufferSupplier.call(), "The bufferSupplier returned a null buffer");
             } catch (Throwable e) {
                 Exceptions.throwIfFatal(e);
+                cancelled = true;
+                buffer = null;
+                queue.clear();
+                DisposableHelper.dispose(timer);
+                s.dispose();
                 actual.onError(e);
-                dispose();
-                return;
+                return false;
             }
 
-            U current;
+            U current = buffer;
+            buffer = next;
 
-            synchronized (this) {
-                current = buffer;
-                if (current != null) {
-                    buffer = next;
-                }
-            }
+            actual.onNext(current);
+            return true;
+        }
 
-            if (current == null) {
-                DisposableHelper.dispose(timer);
-                return;
-            }
+        void terminate() {
+            DisposableHelper.dispose(timer);
 
-            fastPathEmit(current, false, this);
-        }
+            U b = buffer;
+            buffer = null;
 
-        @Override
-        public void accept(Observer<? super U> a, U v) {
-            actual.onNext(v);
+            Throwable ex = error;
+            if (ex != null) {
+                actual.onError(ex);
+                return;
+            }
+            if (b != null) {
+                actual.onNext(b);
+            }
+            actual.onComplete();
         }
     }
 
+    /**
+     * Opens a new buffer on each {@code timeskip} tick and emits it {@code timespan} later.
+     * <p>
+     * Like {@link BufferExactUnboundedObserver}, the upstream and the timer take turns through
+     * the queue-drain work-in-progress counter: items, the {@link #OPEN} marker and the
+     * {@link RemoveFromBuffer} tasks are either applied directly or queued up for the current drainer.
+     */
     static final class BufferSkipBoundedObserver<T, U extends Collection<? super T>>
-    extends QueueDrainObserver<T, U, U> implements Runnable, Disposable {
+    extends QueueDrainObserver<T, Object, U> implements Runnable, Disposable {
         final Callable<U> bufferSupplier;
         final long timespan;
         final long timeskip;
         final TimeUnit unit;
         final Worker w;
-        final List<U> buffers;
 
+        /** The open buffers in the order they were opened, accessed only from within the drain loop. */
+        final List<U> buffers;
 
         Disposable s;
 
+        static final Object OPEN = new Object();
+
         BufferSkipBoundedObserver(Observer<? super U> actual,
                 Callable<U> bufferSupplier, long timespan,
                 long timeskip, TimeUnit unit, Worker w) {
-            super(actual, new MpscLinkedQueue<U>());
+            super(actual, new MpscLinkedQueue<Object>());
             this.bufferSupplier = bufferSupplier;
             this.timespan = timespan;
             this.timeskip = timeskip;
@@ -260,43 +361,33 @@ extends AbstractObservableWithUpstream<T, U> {
 
                 actual.onSubscribe(this);
 
-                w.schedulePeriodically(this, timeskip, timeskip, unit);
+                if (!cancelled) {
+                    w.schedulePeriodically(this, timeskip, timeskip, unit);
 
-                w.schedule(new RemoveFromBufferEmit(b), timespan, unit);
+                    w.schedule(new RemoveFromBuffer(this, b), timespan, unit);
+                }
             }
         }
 
         @Override
         public void onNext(T t) {
-            synchronized (this) {
-                for (U b : buffers) {
-                    b.add(t);
-                }
-            }
+            signal(t);
         }
 
         @Override
         public void onError(Throwable t) {
+            error = t;
             done = true;
-            clear();
-            actual.onError(t);
-            w.dispose();
+            if (enter()) {
+                drainLoop();
+            }
         }
 
         @Override
         public void onComplete() {
-            List<U> bs;
-            synchronized (this) {
-                bs = new ArrayList<U>(buffers);
-                buffers.clear();
-            }
-
-            for (U b : bs) {
-                queue.offer(b);
-            }
             done = true;
             if (enter()) {
-                QueueDrainHelper.drainLoop(queue, actual, false, w, this);
+                drainLoop();
             }
         }
 
@@ -304,9 +395,13 @@ extends AbstractObservableWithUpstream<T, U> {
         public void dispose() {
             if (!cancelled) {
                 cancelled = true;
-                clear();
                 s.dispose();
                 w.dispose();
+
+                if (enter()) {
+                    buffers.clear();
+                    queue.clear();
+                }
             }
         }
 
@@ -315,80 +410,157 @@ extends AbstractObservableWithUpstream<T, U> {
             return cancelled;
         }
 
-        void clear() {
-            synchronized (this) {
-                buffers.clear();
-            }
-        }
-
         @Override
         public void run() {
-            if (cancelled) {
-                return;
-            }
-            final U b; // NOPMD
-
-            try {
-                b = ObjectHelper.requireNonNull(bufferSupplier.call(), "The bufferSupplier returned a null buffer");
-            } catch (Throwable e) {
-                Exceptions.throwIfFatal(e);
-                actual.onError(e);
-                dispose();
-                return;
-            }
+            signal(OPEN);
+        }
 
-            synchronized (this) {
-                if (cancelled) {
+        void signal(Object o) {
+            if (fastEnter()) {
+                if (!apply(o)) {
+                    return;
+                }
+                if (leave(-1) == 0) {
+                    return;
+                }
+            } else {
+                queue.offer(o);
+                if (!enter()) {
                     return;
                 }
-                buffers.add(b);
             }
-
-            w.schedule(new RemoveFromBuffer(b), timespan, unit);
+            drainLoop();
         }
 
-        @Override
-        public void accept(Observer<? super U> a, U v) {
-            a.onNext(v);
-        }
+        void drainLoop() {
+            final SimplePlainQueue<Object> q = queue;
+            int missed = 1;
+
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        buffers.clear();
+                        q.clear();
+                        return;
+                    }
 
-        final class RemoveFromBuffer implements Runnable {
-            private final U b;
+                    boolean d = done;
 
-            RemoveFromBuffer(U b) {
-                this.b = b;
+                    Object o = q.poll();
+
+                    boolean empty = o == null;
+
+                    if (d && empty) {
+                        terminate();
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    if (!apply(o)) {
+                        return;
+                    }
+                }
+
+                missed = leave(-missed);
+                if (missed == 0) {
+                    break;
+                }
             }
+        }
 
-            @Override
-            public void run() {
-                synchronized (BufferSkipBoundedObserver.this) {
-                    buffers.remove(b);
+        /**
+         * Applies an item or a timer signal, must be called from within the drain loop.
+         * @param o the item, {@link #OPEN} or a {@link RemoveFromBuffer}
+         * @return false if the sequence got terminated due to a failure
+         */
+        @SuppressWarnings("unchecked")
+        boolean apply(Object o) {
+            if (o == OPEN) {
+                U b;
+
+                try {
+                    b = ObjectHelper.requireNonNull(bufferSupplier.call(), "The bufferSupplier returned a null buffer");
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    cancelled = true;
+                    buffers.clear();
+                    queue.clear();
+                    s.dispose();
+                    w.dispose();
+                    actual.onError(e);
+                    return false;
                 }
 
-                fastPathOrderedEmit(b, false, w);
+                buffers.add(b);
+
+                w.schedule(new RemoveFromBuffer(this, b), timespan, unit);
+                return true;
+            }
+            if (o instanceof RemoveFromBuffer) {
+                Object b = ((RemoveFromBuffer)o).buffer;
+                // buffers with equal content may be open at the same time, remove the instance
+                Iterator<U> it = buffers.iterator();
+                while (it.hasNext()) {
+                    if (it.next() == b) {
+                        it.remove();
+                        actual.onNext((U)b);
+                        break;
+                    }
+                }
+                return true;
+            }
+            for (U b : buffers) {
+                b.add((T)o);
+            }
+            return true;
+        }
+
+        void terminate() {
+            w.dispose();
+
+            Throwable ex = error;
+            if (ex != null) {
+                buffers.clear();
+                actual.onError(ex);
+                return;
+            }
+            for (U b : buffers) {
+                actual.onNext(b);
             }
+            buffers.clear();
+            actual.onComplete();
         }
 
-        final class RemoveFromBufferEmit implements Runnable {
-            private final U buffer;
+        static final class RemoveFromBuffer implements Runnable {
+            final BufferSkipBoundedObserver<?, ?> parent;
 
-            RemoveFromBufferEmit(U buffer) {
+            final Object buffer;
+
+            RemoveFromBuffer(BufferSkipBoundedObserver<?, ?> parent, Object buffer) {
+                this.parent = parent;
                 this.buffer = buffer;
             }
 
             @Override
             public void run() {
-                synchronized (BufferSkipBoundedObserver.this) {
-                    buffers.remove(buffer);
-                }
-
-                fastPathOrderedEmit(buffer, false, w);
+                parent.signal(this);
             }
         }
     }
 
+    /**
+     * Collects items into the current buffer and emits it once it reaches {@code maxSize} items or on each timer tick.
+     * <p>
+     * Like {@link BufferExactUnboundedObserver}, the upstream and the timer take turns through
+     * the queue-drain work-in-progress counter instead of locking the buffer. If the timer is
+     * restarted when a buffer reaches {@code maxSize}, the ticks carry the index of the buffer their
+     * timer was started for and the ones of replaced timers are ignored.
+     */
     static final class BufferExactBoundedObserver<T, U extends Collection<? super T>>
-    extends QueueDrainObserver<T, U, U> implements Runnable, Disposable {
+    extends QueueDrainObserver<T, Object, U> implements Disposable {
         final Callable<U> bufferSupplier;
         final long timespan;
         final TimeUnit unit;
@@ -396,22 +568,23 @@ extends AbstractObservableWithUpstream<T, U> {
         final boolean restartTimerOnMaxSize;
         final Worker w;
 
+        /** The current buffer, accessed only from within the drain loop. */
         U buffer;
 
+        /** The index of the current timer, accessed only from within the drain loop. */
+        long index;
+
+        /** The current timer, accessed only from within the drain loop once the upstream can signal. */
         Disposable timer;
 
         Disposable s;
 
-        long producerIndex;
-
-        long consumerIndex;
-
         BufferExactBoundedObserver(
                 Observer<? super U> actual,
                 Callable<U> bufferSupplier,
                 long timespan, TimeUnit unit, int maxSize,
                 boolean restartOnMaxSize, Worker w) {
-            super(actual, new MpscLinkedQueue<U>());
+            super(actual, new MpscLinkedQueue<Object>());
             this.bufferSupplier = bufferSupplier;
             this.timespan = timespan;
             this.unit = unit;
@@ -441,98 +614,44 @@ extends AbstractObservableWithUpstream<T, U> {
 
                 actual.onSubscribe(this);
 
-                timer = w.schedulePeriodically(this, timespan, timespan, unit);
+                if (!cancelled) {
+                    timer = w.schedulePeriodically(new Tick(this, 0L), timespan, timespan, unit);
+                }
             }
         }
 
         @Override
         public void onNext(T t) {
-            U b;
-            synchronized (this) {
-                b = buffer;
-                if (b == null) {
-                    return;
-                }
-
-                b.add(t);
-
-                if (b.size() < maxSize) {
-                    return;
-                }
-            }
-
-            if (restartTimerOnMaxSize) {
-                buffer = null;
-                producerIndex++;
-
-                timer.dispose();
-            }
-
-            fastPathOrderedEmit(b, false, this);
-
-            try {
-                b = ObjectHelper.requireNonNull(bufferSupplier.call(), "The buffer supplied is null");
-            } catch (Throwable e) {
-                Exceptions.throwIfFatal(e);
-                actual.onError(e);
-                dispose();
-                return;
-            }
-
-            if (restartTimerOnMaxSize) {
-                synchronized (this) {
-                    buffer = b;
-                    consumerIndex++;
-                }
-
-                timer = w.schedulePeriodically(this, timespan, timespan, unit);
-            } else {
-                synchronized (this) {
-                    buffer = b;
-                }
-            }
+            signal(t);
         }
 
         @Override
         public void onError(Throwable t) {
-            synchronized (this) {
-                buffer = null;
+            error = t;
+            done = true;
+            if (enter()) {
+                drainLoop();
             }
-            actual.onError(t);
-            w.dispose();
         }
 
         @Override
         public void onComplete() {
-            w.dispose();
-
-            U b;
-            synchronized (this) {
-                b = buffer;
-                buffer = null;
-            }
-
-            queue.offer(b);
             done = true;
             if (enter()) {
-                QueueDrainHelper.drainLoop(queue, actual, false, this, this);
+                drainLoop();
             }
         }
 
-        @Override
-        public void accept(Observer<? super U> a, U v) {
-            a.onNext(v);
-        }
-
-
         @Override
         public void dispose() {
             if (!cancelled) {
                 cancelled = true;
                 s.dispose();
                 w.dispose();
-                synchronized (this) {
+
+                if (enter()) {
                     buffer = null;
+                    queue.clear();
                 }
             }
         }
@@ -542,30 +661,156 @@ extends AbstractObservableWithUpstream<T, U> {
             return cancelled;
         }
 
-        @Override
-        public void run() {
-            U next;
+        void signal(Object o) {
+            if (fastEnter()) {
+                if (!apply(o)) {
+                    return;
+                }
+                if (leave(-1) == 0) {
+                    return;
+                }
+            } else {
+                queue.offer(o);
+                if (!enter()) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        void drainLoop() {
+            final SimplePlainQueue<Object> q = queue;
+            int missed = 1;
+
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        buffer = null;
+                        q.clear();
+                        return;
+                    }
+
+                    boolean d = done;
+
+                    Object o = q.poll();
+
+                    boolean empty = o == null;
+
+                    if (d && empty) {
+                        terminate();
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    if (!apply(o)) {
+                        return;
+                    }
+                }
+
+                missed = leave(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Applies an item or a timer tick, must be called from within the drain loop.
+         * @param o the item or a {@link Tick}
+         * @return false if the sequence got terminated due to a failure
+         */
+        @SuppressWarnings("unchecked")
+        boolean apply(Object o) {
+            if (o instanceof Tick) {
+                if (((Tick)o).index != index) {
+                    return true;
+                }
+                U next = supply();
+                if (next == null) {
+                    return false;
+                }
+                U current = buffer;
+                buffer = next;
+                actual.onNext(current);
+                return true;
+            }
+            U b = buffer;
+            if (b == null) {
+                return true;
+            }
+            b.add((T)o);
+            if (b.size() < maxSize) {
+                return true;
+            }
+            if (restartTimerOnMaxSize) {
+                timer.dispose();
+            }
+            buffer = null;
+            actual.onNext(b);
+            b = supply();
+            if (b == null) {
+                return false;
+            }
+            buffer = b;
+            if (restartTimerOnMaxSize) {
+                timer = w.schedulePeriodically(new Tick(this, ++index), timespan, timespan, unit);
+            }
+            return true;
+        }
 
+        /**
+         * Returns a fresh buffer or terminates the sequence if the supplier fails.
+         * @return the new buffer or null if the sequence got terminated
+         */
+        U supply() {
             try {
-                next = ObjectHelper.requireNonNull(bufferSupplier.call(), "The bufferSupplier returned a null buffer");
+                return ObjectHelper.requireNonNull(bufferSupplier.call(), "The bufferSupplier returned a null buffer");
             } catch (Throwable e) {
                 Exceptions.throwIfFatal(e);
-                dispose();
+                cancelled = true;
+                buffer = null;
+                queue.clear();
+                s.dispose();
+                w.dispose();
                 actual.onError(e);
+                return null;
+            }
+        }
+
+        void terminate() {
+            w.dispose();
+
+            U b = buffer;
+            buffer = null;
+
+            Throwable ex = error;
+            if (ex != null) {
+                actual.onError(ex);
                 return;
             }
+            if (b != null) {
+                actual.onNext(b);
+            }
+            actual.onComplete();
+        }
 
-            U current;
+        static final class Tick implements Runnable {
+            final BufferExactBoundedObserver<?, ?> parent;
 
-            synchronized (this) {
-                current = buffer;
-                if (current == null || producerIndex != consumerIndex) {
-                    return;
-                }
-                buffer = next;
+            final long index;
+
+            Tick(BufferExactBoundedObserver<?, ?> parent, long index) {
+                this.parent = parent;
+                this.index = index;
             }
 
-            fastPathOrderedEmit(current, false, this);
+            @Override
+            public void run() {
+                parent.signal(this);
+            }
         }
     }
 }
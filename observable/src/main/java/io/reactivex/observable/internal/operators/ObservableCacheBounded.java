@@ -0,0 +1,398 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.observable.internal.operators;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.*;
+
+import io.reactivex.common.*;
+import io.reactivex.common.exceptions.Exceptions;
+import io.reactivex.common.functions.Function;
+import io.reactivex.common.internal.disposables.DisposableHelper;
+import io.reactivex.common.internal.functions.ObjectHelper;
+import io.reactivex.observable.*;
+import io.reactivex.observable.extensions.HasUpstreamObservableSource;
+import io.reactivex.observable.internal.utils.NotificationLite;
+
+/**
+ * Connects to the upstream on the first subscription, like {@link ObservableCache}, but retains
+ * only the items that fit into an item count, an estimated byte size and an age limit.
+ * <p>
+ * The retained items form a singly linked list; eviction only moves the head forward, therefore
+ * Observers lagging behind the head keep reading their part of the list while late
+ * Observers start from the current head.
+ *
+ * @param <T> the source element type
+ */
+public final class ObservableCacheBounded<T> extends CachedObservable<T> implements HasUpstreamObservableSource<T> {
+
+    final ObservableSource<T> source;
+
+    final CacheState<T> state;
+
+    final AtomicBoolean once;
+
+    public ObservableCacheBounded(ObservableSource<T> source, int maxItems, long maxBytes,
+            Function<? super T, Long> sizeEstimator, long maxAge, TimeUnit unit, Scheduler scheduler) {
+        this.source = source;
+        this.state = new CacheState<T>(maxItems, maxBytes, sizeEstimator, maxAge, unit, scheduler);
+        this.once = new AtomicBoolean();
+    }
+
+    @Override
+    public ObservableSource<T> source() {
+        return source;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> t) {
+        ReplayDisposable<T> rp = new ReplayDisposable<T>(t, state);
+        t.onSubscribe(rp);
+
+        state.add(rp);
+
+        if (!once.get() && once.compareAndSet(false, true)) {
+            source.subscribe(state);
+        }
+    }
+
+    @Override
+    public long retainedCount() {
+        return state.count;
+    }
+
+    @Override
+    public long retainedBytes() {
+        return state.bytes;
+    }
+
+    /**
+     * Node of the retained items list.
+     */
+    static final class Node extends AtomicReference<Node> {
+
+        private static final long serialVersionUID = 3713592843205853725L;
+
+        final Object value;
+
+        final long size;
+
+        final long time;
+
+        Node(Object value, long size, long time) {
+            this.value = value;
+            this.size = size;
+            this.time = time;
+        }
+    }
+
+    static final class CacheState<T> extends AtomicReference<Disposable> implements Observer<T> {
+
+        private static final long serialVersionUID = -4361233484813264271L;
+
+        @SuppressWarnings("rawtypes")
+        static final ReplayDisposable[] EMPTY = new ReplayDisposable[0];
+
+        @SuppressWarnings("rawtypes")
+        static final ReplayDisposable[] TERMINATED = new ReplayDisposable[0];
+
+        final AtomicReference<ReplayDisposable<T>[]> observers;
+
+        final int maxItems;
+
+        final long maxBytes;
+
+        final Function<? super T, Long> sizeEstimator;
+
+        final long maxAge;
+
+        final TimeUnit unit;
+
+        final Scheduler scheduler;
+
+        /** The node preceding the oldest retained item, written by the upstream thread only. */
+        volatile Node head;
+
+        /** The last node of the list, accessed by the upstream thread only. */
+        Node tail;
+
+        volatile long count;
+
+        volatile long bytes;
+
+        boolean done;
+
+        @SuppressWarnings("unchecked")
+        CacheState(int maxItems, long maxBytes, Function<? super T, Long> sizeEstimator,
+                long maxAge, TimeUnit unit, Scheduler scheduler) {
+            this.maxItems = maxItems;
+            this.maxBytes = maxBytes;
+            this.sizeEstimator = sizeEstimator;
+            this.maxAge = maxAge;
+            this.unit = unit;
+            this.scheduler = scheduler;
+            this.observers = new AtomicReference<ReplayDisposable<T>[]>(EMPTY);
+            Node n = new Node(null, 0L, 0L);
+            this.tail = n;
+            this.head = n;
+        }
+
+        boolean add(ReplayDisposable<T> rp) {
+            for (;;) {
+                ReplayDisposable<T>[] a = observers.get();
+                if (a == TERMINATED) {
+                    rp.replay();
+                    return false;
+                }
+                int n = a.length;
+                @SuppressWarnings({ "unchecked", "rawtypes" })
+                ReplayDisposable<T>[] b = new ReplayDisposable[n + 1];
+                System.arraycopy(a, 0, b, 0, n);
+                b[n] = rp;
+                if (observers.compareAndSet(a, b)) {
+                    rp.replay();
+                    return true;
+                }
+            }
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        void remove(ReplayDisposable<T> rp) {
+            for (;;) {
+                ReplayDisposable<T>[] a = observers.get();
+                int n = a.length;
+                if (n == 0) {
+                    return;
+                }
+                int j = -1;
+                for (int i = 0; i < n; i++) {
+                    if (a[i] == rp) {
+                        j = i;
+                        break;
+                    }
+                }
+                if (j < 0) {
+                    return;
+                }
+                ReplayDisposable<T>[] b;
+                if (n == 1) {
+                    b = EMPTY;
+                } else {
+                    b = new ReplayDisposable[n - 1];
+                    System.arraycopy(a, 0, b, 0, j);
+                    System.arraycopy(a, j + 1, b, j, n - j - 1);
+                }
+                if (observers.compareAndSet(a, b)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Returns the node a new Observer should start after, skipping the items
+         * that are already older than the age limit; the terminal node is never skipped as
+         * its time is {@code Long.MAX_VALUE}.
+         * @return the starting node
+         */
+        Node startNode() {
+            Node h = head;
+            if (maxAge != Long.MAX_VALUE) {
+                long limit = scheduler.now(unit) - maxAge;
+                for (;;) {
+                    Node next = h.get();
+                    if (next == null || next.time > limit) {
+                        break;
+                    }
+                    h = next;
+                }
+            }
+            return h;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            DisposableHelper.setOnce(this, d);
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                return;
+            }
+            long size = 0L;
+            Function<? super T, Long> f = sizeEstimator;
+            if (f != null) {
+                try {
+                    size = ObjectHelper.requireNonNull(f.apply(t), "The sizeEstimator returned a null size");
+                } catch (Throwable ex) {
+                    Exceptions.throwIfFatal(ex);
+                    get().dispose();
+                    onError(ex);
+                    return;
+                }
+            }
+            long now = maxAge != Long.MAX_VALUE ? scheduler.now(unit) : 0L;
+
+            Node n = new Node(NotificationLite.next(t), size, now);
+            tail.set(n);
+            tail = n;
+
+            long c = count + 1;
+            long b = bytes + size;
+
+            Node h = head;
+            Node h0 = h;
+            long limit = now - maxAge;
+            while (c != 0L) {
+                Node next = h.get();
+                if (c > maxItems || b > maxBytes || next.time <= limit) {
+                    c--;
+                    b -= next.size;
+                    h = next;
+                } else {
+                    break;
+                }
+            }
+            if (h != h0) {
+                head = h;
+            }
+            bytes = b;
+            count = c;
+
+            for (ReplayDisposable<T> rp : observers.get()) {
+                rp.replay();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                RxJavaCommonPlugins.onError(t);
+                return;
+            }
+            terminate(NotificationLite.error(t));
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            terminate(NotificationLite.complete());
+        }
+
+        @SuppressWarnings("unchecked")
+        void terminate(Object notification) {
+            done = true;
+            lazySet(DisposableHelper.DISPOSED);
+            Node n = new Node(notification, 0L, Long.MAX_VALUE);
+            tail.set(n);
+            tail = n;
+            for (ReplayDisposable<T> rp : observers.getAndSet(TERMINATED)) {
+                rp.replay();
+            }
+        }
+    }
+
+    static final class ReplayDisposable<T> extends AtomicInteger implements Disposable {
+
+        private static final long serialVersionUID = -6591283750934632856L;
+
+        final Observer<? super T> actual;
+
+        final CacheState<T> state;
+
+        /** The last node emitted to (or skipped for) the Observer. */
+        Node node;
+
+        volatile boolean cancelled;
+
+        ReplayDisposable(Observer<? super T> actual, CacheState<T> state) {
+            this.actual = actual;
+            this.state = state;
+        }
+
+        @Override
+        public void dispose() {
+            if (!cancelled) {
+                cancelled = true;
+                state.remove(this);
+                if (getAndIncrement() == 0) {
+                    node = null;
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+
+        void replay() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            Observer<? super T> a = actual;
+
+            for (;;) {
+                if (cancelled) {
+                    node = null;
+                    return;
+                }
+
+                Node n = node;
+                if (n == null) {
+                    n = state.startNode();
+                }
+
+                for (;;) {
+                    if (cancelled) {
+                        node = null;
+                        return;
+                    }
+
+                    Node next = n.get();
+                    if (next == null) {
+                        break;
+                    }
+
+                    Object o = next.value;
+                    if (NotificationLite.isComplete(o)) {
+                        node = null;
+                        cancelled = true;
+                        a.onComplete();
+                        return;
+                    }
+                    if (NotificationLite.isError(o)) {
+                        node = null;
+                        cancelled = true;
+                        a.onError(NotificationLite.getError(o));
+                        return;
+                    }
+
+                    a.onNext(NotificationLite.<T>getValue(o));
+                    n = next;
+                }
+
+                node = n;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -63,6 +63,7 @@ public final class ObservableFlatMap<T, U> extends AbstractObservableWithUpstrea
         final boolean delayErrors;
         final int maxConcurrency;
         final int bufferSize;
+        final OperatorMetrics metrics;
 
         volatile SimplePlainQueue<U> queue;
 
@@ -92,6 +93,7 @@ public final class ObservableFlatMap<T, U> extends AbstractObservableWithUpstrea
                 boolean delayErrors, int maxConcurrency, int bufferSize) {
             this.actual = actual;
             this.mapper = mapper;
+            this.metrics = OperatorMetrics.of(actual);
             this.delayErrors = delayErrors;
             this.maxConcurrency = maxConcurrency;
             this.bufferSize = bufferSize;
@@ -325,6 +327,10 @@ public final class ObservableFlatMap<T, U> extends AbstractObservableWithUpstrea
 
         void drainLoop() {
             final Observer<? super U> child = this.actual;
+            OperatorMetrics m = metrics;
+            if (m != null) {
+                m.drainLoop();
+            }
             int missed = 1;
             for (;;) {
                 if (checkTerminate()) {
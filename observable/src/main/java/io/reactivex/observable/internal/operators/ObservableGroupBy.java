@@ -14,11 +14,11 @@
 package io.reactivex.observable.internal.operators;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
 
-import io.reactivex.common.Disposable;
-import io.reactivex.common.exceptions.Exceptions;
+import io.reactivex.common.*;
+import io.reactivex.common.exceptions.*;
 import io.reactivex.common.functions.Function;
 import io.reactivex.common.internal.disposables.DisposableHelper;
 import io.reactivex.common.internal.functions.ObjectHelper;
@@ -32,20 +32,54 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
     final Function<? super T, ? extends V> valueSelector;
     final int bufferSize;
     final boolean delayError;
+    final int maxGroups;
+    final long maxIdleTime;
+    final TimeUnit unit;
+    final Scheduler scheduler;
+    final int groupCapacity;
 
     public ObservableGroupBy(ObservableSource<T> source,
             Function<? super T, ? extends K> keySelector, Function<? super T, ? extends V> valueSelector,
             int bufferSize, boolean delayError) {
+        this(source, keySelector, valueSelector, bufferSize, delayError,
+                Integer.MAX_VALUE, Long.MAX_VALUE, TimeUnit.NANOSECONDS, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a groupBy which limits the number of live groups, evicts groups
+     * not receiving items for some time and optionally caps the number of items buffered by each group.
+     * @param source the source ObservableSource
+     * @param keySelector the function extracting the group key
+     * @param valueSelector the function extracting the group value
+     * @param bufferSize the island size of the group buffers
+     * @param delayError delay the upstream error in the groups until their buffered items are consumed?
+     * @param maxGroups the maximum number of live groups, Integer.MAX_VALUE indicates no limit
+     * @param maxIdleTime the time a group may go without receiving an item before it is evicted,
+     *                    Long.MAX_VALUE indicates no limit
+     * @param unit the time unit of maxIdleTime
+     * @param scheduler the scheduler providing the current time, null if there is no idle limit
+     * @param groupCapacity the maximum number of items each group buffers, Integer.MAX_VALUE indicates no limit
+     */
+    public ObservableGroupBy(ObservableSource<T> source,
+            Function<? super T, ? extends K> keySelector, Function<? super T, ? extends V> valueSelector,
+            int bufferSize, boolean delayError, int maxGroups, long maxIdleTime, TimeUnit unit, Scheduler scheduler,
+            int groupCapacity) {
         super(source);
         this.keySelector = keySelector;
         this.valueSelector = valueSelector;
         this.bufferSize = bufferSize;
         this.delayError = delayError;
+        this.maxGroups = maxGroups;
+        this.maxIdleTime = maxIdleTime;
+        this.unit = unit;
+        this.scheduler = scheduler;
+        this.groupCapacity = groupCapacity;
     }
 
     @Override
     public void subscribeActual(Observer<? super GroupedObservable<K, V>> t) {
-        source.subscribe(new GroupByObserver<T, K, V>(t, keySelector, valueSelector, bufferSize, delayError));
+        source.subscribe(new GroupByObserver<T, K, V>(t, keySelector, valueSelector, bufferSize, delayError,
+                maxGroups, scheduler != null ? unit.toNanos(maxIdleTime) : Long.MAX_VALUE, scheduler, groupCapacity));
     }
 
     public static final class GroupByObserver<T, K, V> extends AtomicInteger implements Observer<T>, Disposable {
@@ -58,6 +92,15 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
         final int bufferSize;
         final boolean delayError;
         final Map<Object, GroupedUnicast<K, V>> groups;
+        final int maxGroups;
+        final long maxIdleNanos;
+        final Scheduler scheduler;
+        final int groupCapacity;
+        /**
+         * If true, the groups map is an access-ordered LinkedHashMap guarded by itself
+         * and groups are evicted based on maxGroups and maxIdleNanos.
+         */
+        final boolean evicting;
 
         static final Object NULL_KEY = new Object();
 
@@ -66,12 +109,26 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
         final AtomicBoolean cancelled = new AtomicBoolean();
 
         public GroupByObserver(Observer<? super GroupedObservable<K, V>> actual, Function<? super T, ? extends K> keySelector, Function<? super T, ? extends V> valueSelector, int bufferSize, boolean delayError) {
+            this(actual, keySelector, valueSelector, bufferSize, delayError, Integer.MAX_VALUE, Long.MAX_VALUE, null, Integer.MAX_VALUE);
+        }
+
+        public GroupByObserver(Observer<? super GroupedObservable<K, V>> actual, Function<? super T, ? extends K> keySelector, Function<? super T, ? extends V> valueSelector,
+                int bufferSize, boolean delayError, int maxGroups, long maxIdleNanos, Scheduler scheduler, int groupCapacity) {
             this.actual = actual;
             this.keySelector = keySelector;
             this.valueSelector = valueSelector;
             this.bufferSize = bufferSize;
             this.delayError = delayError;
-            this.groups = new ConcurrentHashMap<Object, GroupedUnicast<K, V>>();
+            this.maxGroups = maxGroups;
+            this.maxIdleNanos = maxIdleNanos;
+            this.scheduler = scheduler;
+            this.groupCapacity = groupCapacity;
+            this.evicting = maxGroups != Integer.MAX_VALUE || scheduler != null;
+            if (evicting) {
+                this.groups = new LinkedHashMap<Object, GroupedUnicast<K, V>>(16, 0.75f, true);
+            } else {
+                this.groups = new ConcurrentHashMap<Object, GroupedUnicast<K, V>>();
+            }
             this.lazySet(1);
         }
 
@@ -96,7 +153,12 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
             }
 
             Object mapKey = key != null ? key : NULL_KEY;
-            GroupedUnicast<K, V> group = groups.get(mapKey);
+            GroupedUnicast<K, V> group;
+            if (evicting) {
+                group = getOrEvict(mapKey);
+            } else {
+                group = groups.get(mapKey);
+            }
             if (group == null) {
                 // if the main has been cancelled, stop creating groups
                 // and skip this value
@@ -104,8 +166,12 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
                     return;
                 }
 
-                group = GroupedUnicast.createWith(key, bufferSize, this, delayError);
-                groups.put(mapKey, group);
+                group = GroupedUnicast.createWith(key, bufferSize, this, delayError, groupCapacity);
+                if (evicting) {
+                    putEvicting(mapKey, group);
+                } else {
+                    groups.put(mapKey, group);
+                }
 
                 getAndIncrement();
 
@@ -127,8 +193,7 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
 
         @Override
         public void onError(Throwable t) {
-            List<GroupedUnicast<K, V>> list = new ArrayList<GroupedUnicast<K, V>>(groups.values());
-            groups.clear();
+            List<GroupedUnicast<K, V>> list = removeAll();
 
             for (GroupedUnicast<K, V> e : list) {
                 e.onError(t);
@@ -139,8 +204,7 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
 
         @Override
         public void onComplete() {
-            List<GroupedUnicast<K, V>> list = new ArrayList<GroupedUnicast<K, V>>(groups.values());
-            groups.clear();
+            List<GroupedUnicast<K, V>> list = removeAll();
 
             for (GroupedUnicast<K, V> e : list) {
                 e.onComplete();
@@ -165,21 +229,131 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
             return cancelled.get();
         }
 
-        public void cancel(K key) {
+        /**
+         * Called at most once per group when the group gets cancelled.
+         * @param key the group key
+         * @param state the group's state used for verifying the key still maps to the same group
+         */
+        void cancel(K key, State<V, K> state) {
             Object mapKey = key != null ? key : NULL_KEY;
-            groups.remove(mapKey);
+            if (evicting) {
+                synchronized (groups) {
+                    // a lookup would move the entry in the access-ordered map without refreshing its lastAccess
+                    if (!state.evicted) {
+                        groups.remove(mapKey);
+                    }
+                }
+            } else {
+                groups.remove(mapKey);
+            }
+            groupDone();
+        }
+
+        void groupDone() {
             if (decrementAndGet() == 0) {
                 s.dispose();
             }
         }
+
+        /**
+         * Removes the groups that have been idle for too long, then looks up the group
+         * for the given key and, if there is none, makes room for the new group by
+         * removing the least recently used one. The removed groups are completed
+         * outside the lock.
+         * @param mapKey the key of the group
+         * @return the group or null if there is no group for the key
+         */
+        GroupedUnicast<K, V> getOrEvict(Object mapKey) {
+            List<GroupedUnicast<K, V>> evicted = null;
+            GroupedUnicast<K, V> group;
+            synchronized (groups) {
+                Scheduler sch = scheduler;
+                long now = 0L;
+                if (sch != null) {
+                    now = sch.now(TimeUnit.NANOSECONDS);
+                    // the map is in access order thus the first entries are the ones idle the longest
+                    Iterator<GroupedUnicast<K, V>> it = groups.values().iterator();
+                    while (it.hasNext()) {
+                        GroupedUnicast<K, V> g = it.next();
+                        if (now - g.lastAccess < maxIdleNanos) {
+                            break;
+                        }
+                        it.remove();
+                        g.state.evicted = true;
+                        if (evicted == null) {
+                            evicted = new ArrayList<GroupedUnicast<K, V>>();
+                        }
+                        evicted.add(g);
+                    }
+                }
+
+                group = groups.get(mapKey);
+                if (group != null) {
+                    group.lastAccess = now;
+                } else if (groups.size() >= maxGroups) {
+                    Iterator<GroupedUnicast<K, V>> it = groups.values().iterator();
+                    GroupedUnicast<K, V> g = it.next();
+                    it.remove();
+                    g.state.evicted = true;
+                    if (evicted == null) {
+                        evicted = new ArrayList<GroupedUnicast<K, V>>();
+                    }
+                    evicted.add(g);
+                }
+            }
+            if (evicted != null) {
+                for (GroupedUnicast<K, V> g : evicted) {
+                    if (g.state.detached.compareAndSet(false, true)) {
+                        g.onComplete();
+                        groupDone();
+                    }
+                }
+            }
+            return group;
+        }
+
+        void putEvicting(Object mapKey, GroupedUnicast<K, V> group) {
+            Scheduler sch = scheduler;
+            if (sch != null) {
+                group.lastAccess = sch.now(TimeUnit.NANOSECONDS);
+            }
+            synchronized (groups) {
+                groups.put(mapKey, group);
+            }
+        }
+
+        List<GroupedUnicast<K, V>> removeAll() {
+            List<GroupedUnicast<K, V>> list;
+            if (evicting) {
+                synchronized (groups) {
+                    list = new ArrayList<GroupedUnicast<K, V>>(groups.values());
+                    groups.clear();
+                    for (GroupedUnicast<K, V> g : list) {
+                        g.state.evicted = true;
+                    }
+                }
+            } else {
+                list = new ArrayList<GroupedUnicast<K, V>>(groups.values());
+                groups.clear();
+            }
+            return list;
+        }
     }
 
     static final class GroupedUnicast<K, T> extends GroupedObservable<K, T> {
 
         final State<T, K> state;
 
+        /** The time of the last item routed to this group, accessed while holding the lock on the groups map. */
+        long lastAccess;
+
         public static <T, K> GroupedUnicast<K, T> createWith(K key, int bufferSize, GroupByObserver<?, K, T> parent, boolean delayError) {
-            State<T, K> state = new State<T, K>(bufferSize, parent, key, delayError);
+            return createWith(key, bufferSize, parent, delayError, Integer.MAX_VALUE);
+        }
+
+        public static <T, K> GroupedUnicast<K, T> createWith(K key, int bufferSize, GroupByObserver<?, K, T> parent, boolean delayError,
+                int capacity) {
+            State<T, K> state = new State<T, K>(bufferSize, parent, key, delayError, capacity);
             return new GroupedUnicast<K, T>(key, state);
         }
 
@@ -214,6 +388,10 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
         final SpscLinkedArrayQueue<T> queue;
         final GroupByObserver<?, K, T> parent;
         final boolean delayError;
+        final int capacity;
+
+        /** The number of buffered items, only tracked if the capacity is limited. */
+        final AtomicInteger size = new AtomicInteger();
 
         volatile boolean done;
         Throwable error;
@@ -222,13 +400,20 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
 
         final AtomicBoolean once = new AtomicBoolean();
 
+        /** Set once the group no longer counts as a live group of the parent. */
+        final AtomicBoolean detached = new AtomicBoolean();
+
+        /** Set once the parent removed the group from its evicting groups map; guarded by the lock on that map. */
+        boolean evicted;
+
         final AtomicReference<Observer<? super T>> actual = new AtomicReference<Observer<? super T>>();
 
-        State(int bufferSize, GroupByObserver<?, K, T> parent, K key, boolean delayError) {
+        State(int bufferSize, GroupByObserver<?, K, T> parent, K key, boolean delayError, int capacity) {
             this.queue = new SpscLinkedArrayQueue<T>(bufferSize);
             this.parent = parent;
             this.key = key;
             this.delayError = delayError;
+            this.capacity = capacity;
         }
 
         @Override
@@ -236,7 +421,7 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
             if (cancelled.compareAndSet(false, true)) {
                 if (getAndIncrement() == 0) {
                     actual.lazySet(null);
-                    parent.cancel(key);
+                    detach();
                 }
             }
         }
@@ -246,6 +431,12 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
             return cancelled.get();
         }
 
+        void detach() {
+            if (detached.compareAndSet(false, true)) {
+                parent.cancel(key, this);
+            }
+        }
+
         @Override
         public void subscribe(Observer<? super T> s) {
             if (once.compareAndSet(false, true)) {
@@ -262,6 +453,12 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
         }
 
         public void onNext(T t) {
+            if (capacity != Integer.MAX_VALUE && size.getAndIncrement() >= capacity) {
+                // the group hasn't been subscribed to or its Observer doesn't keep up
+                detach();
+                onError(new MissingBackpressureException("The group's buffer is full: " + key));
+                return;
+            }
             queue.offer(t);
             drain();
         }
@@ -301,6 +498,10 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
                             break;
                         }
 
+                        if (capacity != Integer.MAX_VALUE) {
+                            size.decrementAndGet();
+                        }
+
                         a.onNext(v);
                     }
                 }
@@ -318,7 +519,7 @@ public final class ObservableGroupBy<T, K, V> extends AbstractObservableWithUpst
         boolean checkTerminated(boolean d, boolean empty, Observer<? super T> a, boolean delayError) {
             if (cancelled.get()) {
                 queue.clear();
-                parent.cancel(key);
+                detach();
                 actual.lazySet(null);
                 return true;
             }
@@ -46,13 +46,14 @@ public final class ObservableObserveOn<T> extends AbstractObservableWithUpstream
     }
 
     static final class ObserveOnObserver<T> extends BasicIntQueueDisposable<T>
-    implements Observer<T>, Runnable {
+    implements Observer<T>, Runnable, PipelineTopology.Inspectable {
 
         private static final long serialVersionUID = 6576896619930983584L;
         final Observer<? super T> actual;
         final Scheduler.Worker worker;
         final boolean delayError;
         final int bufferSize;
+        final OperatorMetrics metrics;
 
         SimpleQueue<T> queue;
 
@@ -72,6 +73,7 @@ public final class ObservableObserveOn<T> extends AbstractObservableWithUpstream
             this.worker = worker;
             this.delayError = delayError;
             this.bufferSize = bufferSize;
+            this.metrics = OperatorMetrics.of(actual);
         }
 
         @Override
@@ -114,6 +116,10 @@ public final class ObservableObserveOn<T> extends AbstractObservableWithUpstream
 
             if (sourceMode != QueueDisposable.ASYNC) {
                 queue.offer(t);
+                OperatorMetrics m = metrics;
+                if (m != null) {
+                    m.queueSize(((SpscLinkedArrayQueue<T>)queue).size());
+                }
             }
             schedule();
         }
@@ -155,6 +161,33 @@ public final class ObservableObserveOn<T> extends AbstractObservableWithUpstream
             return cancelled;
         }
 
+        @Override
+        public long occupancy() {
+            SimpleQueue<T> q = queue;
+            return q instanceof SpscLinkedArrayQueue ? ((SpscLinkedArrayQueue<T>)q).size() : -1L;
+        }
+
+        @Override
+        public long outstandingRequest() {
+            return -1L;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            SimpleQueue<T> q = queue;
+            return cancelled || (done && (q == null || q.isEmpty()));
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
         void schedule() {
             if (getAndIncrement() == 0) {
                 worker.schedule(this);
@@ -245,6 +278,10 @@ public final class ObservableObserveOn<T> extends AbstractObservableWithUpstream
 
         @Override
         public void run() {
+            OperatorMetrics m = metrics;
+            if (m != null) {
+                m.drainLoop();
+            }
             if (outputFused) {
                 drainFused();
             } else {
@@ -0,0 +1,235 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.observable.internal.operators;
+
+import java.util.concurrent.atomic.*;
+
+import io.reactivex.common.*;
+import io.reactivex.common.Scheduler.Worker;
+import io.reactivex.common.exceptions.Exceptions;
+import io.reactivex.common.functions.BiFunction;
+import io.reactivex.common.internal.disposables.DisposableHelper;
+import io.reactivex.common.internal.functions.ObjectHelper;
+import io.reactivex.observable.*;
+
+/**
+ * Hands the upstream items over to a Scheduler through a single slot: items arriving
+ * while the previous one is still waiting get merged into it via a coalescer function
+ * (or replace it if there is no coalescer) so the consumer side does a bounded amount of work
+ * no matter how fast the upstream emits.
+ *
+ * @param <T> the value type
+ */
+public final class ObservableObserveOnCoalesce<T> extends AbstractObservableWithUpstream<T, T> {
+
+    final Scheduler scheduler;
+
+    final BiFunction<? super T, ? super T, ? extends T> coalescer;
+
+    final boolean delayError;
+
+    /**
+     * Constructs an instance.
+     * @param source the source ObservableSource
+     * @param scheduler the scheduler to emit on
+     * @param coalescer the function merging the waiting item with a new one, null if the new item should win
+     * @param delayError if true, the waiting item is emitted before the upstream error
+     */
+    public ObservableObserveOnCoalesce(ObservableSource<T> source, Scheduler scheduler,
+            BiFunction<? super T, ? super T, ? extends T> coalescer, boolean delayError) {
+        super(source);
+        this.scheduler = scheduler;
+        this.coalescer = coalescer;
+        this.delayError = delayError;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> observer) {
+        source.subscribe(new ObserveOnCoalesceObserver<T>(observer, scheduler.createWorker(), coalescer, delayError));
+    }
+
+    static final class ObserveOnCoalesceObserver<T> extends AtomicInteger
+    implements Observer<T>, Disposable, Runnable {
+
+        private static final long serialVersionUID = 6900210346707405543L;
+
+        final Observer<? super T> actual;
+
+        final Worker worker;
+
+        final BiFunction<? super T, ? super T, ? extends T> coalescer;
+
+        final boolean delayError;
+
+        final AtomicReference<T> current;
+
+        Disposable s;
+
+        volatile boolean done;
+        Throwable error;
+
+        volatile boolean cancelled;
+
+        ObserveOnCoalesceObserver(Observer<? super T> actual, Worker worker,
+                BiFunction<? super T, ? super T, ? extends T> coalescer, boolean delayError) {
+            this.actual = actual;
+            this.worker = worker;
+            this.coalescer = coalescer;
+            this.delayError = delayError;
+            this.current = new AtomicReference<T>();
+        }
+
+        @Override
+        public void onSubscribe(Disposable s) {
+            if (DisposableHelper.validate(this.s, s)) {
+                this.s = s;
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                return;
+            }
+            BiFunction<? super T, ? super T, ? extends T> f = coalescer;
+            if (f == null) {
+                current.lazySet(t);
+            } else {
+                final AtomicReference<T> q = current;
+                for (;;) {
+                    T v = q.get();
+                    T w;
+                    if (v == null) {
+                        w = t;
+                    } else {
+                        try {
+                            w = ObjectHelper.requireNonNull(f.apply(v, t), "The coalescer returned a null value");
+                        } catch (Throwable ex) {
+                            Exceptions.throwIfFatal(ex);
+                            s.dispose();
+                            onError(ex);
+                            return;
+                        }
+                    }
+                    if (q.compareAndSet(v, w)) {
+                        break;
+                    }
+                }
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                RxJavaCommonPlugins.onError(t);
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                schedule();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!cancelled) {
+                cancelled = true;
+                s.dispose();
+                worker.dispose();
+
+                if (getAndIncrement() == 0) {
+                    current.lazySet(null);
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+
+        void schedule() {
+            if (getAndIncrement() == 0) {
+                worker.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            final Observer<? super T> a = actual;
+            final AtomicReference<T> q = current;
+
+            for (;;) {
+                for (;;) {
+                    boolean d = done;
+                    T v = q.getAndSet(null);
+                    boolean empty = v == null;
+
+                    if (checkTerminated(d, empty, a, q)) {
+                        return;
+                    }
+
+                    if (empty) {
+                        break;
+                    }
+
+                    a.onNext(v);
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        boolean checkTerminated(boolean d, boolean empty, Observer<? super T> a, AtomicReference<T> q) {
+            if (cancelled) {
+                q.lazySet(null);
+                return true;
+            }
+
+            if (d) {
+                Throwable e = error;
+                if (e != null && !delayError) {
+                    q.lazySet(null);
+                    a.onError(e);
+                    worker.dispose();
+                    return true;
+                } else
+                if (empty) {
+                    if (e != null) {
+                        a.onError(e);
+                    } else {
+                        a.onComplete();
+                    }
+                    worker.dispose();
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -16,10 +16,11 @@ package io.reactivex.observable.internal.operators;
 import java.util.concurrent.Callable;
 
 import io.reactivex.common.exceptions.Exceptions;
+import io.reactivex.common.internal.functions.ObjectHelper;
 import io.reactivex.observable.*;
 import io.reactivex.observable.internal.disposables.EmptyDisposable;
 
-public final class SingleFromCallable<T> extends Single<T> {
+public final class SingleFromCallable<T> extends Single<T> implements Callable<T> {
 
     final Callable<? extends T> callable;
 
@@ -44,4 +45,8 @@ public final class SingleFromCallable<T> extends Single<T> {
         }
     }
 
+    @Override
+    public T call() throws Exception {
+        return ObjectHelper.requireNonNull(callable.call(), "The callable returned a null value");
+    }
 }
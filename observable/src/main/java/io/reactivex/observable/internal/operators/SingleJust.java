@@ -15,8 +15,14 @@ package io.reactivex.observable.internal.operators;
 
 import io.reactivex.common.Disposables;
 import io.reactivex.observable.*;
+import io.reactivex.observable.extensions.ScalarCallable;
 
-public final class SingleJust<T> extends Single<T> {
+/**
+ * Signals a constant value.
+ *
+ * @param <T> the value type
+ */
+public final class SingleJust<T> extends Single<T> implements ScalarCallable<T> {
 
     final T value;
 
@@ -30,4 +36,8 @@ public final class SingleJust<T> extends Single<T> {
         s.onSuccess(value);
     }
 
+    @Override
+    public T call() {
+        return value;
+    }
 }
@@ -14,10 +14,10 @@
 package io.reactivex.observable.subjects;
 
 import java.util.Arrays;
-import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.common.*;
 import io.reactivex.common.annotations.CheckReturnValue;
+import io.reactivex.common.internal.utils.SubscriberRegistry;
 import io.reactivex.observable.Observer;
 import io.reactivex.observable.internal.observers.DeferredScalarDisposable;
 
@@ -32,18 +32,12 @@ import io.reactivex.observable.internal.observers.DeferredScalarDisposable;
 
 public final class AsyncSubject<T> extends Subject<T> {
 
-    @SuppressWarnings("rawtypes")
-    static final AsyncDisposable[] EMPTY = new AsyncDisposable[0];
+    final SubscriberRegistry<AsyncDisposable<T>> subscribers;
 
-    @SuppressWarnings("rawtypes")
-    static final AsyncDisposable[] TERMINATED = new AsyncDisposable[0];
-
-    final AtomicReference<AsyncDisposable<T>[]> subscribers;
-
-    /** Write before updating subscribers, read after reading subscribers as TERMINATED. */
+    /** Write before updating subscribers, read after seeing subscribers terminated. */
     Throwable error;
 
-    /** Write before updating subscribers, read after reading subscribers as TERMINATED. */
+    /** Write before updating subscribers, read after seeing subscribers terminated. */
     T value;
 
     /**
@@ -60,21 +54,20 @@ public final class AsyncSubject<T> extends Subject<T> {
      * Constructs an AsyncSubject.
      * @since 2.0
      */
-    @SuppressWarnings("unchecked")
     AsyncSubject() {
-        this.subscribers = new AtomicReference<AsyncDisposable<T>[]>(EMPTY);
+        this.subscribers = new SubscriberRegistry<AsyncDisposable<T>>();
     }
 
     @Override
     public void onSubscribe(Disposable s) {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             s.dispose();
         }
     }
 
     @Override
     public void onNext(T t) {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             return;
         }
         if (t == null) {
@@ -84,70 +77,76 @@ public final class AsyncSubject<T> extends Subject<T> {
         value = t;
     }
 
-    @SuppressWarnings("unchecked")
     void nullOnNext() {
         value = null;
         Throwable ex = new NullPointerException("onNext called with null. Null values are generally not allowed in 2.x operators and sources.");
         error = ex;
-        for (AsyncDisposable<T> as : subscribers.getAndSet(TERMINATED)) {
-            as.onError(ex);
+        SubscriberRegistry.Snapshot<AsyncDisposable<T>> a = subscribers.terminate();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            AsyncDisposable<T> as = a.get(i);
+            if (as != null) {
+                as.onError(ex);
+            }
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void onError(Throwable t) {
         if (t == null) {
             t = new NullPointerException("onError called with null. Null values are generally not allowed in 2.x operators and sources.");
         }
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             RxJavaCommonPlugins.onError(t);
             return;
         }
         value = null;
         error = t;
-        for (AsyncDisposable<T> as : subscribers.getAndSet(TERMINATED)) {
-            as.onError(t);
+        SubscriberRegistry.Snapshot<AsyncDisposable<T>> a = subscribers.terminate();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            AsyncDisposable<T> as = a.get(i);
+            if (as != null) {
+                as.onError(t);
+            }
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void onComplete() {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             return;
         }
         T v = value;
-        AsyncDisposable<T>[] array = subscribers.getAndSet(TERMINATED);
-        if (v == null) {
-            for (AsyncDisposable<T> as : array) {
-                as.onComplete();
-            }
-        } else {
-            for (AsyncDisposable<T> as : array) {
-                as.complete(v);
+        SubscriberRegistry.Snapshot<AsyncDisposable<T>> a = subscribers.terminate();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            AsyncDisposable<T> as = a.get(i);
+            if (as != null) {
+                if (v == null) {
+                    as.onComplete();
+                } else {
+                    as.complete(v);
+                }
             }
         }
     }
 
     @Override
     public boolean hasObservers() {
-        return subscribers.get().length != 0;
+        return subscribers.size() != 0;
     }
 
     @Override
     public boolean hasThrowable() {
-        return subscribers.get() == TERMINATED && error != null;
+        return subscribers.isTerminated() && error != null;
     }
 
     @Override
     public boolean hasComplete() {
-        return subscribers.get() == TERMINATED && error == null;
+        return subscribers.isTerminated() && error == null;
     }
 
     @Override
     public Throwable getThrowable() {
-        return subscribers.get() == TERMINATED ? error : null;
+        return subscribers.isTerminated() ? error : null;
     }
 
     @Override
@@ -180,62 +179,15 @@ public final class AsyncSubject<T> extends Subject<T> {
      * @return true if successful, false if the subject has terminated
      */
     boolean add(AsyncDisposable<T> ps) {
-        for (;;) {
-            AsyncDisposable<T>[] a = subscribers.get();
-            if (a == TERMINATED) {
-                return false;
-            }
-
-            int n = a.length;
-            @SuppressWarnings("unchecked")
-            AsyncDisposable<T>[] b = new AsyncDisposable[n + 1];
-            System.arraycopy(a, 0, b, 0, n);
-            b[n] = ps;
-
-            if (subscribers.compareAndSet(a, b)) {
-                return true;
-            }
-        }
+        return subscribers.add(ps);
     }
 
     /**
      * Atomically removes the given subscriber if it is subscribed to the subject.
      * @param ps the subject to remove
      */
-    @SuppressWarnings("unchecked")
     void remove(AsyncDisposable<T> ps) {
-        for (;;) {
-            AsyncDisposable<T>[] a = subscribers.get();
-            int n = a.length;
-            if (n == 0) {
-                return;
-            }
-
-            int j = -1;
-            for (int i = 0; i < n; i++) {
-                if (a[i] == ps) {
-                    j = i;
-                    break;
-                }
-            }
-
-            if (j < 0) {
-                return;
-            }
-
-            AsyncDisposable<T>[] b;
-
-            if (n == 1) {
-                b = EMPTY;
-            } else {
-                b = new AsyncDisposable[n - 1];
-                System.arraycopy(a, 0, b, 0, j);
-                System.arraycopy(a, j + 1, b, j, n - j - 1);
-            }
-            if (subscribers.compareAndSet(a, b)) {
-                return;
-            }
-        }
+        subscribers.remove(ps);
     }
 
     /**
@@ -244,7 +196,7 @@ public final class AsyncSubject<T> extends Subject<T> {
      * @return true if the subject has any value
      */
     public boolean hasValue() {
-        return subscribers.get() == TERMINATED && value != null;
+        return subscribers.isTerminated() && value != null;
     }
 
     /**
@@ -253,7 +205,7 @@ public final class AsyncSubject<T> extends Subject<T> {
      * @return a single value the Subject currently has or null if no such value exists
      */
     public T getValue() {
-        return subscribers.get() == TERMINATED ? value : null;
+        return subscribers.isTerminated() ? value : null;
     }
 
     /**
@@ -292,16 +244,28 @@ public final class AsyncSubject<T> extends Subject<T> {
         return array;
     }
 
-    static final class AsyncDisposable<T> extends DeferredScalarDisposable<T> {
+    static final class AsyncDisposable<T> extends DeferredScalarDisposable<T> implements SubscriberRegistry.Entry {
         private static final long serialVersionUID = 5629876084736248016L;
 
         final AsyncSubject<T> parent;
 
+        int registryIndex;
+
         AsyncDisposable(Observer<? super T> actual, AsyncSubject<T> parent) {
             super(actual);
             this.parent = parent;
         }
 
+        @Override
+        public int registryIndex() {
+            return registryIndex;
+        }
+
+        @Override
+        public void registryIndex(int index) {
+            registryIndex = index;
+        }
+
         @Override
         public void dispose() {
             if (super.tryDispose()) {
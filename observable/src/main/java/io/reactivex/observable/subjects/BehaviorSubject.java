@@ -14,14 +14,13 @@
 package io.reactivex.observable.subjects;
 
 import java.lang.reflect.Array;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.*;
+import java.util.concurrent.atomic.*;
 
 import io.reactivex.common.*;
 import io.reactivex.common.annotations.CheckReturnValue;
 import io.reactivex.common.internal.functions.ObjectHelper;
 import io.reactivex.common.internal.utils.AbstractAppendOnlyLinkedArrayList.NonThrowingPredicate;
-import io.reactivex.common.internal.utils.ExceptionHelper;
+import io.reactivex.common.internal.utils.*;
 import io.reactivex.observable.Observer;
 import io.reactivex.observable.internal.utils.*;
 
@@ -75,20 +74,15 @@ public final class BehaviorSubject<T> extends Subject<T> {
 
     final AtomicReference<Object> value;
 
-    final AtomicReference<BehaviorDisposable<T>[]> subscribers;
-
-    @SuppressWarnings("rawtypes")
-    static final BehaviorDisposable[] EMPTY = new BehaviorDisposable[0];
-
-    @SuppressWarnings("rawtypes")
-    static final BehaviorDisposable[] TERMINATED = new BehaviorDisposable[0];
-    final ReadWriteLock lock;
-    final Lock readLock;
-    final Lock writeLock;
+    final SubscriberRegistry<BehaviorDisposable<T>> subscribers;
 
     final AtomicReference<Throwable> terminalEvent;
 
-    long index;
+    /**
+     * The version of the current value, odd while a new value is being written;
+     * lets subscribers snapshot a consistent value-version pair without locking.
+     */
+    final AtomicLong version;
 
     /**
      * Creates a {@link BehaviorSubject} without a default item.
@@ -122,12 +116,9 @@ public final class BehaviorSubject<T> extends Subject<T> {
      * Constructs an empty BehaviorSubject.
      * @since 2.0
      */
-    @SuppressWarnings("unchecked")
     BehaviorSubject() {
-        this.lock = new ReentrantReadWriteLock();
-        this.readLock = lock.readLock();
-        this.writeLock = lock.writeLock();
-        this.subscribers = new AtomicReference<BehaviorDisposable<T>[]>(EMPTY);
+        this.version = new AtomicLong();
+        this.subscribers = new SubscriberRegistry<BehaviorDisposable<T>>();
         this.value = new AtomicReference<Object>();
         this.terminalEvent = new AtomicReference<Throwable>();
     }
@@ -180,9 +171,13 @@ public final class BehaviorSubject<T> extends Subject<T> {
             return;
         }
         Object o = NotificationLite.next(t);
-        setCurrent(o);
-        for (BehaviorDisposable<T> bs : subscribers.get()) {
-            bs.emitNext(o, index);
+        long v = setCurrent(o);
+        SubscriberRegistry.Snapshot<BehaviorDisposable<T>> a = subscribers.snapshot();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            BehaviorDisposable<T> bs = a.get(i);
+            if (bs != null) {
+                bs.emitNext(o, v);
+            }
         }
     }
 
@@ -195,10 +190,7 @@ public final class BehaviorSubject<T> extends Subject<T> {
             RxJavaCommonPlugins.onError(t);
             return;
         }
-        Object o = NotificationLite.error(t);
-        for (BehaviorDisposable<T> bs : terminate(o)) {
-            bs.emitNext(o, index);
-        }
+        emitTerminal(NotificationLite.error(t));
     }
 
     @Override
@@ -206,20 +198,17 @@ public final class BehaviorSubject<T> extends Subject<T> {
         if (!terminalEvent.compareAndSet(null, ExceptionHelper.TERMINATED)) {
             return;
         }
-        Object o = NotificationLite.complete();
-        for (BehaviorDisposable<T> bs : terminate(o)) {
-            bs.emitNext(o, index);  // relaxed read okay since this is the only mutator thread
-        }
+        emitTerminal(NotificationLite.complete());
     }
 
     @Override
     public boolean hasObservers() {
-        return subscribers.get().length != 0;
+        return subscribers.size() != 0;
     }
 
 
     /* test support*/ int subscriberCount() {
-        return subscribers.get().length;
+        return subscribers.size();
     }
 
     @Override
@@ -313,81 +302,41 @@ public final class BehaviorSubject<T> extends Subject<T> {
     }
 
     boolean add(BehaviorDisposable<T> rs) {
-        for (;;) {
-            BehaviorDisposable<T>[] a = subscribers.get();
-            if (a == TERMINATED) {
-                return false;
-            }
-            int len = a.length;
-            @SuppressWarnings("unchecked")
-            BehaviorDisposable<T>[] b = new BehaviorDisposable[len + 1];
-            System.arraycopy(a, 0, b, 0, len);
-            b[len] = rs;
-            if (subscribers.compareAndSet(a, b)) {
-                return true;
-            }
-        }
+        return subscribers.add(rs);
     }
 
-    @SuppressWarnings("unchecked")
     void remove(BehaviorDisposable<T> rs) {
-        for (;;) {
-            BehaviorDisposable<T>[] a = subscribers.get();
-            if (a == TERMINATED || a == EMPTY) {
-                return;
-            }
-            int len = a.length;
-            int j = -1;
-            for (int i = 0; i < len; i++) {
-                if (a[i] == rs) {
-                    j = i;
-                    break;
-                }
-            }
-
-            if (j < 0) {
-                return;
-            }
-            BehaviorDisposable<T>[] b;
-            if (len == 1) {
-                b = EMPTY;
-            } else {
-                b = new BehaviorDisposable[len - 1];
-                System.arraycopy(a, 0, b, 0, j);
-                System.arraycopy(a, j + 1, b, j, len - j - 1);
-            }
-            if (subscribers.compareAndSet(a, b)) {
-                return;
-            }
-        }
+        subscribers.remove(rs);
     }
 
-    @SuppressWarnings("unchecked")
-    BehaviorDisposable<T>[] terminate(Object terminalValue) {
-
-        BehaviorDisposable<T>[] a = subscribers.get();
-        if (a != TERMINATED) {
-            a = subscribers.getAndSet(TERMINATED);
-            if (a != TERMINATED) {
-                // either this or atomics with lots of allocation
-                setCurrent(terminalValue);
+    void emitTerminal(Object terminalValue) {
+        SubscriberRegistry.Snapshot<BehaviorDisposable<T>> a = subscribers.terminate();
+        long v = setCurrent(terminalValue);
+        for (int i = 0, n = a.size(); i < n; i++) {
+            BehaviorDisposable<T> bs = a.get(i);
+            if (bs != null) {
+                bs.emitNext(terminalValue, v);
             }
         }
-
-        return a;
     }
 
-    void setCurrent(Object o) {
-        writeLock.lock();
-        try {
-            index++;
-            value.lazySet(o);
-        } finally {
-            writeLock.unlock();
-        }
+    /**
+     * Publishes the new current value, must be called from the single mutator thread.
+     * @param o the new value
+     * @return the version of the new value
+     */
+    long setCurrent(Object o) {
+        AtomicLong ver = version;
+        long v = ver.get();
+        ver.lazySet(v + 1);
+        value.lazySet(o);
+        // full barrier so the new version is visible before the subscribers are read
+        ver.set(v + 2);
+        return v + 2;
     }
 
-    static final class BehaviorDisposable<T> implements Disposable, NonThrowingPredicate<Object> {
+    static final class BehaviorDisposable<T>
+    implements Disposable, NonThrowingPredicate<Object>, SubscriberRegistry.Entry {
 
         final Observer<? super T> actual;
         final BehaviorSubject<T> state;
@@ -402,11 +351,23 @@ public final class BehaviorSubject<T> extends Subject<T> {
 
         long index;
 
+        int registryIndex;
+
         BehaviorDisposable(Observer<? super T> actual, BehaviorSubject<T> state) {
             this.actual = actual;
             this.state = state;
         }
 
+        @Override
+        public int registryIndex() {
+            return registryIndex;
+        }
+
+        @Override
+        public void registryIndex(int index) {
+            registryIndex = index;
+        }
+
         @Override
         public void dispose() {
             if (!cancelled) {
@@ -435,12 +396,19 @@ public final class BehaviorSubject<T> extends Subject<T> {
                 }
 
                 BehaviorSubject<T> s = state;
-                Lock lock = s.readLock;
 
-                lock.lock();
-                index = s.index;
-                o = s.value.get();
-                lock.unlock();
+                // read the value and its version consistently, retry if a new value was written in between
+                AtomicLong ver = s.version;
+                for (;;) {
+                    long v = ver.get();
+                    if ((v & 1) == 0) {
+                        o = s.value.get();
+                        if (ver.get() == v) {
+                            index = v;
+                            break;
+                        }
+                    }
+                }
 
                 emitting = o != null;
                 next = true;
@@ -17,6 +17,7 @@ import java.util.concurrent.atomic.*;
 
 import io.reactivex.common.*;
 import io.reactivex.common.annotations.CheckReturnValue;
+import io.reactivex.common.internal.utils.SubscriberRegistry;
 import io.reactivex.observable.Observer;
 
 /**
@@ -45,15 +46,8 @@ import io.reactivex.observable.Observer;
  *          the type of items observed and emitted by the Subject
  */
 public final class PublishSubject<T> extends Subject<T> {
-    /** The terminated indicator for the subscribers array. */
-    @SuppressWarnings("rawtypes")
-    static final PublishDisposable[] TERMINATED = new PublishDisposable[0];
-    /** An empty subscribers array to avoid allocating it all the time. */
-    @SuppressWarnings("rawtypes")
-    static final PublishDisposable[] EMPTY = new PublishDisposable[0];
-
-    /** The array of currently subscribed subscribers. */
-    final AtomicReference<PublishDisposable<T>[]> subscribers;
+    /** The currently subscribed subscribers. */
+    final SubscriberRegistry<PublishDisposable<T>> subscribers;
 
     /** The error, write before terminating and read after checking subscribers. */
     Throwable error;
@@ -72,9 +66,8 @@ public final class PublishSubject<T> extends Subject<T> {
      * Constructs a PublishSubject.
      * @since 2.0
      */
-    @SuppressWarnings("unchecked")
     PublishSubject() {
-        subscribers = new AtomicReference<PublishDisposable<T>[]>(EMPTY);
+        subscribers = new SubscriberRegistry<PublishDisposable<T>>();
     }
 
 
@@ -105,89 +98,45 @@ public final class PublishSubject<T> extends Subject<T> {
      * @return true if successful, false if the subject has terminated
      */
     boolean add(PublishDisposable<T> ps) {
-        for (;;) {
-            PublishDisposable<T>[] a = subscribers.get();
-            if (a == TERMINATED) {
-                return false;
-            }
-
-            int n = a.length;
-            @SuppressWarnings("unchecked")
-            PublishDisposable<T>[] b = new PublishDisposable[n + 1];
-            System.arraycopy(a, 0, b, 0, n);
-            b[n] = ps;
-
-            if (subscribers.compareAndSet(a, b)) {
-                return true;
-            }
-        }
+        return subscribers.add(ps);
     }
 
     /**
      * Atomically removes the given subscriber if it is subscribed to the subject.
      * @param ps the subject to remove
      */
-    @SuppressWarnings("unchecked")
     void remove(PublishDisposable<T> ps) {
-        for (;;) {
-            PublishDisposable<T>[] a = subscribers.get();
-            if (a == TERMINATED || a == EMPTY) {
-                return;
-            }
-
-            int n = a.length;
-            int j = -1;
-            for (int i = 0; i < n; i++) {
-                if (a[i] == ps) {
-                    j = i;
-                    break;
-                }
-            }
-
-            if (j < 0) {
-                return;
-            }
-
-            PublishDisposable<T>[] b;
-
-            if (n == 1) {
-                b = EMPTY;
-            } else {
-                b = new PublishDisposable[n - 1];
-                System.arraycopy(a, 0, b, 0, j);
-                System.arraycopy(a, j + 1, b, j, n - j - 1);
-            }
-            if (subscribers.compareAndSet(a, b)) {
-                return;
-            }
-        }
+        subscribers.remove(ps);
     }
 
     @Override
     public void onSubscribe(Disposable s) {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             s.dispose();
         }
     }
 
     @Override
     public void onNext(T t) {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             return;
         }
         if (t == null) {
             onError(new NullPointerException("onNext called with null. Null values are generally not allowed in 2.x operators and sources."));
             return;
         }
-        for (PublishDisposable<T> s : subscribers.get()) {
-            s.onNext(t);
+        SubscriberRegistry.Snapshot<PublishDisposable<T>> a = subscribers.snapshot();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            PublishDisposable<T> s = a.get(i);
+            if (s != null) {
+                s.onNext(t);
+            }
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void onError(Throwable t) {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             RxJavaCommonPlugins.onError(t);
             return;
         }
@@ -196,30 +145,37 @@ public final class PublishSubject<T> extends Subject<T> {
         }
         error = t;
 
-        for (PublishDisposable<T> s : subscribers.getAndSet(TERMINATED)) {
-            s.onError(t);
+        SubscriberRegistry.Snapshot<PublishDisposable<T>> a = subscribers.terminate();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            PublishDisposable<T> s = a.get(i);
+            if (s != null) {
+                s.onError(t);
+            }
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void onComplete() {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             return;
         }
-        for (PublishDisposable<T> s : subscribers.getAndSet(TERMINATED)) {
-            s.onComplete();
+        SubscriberRegistry.Snapshot<PublishDisposable<T>> a = subscribers.terminate();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            PublishDisposable<T> s = a.get(i);
+            if (s != null) {
+                s.onComplete();
+            }
         }
     }
 
     @Override
     public boolean hasObservers() {
-        return subscribers.get().length != 0;
+        return subscribers.size() != 0;
     }
 
     @Override
     public Throwable getThrowable() {
-        if (subscribers.get() == TERMINATED) {
+        if (subscribers.isTerminated()) {
             return error;
         }
         return null;
@@ -227,12 +183,12 @@ public final class PublishSubject<T> extends Subject<T> {
 
     @Override
     public boolean hasThrowable() {
-        return subscribers.get() == TERMINATED && error != null;
+        return subscribers.isTerminated() && error != null;
     }
 
     @Override
     public boolean hasComplete() {
-        return subscribers.get() == TERMINATED && error == null;
+        return subscribers.isTerminated() && error == null;
     }
 
     /**
@@ -241,7 +197,7 @@ public final class PublishSubject<T> extends Subject<T> {
      *
      * @param <T> the value type
      */
-    static final class PublishDisposable<T> extends AtomicBoolean implements Disposable {
+    static final class PublishDisposable<T> extends AtomicBoolean implements Disposable, SubscriberRegistry.Entry {
 
         private static final long serialVersionUID = 3562861878281475070L;
         /** The actual subscriber. */
@@ -254,11 +210,24 @@ public final class PublishSubject<T> extends Subject<T> {
          * @param actual the actual subscriber
          * @param parent the parent PublishSubject
          */
+
+        int registryIndex;
+
         PublishDisposable(Observer<? super T> actual, PublishSubject<T> parent) {
             this.actual = actual;
             this.parent = parent;
         }
 
+        @Override
+        public int registryIndex() {
+            return registryIndex;
+        }
+
+        @Override
+        public void registryIndex(int index) {
+            registryIndex = index;
+        }
+
         public void onNext(T t) {
             if (!get()) {
                 actual.onNext(t);
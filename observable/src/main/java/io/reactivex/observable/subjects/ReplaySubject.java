@@ -21,6 +21,7 @@ import java.util.concurrent.atomic.*;
 import io.reactivex.common.*;
 import io.reactivex.common.annotations.CheckReturnValue;
 import io.reactivex.common.internal.functions.ObjectHelper;
+import io.reactivex.common.internal.utils.SubscriberRegistry;
 import io.reactivex.observable.Observer;
 import io.reactivex.observable.internal.utils.NotificationLite;
 
@@ -50,13 +51,7 @@ import io.reactivex.observable.internal.utils.NotificationLite;
 public final class ReplaySubject<T> extends Subject<T> {
     final ReplayBuffer<T> buffer;
 
-    final AtomicReference<ReplayDisposable<T>[]> observers;
-
-    @SuppressWarnings("rawtypes")
-    static final ReplayDisposable[] EMPTY = new ReplayDisposable[0];
-
-    @SuppressWarnings("rawtypes")
-    static final ReplayDisposable[] TERMINATED = new ReplayDisposable[0];
+    final SubscriberRegistry<ReplayDisposable<T>> observers;
 
     boolean done;
 
@@ -220,10 +215,9 @@ public final class ReplaySubject<T> extends Subject<T> {
      * Constructs a ReplayProcessor with the given custom ReplayBuffer instance.
      * @param buffer the ReplayBuffer instance, not null (not verified)
      */
-    @SuppressWarnings("unchecked")
     ReplaySubject(ReplayBuffer<T> buffer) {
         this.buffer = buffer;
-        this.observers = new AtomicReference<ReplayDisposable<T>[]>(EMPTY);
+        this.observers = new SubscriberRegistry<ReplayDisposable<T>>();
     }
 
     @Override
@@ -262,8 +256,12 @@ public final class ReplaySubject<T> extends Subject<T> {
         ReplayBuffer<T> b = buffer;
         b.add(t);
 
-        for (ReplayDisposable<T> rs : observers.get()) {
-            b.replay(rs);
+        SubscriberRegistry.Snapshot<ReplayDisposable<T>> a = observers.snapshot();
+        for (int i = 0, n = a.size(); i < n; i++) {
+            ReplayDisposable<T> rs = a.get(i);
+            if (rs != null) {
+                b.replay(rs);
+            }
         }
     }
 
@@ -284,8 +282,12 @@ public final class ReplaySubject<T> extends Subject<T> {
 
         b.addFinal(o);
 
-        for (ReplayDisposable<T> rs : terminate(o)) {
-            b.replay(rs);
+        SubscriberRegistry.Snapshot<ReplayDisposable<T>> a = terminate(o);
+        for (int i = 0, n = a.size(); i < n; i++) {
+            ReplayDisposable<T> rs = a.get(i);
+            if (rs != null) {
+                b.replay(rs);
+            }
         }
     }
 
@@ -302,18 +304,22 @@ public final class ReplaySubject<T> extends Subject<T> {
 
         b.addFinal(o);
 
-        for (ReplayDisposable<T> rs : terminate(o)) {
-            b.replay(rs);
+        SubscriberRegistry.Snapshot<ReplayDisposable<T>> a = terminate(o);
+        for (int i = 0, n = a.size(); i < n; i++) {
+            ReplayDisposable<T> rs = a.get(i);
+            if (rs != null) {
+                b.replay(rs);
+            }
         }
     }
 
     @Override
     public boolean hasObservers() {
-        return observers.get().length != 0;
+        return observers.size() != 0;
     }
 
     /* test */ int observerCount() {
-        return observers.get().length;
+        return observers.size();
     }
 
     @Override
@@ -391,61 +397,18 @@ public final class ReplaySubject<T> extends Subject<T> {
     }
 
     boolean add(ReplayDisposable<T> rs) {
-        for (;;) {
-            ReplayDisposable<T>[] a = observers.get();
-            if (a == TERMINATED) {
-                return false;
-            }
-            int len = a.length;
-            @SuppressWarnings("unchecked")
-            ReplayDisposable<T>[] b = new ReplayDisposable[len + 1];
-            System.arraycopy(a, 0, b, 0, len);
-            b[len] = rs;
-            if (observers.compareAndSet(a, b)) {
-                return true;
-            }
-        }
+        return observers.add(rs);
     }
 
-    @SuppressWarnings("unchecked")
     void remove(ReplayDisposable<T> rs) {
-        for (;;) {
-            ReplayDisposable<T>[] a = observers.get();
-            if (a == TERMINATED || a == EMPTY) {
-                return;
-            }
-            int len = a.length;
-            int j = -1;
-            for (int i = 0; i < len; i++) {
-                if (a[i] == rs) {
-                    j = i;
-                    break;
-                }
-            }
-
-            if (j < 0) {
-                return;
-            }
-            ReplayDisposable<T>[] b;
-            if (len == 1) {
-                b = EMPTY;
-            } else {
-                b = new ReplayDisposable[len - 1];
-                System.arraycopy(a, 0, b, 0, j);
-                System.arraycopy(a, j + 1, b, j, len - j - 1);
-            }
-            if (observers.compareAndSet(a, b)) {
-                return;
-            }
-        }
+        observers.remove(rs);
     }
 
-    @SuppressWarnings("unchecked")
-    ReplayDisposable<T>[] terminate(Object terminalValue) {
+    SubscriberRegistry.Snapshot<ReplayDisposable<T>> terminate(Object terminalValue) {
         if (buffer.compareAndSet(null, terminalValue)) {
-            return observers.getAndSet(TERMINATED);
+            return observers.terminate();
         }
-        return TERMINATED;
+        return observers.snapshot();
     }
 
     /**
@@ -483,7 +446,7 @@ public final class ReplaySubject<T> extends Subject<T> {
         boolean compareAndSet(Object expected, Object next);
     }
 
-    static final class ReplayDisposable<T> extends AtomicInteger implements Disposable {
+    static final class ReplayDisposable<T> extends AtomicInteger implements Disposable, SubscriberRegistry.Entry {
 
         private static final long serialVersionUID = 466549804534799122L;
         final Observer<? super T> actual;
@@ -493,11 +456,23 @@ public final class ReplaySubject<T> extends Subject<T> {
 
         volatile boolean cancelled;
 
+        int registryIndex;
+
         ReplayDisposable(Observer<? super T> actual, ReplaySubject<T> state) {
             this.actual = actual;
             this.state = state;
         }
 
+        @Override
+        public int registryIndex() {
+            return registryIndex;
+        }
+
+        @Override
+        public void registryIndex(int index) {
+            registryIndex = index;
+        }
+
         @Override
         public void dispose() {
             if (!cancelled) {
@@ -19,10 +19,10 @@ import io.reactivex.common.*;
 import io.reactivex.common.annotations.*;
 import io.reactivex.common.internal.functions.ObjectHelper;
 import io.reactivex.observable.Observer;
-import io.reactivex.observable.extensions.SimpleQueue;
+import io.reactivex.observable.extensions.*;
 import io.reactivex.observable.internal.disposables.EmptyDisposable;
 import io.reactivex.observable.internal.observers.BasicIntQueueDisposable;
-import io.reactivex.observable.internal.queues.SpscLinkedArrayQueue;
+import io.reactivex.observable.internal.queues.*;
 
 /**
  * Subject that allows only a single Subscriber to subscribe to it during its lifetime.
@@ -31,6 +31,10 @@ import io.reactivex.observable.internal.queues.SpscLinkedArrayQueue;
  *
  * <p>This subject holds an unbounded internal buffer.
  *
+ * <p>The instances returned by {@link #createMultiProducer()} allow calling {@code onNext}
+ * from multiple threads concurrently without external serialization; {@code onError} and
+ * {@code onComplete} still have to be called once, after all {@code onNext} calls returned.
+ *
  * <p>If more than one Subscriber attempts to subscribe to this Subject, they
  * will receive an IllegalStateException if this Subject hasn't terminated yet,
  * or the Subscribers receive the terminal event (error or completion) if this
@@ -43,7 +47,7 @@ import io.reactivex.observable.internal.queues.SpscLinkedArrayQueue;
  */
 public final class UnicastSubject<T> extends Subject<T> {
     /** The queue that buffers the source events. */
-    final SpscLinkedArrayQueue<T> queue;
+    final SimplePlainQueue<T> queue;
 
     /** The single Observer. */
     final AtomicReference<Observer<? super T>> actual;
@@ -148,6 +152,31 @@ public final class UnicastSubject<T> extends Subject<T> {
         return new UnicastSubject<T>(bufferSize(), delayError);
     }
 
+    /**
+     * Creates an UnicastSubject whose {@code onNext} can be called from multiple threads
+     * concurrently, with an internal buffer chunk size of {@link #bufferSize()} (128 by default).
+     * @param <T> the value type
+     * @return an UnicastSubject instance
+     */
+    @CheckReturnValue
+    @Experimental
+    public static <T> UnicastSubject<T> createMultiProducer() {
+        return createMultiProducer(bufferSize());
+    }
+
+    /**
+     * Creates an UnicastSubject whose {@code onNext} can be called from multiple threads
+     * concurrently, with the given internal buffer chunk size.
+     * @param <T> the value type
+     * @param capacityHint the size of the arrays the internal unbounded buffer is made of
+     * @return an UnicastSubject instance
+     */
+    @CheckReturnValue
+    @Experimental
+    public static <T> UnicastSubject<T> createMultiProducer(int capacityHint) {
+        return new UnicastSubject<T>(new MpscLinkedArrayQueue<T>(ObjectHelper.verifyPositive(capacityHint, "capacityHint")), true);
+    }
+
 
     /**
      * Creates an UnicastSubject with the given capacity hint and delay error flag.
@@ -156,7 +185,16 @@ public final class UnicastSubject<T> extends Subject<T> {
      * @since 2.0.8 - experimental
      */
     UnicastSubject(int capacityHint, boolean delayError) {
-        this.queue = new SpscLinkedArrayQueue<T>(ObjectHelper.verifyPositive(capacityHint, "capacityHint"));
+        this(new SpscLinkedArrayQueue<T>(ObjectHelper.verifyPositive(capacityHint, "capacityHint")), delayError);
+    }
+
+    /**
+     * Creates an UnicastSubject with the given queue and delay error flag.
+     * @param queue the internal, unbounded queue
+     * @param delayError deliver pending onNext events before onError
+     */
+    UnicastSubject(SimplePlainQueue<T> queue, boolean delayError) {
+        this.queue = queue;
         this.onTerminate = new AtomicReference<Runnable>();
         this.delayError = delayError;
         this.actual = new AtomicReference<Observer<? super T>>();
@@ -314,7 +352,7 @@ public final class UnicastSubject<T> extends Subject<T> {
     void drainFused(Observer<? super T> a) {
         int missed = 1;
 
-        final SpscLinkedArrayQueue<T> q = queue;
+        final SimplePlainQueue<T> q = queue;
         final boolean failFast = !delayError;
 
         for (;;) {
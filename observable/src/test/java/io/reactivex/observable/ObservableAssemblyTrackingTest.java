@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.observable;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+
+import org.junit.*;
+
+import io.reactivex.common.AssemblyTracking;
+import io.reactivex.common.functions.Function;
+import io.reactivex.observable.observers.TestObserver;
+
+public class ObservableAssemblyTrackingTest {
+
+    @After
+    public void after() {
+        AssemblyTracking.disable();
+        AssemblyTracking.reset();
+    }
+
+    @Test
+    public void errorCarriesCallSite() {
+        AssemblyTracking.enable();
+
+        Observable<Integer> o = Observable.range(1, 5).map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                throw new IOException();
+            }
+        });
+
+        TestObserver<Integer> to = o.test();
+
+        to.assertFailure(IOException.class);
+
+        AssemblyTracking.CallSite cs = AssemblyTracking.callSiteOf(to.errors().get(0));
+
+        assertNotNull(cs);
+        assertTrue(cs.location(), cs.location().startsWith(getClass().getName() + ".errorCarriesCallSite("));
+    }
+
+    @Test
+    public void sharedErrorNotModified() {
+        AssemblyTracking.enable();
+
+        IOException ex = new IOException();
+
+        Observable<Integer> o1 = Observable.<Integer>error(ex).hide();
+        Observable<Integer> o2 = Observable.<Integer>error(ex).hide();
+
+        assertSame(ex, o1.test().assertFailure(IOException.class).errors().get(0));
+        assertSame(ex, o2.test().assertFailure(IOException.class).errors().get(0));
+        assertNotNull(AssemblyTracking.callSiteOf(ex));
+        assertNull(ex.getCause());
+    }
+
+    @Test
+    public void notSampled() {
+        AssemblyTracking.enable(Integer.MAX_VALUE);
+
+        Observable<Integer> o = Observable.just(1);
+
+        assertNull(AssemblyTracking.callSiteOf((Object)o));
+
+        o.test().assertResult(1);
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.observable;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+import io.reactivex.common.*;
+import io.reactivex.common.internal.functions.Functions;
+import io.reactivex.observable.observers.TestObserver;
+
+public class ObservableInstrumentationTest {
+
+    @After
+    public void after() {
+        OperatorInstrumentation.disable();
+        OperatorInstrumentation.reset();
+    }
+
+    @Test
+    public void disabledByDefault() {
+        assertFalse(OperatorInstrumentation.isEnabled());
+
+        Observable.range(1, 5).map(Functions.<Integer>identity()).test().assertResult(1, 2, 3, 4, 5);
+
+        assertTrue(OperatorInstrumentation.snapshot().isEmpty());
+    }
+
+    @Test
+    public void countsSignals() {
+        OperatorInstrumentation.enable();
+
+        Observable<Integer> source = Observable.range(1, 10).hide();
+
+        source.take(3).test().assertResult(1, 2, 3);
+
+        OperatorMetrics.Snapshot s = OperatorInstrumentation.metricsOf(source).snapshot();
+
+        assertEquals("ObservableHide", s.name());
+        assertEquals(3, s.emitted());
+        assertEquals(0, s.requested());
+        assertEquals(1, s.cancelled());
+    }
+
+    @Test
+    public void fusionKept() {
+        OperatorInstrumentation.enable();
+
+        Observable<Integer> source = Observable.range(1, 10);
+
+        TestScheduler scheduler = new TestScheduler();
+
+        Observable<Integer> observed = source.observeOn(scheduler);
+
+        TestObserver<Integer> to = observed.test();
+
+        scheduler.triggerActions();
+
+        to.assertValueCount(10).assertComplete();
+
+        // range is polled by observeOn instead of emitting into its queue
+        assertEquals(10, OperatorInstrumentation.metricsOf(source).snapshot().emitted());
+        assertEquals(0, OperatorInstrumentation.metricsOf(observed).snapshot().queueHighWaterMark());
+        assertEquals(10, OperatorInstrumentation.metricsOf(observed).snapshot().emitted());
+    }
+
+    @Test
+    public void queueHighWaterMark() {
+        OperatorInstrumentation.enable();
+
+        TestScheduler scheduler = new TestScheduler();
+
+        Observable<Integer> observed = Observable.range(1, 100).hide().observeOn(scheduler);
+
+        TestObserver<Integer> to = observed.test();
+
+        scheduler.triggerActions();
+
+        to.assertValueCount(100).assertComplete();
+
+        OperatorMetrics.Snapshot s = OperatorInstrumentation.metricsOf(observed).snapshot();
+
+        assertEquals(100, s.queueHighWaterMark());
+        assertTrue(s.drainLoops() > 0);
+        assertEquals(100, s.emitted());
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.observable;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.*;
+
+import io.reactivex.common.*;
+import io.reactivex.common.functions.Function;
+import io.reactivex.observable.observers.TestObserver;
+import io.reactivex.observable.subjects.PublishSubject;
+
+public class ObservablePipelineTopologyTest {
+
+    @After
+    public void after() {
+        PipelineTopology.disable();
+        PipelineTopology.reset();
+    }
+
+    @Test
+    public void liveChain() {
+        PipelineTopology.enable();
+
+        TestScheduler scheduler = new TestScheduler();
+        PublishSubject<Integer> ps = PublishSubject.create();
+
+        // the operators are held weakly, keep the chain reachable
+        Observable<Integer> o = ps.map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                return v + 1;
+            }
+        })
+        .observeOn(scheduler);
+
+        TestObserver<Integer> to = o.test();
+
+        ps.onNext(1);
+        ps.onNext(2);
+
+        List<PipelineTopology.Node> roots = PipelineTopology.snapshot();
+        assertEquals(roots.toString(), 1, roots.size());
+
+        PipelineTopology.Node n = roots.get(0);
+        assertEquals("ObservableObserveOn", n.operator());
+
+        n = n.upstream();
+        assertEquals("ObservableMap", n.operator());
+        assertEquals(2, n.consumers().get(0).queued());
+
+        assertEquals("PublishSubject", n.upstream().operator());
+
+        to.dispose();
+
+        assertNotNull(o);
+    }
+}
@@ -151,6 +151,43 @@ public class ObservableBlockingTest {
         assertEquals(Arrays.asList(1, 2, 3, 4, 5, 100), list);
     }
 
+    @Test
+    public void blockingSubscribeObserverDisposedAsync() {
+        final List<Object> list = new ArrayList<Object>();
+
+        Observable.never()
+        .blockingSubscribe(new Observer<Object>() {
+
+            @Override
+            public void onSubscribe(final Disposable d) {
+                Schedulers.single().scheduleDirect(new Runnable() {
+                    @Override
+                    public void run() {
+                        d.dispose();
+                    }
+                }, 50, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void onNext(Object value) {
+                list.add(value);
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                list.add(e);
+            }
+
+            @Override
+            public void onComplete() {
+                list.add(100);
+            }
+
+        });
+
+        assertEquals(Collections.emptyList(), list);
+    }
+
     @Test
     public void blockingSubscribeObserverError() {
         final List<Object> list = new ArrayList<Object>();
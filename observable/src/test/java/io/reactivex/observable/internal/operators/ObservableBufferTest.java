@@ -1397,4 +1397,142 @@ public class ObservableBufferTest {
         to
         .assertFailure(TestException.class);
     }
+
+    @Test
+    public void timedExactUnboundedOnNextTimerRace() {
+        for (int i = 0; i < 1000; i++) {
+            final TestScheduler scheduler = new TestScheduler();
+            final PublishSubject<Integer> ps = PublishSubject.create();
+
+            final TestObserver<List<Integer>> to = ps.buffer(1, TimeUnit.SECONDS, scheduler).test();
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10; j++) {
+                        ps.onNext(j);
+                    }
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+                }
+            };
+
+            TestCommonHelper.race(r1, r2);
+
+            ps.onComplete();
+
+            to.assertNoErrors().assertComplete();
+
+            int count = 0;
+            for (List<Integer> list : to.values()) {
+                count += list.size();
+            }
+            assertEquals(10, count);
+        }
+    }
+
+    @Test
+    public void timedExactUnboundedSupplierCrashOnTick() {
+        TestScheduler scheduler = new TestScheduler();
+        final int[] calls = { 0 };
+
+        PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestObserver<List<Integer>> to = ps.buffer(1, 1, TimeUnit.SECONDS, scheduler, new Callable<List<Integer>>() {
+            @Override
+            public List<Integer> call() throws Exception {
+                if (++calls[0] == 2) {
+                    throw new TestException();
+                }
+                return new ArrayList<Integer>();
+            }
+        })
+        .test();
+
+        ps.onNext(1);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        to.assertFailure(TestException.class);
+
+        assertFalse(ps.hasObservers());
+    }
+
+    @Test
+    public void timedExactBoundedOnNextTimerRace() {
+        for (int i = 0; i < 1000; i++) {
+            final TestScheduler scheduler = new TestScheduler();
+            final PublishSubject<Integer> ps = PublishSubject.create();
+
+            final TestObserver<List<Integer>> to = ps.buffer(1, TimeUnit.SECONDS, scheduler, 3).test();
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10; j++) {
+                        ps.onNext(j);
+                    }
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+                }
+            };
+
+            TestCommonHelper.race(r1, r2);
+
+            ps.onComplete();
+
+            to.assertNoErrors().assertComplete();
+
+            int count = 0;
+            for (List<Integer> list : to.values()) {
+                assertTrue(list.toString(), list.size() <= 3);
+                count += list.size();
+            }
+            assertEquals(10, count);
+        }
+    }
+
+    @Test
+    public void timedSkipOnNextTimerRace() {
+        for (int i = 0; i < 1000; i++) {
+            final TestScheduler scheduler = new TestScheduler();
+            final PublishSubject<Integer> ps = PublishSubject.create();
+
+            final TestObserver<List<Integer>> to = ps.buffer(2, 1, TimeUnit.SECONDS, scheduler).test();
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10; j++) {
+                        ps.onNext(j);
+                    }
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+                }
+            };
+
+            TestCommonHelper.race(r1, r2);
+
+            ps.onComplete();
+
+            to.assertNoErrors().assertComplete().assertValueCount(2);
+
+            assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), to.values().get(0));
+        }
+    }
 }
@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.observable.internal.operators;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.reactivex.common.*;
+import io.reactivex.common.exceptions.TestException;
+import io.reactivex.common.functions.*;
+import io.reactivex.observable.*;
+import io.reactivex.observable.subjects.PublishSubject;
+import io.reactivex.observable.observers.TestObserver;
+
+public class ObservableCacheBoundedTest {
+
+    static final Function<String, Long> LENGTH = new Function<String, Long>() {
+        @Override
+        public Long apply(String v) throws Exception {
+            return (long)v.length();
+        }
+    };
+
+    @Test
+    public void maxItems() {
+        PublishSubject<Integer> pp = PublishSubject.create();
+        CachedObservable<Integer> cache = pp.cacheBounded(3);
+
+        TestObserver<Integer> ts1 = cache.test();
+
+        for (int i = 1; i <= 5; i++) {
+            pp.onNext(i);
+        }
+
+        assertEquals(3, cache.retainedCount());
+        assertEquals(0, cache.retainedBytes());
+
+        cache.test().assertValues(3, 4, 5).assertNotComplete();
+
+        pp.onComplete();
+
+        ts1.assertResult(1, 2, 3, 4, 5);
+        cache.test().assertResult(3, 4, 5);
+    }
+
+    @Test
+    public void connectsOnce() {
+        final int[] subscriptions = { 0 };
+        CachedObservable<Integer> cache = Observable.range(1, 10)
+                .doOnSubscribe(new Consumer<Disposable>() {
+                    @Override
+                    public void accept(Disposable s) throws Exception {
+                        subscriptions[0]++;
+                    }
+                })
+                .cacheBounded(4);
+
+        assertEquals(0, subscriptions[0]);
+
+        cache.test().assertResult(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        cache.test().assertResult(7, 8, 9, 10);
+
+        assertEquals(1, subscriptions[0]);
+    }
+
+    @Test
+    public void maxBytes() {
+        PublishSubject<String> pp = PublishSubject.create();
+        CachedObservable<String> cache = pp.cacheBounded(Integer.MAX_VALUE, 10, LENGTH,
+                Long.MAX_VALUE, TimeUnit.MILLISECONDS, Schedulers.trampoline());
+
+        cache.test();
+
+        pp.onNext("aaaa");
+        pp.onNext("bbbb");
+
+        assertEquals(2, cache.retainedCount());
+        assertEquals(8, cache.retainedBytes());
+
+        pp.onNext("cccc");
+
+        assertEquals(2, cache.retainedCount());
+        assertEquals(8, cache.retainedBytes());
+
+        pp.onNext("dddddddddddd");
+
+        assertEquals(0, cache.retainedCount());
+        assertEquals(0, cache.retainedBytes());
+
+        pp.onNext("e");
+        pp.onComplete();
+
+        cache.test().assertResult("e");
+    }
+
+    @Test
+    public void maxAge() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishSubject<Integer> pp = PublishSubject.create();
+        CachedObservable<Integer> cache = pp.cacheBounded(10, TimeUnit.SECONDS, scheduler);
+
+        cache.test();
+
+        pp.onNext(1);
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+        pp.onNext(2);
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+        pp.onNext(3);
+
+        assertEquals(2, cache.retainedCount());
+        cache.test().assertValues(2, 3);
+
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+
+        cache.test().assertValues(3);
+
+        pp.onComplete();
+        scheduler.advanceTimeBy(1, TimeUnit.MINUTES);
+
+        cache.test().assertResult();
+    }
+
+    @Test
+    public void error() {
+        CachedObservable<Integer> cache = Observable.range(1, 5)
+                .concatWith(Observable.<Integer>error(new TestException()))
+                .cacheBounded(2);
+
+        cache.test().assertFailure(TestException.class, 1, 2, 3, 4, 5);
+        cache.test().assertFailure(TestException.class, 4, 5);
+    }
+
+    @Test
+    public void estimatorCrash() {
+        CachedObservable<String> cache = Observable.just("a", "b")
+                .cacheBounded(10, 10, new Function<String, Long>() {
+                    @Override
+                    public Long apply(String v) throws Exception {
+                        throw new TestException();
+                    }
+                }, Long.MAX_VALUE, TimeUnit.MILLISECONDS, Schedulers.trampoline());
+
+        cache.test().assertFailure(TestException.class);
+    }
+
+    @Test
+    public void cancelStopsReplay() {
+        PublishSubject<Integer> pp = PublishSubject.create();
+        CachedObservable<Integer> cache = pp.cacheBounded(5);
+
+        TestObserver<Integer> ts = cache.test();
+        pp.onNext(1);
+        ts.cancel();
+        pp.onNext(2);
+
+        ts.assertValues(1);
+        assertTrue(pp.hasObservers());
+    }
+
+    @Test
+    public void asyncConsumers() {
+        CachedObservable<Integer> cache = Observable.range(1, 10000)
+                .subscribeOn(Schedulers.computation())
+                .cacheBounded(16);
+
+        TestObserver<Integer> ts = cache.observeOn(Schedulers.single()).test();
+
+        ts.awaitDone(5, TimeUnit.SECONDS)
+        .assertValueCount(10000)
+        .assertNoErrors()
+        .assertComplete();
+
+        assertTrue(cache.retainedCount() <= 16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroMaxItems() {
+        Observable.just(1).cacheBounded(0);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void assemblyHook() {
+        final List<Object> seen = new ArrayList<Object>();
+        RxJavaObservablePlugins.setOnObservableAssembly(new Function<Observable, Observable>() {
+            @Override
+            public Observable apply(Observable f) throws Exception {
+                seen.add(f);
+                return f;
+            }
+        });
+        try {
+            CachedObservable<Integer> cache = Observable.range(1, 5).cacheBounded(2);
+
+            assertTrue(seen.contains(cache));
+
+            cache.test().assertResult(1, 2, 3, 4, 5);
+            cache.test().assertResult(4, 5);
+        } finally {
+            RxJavaObservablePlugins.reset();
+        }
+    }
+
+    @Test
+    public void assemblyTrackingKeepsCachedType() {
+        AssemblyTracking.enable();
+        try {
+            PublishSubject<Integer> ps = PublishSubject.create();
+            CachedObservable<Integer> cache = ps.cacheBounded(2);
+
+            TestObserver<Integer> ts = cache.test();
+
+            ps.onNext(1);
+            ps.onNext(2);
+            ps.onNext(3);
+
+            assertEquals(2, cache.retainedCount());
+
+            ps.onComplete();
+
+            ts.assertResult(1, 2, 3);
+            cache.test().assertResult(2, 3);
+        } finally {
+            AssemblyTracking.disable();
+            AssemblyTracking.reset();
+        }
+    }
+}
@@ -25,7 +25,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import io.reactivex.common.*;
-import io.reactivex.common.exceptions.TestException;
+import io.reactivex.common.exceptions.*;
 import io.reactivex.common.functions.*;
 import io.reactivex.common.internal.functions.Functions;
 import io.reactivex.observable.*;
@@ -1539,4 +1539,119 @@ public class ObservableGroupByTest {
         .test()
         .assertResult(1);
     }
+
+    static final Function<GroupedObservable<Integer, Integer>, ObservableSource<List<Integer>>> GROUP_TO_LIST =
+            new Function<GroupedObservable<Integer, Integer>, ObservableSource<List<Integer>>>() {
+        @Override
+        public ObservableSource<List<Integer>> apply(GroupedObservable<Integer, Integer> g) throws Exception {
+            return g.toList().toObservable();
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void maxGroupsEvictsLeastRecentlyUsed() {
+        Observable.just(1, 2, 1, 3, 2)
+        .groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), false, 16, 2)
+        .flatMap(GROUP_TO_LIST)
+        .test()
+        .assertResult(Arrays.asList(2), Arrays.asList(1, 1), Arrays.asList(3), Arrays.asList(2));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void idleGroupsEvicted() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestObserver<List<Integer>> to = ps
+        .groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), false, 16, Integer.MAX_VALUE,
+                1, TimeUnit.SECONDS, scheduler)
+        .flatMap(GROUP_TO_LIST)
+        .test();
+
+        ps.onNext(1);
+        ps.onNext(2);
+
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+
+        ps.onNext(2);
+
+        to.assertEmpty();
+
+        scheduler.advanceTimeBy(600, TimeUnit.MILLISECONDS);
+
+        ps.onNext(2);
+
+        to.assertValues(Arrays.asList(1))
+        .assertNoErrors()
+        .assertNotComplete();
+
+        ps.onNext(1);
+        ps.onComplete();
+
+        to.assertResult(Arrays.asList(1), Arrays.asList(2, 2, 2), Arrays.asList(1));
+    }
+
+    @Test
+    public void maxGroupsDisposedGroupReplaced() {
+        Observable.just(1, 1, 2, 1, 3)
+        .groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), false, 16, 2)
+        .flatMap(new Function<GroupedObservable<Integer, Integer>, ObservableSource<Integer>>() {
+            @Override
+            public ObservableSource<Integer> apply(GroupedObservable<Integer, Integer> g) throws Exception {
+                return g.take(1);
+            }
+        })
+        .test()
+        .assertResult(1, 1, 2, 1, 3);
+    }
+
+    @Test
+    public void groupCapacityUnsubscribedGroupFails() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestObserver<GroupedObservable<Integer, Integer>> to = ps
+        .groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), true, 16, Integer.MAX_VALUE,
+                1, TimeUnit.SECONDS, scheduler, 2)
+        .test();
+
+        ps.onNext(1);
+        ps.onNext(1);
+        ps.onNext(1);
+
+        to.assertValueCount(1);
+
+        ps.onNext(1);
+
+        to.assertValueCount(2);
+
+        to.values().get(0).test()
+        .assertFailure(MissingBackpressureException.class, 1, 1);
+
+        to.values().get(1).test()
+        .assertValues(1)
+        .assertNoErrors()
+        .assertNotComplete();
+    }
+
+    @Test
+    public void groupCapacitySubscribedGroupDrains() {
+        TestScheduler scheduler = new TestScheduler();
+
+        Observable.range(1, 1000)
+        .groupBy(Functions.justFunction(1), Functions.<Integer>identity(), false, 16, Integer.MAX_VALUE,
+                1, TimeUnit.SECONDS, scheduler, 1)
+        .flatMap(new Function<GroupedObservable<Integer, Integer>, ObservableSource<Integer>>() {
+            @Override
+            public ObservableSource<Integer> apply(GroupedObservable<Integer, Integer> g) throws Exception {
+                return g;
+            }
+        })
+        .test()
+        .assertValueCount(1000)
+        .assertNoErrors()
+        .assertComplete();
+    }
 }
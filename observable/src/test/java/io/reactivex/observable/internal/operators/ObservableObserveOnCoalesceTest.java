@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.observable.internal.operators;
+
+import static org.junit.Assert.assertFalse;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.reactivex.common.*;
+import io.reactivex.common.exceptions.TestException;
+import io.reactivex.common.functions.*;
+import io.reactivex.observable.*;
+import io.reactivex.observable.observers.TestObserver;
+import io.reactivex.observable.subjects.PublishSubject;
+
+public class ObservableObserveOnCoalesceTest {
+
+    static final BiFunction<Integer, Integer, Integer> SUM = new BiFunction<Integer, Integer, Integer>() {
+        @Override
+        public Integer apply(Integer a, Integer b) throws Exception {
+            return a + b;
+        }
+    };
+
+    @Test
+    public void latestWins() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestObserver<Integer> to = ps.observeOnLatest(scheduler).test();
+
+        ps.onNext(1);
+        ps.onNext(2);
+        ps.onNext(3);
+
+        to.assertEmpty();
+
+        scheduler.triggerActions();
+
+        to.assertValue(3);
+
+        ps.onNext(4);
+        ps.onComplete();
+
+        scheduler.triggerActions();
+
+        to.assertResult(3, 4);
+    }
+
+    @Test
+    public void coalesce() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestObserver<Integer> to = ps.observeOnCoalesce(scheduler, SUM).test();
+
+        ps.onNext(1);
+        ps.onNext(2);
+        ps.onNext(3);
+
+        scheduler.triggerActions();
+
+        to.assertValue(6);
+
+        ps.onNext(4);
+        ps.onNext(5);
+        ps.onComplete();
+
+        scheduler.triggerActions();
+
+        to.assertResult(6, 9);
+    }
+
+    @Test
+    public void errorCutsAhead() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestObserver<Integer> to = ps.observeOnCoalesce(scheduler, SUM).test();
+
+        ps.onNext(1);
+        ps.onError(new TestException());
+
+        scheduler.triggerActions();
+
+        to.assertFailure(TestException.class);
+    }
+
+    @Test
+    public void errorDelayed() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestObserver<Integer> to = ps.observeOnCoalesce(scheduler, SUM, true).test();
+
+        ps.onNext(1);
+        ps.onNext(2);
+        ps.onError(new TestException());
+
+        scheduler.triggerActions();
+
+        to.assertFailure(TestException.class, 3);
+    }
+
+    @Test
+    public void coalescerCrash() {
+        TestScheduler scheduler = new TestScheduler();
+        PublishSubject<Integer> ps = PublishSubject.create();
+
+        TestObserver<Integer> to = ps.observeOnCoalesce(scheduler, new BiFunction<Integer, Integer, Integer>() {
+            @Override
+            public Integer apply(Integer a, Integer b) throws Exception {
+                throw new TestException();
+            }
+        }).test();
+
+        ps.onNext(1);
+        ps.onNext(2);
+
+        scheduler.triggerActions();
+
+        to.assertFailure(TestException.class);
+        assertFalse(ps.hasObservers());
+    }
+
+    @Test
+    public void async() {
+        Observable.range(1, 1000)
+        .observeOnCoalesce(Schedulers.single(), SUM)
+        .reduce(0, SUM)
+        .test()
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertResult(500500);
+    }
+
+    @Test
+    public void dispose() {
+        TestHelper.checkDisposed(PublishSubject.create().observeOnLatest(new TestScheduler()));
+    }
+
+    @Test
+    public void doubleOnSubscribe() {
+        TestHelper.checkDoubleOnSubscribeObservable(new Function<Observable<Object>, ObservableSource<Object>>() {
+            @Override
+            public ObservableSource<Object> apply(Observable<Object> o) throws Exception {
+                return o.observeOnLatest(new TestScheduler());
+            }
+        });
+    }
+}
@@ -16,7 +16,9 @@ package io.reactivex.observable.subjects;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Test;
@@ -435,4 +437,51 @@ public class UnicastSubjectTest {
 
         assertTrue(d.isDisposed());
     }
+
+    static void produceConcurrently(final UnicastSubject<Integer> p, int producers, final int count) throws InterruptedException {
+        Thread[] threads = new Thread[producers];
+        for (int k = 0; k < producers; k++) {
+            final int base = k * count;
+            threads[k] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < count; i++) {
+                        p.onNext(base + i);
+                    }
+                }
+            });
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        p.onComplete();
+    }
+
+    static void assertPerProducerOrder(List<Integer> values, int producers, int count) {
+        assertEquals(producers * count, values.size());
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        for (Integer v : values) {
+            int k = v / count;
+            assertEquals(last[k] + 1, v % count);
+            last[k] = v % count;
+        }
+    }
+
+    @Test
+    public void multiProducer() throws Exception {
+        UnicastSubject<Integer> p = UnicastSubject.createMultiProducer();
+        TestObserver<Integer> ts = p.test();
+
+        produceConcurrently(p, 4, 10000);
+
+        ts.awaitDone(5, TimeUnit.SECONDS)
+        .assertNoErrors()
+        .assertComplete();
+
+        assertPerProducerOrder(ts.values(), 4, 10000);
+    }
 }